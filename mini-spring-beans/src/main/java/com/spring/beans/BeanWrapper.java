@@ -1,6 +1,8 @@
 package com.spring.beans;
 
-import java.beans.PropertyDescriptor;
+import com.spring.core.convert.ConversionService;
+
+import java.util.Map;
 
 /**
  * ClassName: BeanWrapper
@@ -55,4 +57,29 @@ public interface BeanWrapper {
      * @return 是否可读
      */
     boolean isReadableProperty(String propertyName);
+
+    /**
+     * 批量设置属性值：一次遍历完成所有属性的查找、类型转换和赋值
+     * 有未知属性或者转换失败时，其它属性照常设置，最后统一抛出一个异常
+     * @param propertyValues 属性名 -> 属性值
+     */
+    void setPropertyValues(Map<String, ?> propertyValues);
+
+    /**
+     * 批量设置属性值
+     * @param propertyValues 属性名 -> 属性值
+     * @param ignoreUnknown 是否忽略不存在（或不可写）的属性
+     */
+    void setPropertyValues(Map<String, ?> propertyValues, boolean ignoreUnknown);
+
+    /**
+     * 设置类型转换服务：属性值与属性类型不匹配时用它转换（例如配置中的字符串）
+     * 为null时不做转换
+     */
+    void setConversionService(ConversionService conversionService);
+
+    /**
+     * 获取类型转换服务
+     */
+    ConversionService getConversionService();
 }
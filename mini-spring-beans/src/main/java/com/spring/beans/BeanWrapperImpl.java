@@ -1,10 +1,13 @@
 package com.spring.beans;
 
+import com.spring.core.convert.ConversionService;
+import com.spring.core.convert.support.DefaultConversionService;
+import com.spring.util.ClassUtils;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * ClassName: BeanWrapperImpl
@@ -18,6 +21,12 @@ import java.util.List;
 public class BeanWrapperImpl implements BeanWrapper {
     private Object wrappedObject;
 
+    /** 包装类的属性元数据（第一次访问属性时获取） */
+    private CachedIntrospectionResults cachedIntrospectionResults;
+
+    /** 类型转换服务，默认使用共享的DefaultConversionService */
+    private ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
     public BeanWrapperImpl(Object object) {
         this.wrappedObject = object;
     }
@@ -33,54 +42,53 @@ public class BeanWrapperImpl implements BeanWrapper {
     }
     @Override
     public void setPropertyValue(String propertyName, Object value) {
-        log.debug("设置属性: {}.{} = {}",
-                wrappedObject.getClass().getSimpleName(), propertyName, value);
+        if (log.isDebugEnabled()) {
+            log.debug("设置属性: {}.{} = {}",
+                    wrappedObject.getClass().getSimpleName(), propertyName, value);
+        }
 
         try {
-            // 通过反射找到setter方法
-            Method setter = findSetterMethod(propertyName);
-            if (setter == null) {
+            // 从类级缓存中取预绑定的setter
+            CachedIntrospectionResults.PropertyHandle property = getPropertyHandle(propertyName);
+            if (property == null || !property.isWritable()) {
                 throw new IllegalArgumentException("找不到setter方法: " + propertyName);
             }
 
-            // 调用setter方法
-            setter.invoke(wrappedObject, value);
+            // 调用setter方法（必要时先做类型转换）
+            property.setValue(wrappedObject, convertIfNecessary(property, value));
 
-        } catch (Exception e) {
+        } catch (Throwable e) {
             throw new RuntimeException("设置属性失败: " + propertyName, e);
         }
     }
 
     @Override
     public Object getPropertyValue(String propertyName) {
-        log.debug("获取属性: {}.{}",
-                wrappedObject.getClass().getSimpleName(), propertyName);
+        if (log.isDebugEnabled()) {
+            log.debug("获取属性: {}.{}",
+                    wrappedObject.getClass().getSimpleName(), propertyName);
+        }
 
         try {
-            // 通过反射找到getter方法
-            Method getter = findGetterMethod(propertyName);
-            if (getter == null) {
+            // 从类级缓存中取预绑定的getter
+            CachedIntrospectionResults.PropertyHandle property = getPropertyHandle(propertyName);
+            if (property == null || !property.isReadable()) {
                 throw new IllegalArgumentException("找不到getter方法: " + propertyName);
             }
 
             // 调用getter方法
-            return getter.invoke(wrappedObject);
+            return property.getValue(wrappedObject);
 
-        } catch (Exception e) {
+        } catch (Throwable e) {
             throw new RuntimeException("获取属性失败: " + propertyName, e);
         }
     }
 
     @Override
     public Class<?> getPropertyType(String propertyName) {
-        Method getter = findGetterMethod(propertyName);
-        if (getter != null) {
-            return getter.getReturnType();
-        }
-
-        Method setter = findSetterMethod(propertyName);
-        if (setter != null) {
-            return setter.getParameterTypes()[0];
+        CachedIntrospectionResults.PropertyHandle property = getPropertyHandle(propertyName);
+        if (property != null) {
+            return property.getPropertyType();
         }
 
         throw new IllegalArgumentException("找不到属性: " + propertyName);
@@ -88,59 +96,111 @@ public class BeanWrapperImpl implements BeanWrapper {
 
     @Override
     public boolean isWritableProperty(String propertyName) {
-        return findSetterMethod(propertyName) != null;
+        CachedIntrospectionResults.PropertyHandle property = getPropertyHandle(propertyName);
+        return (property != null && property.isWritable());
     }
 
     @Override
     public boolean isReadableProperty(String propertyName) {
-        return findGetterMethod(propertyName) != null;
+        CachedIntrospectionResults.PropertyHandle property = getPropertyHandle(propertyName);
+        return (property != null && property.isReadable());
     }
 
-    // ============ 私有工具方法 ============
+    @Override
+    public void setPropertyValues(Map<String, ?> propertyValues) {
+        setPropertyValues(propertyValues, false);
+    }
 
-    /**
-     * 查找setter方法
-     */
-    private Method findSetterMethod(String propertyName) {
-        String setterName = "set" + capitalize(propertyName);
-        Class<?> clazz = wrappedObject.getClass();
-
-        // 遍历所有方法查找setter
-        for (Method method : clazz.getMethods()) {
-            if (method.getName().equals(setterName) &&
-                    method.getParameterCount() == 1) {
-                return method;
+    @Override
+    public void setPropertyValues(Map<String, ?> propertyValues, boolean ignoreUnknown) {
+        if (log.isDebugEnabled()) {
+            log.debug("批量设置属性: {}，共 {} 个", wrappedObject.getClass().getSimpleName(), propertyValues.size());
+        }
+
+        // 未知属性和失败只记录，不中断批量设置；正常路径不创建任何异常对象
+        List<String> unknownProperties = null;
+        List<String> failedProperties = null;
+        List<Throwable> failures = null;
+
+        for (Map.Entry<String, ?> entry : propertyValues.entrySet()) {
+            String propertyName = entry.getKey();
+            CachedIntrospectionResults.PropertyHandle property = getPropertyHandle(propertyName);
+            if (property == null || !property.isWritable()) {
+                if (!ignoreUnknown) {
+                    if (unknownProperties == null) {
+                        unknownProperties = new ArrayList<>();
+                    }
+                    unknownProperties.add(propertyName);
+                }
+                continue;
+            }
+            try {
+                property.setValue(wrappedObject, convertIfNecessary(property, entry.getValue()));
+            } catch (Throwable ex) {
+                if (failures == null) {
+                    failedProperties = new ArrayList<>();
+                    failures = new ArrayList<>();
+                }
+                failedProperties.add(propertyName);
+                failures.add(ex);
             }
         }
-        return null;
+
+        if (unknownProperties != null || failures != null) {
+            StringBuilder message = new StringBuilder("批量设置属性失败: ").append(wrappedObject.getClass().getName());
+            if (unknownProperties != null) {
+                message.append("，找不到setter方法: ").append(unknownProperties);
+            }
+            if (failedProperties != null) {
+                message.append("，设置失败: ").append(failedProperties);
+            }
+            RuntimeException exception = new RuntimeException(message.toString(),
+                    (failures != null ? failures.get(0) : null));
+            if (failures != null) {
+                for (int i = 1; i < failures.size(); i++) {
+                    exception.addSuppressed(failures.get(i));
+                }
+            }
+            throw exception;
+        }
+    }
+
+    @Override
+    public void setConversionService(ConversionService conversionService) {
+        this.conversionService = conversionService;
     }
 
+    @Override
+    public ConversionService getConversionService() {
+        return this.conversionService;
+    }
+
+    // ============ 私有工具方法 ============
+
     /**
-     * 查找getter方法
+     * 值与属性类型不兼容时通过ConversionService转换
+     * 已经兼容的值（最常见的情况）直接返回，不查转换器
      */
-    private Method findGetterMethod(String propertyName) {
-        String getterName = "get" + capitalize(propertyName);
-        String booleanGetterName = "is" + capitalize(propertyName);
-        Class<?> clazz = wrappedObject.getClass();
-
-        // 遍历所有方法查找getter
-        for (Method method : clazz.getMethods()) {
-            if ((method.getName().equals(getterName) ||
-                    method.getName().equals(booleanGetterName)) &&
-                    method.getParameterCount() == 0) {
-                return method;
-            }
+    private Object convertIfNecessary(CachedIntrospectionResults.PropertyHandle property, Object value) {
+        if (value == null || this.conversionService == null) {
+            return value;
+        }
+        Class<?> requiredType = ClassUtils.resolvePrimitiveIfNecessary(property.getWriteType());
+        if (requiredType.isInstance(value)) {
+            return value;
         }
-        return null;
+        return this.conversionService.convert(value, property.getWriteGenericType());
     }
 
     /**
-     * 首字母大写
+     * 获取属性元数据：同一个类的所有BeanWrapperImpl共享CachedIntrospectionResults
      */
-    private String capitalize(String str) {
-        if (str == null || str.length() == 0) {
-            return str;
+    private CachedIntrospectionResults.PropertyHandle getPropertyHandle(String propertyName) {
+        CachedIntrospectionResults results = this.cachedIntrospectionResults;
+        if (results == null) {
+            results = CachedIntrospectionResults.forClass(this.wrappedObject.getClass());
+            this.cachedIntrospectionResults = results;
         }
-        return str.substring(0, 1).toUpperCase() + str.substring(1);
+        return results.getProperty(propertyName);
     }
 }
@@ -0,0 +1,247 @@
+package com.spring.beans;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ClassName: CachedIntrospectionResults
+ * Description:
+ *
+ * 类的属性访问元数据缓存 - 对应Spring的CachedIntrospectionResults
+ *
+ * 每个类只遍历一次getMethods()，把getter/setter预先绑定成MethodHandle，
+ * 所有BeanWrapperImpl共享同一份结果：同一个类的属性读写只需一次哈希查找加一次直接调用
+ *
+ * 缓存放在ClassValue中：结果挂在Class对象上，类加载器被回收时缓存一起被回收，
+ * 不会因为全局静态Map持有Class而导致重新部署后的类加载器泄漏
+ *
+ * 属性匹配规则与原来的BeanWrapperImpl一致：
+ *  setter：public、名称为set+首字母大写的属性名、1个参数
+ *  getter：public、名称为get/is+首字母大写的属性名、无参数（get优先）
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 1:10
+ * @version: v1.0
+ */
+@Slf4j
+public final class CachedIntrospectionResults {
+
+    private static final ClassValue<CachedIntrospectionResults> classCache = new ClassValue<>() {
+        @Override
+        protected CachedIntrospectionResults computeValue(Class<?> beanClass) {
+            return new CachedIntrospectionResults(beanClass);
+        }
+    };
+
+    /**
+     * 获取类的属性元数据
+     */
+    public static CachedIntrospectionResults forClass(Class<?> beanClass) {
+        return classCache.get(beanClass);
+    }
+
+    /**
+     * 清除某个类的缓存（类被重新定义等场景）
+     */
+    public static void clearClassCache(Class<?> beanClass) {
+        classCache.remove(beanClass);
+    }
+
+    private final Class<?> beanClass;
+
+    /** 首字母大写后的属性名 -> 属性（构建时一次性填充，之后只读） */
+    private final Map<String, PropertyHandle> propertiesByCapitalizedName;
+
+    /**
+     * 调用方传入的属性名 -> 属性（按需填充，命中后不再做字符串处理）
+     * 只缓存存在的属性：批量绑定Environment时大部分键都不是属性，缓存负结果会让每个被绑定的类都留下这些键，
+     * 不存在的属性查一次propertiesByCapitalizedName同样是O(1)
+     */
+    private final Map<String, PropertyHandle> propertyCache = new ConcurrentHashMap<>(16);
+
+    private CachedIntrospectionResults(Class<?> beanClass) {
+        this.beanClass = beanClass;
+        this.propertiesByCapitalizedName = introspect(beanClass);
+        if (log.isDebugEnabled()) {
+            log.debug("缓存类 [{}] 的属性元数据，共 {} 个属性", beanClass.getName(), this.propertiesByCapitalizedName.size());
+        }
+    }
+
+    /**
+     * 获取属性，不存在时返回null
+     */
+    public PropertyHandle getProperty(String propertyName) {
+        PropertyHandle property = this.propertyCache.get(propertyName);
+        if (property == null) {
+            property = this.propertiesByCapitalizedName.get(capitalize(propertyName));
+            if (property != null) {
+                this.propertyCache.put(propertyName, property);
+            }
+        }
+        return property;
+    }
+
+    public Class<?> getBeanClass() {
+        return this.beanClass;
+    }
+
+    // ============ 内省 ============
+
+    private static Map<String, PropertyHandle> introspect(Class<?> beanClass) {
+        Map<String, Method> getters = new HashMap<>();
+        Map<String, Method> setters = new HashMap<>();
+
+        for (Method method : beanClass.getMethods()) {
+            String methodName = method.getName();
+            int parameterCount = method.getParameterCount();
+            if (parameterCount == 1 && methodName.startsWith("set") && methodName.length() > 3) {
+                setters.putIfAbsent(methodName.substring(3), method);
+            } else if (parameterCount == 0 && methodName.startsWith("get") && methodName.length() > 3) {
+                // get优先于is
+                getters.put(methodName.substring(3), method);
+            } else if (parameterCount == 0 && methodName.startsWith("is") && methodName.length() > 2) {
+                getters.putIfAbsent(methodName.substring(2), method);
+            }
+        }
+
+        Map<String, PropertyHandle> properties = new HashMap<>();
+        for (Map.Entry<String, Method> entry : getters.entrySet()) {
+            properties.put(entry.getKey(), new PropertyHandle(entry.getKey(), entry.getValue(), setters.get(entry.getKey())));
+        }
+        for (Map.Entry<String, Method> entry : setters.entrySet()) {
+            if (!properties.containsKey(entry.getKey())) {
+                properties.put(entry.getKey(), new PropertyHandle(entry.getKey(), null, entry.getValue()));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * 首字母大写
+     */
+    private static String capitalize(String str) {
+        if (str == null || str.isEmpty() || Character.isUpperCase(str.charAt(0))) {
+            return str;
+        }
+        return Character.toUpperCase(str.charAt(0)) + str.substring(1);
+    }
+
+    /**
+     * 把public方法转成MethodHandle
+     * 非public类中的public方法不能直接访问，需要通过privateLookupIn或setAccessible
+     */
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException ex) {
+            try {
+                return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup()).unreflect(method);
+            } catch (IllegalAccessException | SecurityException ex2) {
+                try {
+                    method.setAccessible(true);
+                    return MethodHandles.lookup().unreflect(method);
+                } catch (IllegalAccessException | RuntimeException ex3) {
+                    throw new IllegalStateException("无法访问属性方法: " + method, ex3);
+                }
+            }
+        }
+    }
+
+    /**
+     * 单个属性：预绑定的getter/setter
+     * getter统一适配为(Object)Object，setter统一适配为(Object, Object)void，调用时不需要反射
+     */
+    public static final class PropertyHandle {
+
+        private final String name;
+
+        private final Method readMethod;
+
+        private final Method writeMethod;
+
+        /** setter参数类型（getParameterTypes()每次都会复制数组，这里只取一次） */
+        private final Class<?> writeType;
+
+        private final Type writeGenericType;
+
+        /** 延迟创建：大部分属性只会读或只会写 */
+        private volatile MethodHandle getterHandle;
+
+        private volatile MethodHandle setterHandle;
+
+        PropertyHandle(String name, Method readMethod, Method writeMethod) {
+            this.name = name;
+            this.readMethod = readMethod;
+            this.writeMethod = writeMethod;
+            this.writeType = (writeMethod != null ? writeMethod.getParameterTypes()[0] : null);
+            this.writeGenericType = (writeMethod != null ? writeMethod.getGenericParameterTypes()[0] : null);
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public Method getReadMethod() {
+            return this.readMethod;
+        }
+
+        public Method getWriteMethod() {
+            return this.writeMethod;
+        }
+
+        public boolean isReadable() {
+            return this.readMethod != null;
+        }
+
+        public boolean isWritable() {
+            return this.writeMethod != null;
+        }
+
+        /**
+         * 属性类型：优先取getter的返回类型，否则取setter的参数类型
+         */
+        public Class<?> getPropertyType() {
+            return (this.readMethod != null ? this.readMethod.getReturnType() : this.writeType);
+        }
+
+        /**
+         * setter的参数类型
+         */
+        public Class<?> getWriteType() {
+            return this.writeType;
+        }
+
+        /**
+         * setter的泛型参数类型（例如List&lt;Integer&gt;），用于集合元素的类型转换
+         */
+        public Type getWriteGenericType() {
+            return this.writeGenericType;
+        }
+
+        public Object getValue(Object target) throws Throwable {
+            MethodHandle getter = this.getterHandle;
+            if (getter == null) {
+                getter = unreflect(this.readMethod).asType(MethodType.methodType(Object.class, Object.class));
+                this.getterHandle = getter;
+            }
+            return getter.invokeExact(target);
+        }
+
+        public void setValue(Object target, Object value) throws Throwable {
+            MethodHandle setter = this.setterHandle;
+            if (setter == null) {
+                setter = unreflect(this.writeMethod).asType(MethodType.methodType(void.class, Object.class, Object.class));
+                this.setterHandle = setter;
+            }
+            setter.invokeExact(target, value);
+        }
+    }
+}
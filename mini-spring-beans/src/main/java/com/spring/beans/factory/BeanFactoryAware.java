@@ -0,0 +1,20 @@
+package com.spring.beans.factory;
+
+/**
+ * ClassName: BeanFactoryAware
+ * Description:
+ *
+ * 需要获取所属BeanFactory的Bean实现此接口，在属性注入之后、初始化之前回调
+ *
+ * @Author: csx
+ * @Create: 2025/12/4 - 1:20
+ * @version: v1.0
+ */
+public interface BeanFactoryAware extends Aware {
+
+    /**
+     * 设置所属的BeanFactory
+     * @param beanFactory 创建当前Bean的BeanFactory
+     */
+    void setBeanFactory(BeanFactory beanFactory);
+}
@@ -1,5 +1,8 @@
 package com.spring.beans.factory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * ClassName: BeanFactoryUtils
  * Description: FactoryBean工具类
@@ -9,6 +12,10 @@ package com.spring.beans.factory;
  * @version: v1.0
  */
 public abstract class BeanFactoryUtils {
+
+    /** 去除&前缀后的名称缓存："&name" -> "name"，重复的FactoryBean引用不再截取字符串 */
+    private static final Map<String, String> transformedBeanNameCache = new ConcurrentHashMap<>();
+
     /**
      * 检查是否是FactoryBean引用（name以&开头）
      */
@@ -17,12 +24,20 @@ public abstract class BeanFactoryUtils {
     }
 
     /**
-     * 转换FactoryBean名称（去除&前缀）
+     * 转换FactoryBean名称（去除&前缀，多个&都会去除）
      */
     public static String transformedBeanName(String name) {
-        if (name != null && name.startsWith(BeanFactory.FACTORY_BEAN_PREFIX)) {
-            return name.substring(BeanFactory.FACTORY_BEAN_PREFIX.length());
+        if (name == null || !name.startsWith(BeanFactory.FACTORY_BEAN_PREFIX)) {
+            return name;
+        }
+        String beanName = transformedBeanNameCache.get(name);
+        if (beanName == null) {
+            beanName = name;
+            do {
+                beanName = beanName.substring(BeanFactory.FACTORY_BEAN_PREFIX.length());
+            } while (beanName.startsWith(BeanFactory.FACTORY_BEAN_PREFIX));
+            transformedBeanNameCache.putIfAbsent(name, beanName);
         }
-        return name;
+        return beanName;
     }
 }
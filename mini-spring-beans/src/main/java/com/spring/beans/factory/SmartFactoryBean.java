@@ -0,0 +1,22 @@
+package com.spring.beans.factory;
+
+/**
+ * ClassName: SmartFactoryBean
+ * Description: FactoryBean扩展接口 - 对应Spring的SmartFactoryBean
+ *
+ * 预实例化单例时默认只创建FactoryBean本身，getObject()创建的对象在第一次获取时才创建；
+ * isEagerInit()返回true时预实例化阶段会立即创建该对象
+ *
+ * @Author: csx
+ * @Create: 2025/12/6 - 10:20
+ * @version: v1.0
+ */
+public interface SmartFactoryBean<T> extends FactoryBean<T> {
+
+    /**
+     * 是否在预实例化单例时立即创建getObject()返回的对象
+     */
+    default boolean isEagerInit() {
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.spring.beans.factory.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ClassName: Autowired
+ * Description:
+ *
+ * 自动装配注解 - 对应Spring的@Autowired
+ * 可以标注在构造方法、字段、方法（setter或任意方法）上，由AutowiredAnnotationBeanPostProcessor处理
+ *
+ * 按类型从容器中查找依赖；找到多个候选者时依次按@Primary、字段名/参数名匹配Bean名称
+ *
+ * @Author: csx
+ * @Create: 2025/12/4 - 1:20
+ * @version: v1.0
+ */
+@Target({ElementType.CONSTRUCTOR, ElementType.METHOD, ElementType.PARAMETER, ElementType.FIELD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Autowired {
+
+    /**
+     * 是否必须：为true时找不到依赖会抛出异常，为false时跳过注入
+     */
+    boolean required() default true;
+}
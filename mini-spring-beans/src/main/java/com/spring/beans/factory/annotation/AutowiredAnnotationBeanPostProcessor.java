@@ -1,12 +1,353 @@
 package com.spring.beans.factory.annotation;
 
+import com.spring.beans.factory.BeanFactory;
+import com.spring.beans.factory.BeanFactoryAware;
+import com.spring.beans.factory.config.AutowireCapableBeanFactory;
+import com.spring.beans.factory.config.DependencyDescriptor;
+import com.spring.beans.factory.support.SmartInstantiationAwareBeanPostProcessor;
+import com.spring.util.ClassUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * ClassName: AutowiredAnnotationBeanPostProcessor
  * Description:
  *
+ * 处理@Autowired注解的BeanPostProcessor - 对应Spring的AutowiredAnnotationBeanPostProcessor
+ *  1. 构造方法注入：推断候选构造方法（@Autowired构造方法，或者唯一的有参构造方法）
+ *  2. 字段注入、方法注入：在属性注入阶段（postProcessProperties）完成
+ *
+ * 性能相关：
+ *  1. 每个类只扫描一次反射信息，注入点（InjectionMetadata）和候选构造方法按类缓存
+ *  2. 字段/方法预先绑定成MethodHandle，注入时不做反射调用
+ *  3. 依赖通过BeanFactory的类型索引解析；第一次解析出唯一的Bean名称后记录下来，
+ *     之后再创建同一个Bean（原型Bean）时直接按名称获取，不再按类型查找
+ *
  * @Author: csx
  * @Create: 2025/10/25 - 1:42
  * @version: v1.0
  */
-public class AutowiredAnnotationBeanPostProcessor {
+@Slf4j
+public class AutowiredAnnotationBeanPostProcessor implements SmartInstantiationAwareBeanPostProcessor, BeanFactoryAware {
+
+    private static final Constructor<?>[] EMPTY_CONSTRUCTORS = new Constructor<?>[0];
+
+    private AutowireCapableBeanFactory beanFactory;
+
+    /** 类 -> 注入元数据（没有注入点的类缓存空元数据） */
+    private final Map<Class<?>, InjectionMetadata> injectionMetadataCache = new ConcurrentHashMap<>(256);
+
+    /** 类 -> 候选构造方法（没有候选者时缓存空数组） */
+    private final Map<Class<?>, Constructor<?>[]> candidateConstructorsCache = new ConcurrentHashMap<>(256);
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        if (!(beanFactory instanceof AutowireCapableBeanFactory autowireCapableBeanFactory)) {
+            throw new IllegalArgumentException("AutowiredAnnotationBeanPostProcessor需要AutowireCapableBeanFactory: " + beanFactory);
+        }
+        this.beanFactory = autowireCapableBeanFactory;
+    }
+
+    // ============ 构造方法推断 ============
+
+    @Override
+    public Constructor<?>[] determineCandidateConstructors(Class<?> beanClass, String beanName) {
+        Constructor<?>[] candidates = this.candidateConstructorsCache.computeIfAbsent(beanClass, this::findCandidateConstructors);
+        return (candidates.length > 0 ? candidates : null);
+    }
+
+    /**
+     * 候选构造方法：
+     * 1. 有@Autowired构造方法：只能有一个required=true的；都是required=false时，无参构造方法也作为候选者
+     * 2. 没有@Autowired构造方法，但只有一个有参构造方法：使用它
+     * 3. 其它情况：没有候选者（使用无参构造）
+     */
+    private Constructor<?>[] findCandidateConstructors(Class<?> beanClass) {
+        Constructor<?>[] rawCandidates = beanClass.getDeclaredConstructors();
+        Class<?> userClass = ClassUtils.getUserClass(beanClass);
+        List<Constructor<?>> candidates = new ArrayList<>(1);
+        Constructor<?> requiredConstructor = null;
+        Constructor<?> defaultConstructor = null;
+
+        for (Constructor<?> candidate : rawCandidates) {
+            Autowired autowired = findAutowiredAnnotation(candidate, userClass);
+            if (autowired == null) {
+                if (candidate.getParameterCount() == 0) {
+                    defaultConstructor = candidate;
+                }
+                continue;
+            }
+            if (requiredConstructor != null || (autowired.required() && !candidates.isEmpty())) {
+                throw new IllegalStateException("类 [" + beanClass.getName() +
+                        "] 存在多个@Autowired构造方法，其中required=true的只能有一个: " + candidate);
+            }
+            if (autowired.required()) {
+                requiredConstructor = candidate;
+            }
+            candidates.add(candidate);
+        }
+
+        if (!candidates.isEmpty()) {
+            if (requiredConstructor == null && defaultConstructor != null) {
+                candidates.add(defaultConstructor);
+            }
+            return candidates.toArray(EMPTY_CONSTRUCTORS);
+        }
+        if (rawCandidates.length == 1 && rawCandidates[0].getParameterCount() > 0) {
+            return new Constructor<?>[] {rawCandidates[0]};
+        }
+        return EMPTY_CONSTRUCTORS;
+    }
+
+    /**
+     * 构造方法上的@Autowired；生成的子类（例如增强后的配置类）的构造方法没有注解，取原始类上对应的构造方法
+     */
+    private static Autowired findAutowiredAnnotation(Constructor<?> candidate, Class<?> userClass) {
+        Autowired autowired = candidate.getAnnotation(Autowired.class);
+        if (autowired == null && userClass != candidate.getDeclaringClass()) {
+            try {
+                autowired = userClass.getDeclaredConstructor(candidate.getParameterTypes()).getAnnotation(Autowired.class);
+            } catch (NoSuchMethodException ex) {
+                // 子类自己的构造方法，原始类上没有对应的
+            }
+        }
+        return autowired;
+    }
+
+    // ============ 字段/方法注入 ============
+
+    @Override
+    public void postProcessProperties(Object bean, String beanName) {
+        findAutowiringMetadata(bean.getClass()).inject(bean, beanName);
+    }
+
+    private InjectionMetadata findAutowiringMetadata(Class<?> clazz) {
+        InjectionMetadata metadata = this.injectionMetadataCache.get(clazz);
+        if (metadata == null) {
+            metadata = this.injectionMetadataCache.computeIfAbsent(clazz, this::buildAutowiringMetadata);
+        }
+        return metadata;
+    }
+
+    /**
+     * 扫描类及其父类上的@Autowired字段和方法，父类的注入点在前
+     * 被子类重写的方法只看子类的声明（子类重写后没有@Autowired就不注入）
+     */
+    private InjectionMetadata buildAutowiringMetadata(Class<?> clazz) {
+        List<InjectionMetadata.InjectedElement> elements = new ArrayList<>();
+        Set<String> visitedMethodSignatures = new HashSet<>();
+        Class<?> targetClass = clazz;
+
+        while (targetClass != null && targetClass != Object.class) {
+            List<InjectionMetadata.InjectedElement> currElements = new ArrayList<>();
+
+            for (Field field : targetClass.getDeclaredFields()) {
+                Autowired autowired = field.getAnnotation(Autowired.class);
+                if (autowired == null) {
+                    continue;
+                }
+                if (Modifier.isStatic(field.getModifiers())) {
+                    log.warn("@Autowired不支持静态字段，已忽略: {}", field);
+                    continue;
+                }
+                if (Modifier.isFinal(field.getModifiers())) {
+                    throw new IllegalStateException("@Autowired不能用于final字段: " + field);
+                }
+                currElements.add(new AutowiredFieldElement(field, autowired.required()));
+            }
+
+            List<String> declaredSignatures = new ArrayList<>();
+            for (Method method : targetClass.getDeclaredMethods()) {
+                if (method.isBridge() || method.isSynthetic()) {
+                    continue;
+                }
+                if (Modifier.isStatic(method.getModifiers())) {
+                    if (method.isAnnotationPresent(Autowired.class)) {
+                        log.warn("@Autowired不支持静态方法，已忽略: {}", method);
+                    }
+                    continue;
+                }
+                String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+                if (!Modifier.isPrivate(method.getModifiers())) {
+                    declaredSignatures.add(signature);
+                    if (visitedMethodSignatures.contains(signature)) {
+                        // 被子类重写
+                        continue;
+                    }
+                }
+                Autowired autowired = method.getAnnotation(Autowired.class);
+                if (autowired == null) {
+                    continue;
+                }
+                if (method.getParameterCount() == 0) {
+                    log.warn("@Autowired只能用于有参数的方法，已忽略: {}", method);
+                    continue;
+                }
+                currElements.add(new AutowiredMethodElement(method, autowired.required()));
+            }
+            visitedMethodSignatures.addAll(declaredSignatures);
+
+            elements.addAll(0, currElements);
+            targetClass = targetClass.getSuperclass();
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("缓存类 [{}] 的注入元数据，共 {} 个注入点", clazz.getName(), elements.size());
+        }
+        return new InjectionMetadata(clazz, elements);
+    }
+
+    /**
+     * 获取能访问私有成员的Lookup，无法获取时（模块未开放）返回null，由调用方退回setAccessible
+     */
+    private static MethodHandles.Lookup privateLookup(Class<?> declaringClass) {
+        try {
+            return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        } catch (IllegalAccessException | SecurityException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * 上一次解析的结果：同一个Bean再次注入时直接按名称获取依赖
+     * 记录请求方的Bean名称，因为同一个类的不同Bean解析结果可能不同（不会把自己作为候选者）
+     */
+    private record ShortcutBeanNames(String requestingBeanName, String[] autowiredBeanNames) {
+    }
+
+    /**
+     * 解析一个依赖，并记录注入的Bean名称（只有一个时才能作为快捷方式）
+     */
+    private Object resolveDependency(DependencyDescriptor descriptor, String beanName, String[] autowiredBeanNames, int index) {
+        Set<String> names = new LinkedHashSet<>(2);
+        Object value = this.beanFactory.resolveDependency(descriptor, beanName, names);
+        autowiredBeanNames[index] = (value != null && names.size() == 1 ? names.iterator().next() : null);
+        return value;
+    }
+
+    /**
+     * 字段注入点
+     */
+    private class AutowiredFieldElement extends InjectionMetadata.InjectedElement {
+
+        private final DependencyDescriptor descriptor;
+
+        /** 预绑定的字段setter：(Object, Object)void */
+        private final MethodHandle setter;
+
+        private volatile ShortcutBeanNames shortcut;
+
+        AutowiredFieldElement(Field field, boolean required) {
+            super(field, required);
+            this.descriptor = new DependencyDescriptor(field, required);
+            try {
+                MethodHandles.Lookup lookup = privateLookup(field.getDeclaringClass());
+                if (lookup == null) {
+                    field.setAccessible(true);
+                    lookup = MethodHandles.lookup();
+                }
+                this.setter = lookup.unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new IllegalStateException("无法访问@Autowired字段: " + field, ex);
+            }
+        }
+
+        @Override
+        protected void inject(Object target, String beanName) {
+            Object value;
+            ShortcutBeanNames cached = this.shortcut;
+            if (cached != null && Objects.equals(cached.requestingBeanName(), beanName)) {
+                value = beanFactory.getBean(cached.autowiredBeanNames()[0]);
+            } else {
+                String[] autowiredBeanNames = new String[1];
+                value = resolveDependency(this.descriptor, beanName, autowiredBeanNames, 0);
+                if (autowiredBeanNames[0] != null) {
+                    this.shortcut = new ShortcutBeanNames(beanName, autowiredBeanNames);
+                }
+            }
+            if (value == null) {
+                return;
+            }
+            try {
+                this.setter.invokeExact(target, value);
+            } catch (Throwable ex) {
+                throw new IllegalStateException("@Autowired字段注入失败: " + this.member, ex);
+            }
+        }
+    }
+
+    /**
+     * 方法注入点：所有参数都按类型解析
+     */
+    private class AutowiredMethodElement extends InjectionMetadata.InjectedElement {
+
+        private final DependencyDescriptor[] descriptors;
+
+        /** 预绑定的方法：(Object, Object[])void，参数通过asSpreader展开 */
+        private final MethodHandle invoker;
+
+        private volatile ShortcutBeanNames shortcut;
+
+        AutowiredMethodElement(Method method, boolean required) {
+            super(method, required);
+            int parameterCount = method.getParameterCount();
+            this.descriptors = new DependencyDescriptor[parameterCount];
+            for (int i = 0; i < parameterCount; i++) {
+                this.descriptors[i] = new DependencyDescriptor(method, i, required);
+            }
+            try {
+                MethodHandles.Lookup lookup = privateLookup(method.getDeclaringClass());
+                if (lookup == null) {
+                    method.setAccessible(true);
+                    lookup = MethodHandles.lookup();
+                }
+                this.invoker = lookup.unreflect(method)
+                        .asSpreader(Object[].class, parameterCount)
+                        .asType(MethodType.methodType(void.class, Object.class, Object[].class));
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new IllegalStateException("无法访问@Autowired方法: " + method, ex);
+            }
+        }
+
+        @Override
+        protected void inject(Object target, String beanName) {
+            Object[] arguments = new Object[this.descriptors.length];
+            ShortcutBeanNames cached = this.shortcut;
+            if (cached != null && Objects.equals(cached.requestingBeanName(), beanName)) {
+                String[] autowiredBeanNames = cached.autowiredBeanNames();
+                for (int i = 0; i < arguments.length; i++) {
+                    arguments[i] = beanFactory.getBean(autowiredBeanNames[i]);
+                }
+            } else {
+                String[] autowiredBeanNames = new String[arguments.length];
+                boolean cacheable = true;
+                for (int i = 0; i < arguments.length; i++) {
+                    arguments[i] = resolveDependency(this.descriptors[i], beanName, autowiredBeanNames, i);
+                    if (arguments[i] == null) {
+                        // 非必须的依赖缺失：不调用方法
+                        return;
+                    }
+                    cacheable &= (autowiredBeanNames[i] != null);
+                }
+                if (cacheable) {
+                    this.shortcut = new ShortcutBeanNames(beanName, autowiredBeanNames);
+                }
+            }
+            try {
+                this.invoker.invokeExact(target, arguments);
+            } catch (Throwable ex) {
+                throw new IllegalStateException("@Autowired方法注入失败: " + this.member, ex);
+            }
+        }
+    }
 }
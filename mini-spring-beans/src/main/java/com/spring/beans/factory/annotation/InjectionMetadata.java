@@ -0,0 +1,79 @@
+package com.spring.beans.factory.annotation;
+
+import java.lang.reflect.Member;
+import java.util.Collection;
+
+/**
+ * ClassName: InjectionMetadata
+ * Description:
+ *
+ * 一个类的注入元数据 - 对应Spring的InjectionMetadata
+ * 保存类中所有需要注入的字段/方法（父类的在前），由AutowiredAnnotationBeanPostProcessor构建一次后缓存，
+ * 之后每次创建实例（原型Bean）只需依次调用各注入点，不再扫描反射信息
+ *
+ * @Author: csx
+ * @Create: 2025/12/4 - 1:20
+ * @version: v1.0
+ */
+public class InjectionMetadata {
+
+    private final Class<?> targetClass;
+
+    private final InjectedElement[] injectedElements;
+
+    public InjectionMetadata(Class<?> targetClass, Collection<InjectedElement> elements) {
+        this.targetClass = targetClass;
+        this.injectedElements = elements.toArray(new InjectedElement[0]);
+    }
+
+    /**
+     * 对目标对象执行所有注入
+     */
+    public void inject(Object target, String beanName) {
+        // 没有注入点的类也会缓存元数据（空数组），避免重复扫描
+        for (InjectedElement element : this.injectedElements) {
+            element.inject(target, beanName);
+        }
+    }
+
+    public Class<?> getTargetClass() {
+        return this.targetClass;
+    }
+
+    public int getInjectedElementCount() {
+        return this.injectedElements.length;
+    }
+
+    /**
+     * 单个注入点：字段或方法
+     */
+    public abstract static class InjectedElement {
+
+        protected final Member member;
+
+        protected final boolean required;
+
+        protected InjectedElement(Member member, boolean required) {
+            this.member = member;
+            this.required = required;
+        }
+
+        public Member getMember() {
+            return this.member;
+        }
+
+        public boolean isRequired() {
+            return this.required;
+        }
+
+        /**
+         * 对目标对象执行注入
+         */
+        protected abstract void inject(Object target, String beanName);
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " for " + this.member;
+        }
+    }
+}
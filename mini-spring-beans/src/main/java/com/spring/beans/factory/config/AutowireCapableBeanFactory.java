@@ -2,6 +2,8 @@ package com.spring.beans.factory.config;
 
 import com.spring.beans.factory.BeanFactory;
 
+import java.util.Set;
+
 /**
  * ClassName: AutowireCapableBeanFactory
  * Description: 自动装配
@@ -11,4 +13,23 @@ import com.spring.beans.factory.BeanFactory;
  * @version: v1.0
  */
 public interface AutowireCapableBeanFactory extends BeanFactory {
+
+    /**
+     * 按类型解析依赖
+     * @param descriptor 注入点描述
+     * @param requestingBeanName 需要该依赖的Bean名称（不会把自己作为候选者）
+     * @return 解析到的依赖；非必须的依赖找不到时返回null
+     */
+    default Object resolveDependency(DependencyDescriptor descriptor, String requestingBeanName) {
+        return resolveDependency(descriptor, requestingBeanName, null);
+    }
+
+    /**
+     * 按类型解析依赖
+     * @param descriptor 注入点描述
+     * @param requestingBeanName 需要该依赖的Bean名称（不会把自己作为候选者）
+     * @param autowiredBeanNames 不为null时，记录最终注入的Bean名称（调用方据此缓存解析结果）
+     * @return 解析到的依赖；非必须的依赖找不到时返回null
+     */
+    Object resolveDependency(DependencyDescriptor descriptor, String requestingBeanName, Set<String> autowiredBeanNames);
 }
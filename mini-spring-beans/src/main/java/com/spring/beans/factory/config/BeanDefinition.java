@@ -1,5 +1,7 @@
 package com.spring.beans.factory.config;
 
+import com.spring.core.AttributeAccessor;
+
 /**
  * ClassName: BeanDefinition
  * Description:
@@ -8,7 +10,7 @@ package com.spring.beans.factory.config;
  * @Create: 2025/10/24 - 23:54
  * @version: v1.0
  */
-public interface BeanDefinition {
+public interface BeanDefinition extends AttributeAccessor {
     String SCOPE_SINGLETON = "singleton";
     String SCOPE_PROTOTYPE = "prototype";
 
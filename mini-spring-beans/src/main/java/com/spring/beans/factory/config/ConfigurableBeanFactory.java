@@ -2,6 +2,7 @@ package com.spring.beans.factory.config;
 
 import com.spring.beans.factory.HierarchicalBeanFactory;
 import com.spring.beans.factory.support.BeanPostProcessor;
+import com.spring.core.convert.ConversionService;
 
 /**
  * ClassName: ConfigurableBeanFactory
@@ -24,6 +25,18 @@ public interface ConfigurableBeanFactory extends HierarchicalBeanFactory, Single
      */
     ClassLoader getBeanClassLoader();
 
+    /**
+     * 设置属性绑定使用的类型转换服务（应用到BeanFactory创建的所有BeanWrapper）
+     * @param conversionService 类型转换服务
+     */
+    void setConversionService(ConversionService conversionService);
+
+    /**
+     * 获取类型转换服务
+     * @return 类型转换服务，未设置时为null
+     */
+    ConversionService getConversionService();
+
     /**
      * 添加后置处理器
      * @param beanPostProcessor 后置处理器
@@ -0,0 +1,95 @@
+package com.spring.beans.factory.config;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+
+/**
+ * ClassName: DependencyDescriptor
+ * Description:
+ *
+ * 注入点描述 - 对应Spring的DependencyDescriptor
+ * 描述一个待注入的依赖：字段，或者方法/构造方法的某个参数
+ *
+ * 描述对象在注入元数据中创建一次后复用，依赖类型、依赖名称只解析一次
+ *
+ * @Author: csx
+ * @Create: 2025/12/4 - 1:20
+ * @version: v1.0
+ */
+public class DependencyDescriptor {
+
+    /** 字段注入点，参数注入点时为null */
+    private final Field field;
+
+    /** 方法/构造方法注入点，字段注入点时为null */
+    private final Executable executable;
+
+    private final int parameterIndex;
+
+    private final boolean required;
+
+    private final Class<?> dependencyType;
+
+    /** 依赖名称：字段名或参数名（编译时未保留参数名则为null），多个候选者时用于按名称匹配 */
+    private final String dependencyName;
+
+    public DependencyDescriptor(Field field, boolean required) {
+        this.field = field;
+        this.executable = null;
+        this.parameterIndex = -1;
+        this.required = required;
+        this.dependencyType = field.getType();
+        this.dependencyName = field.getName();
+    }
+
+    public DependencyDescriptor(Executable executable, int parameterIndex, boolean required) {
+        this.field = null;
+        this.executable = executable;
+        this.parameterIndex = parameterIndex;
+        this.required = required;
+        Parameter parameter = executable.getParameters()[parameterIndex];
+        this.dependencyType = parameter.getType();
+        this.dependencyName = (parameter.isNamePresent() ? parameter.getName() : null);
+    }
+
+    /**
+     * 依赖类型
+     */
+    public Class<?> getDependencyType() {
+        return this.dependencyType;
+    }
+
+    /**
+     * 依赖名称，可能为null
+     */
+    public String getDependencyName() {
+        return this.dependencyName;
+    }
+
+    public boolean isRequired() {
+        return this.required;
+    }
+
+    public Field getField() {
+        return this.field;
+    }
+
+    public Executable getExecutable() {
+        return this.executable;
+    }
+
+    public int getParameterIndex() {
+        return this.parameterIndex;
+    }
+
+    @Override
+    public String toString() {
+        if (this.field != null) {
+            return "字段 '" + this.field.getName() + "' (" + this.field.getDeclaringClass().getName() + ")";
+        }
+        String kind = (this.executable instanceof Constructor ? "构造方法" : "方法");
+        return kind + " " + this.executable + " 的第 " + (this.parameterIndex + 1) + " 个参数";
+    }
+}
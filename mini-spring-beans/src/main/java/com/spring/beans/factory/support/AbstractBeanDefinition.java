@@ -3,6 +3,9 @@ package com.spring.beans.factory.support;
 import com.spring.beans.factory.config.BeanDefinition;
 import com.spring.util.ObjectUtils;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * ClassName: AbstractBeanDefinition
  * Description:
@@ -47,6 +50,8 @@ public abstract class AbstractBeanDefinition implements BeanDefinition {
 
     private String[] destroyMethodNames; // 销毁方法
 
+    private Map<String, Object> attributes; // 附加属性（例如配置类的full/lite标记），第一次设置时创建
+
 
     /**
      * 设置BeanDefinition默认值
@@ -317,4 +322,44 @@ public abstract class AbstractBeanDefinition implements BeanDefinition {
     public String getDestroyMethodName() {
         return (!ObjectUtils.isEmpty(this.destroyMethodNames) ? this.destroyMethodNames[0] : null);
     }
+
+    // ============ AttributeAccessor 接口实现 ============
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            removeAttribute(name);
+            return;
+        }
+        if (this.attributes == null) {
+            this.attributes = new LinkedHashMap<>(4);
+        }
+        this.attributes.put(name, value);
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return (this.attributes != null ? this.attributes.get(name) : null);
+    }
+
+    @Override
+    public Object removeAttribute(String name) {
+        return (this.attributes != null ? this.attributes.remove(name) : null);
+    }
+
+    @Override
+    public boolean hasAttribute(String name) {
+        return (this.attributes != null && this.attributes.containsKey(name));
+    }
+
+    /**
+     * 复制另一个Bean定义的所有附加属性
+     */
+    protected void copyAttributesFrom(AbstractBeanDefinition source) {
+        if (source.attributes != null) {
+            for (Map.Entry<String, Object> entry : source.attributes.entrySet()) {
+                setAttribute(entry.getKey(), entry.getValue());
+            }
+        }
+    }
 }
@@ -5,8 +5,10 @@ import com.spring.beans.factory.BeanFactoryUtils;
 import com.spring.beans.factory.FactoryBean;
 import com.spring.beans.factory.config.BeanDefinition;
 import com.spring.beans.factory.config.ConfigurableBeanFactory;
+import com.spring.core.convert.ConversionService;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -26,15 +28,75 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport
 
     private final List<BeanPostProcessor> beanPostProcessors = new CopyOnWriteArrayList<>();
 
-    /** FactoryBean创建的对象缓存 */
-    private final Map<String, Object> factoryBeanObjectCache = new ConcurrentHashMap<>(16);
+    /** 按类型分组的BeanPostProcessor，添加处理器时重置（创建Bean时不再逐个instanceof判断） */
+    private volatile BeanPostProcessorCache beanPostProcessorCache;
+
+    /**
+     * 已解析单例的快速通道缓存：调用方传入的原始name -> 最终对外暴露的对象
+     * 只在单例完全创建完成后填充（FactoryBean的产品对象也会缓存），
+     * 命中时一次哈希查找直接返回，不做名称转换、不打日志、不分配对象
+     */
+    private final Map<String, Object> resolvedSingletonCache = new ConcurrentHashMap<>(256);
+
+    /** 合并后的Bean定义缓存：Bean名称 -> RootBeanDefinition，只合并、验证一次；Bean定义变化时清除 */
+    private final Map<String, RootBeanDefinition> mergedBeanDefinitions = new ConcurrentHashMap<>(256);
+
+    /** 属性绑定使用的类型转换服务，为null时BeanWrapper使用默认的DefaultConversionService */
+    private volatile ConversionService conversionService;
+
+    @Override
+    public void setConversionService(ConversionService conversionService) {
+        this.conversionService = conversionService;
+    }
+
+    @Override
+    public ConversionService getConversionService() {
+        return this.conversionService;
+    }
 
     @Override
     public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
         this.beanPostProcessors.add(beanPostProcessor);
+        this.beanPostProcessorCache = null;
         log.debug("添加BeanPostProcessor: {}", beanPostProcessor.getClass().getSimpleName());
     }
 
+    /**
+     * 所有BeanPostProcessor（按添加顺序）
+     */
+    public List<BeanPostProcessor> getBeanPostProcessors() {
+        return this.beanPostProcessors;
+    }
+
+    /**
+     * 按类型分组的BeanPostProcessor
+     */
+    protected BeanPostProcessorCache getBeanPostProcessorCache() {
+        BeanPostProcessorCache bppCache = this.beanPostProcessorCache;
+        if (bppCache == null) {
+            List<InstantiationAwareBeanPostProcessor> instantiationAware = new ArrayList<>();
+            List<SmartInstantiationAwareBeanPostProcessor> smartInstantiationAware = new ArrayList<>();
+            for (BeanPostProcessor bpp : this.beanPostProcessors) {
+                if (bpp instanceof InstantiationAwareBeanPostProcessor instantiationAwareBpp) {
+                    instantiationAware.add(instantiationAwareBpp);
+                    if (bpp instanceof SmartInstantiationAwareBeanPostProcessor smartBpp) {
+                        smartInstantiationAware.add(smartBpp);
+                    }
+                }
+            }
+            bppCache = new BeanPostProcessorCache(List.copyOf(instantiationAware), List.copyOf(smartInstantiationAware));
+            this.beanPostProcessorCache = bppCache;
+        }
+        return bppCache;
+    }
+
+    /**
+     * 按类型分组的BeanPostProcessor - 对应Spring的AbstractBeanFactory.BeanPostProcessorCache
+     */
+    protected record BeanPostProcessorCache(List<InstantiationAwareBeanPostProcessor> instantiationAware,
+                                            List<SmartInstantiationAwareBeanPostProcessor> smartInstantiationAware) {
+    }
+
     @Override
     public Object getBean(String name) {
         return doGetBean(name, null, null, false);
@@ -52,23 +114,29 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport
 
     protected <T> T doGetBean(
             String name, Class<T> requiredType, Object[] args, boolean typeCheckOnly) {
-        log.debug("开始获取Bean: {}", name);
+        // 0. 快速通道：已完全创建的单例直接返回（类型不匹配时走完整流程，由adaptBeanInstance报告错误）
+        Object resolved = this.resolvedSingletonCache.get(name);
+        if (resolved != null && (requiredType == null || requiredType.isInstance(resolved))) {
+            return (T) resolved;
+        }
 
         // 1. 名称转换
         String beanName = transformedBeanName(name);
-        log.debug("转换后的Bean名称: {}", beanName);
 
         // 2. 检查单例缓存
         Object bean = getSingleton(beanName);
         if (bean != null) {
-            log.debug("从单例缓存中获取Bean: {}", beanName);
+            if (log.isDebugEnabled()) {
+                log.debug("从单例缓存中获取Bean: {}", beanName);
+            }
             // 处理FactoryBean：根据原始name决定返回FactoryBean本身还是其创建的对象
-            return (T) getObjectForBeanInstance(bean, name, beanName, null);
+            Object exposedObject = getObjectForBeanInstance(bean, name, beanName, null);
+            cacheResolvedSingleton(name, beanName, bean, exposedObject);
+            return adaptBeanInstance(name, exposedObject, requiredType);
         }
 
         // 3. 获取合并的BeanDefinition
         RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
-        log.debug("获取到BeanDefinition: {}", beanName);
 
         // 4. 处理依赖关系
 //        String[] dependsOn = mbd.getDependsOn();
@@ -81,10 +149,8 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport
 
         // 5. 根据作用域创建Bean
         if (mbd.isSingleton()) {
-            log.debug("创建单例Bean: {}", beanName);
             bean = getSingleton(beanName, () -> createBean(beanName, mbd, args));
         } else if (mbd.isPrototype()){
-            log.debug("创建原型Bean: {}", beanName);
             bean = createBean(beanName, mbd, args);
         } else {
             log.error("没有此作用域: {} 的Bean: {}", mbd.getScope(), beanName);
@@ -92,15 +158,89 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport
         }
 
         // 6. 处理FactoryBean
-//        bean = getObjectForBeanInstance(bean, name, beanName);
+        Object exposedObject = getObjectForBeanInstance(bean, name, beanName, mbd);
+        if (mbd.isSingleton()) {
+            cacheResolvedSingleton(name, beanName, bean, exposedObject);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("成功获取Bean: {} -> {}", name,
+                    exposedObject != null ? exposedObject.getClass().getSimpleName() : "null");
+        }
+        return adaptBeanInstance(name, exposedObject, requiredType);
+    }
 
-        log.debug("成功获取Bean: {} -> {}", name,
-                bean != null ? bean.getClass().getSimpleName() : "null");
+    /**
+     * 检查Bean是否是要求的类型，不匹配时抛出明确的异常，而不是在调用方出现ClassCastException
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T adaptBeanInstance(String name, Object bean, Class<T> requiredType) {
+        if (requiredType != null && bean != null && !requiredType.isInstance(bean)) {
+            throw new IllegalStateException("Bean '" + name + "' 的类型是 '" + bean.getClass().getName() +
+                    "'，不是要求的类型 '" + requiredType.getName() + "'");
+        }
         return (T) bean;
     }
 
+    /**
+     * 将完全创建好的单例放入快速通道缓存
+     * 以下情况不缓存：
+     * 1. Bean仍在创建中（拿到的只是早期引用）
+     * 2. 非单例的FactoryBean（每次getObject()都应返回新对象）
+     * 3. 暴露对象为null
+     */
+    private void cacheResolvedSingleton(String name, String beanName, Object beanInstance, Object exposedObject) {
+        if (exposedObject == null || isSingletonCurrentlyInCreation(beanName)) {
+            return;
+        }
+        if (beanInstance instanceof FactoryBean<?> factory &&
+                !BeanFactoryUtils.isFactoryDereference(name) && !factory.isSingleton()) {
+            return;
+        }
+        this.resolvedSingletonCache.put(name, exposedObject);
+    }
+
+    /**
+     * 清除某个Bean在快速通道中的缓存（Bean名称、别名和&前缀的FactoryBean引用都会清除）
+     * 在Bean定义被覆盖、移除或者手动注册单例时调用
+     */
+    protected void clearResolvedSingletonCache(String beanName) {
+        this.resolvedSingletonCache.remove(beanName);
+        this.resolvedSingletonCache.remove(FACTORY_BEAN_PREFIX + beanName);
+        for (String alias : getAliases(beanName)) {
+            this.resolvedSingletonCache.remove(alias);
+            this.resolvedSingletonCache.remove(FACTORY_BEAN_PREFIX + alias);
+        }
+        clearFactoryBeanCache(beanName);
+    }
+
+    @Override
+    public void registerSingleton(String beanName, Object singletonObject) {
+        super.registerSingleton(beanName, singletonObject);
+        clearResolvedSingletonCache(beanName);
+    }
+
+    /**
+     * 转换为规范的Bean名称：去除&前缀，再把别名解析为规范名称
+     * 两步都是缓存/预先计算好的哈希查找，不分配对象
+     */
     protected String transformedBeanName(String name) {
-        return BeanFactoryUtils.transformedBeanName(name);
+        return canonicalName(BeanFactoryUtils.transformedBeanName(name));
+    }
+
+    @Override
+    public void registerAlias(String name, String alias) {
+        super.registerAlias(name, alias);
+        // 别名可能原来指向其它Bean，快速通道中按别名缓存的对象失效
+        this.resolvedSingletonCache.remove(alias);
+        this.resolvedSingletonCache.remove(FACTORY_BEAN_PREFIX + alias);
+    }
+
+    @Override
+    public void removeAlias(String alias) {
+        super.removeAlias(alias);
+        this.resolvedSingletonCache.remove(alias);
+        this.resolvedSingletonCache.remove(FACTORY_BEAN_PREFIX + alias);
     }
 
     /**
@@ -112,8 +252,10 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport
      */
     protected Object getObjectForBeanInstance(
             Object beanInstance, String name, String beanName, RootBeanDefinition mbd) {
-        log.debug("处理Bean实例: name={}, beanName={}, beanType={}",
-                name, beanName, beanInstance.getClass().getSimpleName());
+        if (log.isDebugEnabled()) {
+            log.debug("处理Bean实例: name={}, beanName={}, beanType={}",
+                    name, beanName, beanInstance.getClass().getSimpleName());
+        }
 
         // 1. 检查是否是FactoryBean引用（name以&开头）
         if (BeanFactoryUtils.isFactoryDereference(name)) {
@@ -121,13 +263,11 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport
                 throw new RuntimeException("Bean '" + beanName + "' 的类型是 '" +
                         beanInstance.getClass().getName() + "', 但它不是FactoryBean");
             }
-            log.debug("返回FactoryBean本身: {}", beanName);
             return beanInstance;
         }
 
         // 2. 如果不是FactoryBean，直接返回实例
         if (!(beanInstance instanceof FactoryBean)) {
-            log.debug("返回普通Bean实例: {}", beanName);
             return beanInstance;
         }
 
@@ -149,47 +289,6 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport
         return object;
     }
 
-    /**
-     * 从缓存中获取FactoryBean创建的对象
-     */
-    protected Object getCachedObjectForFactoryBean(String beanName) {
-        return this.factoryBeanObjectCache.get(beanName);
-    }
-
-    /**
-     * 从FactoryBean获取对象
-     */
-    protected Object getObjectFromFactoryBean(FactoryBean<?> factory, String beanName) {
-        // 如果是单例，需要缓存
-        if (factory.isSingleton()) {
-            synchronized (this.factoryBeanObjectCache) {
-                Object object = this.factoryBeanObjectCache.get(beanName);
-                if (object == null) {
-                    object = factory.getObject();
-                    // 直接缓存对象，null也缓存（避免重复调用getObject()）
-                    this.factoryBeanObjectCache.put(beanName, object);
-                    log.debug("缓存FactoryBean创建的对象: {}", beanName);
-                }
-                return object;
-            }
-        } else {
-            // 原型模式，每次都创建新对象
-            return doGetObjectFromFactoryBean(factory, beanName);
-        }
-    }
-
-    /**
-     * 实际调用FactoryBean.getObject()方法
-     */
-    private Object doGetObjectFromFactoryBean(FactoryBean<?> factory, String beanName) {
-        log.debug("调用FactoryBean.getObject(): {}", beanName);
-        Object object = factory.getObject();
-        if (object == null) {
-            log.debug("FactoryBean返回null对象: {}", beanName);
-        }
-        return object;
-    }
-
     /**
      * 合并BeanDefinition
      *
@@ -206,20 +305,37 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport
      * 注意：我们这里只实现基本的获取RootBeanDefinition的逻辑
      */
     protected RootBeanDefinition getMergedLocalBeanDefinition(String beanName) {
-        log.debug("获取BeanDefinition: {}", beanName);
+        // 先查缓存：原型Bean每次创建都会走到这里，不再重复验证
+        RootBeanDefinition mbd = this.mergedBeanDefinitions.get(beanName);
+        if (mbd != null) {
+            return mbd;
+        }
 
-        // 直接获取原始BeanDefinition
+        log.debug("合并BeanDefinition: {}", beanName);
         BeanDefinition bd = getBeanDefinition(beanName);
 
-        // 如果是RootBeanDefinition，直接返回
-        if (bd instanceof RootBeanDefinition) {
-            RootBeanDefinition rbd = (RootBeanDefinition) bd;
-            rbd.validate(); // 简单验证
-            return rbd;
-        }
+        // 如果是RootBeanDefinition，直接使用；否则复制为RootBeanDefinition（保留全部属性，几乎不会走到这里）
+        mbd = (bd instanceof RootBeanDefinition rbd ? rbd : new RootBeanDefinition(bd));
+        mbd.validate();
 
-        // 如果不是RootBeanDefinition，包装一下（几乎不会走到这里）
-        return new RootBeanDefinition(bd.getBeanClass());
+        // 并发合并时保留先放入的那份：已解析的构造方法/工厂方法缓存在合并后的定义上，必须是同一个对象
+        RootBeanDefinition existing = this.mergedBeanDefinitions.putIfAbsent(beanName, mbd);
+        return (existing != null ? existing : mbd);
+    }
+
+    /**
+     * 清除某个Bean的合并定义缓存（Bean定义被覆盖或移除时调用）
+     */
+    protected void clearMergedBeanDefinition(String beanName) {
+        this.mergedBeanDefinitions.remove(beanName);
+    }
+
+    /**
+     * 清除所有合并定义缓存，下次获取时按当前的Bean定义重新合并
+     * BeanFactoryPostProcessor可能已经修改过Bean定义，冻结配置时调用
+     */
+    public void clearMetadataCache() {
+        this.mergedBeanDefinitions.clear();
     }
 
     /**
@@ -229,30 +345,41 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport
 
     @Override
     public boolean containsBean(String name) {
-        // TODO
-        return true;
+        return containsLocalBean(name);
     }
 
+    /**
+     * 判断是否为FactoryBean：已创建的单例看实例，否则看Bean定义预测的类型（不会创建Bean）
+     */
     @Override
     public boolean isFactoryBean(String name) {
-        // TODO
-        return false;
+        String beanName = transformedBeanName(name);
+        Object beanInstance = getSingleton(beanName, false);
+        if (beanInstance != null) {
+            return (beanInstance instanceof FactoryBean);
+        }
+        if (!containsBeanDefinition(beanName)) {
+            return false;
+        }
+        Class<?> beanType = predictBeanType(beanName, getBeanDefinition(beanName));
+        return (beanType != null && FactoryBean.class.isAssignableFrom(beanType));
     }
 
     @Override
     public boolean containsLocalBean(String name) {
-        // 简化实现：检查单例缓存和Bean定义
-        return true;
+        // 检查单例缓存和Bean定义（手动注册的单例没有Bean定义）
+        String beanName = transformedBeanName(name);
+        return (containsSingleton(beanName) || containsBeanDefinition(beanName));
     }
 
     /**
      * 检查Bean是否是单例
      */
     @Override
-    public boolean isSingleton(String beanName) {
-        BeanDefinition bd = getBeanDefinition(beanName);
-        if (bd != null) {
-            return bd.isSingleton();
+    public boolean isSingleton(String name) {
+        String beanName = transformedBeanName(name);
+        if (containsBeanDefinition(beanName)) {
+            return getBeanDefinition(beanName).isSingleton();
         }
 
         // 如果是手动注册的单例，也返回true
@@ -280,24 +407,68 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport
 
     /**
      * 获取Bean的类型
+     * FactoryBean返回getObject()创建的对象类型，name以&开头时返回FactoryBean本身的类型
      */
     @Override
-    public Class<?> getType(String beanName) {
-        BeanDefinition bd = getBeanDefinition(beanName);
+    public Class<?> getType(String name) {
+        String beanName = transformedBeanName(name);
+        boolean factoryDereference = BeanFactoryUtils.isFactoryDereference(name);
 
-        // 1. 如果BeanDefinition中直接指定了类，直接返回
-        if (bd.getBeanClass() != null) {
-            return bd.getBeanClass();
+        // 1. 已创建的单例：直接看实例
+        Object beanInstance = getSingleton(beanName, false);
+        if (beanInstance != null) {
+            if (beanInstance instanceof FactoryBean<?> factory && !factoryDereference) {
+                return getTypeForFactoryBean(beanName, factory);
+            }
+            return beanInstance.getClass();
         }
 
-        // 2. 如果是工厂Bean，需要特殊处理（简化版先返回null）
-//        if (bd.getFactoryBeanName() != null || bd.getFactoryMethodName() != null) {
-//            // 完整Spring会在这里解析工厂方法的返回类型
-//            log.debug("工厂Bean的类型推断暂未实现: {}", beanName);
-//            return null;
-//        }
+        // 2. 根据Bean定义预测类型
+        Class<?> beanType = predictBeanType(beanName, getBeanDefinition(beanName));
+        if (beanType != null && FactoryBean.class.isAssignableFrom(beanType) && !factoryDereference) {
+            return getTypeForFactoryBean(beanName, true);
+        }
+        return beanType;
+    }
+
+    /**
+     * 根据Bean定义预测Bean的类型（不创建Bean）
+     * 1. 工厂方法（@Bean）：已解析的工厂方法的返回类型，未解析时无法预测，返回null
+     * 2. 其它：Bean定义中的类
+     */
+    protected Class<?> predictBeanType(String beanName, BeanDefinition bd) {
+        if (bd.getFactoryMethodName() != null) {
+            if (bd instanceof RootBeanDefinition rbd && rbd.getResolvedFactoryMethod() != null) {
+                return rbd.getResolvedFactoryMethod().getReturnType();
+            }
+            return null;
+        }
+        return bd.getBeanClass();
+    }
 
-        // 3. 如果都没有，返回null
-        return null;
+    /**
+     * 获取FactoryBean创建的对象类型
+     * @param allowInit FactoryBean还没有创建时是否允许为了确定类型而创建它
+     * @return 对象类型，无法确定时返回null
+     */
+    protected Class<?> getTypeForFactoryBean(String beanName, boolean allowInit) {
+        Class<?> objectType = getCachedObjectTypeForFactoryBean(beanName);
+        if (objectType != null) {
+            return objectType;
+        }
+        Object beanInstance = getSingleton(beanName);
+        if (beanInstance == null) {
+            if (!allowInit) {
+                return null;
+            }
+            try {
+                beanInstance = getBean(FACTORY_BEAN_PREFIX + beanName);
+            } catch (RuntimeException ex) {
+                // 只是为了确定类型，创建失败时跳过，真正获取该Bean时会再次抛出
+                log.debug("为确定类型创建FactoryBean失败，跳过: {}", beanName, ex);
+                return null;
+            }
+        }
+        return (beanInstance instanceof FactoryBean<?> factory ? getTypeForFactoryBean(beanName, factory) : null);
     }
 }
@@ -1,16 +1,17 @@
 package com.spring.beans.factory.support;
 
 import com.spring.beans.factory.config.BeanDefinition;
+import com.spring.core.AliasRegistry;
 
 /**
  * ClassName: BeanDefinitionRegistry
- * Description: Bean定义注册表 - 用于注册和管理Bean定义
+ * Description: Bean定义注册表 - 用于注册和管理Bean定义（以及Bean名称的别名）
  *
  * @Author: csx
  * @Create: 2025/10/24 - 23:51
  * @version: v1.0
  */
-public interface BeanDefinitionRegistry {
+public interface BeanDefinitionRegistry extends AliasRegistry {
 
     /**
      * 注册BeanDefinition
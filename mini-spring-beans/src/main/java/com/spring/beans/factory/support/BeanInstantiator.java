@@ -0,0 +1,28 @@
+package com.spring.beans.factory.support;
+
+/**
+ * ClassName: BeanInstantiator
+ * Description:
+ *
+ * 预编译的Bean实例化器：封装一个已解析的构造方法或工厂方法（@Bean）
+ * 解析一次后缓存在RootBeanDefinition上，之后每次创建实例（原型Bean）都直接调用，
+ * 不再重复查找构造方法/方法和setAccessible；再次创建时编译，不再走反射调用
+ *
+ * 由BeanInstantiators创建
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 1:00
+ * @version: v1.0
+ */
+@FunctionalInterface
+public interface BeanInstantiator {
+
+    /**
+     * 创建实例
+     * @param factoryBean 实例工厂方法所在的工厂Bean；构造方法和静态工厂方法传null
+     * @param args 参数，无参时可以为null
+     * @return 创建的实例
+     * @throws Throwable 构造方法或工厂方法本身抛出的异常（不会包装成InvocationTargetException）
+     */
+    Object instantiate(Object factoryBean, Object[] args) throws Throwable;
+}
@@ -0,0 +1,234 @@
+package com.spring.beans.factory.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ClassName: BeanInstantiators
+ * Description:
+ *
+ * BeanInstantiator的创建工具：把构造方法/工厂方法编译成可以直接调用的实例化器
+ *
+ * 分层：第一次创建使用反射，同一个定义第二次创建时才编译（见TieredInstantiator）。
+ * 单例只创建一次，编译生成的隐藏类和MethodHandle只会增加启动时间和元空间，不会带来收益；
+ * 原型Bean第二次创建时编译，之后每次都走编译后的实例化器
+ *
+ * 编译策略（按优先级）：
+ *  1. 无参构造方法、无参静态工厂方法：LambdaMetafactory生成Supplier
+ *  2. 无参实例工厂方法：LambdaMetafactory生成Function（工厂Bean -> 产品）
+ *  3. 其它情况，或者LambdaMetafactory不可用（例如Bean类由其它类加载器加载）：
+ *     MethodHandle，参数通过asSpreader从Object[]展开
+ *
+ * LambdaMetafactory生成的是普通的接口实现类，调用会被JIT内联，效果等同于直接new/直接调用方法
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 1:00
+ * @version: v1.0
+ */
+@Slf4j
+public abstract class BeanInstantiators {
+
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    /** 反射调用的次数达到该值后，下一次创建时编译 */
+    private static final int COMPILE_THRESHOLD = 1;
+
+    /**
+     * 构造方法的实例化器：先反射调用，再次创建时编译
+     */
+    public static BeanInstantiator forConstructor(Constructor<?> constructor) {
+        return new TieredInstantiator(constructor);
+    }
+
+    /**
+     * 工厂方法（静态或实例方法）的实例化器：先反射调用，再次创建时编译
+     */
+    public static BeanInstantiator forFactoryMethod(Method factoryMethod) {
+        return new TieredInstantiator(factoryMethod);
+    }
+
+    // ============ 编译 ============
+
+    /**
+     * 编译构造方法
+     */
+    static BeanInstantiator compileConstructor(Constructor<?> constructor) {
+        MethodHandles.Lookup lookup = privateLookup(constructor);
+        try {
+            MethodHandle handle = lookup.unreflectConstructor(constructor);
+            if (constructor.getParameterCount() == 0) {
+                Supplier<?> supplier = generateSupplier(lookup, handle);
+                if (supplier != null) {
+                    return (factoryBean, args) -> supplier.get();
+                }
+            }
+            return forStaticHandle(handle, constructor.getParameterCount());
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("无法访问构造方法: " + constructor, ex);
+        }
+    }
+
+    /**
+     * 编译工厂方法（静态或实例方法）
+     */
+    static BeanInstantiator compileFactoryMethod(Method factoryMethod) {
+        MethodHandles.Lookup lookup = privateLookup(factoryMethod);
+        try {
+            MethodHandle handle = lookup.unreflect(factoryMethod);
+            int parameterCount = factoryMethod.getParameterCount();
+
+            if (Modifier.isStatic(factoryMethod.getModifiers())) {
+                if (parameterCount == 0) {
+                    Supplier<?> supplier = generateSupplier(lookup, handle);
+                    if (supplier != null) {
+                        return (factoryBean, args) -> supplier.get();
+                    }
+                }
+                return forStaticHandle(handle, parameterCount);
+            }
+
+            if (parameterCount == 0) {
+                Function<Object, ?> function = generateFunction(lookup, handle);
+                if (function != null) {
+                    return (factoryBean, args) -> function.apply(factoryBean);
+                }
+            }
+            MethodHandle spreader = handle.asSpreader(Object[].class, parameterCount)
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+            return (factoryBean, args) -> spreader.invokeExact(factoryBean, (args != null ? args : EMPTY_ARGS));
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("无法访问工厂方法: " + factoryMethod, ex);
+        }
+    }
+
+    private static BeanInstantiator forStaticHandle(MethodHandle handle, int parameterCount) {
+        MethodHandle spreader = handle.asSpreader(Object[].class, parameterCount)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return (factoryBean, args) -> spreader.invokeExact(args != null ? args : EMPTY_ARGS);
+    }
+
+    // ============ LambdaMetafactory ============
+
+    /**
+     * 为无参构造方法/静态方法生成Supplier，失败时返回null（退回MethodHandle）
+     */
+    private static Supplier<?> generateSupplier(MethodHandles.Lookup lookup, MethodHandle handle) {
+        if (handle.type().returnType() == void.class) {
+            return null;
+        }
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class),
+                    handle, handle.type());
+            return (Supplier<?>) callSite.getTarget().invoke();
+        } catch (Throwable ex) {
+            logFallback(handle, ex);
+            return null;
+        }
+    }
+
+    /**
+     * 为无参实例方法生成Function（参数是方法所在的对象），失败时返回null（退回MethodHandle）
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, ?> generateFunction(MethodHandles.Lookup lookup, MethodHandle handle) {
+        if (handle.type().returnType() == void.class) {
+            return null;
+        }
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle, handle.type());
+            return (Function<Object, ?>) callSite.getTarget().invoke();
+        } catch (Throwable ex) {
+            logFallback(handle, ex);
+            return null;
+        }
+    }
+
+    private static void logFallback(MethodHandle handle, Throwable ex) {
+        if (log.isDebugEnabled()) {
+            log.debug("无法通过LambdaMetafactory编译 {}，使用MethodHandle: {}", handle, ex.toString());
+        }
+    }
+
+    /**
+     * 获取能访问私有成员的Lookup
+     * 同一个类加载器下的类处于同一个（未命名）模块，得到的Lookup有完整权限，可以用于LambdaMetafactory；
+     * 无法获取时（模块未开放）退回setAccessible
+     */
+    private static MethodHandles.Lookup privateLookup(Executable executable) {
+        Class<?> declaringClass = executable.getDeclaringClass();
+        try {
+            return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        } catch (IllegalAccessException | SecurityException ex) {
+            executable.trySetAccessible();
+            return MethodHandles.lookup();
+        }
+    }
+
+    // ============ 分层实例化器 ============
+
+    /**
+     * 分层实例化器：前COMPILE_THRESHOLD次通过反射调用（JDK的反射前几次调用走本地实现，不生成类），
+     * 之后编译成LambdaMetafactory/MethodHandle实例化器并替换自身的调用路径
+     *
+     * 计数不要求精确：并发创建时可能多反射一次或者重复编译一次，结果都是正确的
+     */
+    private static final class TieredInstantiator implements BeanInstantiator {
+
+        private final Executable executable;
+
+        private volatile BeanInstantiator compiled;
+
+        private volatile int invocationCount;
+
+        TieredInstantiator(Executable executable) {
+            this.executable = executable;
+            executable.trySetAccessible();
+        }
+
+        @Override
+        public Object instantiate(Object factoryBean, Object[] args) throws Throwable {
+            BeanInstantiator compiled = this.compiled;
+            if (compiled != null) {
+                return compiled.instantiate(factoryBean, args);
+            }
+            if (this.invocationCount >= COMPILE_THRESHOLD) {
+                compiled = (this.executable instanceof Constructor<?> constructor ?
+                        compileConstructor(constructor) : compileFactoryMethod((Method) this.executable));
+                this.compiled = compiled;
+                log.debug("实例化器已编译: {}", this.executable);
+                return compiled.instantiate(factoryBean, args);
+            }
+            this.invocationCount++;
+            return invokeReflectively(factoryBean, (args != null ? args : EMPTY_ARGS));
+        }
+
+        private Object invokeReflectively(Object factoryBean, Object[] args) throws Throwable {
+            try {
+                if (this.executable instanceof Constructor<?> constructor) {
+                    return constructor.newInstance(args);
+                }
+                return ((Method) this.executable).invoke(factoryBean, args);
+            } catch (InvocationTargetException ex) {
+                // 与编译后的实例化器一致：抛出构造方法/工厂方法本身的异常
+                throw ex.getTargetException();
+            }
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.spring.beans.factory.support;
 
 import com.spring.beans.factory.AbstractAutowireCapableBeanFactory;
+import com.spring.beans.factory.FactoryBean;
+import com.spring.beans.factory.SmartFactoryBean;
 import com.spring.beans.factory.config.BeanDefinition;
 import com.spring.beans.factory.config.ConfigurableListableBeanFactory;
+import com.spring.beans.factory.config.DependencyDescriptor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * ClassName: DefaultListableBeanFactory
@@ -36,9 +42,63 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     /** 配置冻结 */
     private boolean configurationFrozen = false;
 
+    /** 冻结后的Bean定义快照，冻结前为null；冻结后的读取都走快照，不复制、不加锁 */
+    private volatile BeanDefinitionSnapshot beanDefinitionSnapshot;
+
     // 是否允许覆盖（简化：默认允许）
     private boolean allowBeanDefinitionOverriding = true;
 
+    /** 手动注册的单例名称（通过registerSingleton注册，没有对应的Bean定义），按注册顺序 */
+    private final Set<String> manualSingletonNames = new LinkedHashSet<>(16);
+
+    // 类型索引：类型（自身、所有父类、所有接口）-> 按注册顺序排列的Bean名称
+    // 注册阶段只记录名称，第一次按类型查找时才解析类型（避免注册阶段提前加载类），之后增量维护
+    // 冻结配置后转换为不可变数组，查找只需一次哈希查找
+
+    // FactoryBean本身以"&名称"加入索引；它创建的对象类型要等FactoryBean创建后才能确定，
+    // 所以FactoryBean名称单独记录，查找时用缓存的getObjectType()匹配
+
+    /** 类型索引的锁（不用synchronized：查找在getBean路径上，虚拟线程在监视器上阻塞会占住载体线程） */
+    private final ReentrantLock typeIndexLock = new ReentrantLock();
+
+    private static final String[] EMPTY_NAMES = new String[0];
+
+    /** 类型索引：包含非单例Bean */
+    private final Map<Class<?>, List<String>> allBeanNamesByType = new HashMap<>(64);
+
+    /** 类型索引：只包含单例Bean */
+    private final Map<Class<?>, List<String>> singletonBeanNamesByType = new HashMap<>(64);
+
+    /** FactoryBean名称（包含非单例），按注册顺序 */
+    private final List<String> allFactoryBeanNames = new ArrayList<>();
+
+    /** FactoryBean名称（只包含单例），按注册顺序 */
+    private final List<String> singletonFactoryBeanNames = new ArrayList<>();
+
+    /** 等待加入类型索引的Bean名称（按注册顺序） */
+    private final List<String> pendingTypeIndexNames = new ArrayList<>();
+
+    /** 冻结后的类型索引快照（包含非单例Bean），冻结前为null */
+    private volatile Map<Class<?>, String[]> frozenAllBeanNamesByType;
+
+    /** 冻结后的类型索引快照（只包含单例Bean），冻结前为null */
+    private volatile Map<Class<?>, String[]> frozenSingletonBeanNamesByType;
+
+    /** 冻结后的FactoryBean名称（包含非单例），先于类型索引快照发布 */
+    private volatile String[] frozenAllFactoryBeanNames = EMPTY_NAMES;
+
+    /** 冻结后的FactoryBean名称（只包含单例），先于类型索引快照发布 */
+    private volatile String[] frozenSingletonFactoryBeanNames = EMPTY_NAMES;
+
+    /** 按类型解析出的唯一Bean名称缓存：requiredType -> beanName，类型索引变化时整体清除 */
+    private final Map<Class<?>, String> resolvedBeanNamesByType = new ConcurrentHashMap<>(64);
+
+    /** 是否并行预实例化单例Bean（默认关闭，按注册顺序串行创建） */
+    private boolean parallelPreInstantiation = false;
+
+    /** 并行预实例化时的最大并行度 */
+    private int preInstantiationParallelism = Runtime.getRuntime().availableProcessors();
+
     // ============ BeanDefinitionRegistry 接口实现 ============
 
     @Override
@@ -56,6 +116,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
             throw new IllegalStateException("BeanFactory配置已冻结，无法注册新的Bean定义: " + beanName);
         }
 
+        // 名称原来是别名：Bean定义优先，移除别名
+        if (isAlias(beanName)) {
+            if (!allowBeanDefinitionOverriding) {
+                throw new IllegalStateException("Bean名称 '" + beanName + "' 已被注册为别名，无法注册Bean定义");
+            }
+            removeAlias(beanName);
+            log.info("Bean定义覆盖了同名的别名: {}", beanName);
+        }
+
         // 3. 检查是否已存在
         BeanDefinition existingDefinition = this.beanDefinitionMap.get(beanName);
 
@@ -73,6 +142,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         // 5. 注册到Map
         this.beanDefinitionMap.put(beanName, beanDefinition);
 
+        // 覆盖的定义类型可能变化，整个类型索引重建；新注册的只需追加到待索引列表
+        if (existingDefinition != null || this.manualSingletonNames.remove(beanName)) {
+            resetTypeIndex();
+        } else {
+            addToTypeIndex(beanName);
+        }
+
         // 6. 清除相关缓存（简化版）
         clearBeanDefinitionCache(beanName);
 
@@ -86,12 +162,25 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         }
         this.beanDefinitionMap.remove(beanName);
         this.beanDefinitionNames.remove(beanName);
+        // 冻结后移除：重建快照
+        if (this.beanDefinitionSnapshot != null) {
+            this.beanDefinitionSnapshot = createBeanDefinitionSnapshot();
+        }
+        clearBeanDefinitionCache(beanName);
+        resetTypeIndex();
         log.info("移除Bean定义: {}", beanName);
     }
 
     @Override
     public BeanDefinition getBeanDefinition(String beanName) {
-        BeanDefinition beanDefinition = this.beanDefinitionMap.get(beanName);
+        BeanDefinitionSnapshot snapshot = this.beanDefinitionSnapshot;
+        BeanDefinition beanDefinition;
+        if (snapshot != null) {
+            FrozenBeanDefinition frozen = snapshot.definitionsByName().get(beanName);
+            beanDefinition = (frozen != null ? frozen.beanDefinition() : null);
+        } else {
+            beanDefinition = this.beanDefinitionMap.get(beanName);
+        }
         if (beanDefinition == null) {
             throw new IllegalArgumentException("未找到Bean定义: " + beanName);
         }
@@ -100,23 +189,110 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     @Override
     public boolean containsBeanDefinition(String beanName) {
-        return this.beanDefinitionMap.containsKey(beanName);
+        BeanDefinitionSnapshot snapshot = this.beanDefinitionSnapshot;
+        return (snapshot != null ? snapshot.definitionsByName().containsKey(beanName) :
+                this.beanDefinitionMap.containsKey(beanName));
     }
 
+    /**
+     * 所有Bean定义名称（按注册顺序）
+     * 注意：冻结配置后返回的是快照中的共享数组，调用方不能修改
+     */
     @Override
     public String[] getBeanDefinitionNames() {
-        return this.beanDefinitionNames.toArray(new String[0]);
+        BeanDefinitionSnapshot snapshot = this.beanDefinitionSnapshot;
+        return (snapshot != null ? snapshot.beanNames() : this.beanDefinitionNames.toArray(new String[0]));
     }
 
     @Override
     public int getBeanDefinitionCount() {
-        return this.beanDefinitionMap.size();
+        BeanDefinitionSnapshot snapshot = this.beanDefinitionSnapshot;
+        return (snapshot != null ? snapshot.beanNames().length : this.beanDefinitionMap.size());
+    }
+
+    // ============ 冻结后的Bean定义快照 ============
+
+    /**
+     * 冻结后的单个Bean定义：合并后的定义、预测的类型和作用域标记都在冻结时解析一次
+     */
+    private record FrozenBeanDefinition(String beanName, BeanDefinition beanDefinition,
+                                        RootBeanDefinition mergedBeanDefinition, Class<?> beanType,
+                                        boolean singleton, boolean lazyInit, boolean isAbstract) {
+    }
+
+    /**
+     * 冻结后的Bean定义快照：按注册顺序排列的不可变数组，加上按名称查找的不可变Map
+     */
+    private record BeanDefinitionSnapshot(String[] beanNames, FrozenBeanDefinition[] definitions,
+                                          Map<String, FrozenBeanDefinition> definitionsByName) {
+    }
+
+    /**
+     * 按注册顺序为所有Bean定义创建快照（合并、验证Bean定义，预测类型）
+     */
+    private BeanDefinitionSnapshot createBeanDefinitionSnapshot() {
+        String[] beanNames = this.beanDefinitionNames.toArray(new String[0]);
+        FrozenBeanDefinition[] definitions = new FrozenBeanDefinition[beanNames.length];
+        Map<String, FrozenBeanDefinition> definitionsByName = new HashMap<>(beanNames.length * 2);
+        for (int i = 0; i < beanNames.length; i++) {
+            String beanName = beanNames[i];
+            BeanDefinition bd = this.beanDefinitionMap.get(beanName);
+            RootBeanDefinition mbd = super.getMergedLocalBeanDefinition(beanName);
+            Class<?> beanType;
+            try {
+                beanType = super.predictBeanType(beanName, bd);
+            } catch (RuntimeException ex) {
+                // 类型暂时无法解析（例如类不存在），不缓存，使用时再按原来的方式解析并报错
+                log.debug("冻结时预测Bean类型失败: {}", beanName, ex);
+                beanType = null;
+            }
+            definitions[i] = new FrozenBeanDefinition(beanName, bd, mbd, beanType,
+                    mbd.isSingleton(), mbd.isLazyInit(), mbd.isAbstract());
+            definitionsByName.put(beanName, definitions[i]);
+        }
+        return new BeanDefinitionSnapshot(beanNames, definitions, Collections.unmodifiableMap(definitionsByName));
+    }
+
+    private FrozenBeanDefinition getFrozenBeanDefinition(String beanName) {
+        BeanDefinitionSnapshot snapshot = this.beanDefinitionSnapshot;
+        return (snapshot != null ? snapshot.definitionsByName().get(beanName) : null);
+    }
+
+    @Override
+    protected RootBeanDefinition getMergedLocalBeanDefinition(String beanName) {
+        FrozenBeanDefinition frozen = getFrozenBeanDefinition(beanName);
+        return (frozen != null ? frozen.mergedBeanDefinition() : super.getMergedLocalBeanDefinition(beanName));
+    }
+
+    @Override
+    protected Class<?> predictBeanType(String beanName, BeanDefinition bd) {
+        FrozenBeanDefinition frozen = getFrozenBeanDefinition(beanName);
+        if (frozen != null && frozen.beanDefinition() == bd && frozen.beanType() != null) {
+            return frozen.beanType();
+        }
+        return super.predictBeanType(beanName, bd);
+    }
+
+    @Override
+    public boolean isSingleton(String name) {
+        FrozenBeanDefinition frozen = getFrozenBeanDefinition(transformedBeanName(name));
+        return (frozen != null ? frozen.singleton() : super.isSingleton(name));
+    }
+
+    @Override
+    public void registerAlias(String name, String alias) {
+        // 别名不能遮住已有的Bean定义
+        if (alias != null && !alias.equals(canonicalName(name)) && containsBeanDefinition(alias)) {
+            throw new IllegalStateException("别名 '" + alias + "' 与已有的Bean定义名称冲突，无法注册为 '" + name + "' 的别名");
+        }
+        super.registerAlias(name, alias);
     }
 
     private void clearBeanDefinitionCache(String beanName) {
-        // 简化版：后续实现合并BeanDefinition缓存时再完善
-        // 目前先留空或简单日志
-        log.info("清除Bean定义缓存: {}", beanName);
+        // 合并后的定义和已解析单例的快速通道缓存都已失效
+        clearMergedBeanDefinition(beanName);
+        clearResolvedSingletonCache(beanName);
+        log.debug("清除Bean定义缓存: {}", beanName);
     }
 
 
@@ -130,58 +306,352 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     @Override
     public <T> T getBean(Class<T> requiredType) {
-        // 后续实现按类型获取Bean的逻辑
-        log.debug("按类型获取Bean: {}", requiredType.getSimpleName());
-
+        if (log.isDebugEnabled()) {
+            log.debug("按类型获取Bean: {}", requiredType.getSimpleName());
+        }
         return getBean(requiredType, (Object[]) null);
     }
 
     @Override
     public <T> T getBean(Class<T> requiredType, Object... args) {
+        String beanName = resolveBeanNameForType(requiredType);
+        return doGetBean(beanName, requiredType, args, false);
+    }
 
-        return null;
+    /**
+     * 按类型解析唯一的Bean名称 - 对应Spring的resolveNamedBean
+     * 1. 只有一个候选者：直接返回（即使autowireCandidate=false）
+     * 2. 多个候选者：先排除autowireCandidate=false的，再选@Primary
+     * 解析结果按类型缓存，重复查找只需一次哈希查找
+     */
+    private String resolveBeanNameForType(Class<?> requiredType) {
+        if (requiredType == null) {
+            throw new IllegalArgumentException("Bean类型不得为 null");
+        }
+        String cachedName = this.resolvedBeanNamesByType.get(requiredType);
+        if (cachedName != null) {
+            return cachedName;
+        }
+
+        String[] candidateNames = getBeanNamesForType(requiredType, true, true);
+        String beanName;
+        if (candidateNames.length == 1) {
+            beanName = candidateNames[0];
+        } else if (candidateNames.length == 0) {
+            throw new IllegalArgumentException("未找到类型为 [" + requiredType.getName() + "] 的Bean");
+        } else {
+            List<String> autowireCandidates = new ArrayList<>(candidateNames.length);
+            for (String candidateName : candidateNames) {
+                if (isAutowireCandidate(candidateName)) {
+                    autowireCandidates.add(candidateName);
+                }
+            }
+            if (autowireCandidates.size() == 1) {
+                beanName = autowireCandidates.get(0);
+            } else {
+                beanName = determinePrimaryCandidate(autowireCandidates, requiredType);
+                if (beanName == null) {
+                    throw new IllegalStateException("类型为 [" + requiredType.getName() + "] 的Bean不唯一，找到 " +
+                            autowireCandidates.size() + " 个: " + autowireCandidates);
+                }
+            }
+        }
+
+        this.resolvedBeanNamesByType.put(requiredType, beanName);
+        log.debug("按类型解析Bean名称: {} -> {}", requiredType.getSimpleName(), beanName);
+        return beanName;
     }
 
+    /**
+     * 候选者是否可以自动装配：没有Bean定义（手动注册的单例）或者Bean定义允许自动装配
+     * 候选者可能是"&名称"形式的FactoryBean引用
+     */
+    private boolean isAutowireCandidate(String candidateName) {
+        String beanName = transformedBeanName(candidateName);
+        return (!containsBeanDefinition(beanName) || getBeanDefinition(beanName).isAutowireCandidate());
+    }
+
+    /**
+     * 在多个候选者中选出唯一的@Primary Bean，没有@Primary时返回null
+     */
+    private String determinePrimaryCandidate(List<String> candidateNames, Class<?> requiredType) {
+        String primaryBeanName = null;
+        for (String candidateName : candidateNames) {
+            String beanName = transformedBeanName(candidateName);
+            if (containsBeanDefinition(beanName) && getBeanDefinition(beanName).isPrimary()) {
+                if (primaryBeanName != null) {
+                    throw new IllegalStateException("类型为 [" + requiredType.getName() + "] 的Bean存在多个@Primary: " +
+                            primaryBeanName + ", " + candidateName);
+                }
+                primaryBeanName = candidateName;
+            }
+        }
+        return primaryBeanName;
+    }
+
+
+    // ============ AutowireCapableBeanFactory 接口实现 ============
+
+    /**
+     * 按类型解析依赖 - 对应Spring的doResolveDependency
+     * 1. 容器内置的可解析依赖（BeanFactory、ApplicationContext等）
+     * 2. 类型索引中的候选者（排除自己和autowireCandidate=false的）
+     * 3. 多个候选者时：@Primary -> 依赖名称（字段名/参数名）与Bean名称相同
+     */
     @Override
-    public boolean containsBean(String name) {
-        return this.beanDefinitionMap.containsKey(name);
+    public Object resolveDependency(DependencyDescriptor descriptor, String requestingBeanName,
+                                    Set<String> autowiredBeanNames) {
+        Class<?> type = descriptor.getDependencyType();
+
+        Object autowiringValue = findResolvableDependency(type);
+        if (autowiringValue != null) {
+            return autowiringValue;
+        }
+
+        String[] candidateNames = getBeanNamesForType(type, true, true);
+        List<String> candidates = new ArrayList<>(candidateNames.length);
+        for (String candidateName : candidateNames) {
+            if (!candidateName.equals(requestingBeanName) && isAutowireCandidate(candidateName)) {
+                candidates.add(candidateName);
+            }
+        }
+
+        String autowiredBeanName;
+        if (candidates.size() == 1) {
+            autowiredBeanName = candidates.get(0);
+        } else if (candidates.isEmpty()) {
+            if (descriptor.isRequired()) {
+                throw new IllegalStateException("没有找到类型为 [" + type.getName() + "] 的Bean，无法注入" +
+                        (requestingBeanName != null ? " Bean[" + requestingBeanName + "] 的" : "") + descriptor);
+            }
+            return null;
+        } else {
+            autowiredBeanName = determinePrimaryCandidate(candidates, type);
+            if (autowiredBeanName == null && descriptor.getDependencyName() != null) {
+                // 依赖名称可能是候选者的别名
+                String dependencyBeanName = canonicalName(descriptor.getDependencyName());
+                if (candidates.contains(dependencyBeanName)) {
+                    autowiredBeanName = dependencyBeanName;
+                }
+            }
+            if (autowiredBeanName == null) {
+                throw new IllegalStateException("类型为 [" + type.getName() + "] 的Bean不唯一，无法注入" +
+                        (requestingBeanName != null ? " Bean[" + requestingBeanName + "] 的" : "") + descriptor +
+                        "，找到 " + candidates.size() + " 个: " + candidates);
+            }
+        }
+
+        if (autowiredBeanNames != null) {
+            autowiredBeanNames.add(autowiredBeanName);
+        }
+        return getBean(autowiredBeanName);
+    }
+
+    /**
+     * 查找注册的可解析依赖：注册类型是所需类型的父类型，并且注册的对象是所需类型的实例
+     */
+    private Object findResolvableDependency(Class<?> requiredType) {
+        Object autowiringValue = this.resolvableDependencies.get(requiredType);
+        if (autowiringValue != null) {
+            return autowiringValue;
+        }
+        for (Map.Entry<Class<?>, Object> entry : this.resolvableDependencies.entrySet()) {
+            if (entry.getKey().isAssignableFrom(requiredType) && requiredType.isInstance(entry.getValue())) {
+                return entry.getValue();
+            }
+        }
+        return null;
     }
 
 
     // ============ ListableBeanFactory 接口实现 ============
 
+    /**
+     * 按类型查找Bean名称 - 走类型索引，查找开销与注册的Bean数量无关
+     * 注意：冻结配置后返回的是索引中的共享数组，调用方不能修改
+     */
     @Override
     public String[] getBeanNamesForType(Class<?> type, boolean includeNonSingletons, boolean allowEagerInit) {
-        log.debug("查找类型为 {} 的Bean, includeNonSingletons: {}, allowEagerInit: {}",
-                type.getSimpleName(), includeNonSingletons, allowEagerInit);
-
-        List<String> result = new ArrayList<>();
+        // 1. 冻结后直接读不可变快照
+        Map<Class<?>, String[]> frozen = (includeNonSingletons ?
+                this.frozenAllBeanNamesByType : this.frozenSingletonBeanNamesByType);
+        if (frozen != null) {
+            String[] names = frozen.get(type);
+            return addFactoryBeanObjectTypeMatches(type, (names != null ? names : EMPTY_NAMES),
+                    (includeNonSingletons ? this.frozenAllFactoryBeanNames : this.frozenSingletonFactoryBeanNames),
+                    allowEagerInit);
+        }
 
-        // 1. 遍历所有Bean定义名称
-        for (String beanName : getBeanDefinitionNames()) {
-            // 2. 检查是否为单例（如果不包含非单例且当前Bean不是单例，则跳过）
-            if (!includeNonSingletons && !isSingleton(beanName)) {
-                continue;
+        // 2. 冻结前：先把待索引的Bean加入索引，再查找
+        String[] result;
+        String[] factoryBeanNames;
+        this.typeIndexLock.lock();
+        try {
+            processPendingTypeIndex();
+            if (this.configurationFrozen) {
+                freezeTypeIndex();
             }
+            List<String> names = (includeNonSingletons ?
+                    this.allBeanNamesByType : this.singletonBeanNamesByType).get(type);
+            result = (names != null ? names.toArray(new String[0]) : EMPTY_NAMES);
+            factoryBeanNames = (includeNonSingletons ?
+                    this.allFactoryBeanNames : this.singletonFactoryBeanNames).toArray(new String[0]);
+        } finally {
+            this.typeIndexLock.unlock();
+        }
 
-            // 3. 检查类型是否匹配
-            if (isTypeMatch(beanName, type)) {
-                result.add(beanName);
+        // 3. 在锁外匹配FactoryBean创建的对象类型（可能需要创建FactoryBean）
+        result = addFactoryBeanObjectTypeMatches(type, result, factoryBeanNames, allowEagerInit);
+        if (log.isDebugEnabled()) {
+            log.debug("找到 {} 个类型为 {} 的Bean: {}", result.length, type.getSimpleName(), Arrays.toString(result));
+        }
+        return result;
+    }
+
+    /**
+     * 追加创建的对象类型与所需类型匹配的FactoryBean名称
+     * 没有FactoryBean或者没有匹配时直接返回原数组
+     * @param allowEagerInit FactoryBean还没有创建时，是否允许为了确定类型而创建它
+     */
+    private String[] addFactoryBeanObjectTypeMatches(Class<?> type, String[] names,
+                                                     String[] factoryBeanNames, boolean allowEagerInit) {
+        if (factoryBeanNames.length == 0) {
+            return names;
+        }
+        List<String> result = null;
+        for (String factoryBeanName : factoryBeanNames) {
+            Class<?> objectType = getTypeForFactoryBean(factoryBeanName, allowEagerInit);
+            if (objectType != null && type.isAssignableFrom(objectType)) {
+                if (result == null) {
+                    result = new ArrayList<>(names.length + 1);
+                    Collections.addAll(result, names);
+                }
+                result.add(factoryBeanName);
             }
         }
+        return (result != null ? result.toArray(new String[0]) : names);
+    }
+
+    // ============ 类型索引维护 ============
 
-        // 4. 同时检查手动注册的单例（通过registerSingleton注册的）
-        if (includeNonSingletons) {
-            String[] singletonNames = getSingletonNames();
-            for (String singletonName : singletonNames) {
-                if (!result.contains(singletonName) && isTypeMatch(singletonName, type)) {
-                    result.add(singletonName);
+    /**
+     * 记录新注册的Bean名称，等到按类型查找时再解析类型
+     */
+    private void addToTypeIndex(String beanName) {
+        this.typeIndexLock.lock();
+        try {
+            this.pendingTypeIndexNames.add(beanName);
+            this.resolvedBeanNamesByType.clear();
+            this.frozenAllBeanNamesByType = null;
+            this.frozenSingletonBeanNamesByType = null;
+        } finally {
+            this.typeIndexLock.unlock();
+        }
+    }
+
+    /**
+     * 清空类型索引，所有Bean重新进入待索引列表（Bean定义被覆盖或移除时调用）
+     */
+    private void resetTypeIndex() {
+        this.typeIndexLock.lock();
+        try {
+            this.allBeanNamesByType.clear();
+            this.singletonBeanNamesByType.clear();
+            this.allFactoryBeanNames.clear();
+            this.singletonFactoryBeanNames.clear();
+            this.pendingTypeIndexNames.clear();
+            this.pendingTypeIndexNames.addAll(this.beanDefinitionNames);
+            this.pendingTypeIndexNames.addAll(this.manualSingletonNames);
+            this.resolvedBeanNamesByType.clear();
+            this.frozenAllBeanNamesByType = null;
+            this.frozenSingletonBeanNamesByType = null;
+        } finally {
+            this.typeIndexLock.unlock();
+        }
+    }
+
+    /**
+     * 解析待索引Bean的类型，把Bean名称追加到类型自身、所有父类和所有接口下
+     * 类型只根据Bean定义预测，不会创建Bean；FactoryBean以"&名称"加入索引，并单独记录名称
+     */
+    private void processPendingTypeIndex() {
+        if (this.pendingTypeIndexNames.isEmpty()) {
+            return;
+        }
+        for (String beanName : this.pendingTypeIndexNames) {
+            Class<?> beanType;
+            boolean singleton;
+            try {
+                BeanDefinition bd = this.beanDefinitionMap.get(beanName);
+                if (bd != null) {
+                    beanType = predictBeanType(beanName, bd);
+                    singleton = bd.isSingleton();
+                } else {
+                    // 手动注册的单例：直接用单例对象的类型
+                    Object singletonObject = getSingleton(beanName);
+                    beanType = (singletonObject != null ? singletonObject.getClass() : null);
+                    singleton = true;
+                }
+            } catch (Exception e) {
+                log.debug("解析Bean类型失败，不加入类型索引: {}", beanName, e);
+                continue;
+            }
+            if (beanType == null) {
+                continue;
+            }
+            String indexedName = beanName;
+            if (FactoryBean.class.isAssignableFrom(beanType)) {
+                indexedName = FACTORY_BEAN_PREFIX + beanName;
+                this.allFactoryBeanNames.add(beanName);
+                if (singleton) {
+                    this.singletonFactoryBeanNames.add(beanName);
+                }
+            }
+            for (Class<?> type : collectTypeHierarchy(beanType)) {
+                this.allBeanNamesByType.computeIfAbsent(type, key -> new ArrayList<>()).add(indexedName);
+                if (singleton) {
+                    this.singletonBeanNamesByType.computeIfAbsent(type, key -> new ArrayList<>()).add(indexedName);
                 }
             }
         }
+        this.pendingTypeIndexNames.clear();
+    }
+
+    /**
+     * 收集类型自身、所有父类和所有接口（包括父接口）
+     */
+    private Set<Class<?>> collectTypeHierarchy(Class<?> beanType) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(beanType);
+        while (!queue.isEmpty()) {
+            Class<?> current = queue.poll();
+            if (!types.add(current)) {
+                continue;
+            }
+            if (current.getSuperclass() != null) {
+                queue.add(current.getSuperclass());
+            }
+            Collections.addAll(queue, current.getInterfaces());
+        }
+        return types;
+    }
+
+    /**
+     * 把类型索引冻结为不可变数组快照
+     */
+    private void freezeTypeIndex() {
+        this.frozenAllFactoryBeanNames = this.allFactoryBeanNames.toArray(new String[0]);
+        this.frozenSingletonFactoryBeanNames = this.singletonFactoryBeanNames.toArray(new String[0]);
+        this.frozenAllBeanNamesByType = toFrozenIndex(this.allBeanNamesByType);
+        this.frozenSingletonBeanNamesByType = toFrozenIndex(this.singletonBeanNamesByType);
+        log.debug("类型索引已冻结，共 {} 个类型", this.frozenAllBeanNamesByType.size());
+    }
 
-        log.debug("找到 {} 个类型为 {} 的Bean: {}", result.size(), type.getSimpleName(), result);
-        return result.toArray(new String[0]);
+    private static Map<Class<?>, String[]> toFrozenIndex(Map<Class<?>, List<String>> index) {
+        Map<Class<?>, String[]> frozen = new HashMap<>(index.size() * 2);
+        index.forEach((type, names) -> frozen.put(type, names.toArray(new String[0])));
+        return Collections.unmodifiableMap(frozen);
     }
 
 
@@ -210,9 +680,40 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     @Override
     public void freezeConfiguration() {
         this.configurationFrozen = true;
+        // BeanFactoryPostProcessor可能修改过Bean定义，按最终的定义重新合并后再创建快照
+        clearMetadataCache();
+        this.beanDefinitionSnapshot = createBeanDefinitionSnapshot();
+
+        // BeanFactoryPostProcessor可能修改过Bean定义（作用域、类型），冻结时完整重建一次类型索引
+        this.typeIndexLock.lock();
+        try {
+            resetTypeIndex();
+            processPendingTypeIndex();
+            freezeTypeIndex();
+        } finally {
+            this.typeIndexLock.unlock();
+        }
+        freezeAliases();
         log.info("BeanFactory配置已冻结");
     }
 
+    @Override
+    public void registerSingleton(String beanName, Object singletonObject) {
+        super.registerSingleton(beanName, singletonObject);
+        if (!this.beanDefinitionMap.containsKey(beanName)) {
+            this.typeIndexLock.lock();
+            try {
+                if (this.manualSingletonNames.add(beanName)) {
+                    addToTypeIndex(beanName);
+                } else {
+                    resetTypeIndex();
+                }
+            } finally {
+                this.typeIndexLock.unlock();
+            }
+        }
+    }
+
     @Override
     public boolean isConfigurationFrozen() {
         return this.configurationFrozen;
@@ -231,20 +732,36 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     @Override
     public void preInstantiateSingletons() {
-        // 1.创建Bean名称副本
-        List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
+        // 1.冻结后直接遍历快照（名称和作用域标记都已解析），否则创建一份快照
+        BeanDefinitionSnapshot snapshot = this.beanDefinitionSnapshot;
+        if (snapshot == null) {
+            snapshot = createBeanDefinitionSnapshot();
+        }
 
-        // 2.遍历所有Bean定义
-        for (String beanName : beanNames) {
-            BeanDefinition mbd = getBeanDefinition(beanName);
+        // 2.开启了并行模式：按依赖关系并行创建
+        if (this.parallelPreInstantiation) {
+            List<String> eagerBeanNames = new ArrayList<>(snapshot.definitions().length);
+            for (FrozenBeanDefinition definition : snapshot.definitions()) {
+                if (!definition.isAbstract() && definition.singleton() && !definition.lazyInit()) {
+                    eagerBeanNames.add(definition.beanName());
+                }
+            }
+            if (eagerBeanNames.size() > 1) {
+                preInstantiateSingletonsInParallel(eagerBeanNames);
+                return;
+            }
+        }
 
+        // 3.遍历所有Bean定义
+        for (FrozenBeanDefinition definition : snapshot.definitions()) {
             // 检查条件
-            if (!mbd.isAbstract() && mbd.isSingleton()) {
-                preInstantiateSingleton(beanName, mbd);
+            if (!definition.isAbstract() && definition.singleton() && !definition.lazyInit()) {
+                // 同步创建Bean
+                instantiateSingleton(definition.beanName());
             }
         }
 
-        // 3.执行回调（可选）
+        // 4.执行回调（可选）
 /*        for (String beanName : beanNames) {
             Object bean = getSingleton(beanName);
             if (bean instanceof SmartInitializingSingleton) {
@@ -253,11 +770,95 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         }*/
     }
 
-    private void preInstantiateSingleton(String beanName, BeanDefinition mbd) {
-        // 占时：只实现同步创建
-        if (!mbd.isLazyInit()) {
-            // 同步创建Bean
+    /**
+     * 并行预实例化单例Bean
+     *
+     * 依赖图：@Bean实例方法定义的factoryBeanName（配置类）必须先创建完成，
+     * 没有依赖关系的Bean在有界的ForkJoinPool上并发创建
+     *
+     * 失败处理：一个Bean失败不会中断无关Bean的创建，依赖它的Bean直接跳过；
+     * 全部结束后按调度顺序（由注册顺序决定）报告第一个失败，其余失败作为suppressed附加，保证结果可重现
+     */
+    private void preInstantiateSingletonsInParallel(List<String> beanNames) {
+        log.info("并行预实例化 {} 个单例Bean，并行度: {}", beanNames.size(), this.preInstantiationParallelism);
+
+        Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(this.preInstantiationParallelism);
+        try {
+            for (String beanName : beanNames) {
+                scheduleSingletonCreation(beanName, futures, failures, new LinkedHashSet<>(), pool);
+            }
+            // 等待所有Bean结束（失败由failures记录，这里不抛出）
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                    .exceptionally(ex -> null)
+                    .join();
+        } finally {
+            pool.shutdown();
+        }
+
+        IllegalStateException failure = null;
+        for (String beanName : futures.keySet()) {
+            Throwable ex = failures.get(beanName);
+            if (ex == null) {
+                continue;
+            }
+            if (failure == null) {
+                failure = new IllegalStateException("并行预实例化单例Bean失败: " + beanName, ex);
+            } else {
+                failure.addSuppressed(ex);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 为Bean创建调度任务：先调度它依赖的工厂Bean，依赖全部完成后再提交自身
+     */
+    private CompletableFuture<Void> scheduleSingletonCreation(String beanName,
+                                                              Map<String, CompletableFuture<Void>> futures,
+                                                              Map<String, Throwable> failures,
+                                                              Set<String> visiting,
+                                                              Executor executor) {
+        CompletableFuture<Void> existing = futures.get(beanName);
+        if (existing != null) {
+            return existing;
+        }
+        if (!visiting.add(beanName)) {
+            throw new IllegalStateException("工厂Bean之间存在循环依赖: " + visiting + " -> " + beanName);
+        }
+
+        List<CompletableFuture<Void>> dependencies = new ArrayList<>(1);
+        String factoryBeanName = getBeanDefinition(beanName).getFactoryBeanName();
+        if (factoryBeanName != null && containsBeanDefinition(factoryBeanName) &&
+                getBeanDefinition(factoryBeanName).isSingleton()) {
+            dependencies.add(scheduleSingletonCreation(factoryBeanName, futures, failures, visiting, executor));
+        }
+        visiting.remove(beanName);
+
+        CompletableFuture<Void> future = CompletableFuture
+                .allOf(dependencies.toArray(new CompletableFuture[0]))
+                .thenRunAsync(() -> createSingletonInParallel(beanName, failures), executor);
+        futures.put(beanName, future);
+        return future;
+    }
+
+    /**
+     * 在工作线程上创建单例，线程上下文类加载器切换为Bean类加载器（延迟加载Bean类时会用到）
+     */
+    private void createSingletonInParallel(String beanName, Map<String, Throwable> failures) {
+        Thread currentThread = Thread.currentThread();
+        ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+        currentThread.setContextClassLoader(getBeanClassLoader());
+        try {
             instantiateSingleton(beanName);
+        } catch (RuntimeException | Error ex) {
+            failures.put(beanName, ex);
+            throw ex;
+        } finally {
+            currentThread.setContextClassLoader(previousClassLoader);
         }
     }
 
@@ -267,11 +868,11 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
             // 创建FactoryBean本身，先创建MyFactoryBean对象
             Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
 
-            // 创建FactoryBean中getObject()方法返回的Bean
-//            if (bean instanceof SmartFactoryBean<?> smartFactoryBean && smartFactoryBean.isEagerInit()) {
-//                // 调用MyFactoryBean对象的getObject()
-//                getBean(beanName);
-//            }
+            // 创建FactoryBean中getObject()方法返回的Bean（默认第一次获取时才创建）
+            if (bean instanceof SmartFactoryBean<?> smartFactoryBean && smartFactoryBean.isEagerInit()) {
+                // 调用MyFactoryBean对象的getObject()
+                getBean(beanName);
+            }
         }
         else {
             getBean(beanName);
@@ -288,4 +889,29 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         return this.allowBeanDefinitionOverriding;
     }
 
+    /**
+     * 开启/关闭并行预实例化单例Bean（需要在refresh之前设置）
+     */
+    public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+        this.parallelPreInstantiation = parallelPreInstantiation;
+    }
+
+    public boolean isParallelPreInstantiation() {
+        return this.parallelPreInstantiation;
+    }
+
+    /**
+     * 设置并行预实例化的最大并行度
+     */
+    public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+        if (preInstantiationParallelism < 1) {
+            throw new IllegalArgumentException("并行度必须大于0: " + preInstantiationParallelism);
+        }
+        this.preInstantiationParallelism = preInstantiationParallelism;
+    }
+
+    public int getPreInstantiationParallelism() {
+        return this.preInstantiationParallelism;
+    }
+
 }
@@ -2,10 +2,13 @@ package com.spring.beans.factory.support;
 
 import com.spring.beans.factory.ObjectFactory;
 import com.spring.beans.factory.config.SingletonBeanRegistry;
+import com.spring.core.SimpleAliasRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * ClassName: DefaultSingletonBeanRegistry
@@ -16,7 +19,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * @version: v1.0
  */
 @Slf4j
-public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
+public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements SingletonBeanRegistry {
 
     /** 一级缓存：完整的单例Bean */
     private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
@@ -25,52 +28,81 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
     private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
 
     /** 三级缓存：单例工厂（用于创建早期引用） */
-    private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
+    private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
 
     /** 正在创建中的Bean名称 */
     private final Set<String> singletonsCurrentlyInCreation =
             Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
+    // 单例创建锁：每个Bean名称一把锁，创建不同单例的线程互不阻塞，同一个单例只会创建一次
+    // 二级、三级缓存只由持有该Bean创建锁的线程访问（例外见acquireCreationLock的死锁处理）
+
+    /** Bean名称 -> 创建锁 */
+    private final Map<String, CreationLock> creationLocks = new ConcurrentHashMap<>(256);
+
+    /** 等待图：正在等待创建锁的线程 -> 等待的锁，用于检测线程之间的循环等待 */
+    private final Map<Thread, CreationLock> waitingCreationLocks = new HashMap<>();
+
+    /** 等待图的锁，只在登记/移除等待关系和检测死锁时短暂持有 */
+    private final ReentrantLock waitGraphLock = new ReentrantLock();
+
+    /** 创建锁发生竞争（需要等待其它线程）的次数 */
+    private final LongAdder creationLockContentionCount = new LongAdder();
+
+    /** 等待创建锁的总时间（纳秒） */
+    private final LongAdder creationLockWaitNanos = new LongAdder();
+
     @Override
     public void registerSingleton(String beanName, Object singletonObject) {
-        // 简化实现：直接放入单例缓存
         this.singletonObjects.put(beanName, singletonObject);
+        this.singletonFactories.remove(beanName);
+        this.earlySingletonObjects.remove(beanName);
         log.debug("注册单例Bean: {} -> {}", beanName, singletonObject.getClass().getSimpleName());
     }
 
     @Override
     public Object getSingleton(String beanName) {
-        log.debug("获取单例Bean: {}", beanName);
+        return getSingleton(beanName, true);
+    }
 
-        // 1. 从一级缓存获取完整的单例Bean
+    /**
+     * 获取单例Bean，allowEarlyReference为true时可以返回早期引用（解决循环依赖）
+     *
+     * 早期引用只返回给正在创建该Bean的线程（同一线程内的循环依赖）；
+     * 其它线程发现Bean正在创建中时返回null，随后在getSingleton(String, ObjectFactory)中等待创建完成，
+     * 不会拿到另一个线程正在创建的、尚未完成属性注入的对象
+     */
+    protected Object getSingleton(String beanName, boolean allowEarlyReference) {
+        // 1. 从一级缓存获取完整的单例Bean（无锁）
         Object singletonObject = this.singletonObjects.get(beanName);
         if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
-            // 如果Bean正在创建中（可能发生循环依赖）
-            synchronized (this.singletonObjects) {
-                // 2. 从二级缓存获取早期Bean
-                singletonObject = this.earlySingletonObjects.get(beanName);
-                if (singletonObject == null) {
-                    // 3. 从三级缓存获取单例工厂
-                    ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-                    if (singletonFactory != null) {
-                        // 通过工厂创建早期引用
-                        singletonObject = singletonFactory.getObject();
-                        log.debug("通过单例工厂创建早期引用: {}", beanName);
-
-                        // 将早期引用升级到二级缓存
-                        this.earlySingletonObjects.put(beanName, singletonObject);
-                        // 移除三级缓存中的工厂
-                        this.singletonFactories.remove(beanName);
-                    }
-                }
+            CreationLock lock = this.creationLocks.get(beanName);
+            if (lock != null && lock.isHeldByCurrentThread()) {
+                singletonObject = getEarlySingletonReference(beanName, allowEarlyReference);
             }
         }
+        return singletonObject;
+    }
 
+    /**
+     * 从二级、三级缓存获取早期引用：三级缓存的工厂只调用一次，结果升级到二级缓存
+     */
+    private Object getEarlySingletonReference(String beanName, boolean allowEarlyReference) {
+        Object singletonObject = this.earlySingletonObjects.get(beanName);
+        if (singletonObject == null && allowEarlyReference) {
+            ObjectFactory<?> singletonFactory = this.singletonFactories.remove(beanName);
+            if (singletonFactory != null) {
+                singletonObject = singletonFactory.getObject();
+                this.earlySingletonObjects.put(beanName, singletonObject);
+                log.debug("通过单例工厂创建早期引用: {}", beanName);
+            }
+        }
         return singletonObject;
     }
 
     /**
      * 返回以给定名称注册的（原始）单例对象，如果尚未注册，则创建并注册一个新对象。
+     * 创建过程持有该Bean的创建锁：并发调用时同一个单例只会创建一次，创建不同单例的线程互不阻塞
      * @param beanName
      * @param singletonFactory
      * @return
@@ -82,20 +114,130 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
             return singletonObject;
         }
 
-        // 2. 标记开始创建
-        beforeSingletonCreation(beanName);
+        if (!acquireCreationLock(beanName)) {
+            // 线程之间的循环依赖：持有锁的线程正在（间接地）等待当前线程，
+            // 和单线程的循环依赖一样使用它提前暴露的早期引用
+            singletonObject = getEarlySingletonReference(beanName, true);
+            if (singletonObject == null) {
+                throw new IllegalStateException("循环依赖检测: Bean '" + beanName +
+                        "' 正由另一个线程创建，该线程又在等待当前线程，且没有可用的早期引用（例如构造方法注入）");
+            }
+            log.debug("线程之间存在循环依赖，使用早期引用: {}", beanName);
+            return singletonObject;
+        }
 
         try {
-            // 3. 创建Bean
-            singletonObject = singletonFactory.getObject();
+            // 等待锁期间其它线程可能已经创建完成
+            singletonObject = this.singletonObjects.get(beanName);
+            if (singletonObject != null) {
+                return singletonObject;
+            }
 
-            // 4. 添加到缓存
-            addSingleton(beanName, singletonObject);
+            // 2. 标记开始创建
+            beforeSingletonCreation(beanName);
 
+            try {
+                // 3. 创建Bean
+                singletonObject = singletonFactory.getObject();
+            } catch (RuntimeException | Error ex) {
+                // 创建失败：清除已经暴露的早期引用
+                removeSingleton(beanName);
+                throw ex;
+            } finally {
+                // 4. 标记创建完成
+                afterSingletonCreation(beanName);
+            }
+
+            // 5. 添加到缓存（释放锁之前，等待的线程拿到锁后就能看到）
+            addSingleton(beanName, singletonObject);
             return singletonObject;
         } finally {
-            // 5. 标记创建完成
-            afterSingletonCreation(beanName);
+            releaseCreationLock(beanName);
+        }
+    }
+
+    // ============ 单例创建锁 ============
+
+    /**
+     * 获取Bean的创建锁（可重入）
+     * 需要等待时先检查等待图：如果持有锁的线程（直接或间接）正在等待当前线程持有的锁，
+     * 等待会形成死锁，此时不等待并返回false
+     * @return 是否获取到锁
+     */
+    protected final boolean acquireCreationLock(String beanName) {
+        CreationLock lock = this.creationLocks.computeIfAbsent(beanName, name -> new CreationLock());
+        if (lock.tryLock()) {
+            return true;
+        }
+
+        Thread currentThread = Thread.currentThread();
+        this.waitGraphLock.lock();
+        try {
+            if (wouldDeadlock(lock, currentThread)) {
+                return false;
+            }
+            this.waitingCreationLocks.put(currentThread, lock);
+        } finally {
+            this.waitGraphLock.unlock();
+        }
+
+        this.creationLockContentionCount.increment();
+        long start = System.nanoTime();
+        try {
+            lock.lock();
+        } finally {
+            this.waitGraphLock.lock();
+            try {
+                this.waitingCreationLocks.remove(currentThread);
+            } finally {
+                this.waitGraphLock.unlock();
+            }
+            this.creationLockWaitNanos.add(System.nanoTime() - start);
+        }
+        return true;
+    }
+
+    /**
+     * 沿着等待图查找：锁的持有者 -> 它在等待的锁 -> 该锁的持有者 ...，回到当前线程说明会死锁
+     */
+    private boolean wouldDeadlock(CreationLock lock, Thread currentThread) {
+        Set<Thread> visited = new HashSet<>();
+        Thread owner = lock.owner();
+        while (owner != null && visited.add(owner)) {
+            if (owner == currentThread) {
+                return true;
+            }
+            CreationLock waitingFor = this.waitingCreationLocks.get(owner);
+            owner = (waitingFor != null ? waitingFor.owner() : null);
+        }
+        return false;
+    }
+
+    protected final void releaseCreationLock(String beanName) {
+        this.creationLocks.get(beanName).unlock();
+    }
+
+    /**
+     * 创建锁发生竞争（需要等待其它线程创建同一个单例）的次数
+     */
+    public long getCreationLockContentionCount() {
+        return this.creationLockContentionCount.sum();
+    }
+
+    /**
+     * 等待创建锁的总时间（纳秒）
+     */
+    public long getCreationLockWaitNanos() {
+        return this.creationLockWaitNanos.sum();
+    }
+
+    /**
+     * 单例创建锁：ReentrantLock的持有者只对子类可见，这里公开给等待图使用
+     */
+    private static final class CreationLock extends ReentrantLock {
+
+        Thread owner() {
+            return getOwner();
         }
     }
 
@@ -108,29 +250,34 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 
     /**
      * 添加单例工厂到三级缓存
-     * 在Bean实例化后、属性注入前调用
+     * 在Bean实例化后、属性注入前调用（调用方持有该Bean的创建锁）
      */
     protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
-        synchronized (this.singletonObjects) {
-            if (!this.singletonObjects.containsKey(beanName)) {
-                this.singletonFactories.put(beanName, singletonFactory);
-                this.earlySingletonObjects.remove(beanName);
-                log.debug("添加单例工厂到三级缓存: {}", beanName);
-            }
+        if (!this.singletonObjects.containsKey(beanName)) {
+            this.singletonFactories.put(beanName, singletonFactory);
+            this.earlySingletonObjects.remove(beanName);
+            log.debug("添加单例工厂到三级缓存: {}", beanName);
         }
     }
 
+    /**
+     * 从所有缓存中移除单例（创建失败时调用）
+     */
+    protected void removeSingleton(String beanName) {
+        this.singletonObjects.remove(beanName);
+        this.singletonFactories.remove(beanName);
+        this.earlySingletonObjects.remove(beanName);
+    }
+
     /**
      * 注册完整的单例Bean到一级缓存
-     * 在Bean完全初始化后调用
+     * 在Bean完全初始化后调用：先放入一级缓存再清理二、三级缓存，无锁读取的线程不会出现“三级都找不到”的窗口
      */
     protected void addSingleton(String beanName, Object singletonObject) {
-        synchronized (this.singletonObjects) {
-            this.singletonObjects.put(beanName, singletonObject);
-            this.singletonFactories.remove(beanName);
-            this.earlySingletonObjects.remove(beanName);
-            log.debug("注册完整单例Bean到一级缓存: {}", beanName);
-        }
+        this.singletonObjects.put(beanName, singletonObject);
+        this.singletonFactories.remove(beanName);
+        this.earlySingletonObjects.remove(beanName);
+        log.debug("注册完整单例Bean到一级缓存: {}", beanName);
     }
 
     /**
@@ -1,12 +1,126 @@
 package com.spring.beans.factory.support;
 
+import com.spring.beans.factory.FactoryBean;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * ClassName: FactoryBeanRegistrySupport
  * Description: 专门处理FactoryBean的
  *
+ * 1. 单例FactoryBean创建的对象缓存：每个FactoryBean名称单独加锁（与单例创建共用创建锁），
+ *    同一个FactoryBean的getObject()只调用一次，不同FactoryBean之间互不阻塞
+ * 2. getObjectType()缓存：按类型查找时不再反复调用FactoryBean
+ *
  * @Author: csx
  * @Create: 2025/10/29 - 0:03
  * @version: v1.0
  */
+@Slf4j
 public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanRegistry {
+
+    /** getObject()返回null时在缓存中的占位对象（ConcurrentHashMap不能存null） */
+    private static final Object NULL_OBJECT = new Object();
+
+    /** 单例FactoryBean创建的对象缓存：FactoryBean名称 -> 对象 */
+    private final Map<String, Object> factoryBeanObjectCache = new ConcurrentHashMap<>(16);
+
+    /** FactoryBean创建的对象类型缓存：FactoryBean名称 -> getObjectType() */
+    private final Map<String, Class<?>> factoryBeanObjectTypeCache = new ConcurrentHashMap<>(16);
+
+    // ============ 对象类型 ============
+
+    /**
+     * 获取FactoryBean创建的对象类型，结果按名称缓存
+     * @return 对象类型；FactoryBean暂时无法确定类型（返回null）时返回null，不缓存
+     */
+    protected Class<?> getTypeForFactoryBean(String beanName, FactoryBean<?> factory) {
+        Class<?> objectType = this.factoryBeanObjectTypeCache.get(beanName);
+        if (objectType != null) {
+            return objectType;
+        }
+        try {
+            objectType = factory.getObjectType();
+        } catch (Throwable ex) {
+            log.debug("FactoryBean.getObjectType()调用失败: {}", beanName, ex);
+            return null;
+        }
+        if (objectType != null) {
+            this.factoryBeanObjectTypeCache.put(beanName, objectType);
+        }
+        return objectType;
+    }
+
+    /**
+     * 已缓存的FactoryBean对象类型，没有缓存时返回null
+     */
+    protected Class<?> getCachedObjectTypeForFactoryBean(String beanName) {
+        return this.factoryBeanObjectTypeCache.get(beanName);
+    }
+
+    // ============ 对象缓存 ============
+
+    /**
+     * 从缓存中获取FactoryBean创建的对象
+     */
+    protected Object getCachedObjectForFactoryBean(String beanName) {
+        Object object = this.factoryBeanObjectCache.get(beanName);
+        return (object != NULL_OBJECT ? object : null);
+    }
+
+    /**
+     * 从FactoryBean获取对象
+     * 单例FactoryBean：持有该Bean的创建锁调用getObject()，结果缓存（null也缓存，避免重复调用）；
+     * getObject()可能再去创建其它单例，与单例创建共用同一套锁和死锁检测
+     * 非单例FactoryBean：每次都调用getObject()
+     */
+    protected Object getObjectFromFactoryBean(FactoryBean<?> factory, String beanName) {
+        if (!factory.isSingleton()) {
+            return doGetObjectFromFactoryBean(factory, beanName);
+        }
+
+        Object object = this.factoryBeanObjectCache.get(beanName);
+        if (object != null) {
+            return (object != NULL_OBJECT ? object : null);
+        }
+        if (!acquireCreationLock(beanName)) {
+            throw new IllegalStateException("循环依赖检测: FactoryBean '" + beanName +
+                    "' 的对象正由另一个线程创建，该线程又在等待当前线程");
+        }
+        try {
+            // 等锁期间可能已经由其它线程创建完成
+            object = this.factoryBeanObjectCache.get(beanName);
+            if (object == null) {
+                object = doGetObjectFromFactoryBean(factory, beanName);
+                this.factoryBeanObjectCache.put(beanName, (object != null ? object : NULL_OBJECT));
+                log.debug("缓存FactoryBean创建的对象: {}", beanName);
+                return object;
+            }
+            return (object != NULL_OBJECT ? object : null);
+        } finally {
+            releaseCreationLock(beanName);
+        }
+    }
+
+    /**
+     * 实际调用FactoryBean.getObject()方法
+     */
+    private Object doGetObjectFromFactoryBean(FactoryBean<?> factory, String beanName) {
+        log.debug("调用FactoryBean.getObject(): {}", beanName);
+        Object object = factory.getObject();
+        if (object == null) {
+            log.debug("FactoryBean返回null对象: {}", beanName);
+        }
+        return object;
+    }
+
+    /**
+     * 清除FactoryBean的对象缓存和类型缓存（Bean定义被覆盖、移除或者手动注册单例时调用）
+     */
+    protected void clearFactoryBeanCache(String beanName) {
+        this.factoryBeanObjectCache.remove(beanName);
+        this.factoryBeanObjectTypeCache.remove(beanName);
+    }
 }
@@ -0,0 +1,23 @@
+package com.spring.beans.factory.support;
+
+/**
+ * ClassName: InstantiationAwareBeanPostProcessor
+ * Description:
+ *
+ * 能感知实例化过程的BeanPostProcessor - 对应Spring的InstantiationAwareBeanPostProcessor
+ * 在Bean实例化之后、初始化之前处理属性（@Autowired字段/方法注入在这里完成）
+ *
+ * @Author: csx
+ * @Create: 2025/12/4 - 1:20
+ * @version: v1.0
+ */
+public interface InstantiationAwareBeanPostProcessor extends BeanPostProcessor {
+
+    /**
+     * 属性注入
+     * @param bean 已实例化的Bean
+     * @param beanName Bean名称
+     */
+    default void postProcessProperties(Object bean, String beanName) {
+    }
+}
@@ -3,6 +3,7 @@ package com.spring.beans.factory.support;
 import com.spring.beans.factory.config.BeanDefinition;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 
 /**
@@ -19,6 +20,12 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
     volatile Method factoryMethodToIntrospect; // 被解析后的工厂方法（@Bean）
     public boolean isFactoryMethodUnique; // 是工厂方法唯一的（存在）
 
+    /** 已解析的构造方法或工厂方法 */
+    volatile Executable resolvedConstructorOrFactoryMethod;
+
+    /** 由resolvedConstructorOrFactoryMethod编译出的实例化器，创建实例时直接调用 */
+    volatile BeanInstantiator resolvedInstantiator;
+
     /**
      * 无参构造方法（用于基于元数据创建BeanDefinition）
      */
@@ -38,16 +45,34 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 
     /**
      * 从另一个BeanDefinition复制的构造方法
+     * 复制所有属性（作用域、懒加载、工厂方法、自动装配、初始化/销毁方法等），合并非Root的Bean定义时不丢信息
      */
     public RootBeanDefinition(BeanDefinition original) {
-        setBeanClass(original.getBeanClass());
+        // 类还没有加载时只复制类名，不在这里提前加载
+        if (original instanceof AbstractBeanDefinition abd && !abd.hasBeanClass() && abd.getBeanClassName() != null) {
+            super.setBeanClassName(abd.getBeanClassName());
+        } else {
+            setBeanClass(original.getBeanClass());
+        }
         setScope(original.getScope());
         setLazyInit(original.isLazyInit());
+        setPrimary(original.isPrimary());
+        setAutowireCandidate(original.isAutowireCandidate());
+        setInitMethodName(original.getInitMethodName());
+        setDestroyMethodName(original.getDestroyMethodName());
 
         // 复制工厂方法相关属性
+        setFactoryBeanName(original.getFactoryBeanName());
+        setFactoryMethodName(original.getFactoryMethodName());
+
         if (original instanceof AbstractBeanDefinition abd) {
-            setFactoryBeanName(abd.getFactoryBeanName());
-            setFactoryMethodName(abd.getFactoryMethodName());
+            setAutowireMode(abd.getAutowireMode());
+            setSource(abd.getSource());
+            copyAttributesFrom(abd);
+        }
+        if (original instanceof RootBeanDefinition rbd) {
+            this.factoryMethodToIntrospect = rbd.factoryMethodToIntrospect;
+            this.isFactoryMethodUnique = rbd.isFactoryMethodUnique;
         }
     }
 
@@ -56,6 +81,7 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
      */
     public void setBeanClassName(String beanClassName) {
         setBeanClass(null); // 清空类引用
+        this.resolvedInstantiator = null; // 类变了，已解析的构造方法失效
         // 将类名存储在父类的某个属性中，或者需要添加新属性
         // 这里我们可以在AbstractBeanDefinition中添加beanClassName属性
         super.setBeanClassName(beanClassName);
@@ -128,6 +154,23 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
         return this.factoryMethodToIntrospect;
     }
 
+    /**
+     * 缓存已解析的构造方法/工厂方法及其编译后的实例化器
+     * 先写executable再写instantiator，读取方先读instantiator，读到非null时executable一定可见
+     */
+    public void setResolvedInstantiator(Executable constructorOrFactoryMethod, BeanInstantiator instantiator) {
+        this.resolvedConstructorOrFactoryMethod = constructorOrFactoryMethod;
+        this.resolvedInstantiator = instantiator;
+    }
+
+    public BeanInstantiator getResolvedInstantiator() {
+        return this.resolvedInstantiator;
+    }
+
+    public Executable getResolvedConstructorOrFactoryMethod() {
+        return this.resolvedConstructorOrFactoryMethod;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder(getClass().getSimpleName());
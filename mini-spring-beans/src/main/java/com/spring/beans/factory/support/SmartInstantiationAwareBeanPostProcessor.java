@@ -0,0 +1,36 @@
+package com.spring.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * ClassName: SmartInstantiationAwareBeanPostProcessor
+ * Description:
+ *
+ * 能参与构造方法推断的BeanPostProcessor - 对应Spring的SmartInstantiationAwareBeanPostProcessor
+ *
+ * @Author: csx
+ * @Create: 2025/12/4 - 1:20
+ * @version: v1.0
+ */
+public interface SmartInstantiationAwareBeanPostProcessor extends InstantiationAwareBeanPostProcessor {
+
+    /**
+     * 推断用于实例化的候选构造方法
+     * @param beanClass Bean类
+     * @param beanName Bean名称
+     * @return 候选构造方法，没有时返回null（使用无参构造）
+     */
+    default Constructor<?>[] determineCandidateConstructors(Class<?> beanClass, String beanName) {
+        return null;
+    }
+
+    /**
+     * 获取早期引用（循环依赖时提前暴露给其它Bean），需要代理的处理器在这里提前创建代理
+     * @param bean 刚实例化、尚未完成属性注入的Bean
+     * @param beanName Bean名称
+     * @return 暴露给其它Bean的对象
+     */
+    default Object getEarlyBeanReference(Object bean, String beanName) {
+        return bean;
+    }
+}
@@ -0,0 +1,207 @@
+package com.spring.bean;
+
+import com.spring.beans.factory.annotation.Autowired;
+import com.spring.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import com.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.spring.beans.factory.support.RootBeanDefinition;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ClassName: CircularReferenceConcurrencyTest
+ * Description: 多线程并发解析循环依赖的单例图
+ *
+ * 每一轮新建一个BeanFactory，包含 A<->B、C->D->E->C 两个环（E还引用A）和一个setter注入的F，
+ * 8个线程通过栅栏同时开始，各自从不同的Bean开始getBean。验证：
+ *  1. 所有线程拿到的是同一组实例
+ *  2. getBean返回时Bean已经完成注入（没有拿到其它线程正在创建的早期对象）
+ *  3. 注入的引用都指向最终暴露的实例
+ *  4. 每个单例只被构造一次
+ *
+ * @Author: csx
+ * @Create: 2025/12/10 - 21:00
+ * @version: v1.0
+ */
+public class CircularReferenceConcurrencyTest {
+
+    private static final int ROUNDS = 300;
+
+    private static final int THREADS = 8;
+
+    private static final String[] BEAN_NAMES = {"a", "b", "c", "d", "e", "f"};
+
+    private static final Class<?>[] BEAN_CLASSES = {A.class, B.class, C.class, D.class, E.class, F.class};
+
+    private static final AtomicLong constructed = new AtomicLong();
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void startExecutor() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterAll
+    static void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void resolvesCircularSingletonGraphsFromManyThreads() throws Exception {
+        constructed.set(0);
+        for (int round = 0; round < ROUNDS; round++) {
+            DefaultListableBeanFactory beanFactory = createBeanFactory();
+            CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+            List<Future<Object[]>> futures = new ArrayList<>(THREADS);
+            for (int thread = 0; thread < THREADS; thread++) {
+                int offset = thread;
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    Object[] beans = new Object[BEAN_NAMES.length];
+                    for (int i = 0; i < BEAN_NAMES.length; i++) {
+                        int index = (i + offset) % BEAN_NAMES.length;
+                        Node bean = (Node) beanFactory.getBean(BEAN_NAMES[index]);
+                        if (!bean.isPopulated()) {
+                            throw new AssertionError("getBean返回了尚未完成注入的Bean: " + BEAN_NAMES[index]);
+                        }
+                        beans[index] = bean;
+                    }
+                    return beans;
+                }));
+            }
+
+            Object[] expected = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Object[]> future : futures) {
+                assertArrayEquals(expected, future.get(10, TimeUnit.SECONDS), "第 " + round + " 轮线程之间拿到了不同的实例");
+            }
+            assertWiring(expected, round);
+        }
+        assertEquals((long) ROUNDS * BEAN_NAMES.length, constructed.get(), "每个单例应该只构造一次");
+    }
+
+    private static DefaultListableBeanFactory createBeanFactory() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        for (int i = 0; i < BEAN_NAMES.length; i++) {
+            beanFactory.registerBeanDefinition(BEAN_NAMES[i], new RootBeanDefinition(BEAN_CLASSES[i]));
+        }
+        AutowiredAnnotationBeanPostProcessor processor = new AutowiredAnnotationBeanPostProcessor();
+        processor.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(processor);
+        return beanFactory;
+    }
+
+    private static void assertWiring(Object[] beans, int round) {
+        A a = (A) beans[0];
+        B b = (B) beans[1];
+        C c = (C) beans[2];
+        D d = (D) beans[3];
+        E e = (E) beans[4];
+        F f = (F) beans[5];
+        String message = "第 " + round + " 轮注入的引用不一致";
+        assertSame(b, a.b, message);
+        assertSame(a, b.a, message);
+        assertSame(c, b.c, message);
+        assertSame(d, c.d, message);
+        assertSame(e, d.e, message);
+        assertSame(c, e.c, message);
+        assertSame(a, e.a, message);
+        assertSame(d, f.d, message);
+    }
+
+    /**
+     * 测试Bean的基类：构造时计数，并偶尔让出CPU，增加线程交错的机会
+     */
+    public abstract static class Node {
+
+        protected Node() {
+            constructed.incrementAndGet();
+            if (ThreadLocalRandom.current().nextInt(4) == 0) {
+                Thread.yield();
+            }
+        }
+
+        /**
+         * 所有依赖是否都已注入
+         */
+        abstract boolean isPopulated();
+    }
+
+    public static class A extends Node {
+        @Autowired
+        B b;
+
+        @Override
+        boolean isPopulated() {
+            return this.b != null;
+        }
+    }
+
+    public static class B extends Node {
+        @Autowired
+        A a;
+
+        @Autowired
+        C c;
+
+        @Override
+        boolean isPopulated() {
+            return this.a != null && this.c != null;
+        }
+    }
+
+    public static class C extends Node {
+        @Autowired
+        D d;
+
+        @Override
+        boolean isPopulated() {
+            return this.d != null;
+        }
+    }
+
+    public static class D extends Node {
+        @Autowired
+        E e;
+
+        @Override
+        boolean isPopulated() {
+            return this.e != null;
+        }
+    }
+
+    public static class E extends Node {
+        @Autowired
+        C c;
+
+        @Autowired
+        A a;
+
+        @Override
+        boolean isPopulated() {
+            return this.c != null && this.a != null;
+        }
+    }
+
+    public static class F extends Node {
+        D d;
+
+        @Autowired
+        public void setD(D d) {
+            this.d = d;
+        }
+
+        @Override
+        boolean isPopulated() {
+            return this.d != null;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.spring.bean;
+
+import com.spring.beans.factory.annotation.Autowired;
+import com.spring.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import com.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.spring.beans.factory.support.RootBeanDefinition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ClassName: SingletonCreationLockTest
+ * Description: 单例创建锁（每个Bean一把锁）的并发测试
+ *
+ *  1. 多个线程同时获取同一个慢单例：只创建一次，其余线程等待并拿到同一个实例，竞争计数和等待时间被记录
+ *  2. 线程之间的循环依赖：T1持有A的锁去拿B，T2持有B的锁去拿A，不能死锁，两边都注入对方的最终实例
+ *  3. 多个线程创建不同的单例：互不阻塞
+ *
+ * @Author: csx
+ * @Create: 2025/12/10 - 21:00
+ * @version: v1.0
+ */
+public class SingletonCreationLockTest {
+
+    private static final int THREADS = 16;
+
+    private static final AtomicInteger slowBeanCount = new AtomicInteger();
+
+    /** A和B的构造方法在这里会合，保证两个线程同时持有各自的创建锁 */
+    private static volatile CyclicBarrier crossThreadBarrier;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startExecutor() {
+        this.executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void createsContendedSingletonExactlyOnce() throws Exception {
+        slowBeanCount.set(0);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("slow", new RootBeanDefinition(SlowBean.class));
+
+        List<Object> beans = getBeanConcurrently(beanFactory, "slow", THREADS);
+
+        assertEquals(1, slowBeanCount.get(), "单例应该只创建一次");
+        for (Object bean : beans) {
+            assertSame(beans.get(0), bean);
+        }
+        assertTrue(beanFactory.getCreationLockContentionCount() > 0, "等待其它线程创建时应该记录竞争");
+        assertTrue(beanFactory.getCreationLockWaitNanos() > 0, "应该记录等待时间");
+    }
+
+    @Test
+    void resolvesCrossThreadCycleWithoutDeadlock() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            crossThreadBarrier = new CyclicBarrier(2);
+            DefaultListableBeanFactory beanFactory = createAutowiringBeanFactory();
+            beanFactory.registerBeanDefinition("a", new RootBeanDefinition(CycleA.class));
+            beanFactory.registerBeanDefinition("b", new RootBeanDefinition(CycleB.class));
+
+            CyclicBarrier start = new CyclicBarrier(2);
+            Future<Object> futureA = this.executor.submit(() -> {
+                start.await();
+                return beanFactory.getBean("a");
+            });
+            Future<Object> futureB = this.executor.submit(() -> {
+                start.await();
+                return beanFactory.getBean("b");
+            });
+
+            // 死锁时这里会超时
+            CycleA a = (CycleA) futureA.get(10, TimeUnit.SECONDS);
+            CycleB b = (CycleB) futureB.get(10, TimeUnit.SECONDS);
+            assertSame(b, a.b, "第 " + round + " 轮A注入的B不是最终实例");
+            assertSame(a, b.a, "第 " + round + " 轮B注入的A不是最终实例");
+            assertSame(a, beanFactory.getBean("a"));
+            assertSame(b, beanFactory.getBean("b"));
+            // 两个线程各持有一把锁：先请求对方的线程等待，后请求的线程检测到循环并使用早期引用
+            assertEquals(1, beanFactory.getCreationLockContentionCount(), "第 " + round + " 轮应该恰好有一个线程等待");
+        }
+    }
+
+    @Test
+    void createsDifferentSingletonsInParallel() throws Exception {
+        slowBeanCount.set(0);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        for (int i = 0; i < THREADS; i++) {
+            beanFactory.registerBeanDefinition("slow" + i, new RootBeanDefinition(SlowBean.class));
+        }
+
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Future<Object>> futures = new ArrayList<>(THREADS);
+        long begin = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            String beanName = "slow" + i;
+            futures.add(this.executor.submit(() -> {
+                start.await();
+                return beanFactory.getBean(beanName);
+            }));
+        }
+        for (Future<Object> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        assertEquals(THREADS, slowBeanCount.get());
+        assertEquals(0, beanFactory.getCreationLockContentionCount(), "不同的单例不应该互相等待");
+        // 串行创建需要 THREADS * SlowBean.DELAY_MILLIS
+        assertTrue(elapsedMillis < (long) THREADS * SlowBean.DELAY_MILLIS / 2,
+                "不同的单例应该并行创建，实际耗时 " + elapsedMillis + " ms");
+    }
+
+    private List<Object> getBeanConcurrently(DefaultListableBeanFactory beanFactory, String beanName, int threads)
+            throws Exception {
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Future<Object>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(this.executor.submit(() -> {
+                start.await();
+                return beanFactory.getBean(beanName);
+            }));
+        }
+        List<Object> beans = new ArrayList<>(threads);
+        for (Future<Object> future : futures) {
+            beans.add(future.get(10, TimeUnit.SECONDS));
+        }
+        return beans;
+    }
+
+    private static DefaultListableBeanFactory createAutowiringBeanFactory() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        AutowiredAnnotationBeanPostProcessor processor = new AutowiredAnnotationBeanPostProcessor();
+        processor.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(processor);
+        return beanFactory;
+    }
+
+    private static void awaitOtherCycleBean() {
+        try {
+            crossThreadBarrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public static class SlowBean {
+
+        static final int DELAY_MILLIS = 100;
+
+        public SlowBean() throws InterruptedException {
+            slowBeanCount.incrementAndGet();
+            Thread.sleep(DELAY_MILLIS);
+        }
+    }
+
+    public static class CycleA {
+        @Autowired
+        CycleB b;
+
+        public CycleA() {
+            awaitOtherCycleBean();
+        }
+    }
+
+    public static class CycleB {
+        @Autowired
+        CycleA a;
+
+        public CycleB() {
+            awaitOtherCycleBean();
+        }
+    }
+}
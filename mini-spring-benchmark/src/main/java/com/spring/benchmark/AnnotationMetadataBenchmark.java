@@ -0,0 +1,144 @@
+package com.spring.benchmark;
+
+import com.spring.context.annotation.Bean;
+import com.spring.context.annotation.Lazy;
+import com.spring.context.annotation.Primary;
+import com.spring.context.annotation.Scope;
+import com.spring.core.type.AnnotationMetadata;
+import com.spring.core.type.MethodMetadata;
+import com.spring.core.type.StandardAnnotationMetadata;
+import com.spring.core.type.StandardMethodMetadata;
+import com.spring.stereotype.Component;
+import com.spring.stereotype.Service;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClassName: AnnotationMetadataBenchmark
+ * Description: 基于反射的注解元数据：创建StandardAnnotationMetadata/StandardMethodMetadata并做扫描时的典型查询
+ *
+ *  classMetadata：每个类 isAnnotated(@Component，经@Service元注解命中) + getAnnotationAttributes(@Scope)
+ *  methodMetadata：每个方法 isAnnotated(@Bean)，命中时 getAnnotationAttributes(@Bean)
+ *
+ * 关注的是每次操作的分配量，需要加 -prof gc 看 gc.alloc.rate.norm：
+ * 运行：java -jar mini-spring-benchmark/target/benchmarks.jar AnnotationMetadataBenchmark -prof gc
+ *
+ * @Author: csx
+ * @Create: 2025/12/14 - 23:00
+ * @version: v1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class AnnotationMetadataBenchmark {
+
+    private static final Class<?>[] COMPONENT_CLASSES = {
+            ServiceA.class, ServiceB.class, ServiceC.class, ServiceD.class,
+            ComponentA.class, ComponentB.class, ComponentC.class, ComponentD.class};
+
+    private Method[] methods;
+
+    @Setup
+    public void setUp() {
+        this.methods = Configuration.class.getDeclaredMethods();
+    }
+
+    @Benchmark
+    public void classMetadata(Blackhole blackhole) {
+        for (Class<?> componentClass : COMPONENT_CLASSES) {
+            AnnotationMetadata metadata = new StandardAnnotationMetadata(componentClass);
+            blackhole.consume(metadata.isAnnotated(Component.class.getName()));
+            blackhole.consume(metadata.getAnnotationAttributes(Scope.class.getName()));
+        }
+    }
+
+    @Benchmark
+    public void methodMetadata(Blackhole blackhole) {
+        for (Method method : this.methods) {
+            MethodMetadata metadata = new StandardMethodMetadata(method);
+            if (metadata.isAnnotated(Bean.class.getName())) {
+                blackhole.consume(metadata.getAnnotationAttributes(Bean.class.getName()));
+            }
+        }
+    }
+
+    @Service
+    @Lazy
+    @Scope("prototype")
+    public static class ServiceA {
+    }
+
+    @Service
+    @Primary
+    public static class ServiceB {
+    }
+
+    @Service
+    @Scope("singleton")
+    public static class ServiceC {
+    }
+
+    @Service
+    public static class ServiceD {
+    }
+
+    @Component
+    @Lazy
+    public static class ComponentA {
+    }
+
+    @Component
+    @Scope("prototype")
+    public static class ComponentB {
+    }
+
+    @Component
+    @Primary
+    @Lazy
+    public static class ComponentC {
+    }
+
+    @Component
+    public static class ComponentD {
+    }
+
+    public static class Configuration {
+
+        @Bean
+        public ServiceA serviceA() {
+            return new ServiceA();
+        }
+
+        @Bean
+        @Lazy
+        public ServiceB serviceB() {
+            return new ServiceB();
+        }
+
+        @Bean
+        @Primary
+        @Scope("prototype")
+        public ServiceC serviceC() {
+            return new ServiceC();
+        }
+
+        @Bean
+        public ServiceD serviceD() {
+            return new ServiceD();
+        }
+
+        public ComponentA notABean() {
+            return new ComponentA();
+        }
+
+        public ComponentB alsoNotABean() {
+            return new ComponentB();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.spring.benchmark;
+
+import com.spring.beans.factory.annotation.Autowired;
+import com.spring.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import com.spring.beans.factory.config.BeanDefinition;
+import com.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.spring.beans.factory.support.RootBeanDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClassName: AutowiredInjectionBenchmark
+ * Description: 创建带10个@Autowired字段的原型Bean的耗时
+ *
+ *  autowiredPrototype：getBean，由AutowiredAnnotationBeanPostProcessor按缓存的InjectionMetadata注入
+ *  manualWiring：直接new后逐个按类型getBean赋值，作为参照
+ *
+ * 运行：java -jar mini-spring-benchmark/target/benchmarks.jar AutowiredInjectionBenchmark
+ *
+ * @Author: csx
+ * @Create: 2025/12/14 - 22:30
+ * @version: v1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class AutowiredInjectionBenchmark {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @Setup
+    public void setUp() {
+        this.beanFactory = new DefaultListableBeanFactory();
+        AutowiredAnnotationBeanPostProcessor processor = new AutowiredAnnotationBeanPostProcessor();
+        processor.setBeanFactory(this.beanFactory);
+        this.beanFactory.addBeanPostProcessor(processor);
+
+        Class<?>[] dependencyTypes = {Dependency0.class, Dependency1.class, Dependency2.class, Dependency3.class,
+                Dependency4.class, Dependency5.class, Dependency6.class, Dependency7.class, Dependency8.class,
+                Dependency9.class};
+        for (int i = 0; i < dependencyTypes.length; i++) {
+            this.beanFactory.registerBeanDefinition("dependency" + i, new RootBeanDefinition(dependencyTypes[i]));
+        }
+        this.beanFactory.registerBeanDefinition("injected",
+                new RootBeanDefinition(InjectedPrototype.class, BeanDefinition.SCOPE_PROTOTYPE, false));
+        this.beanFactory.preInstantiateSingletons();
+    }
+
+    @Benchmark
+    public Object autowiredPrototype() {
+        return this.beanFactory.getBean("injected");
+    }
+
+    @Benchmark
+    public Object manualWiring() {
+        InjectedPrototype bean = new InjectedPrototype();
+        bean.dependency0 = this.beanFactory.getBean(Dependency0.class);
+        bean.dependency1 = this.beanFactory.getBean(Dependency1.class);
+        bean.dependency2 = this.beanFactory.getBean(Dependency2.class);
+        bean.dependency3 = this.beanFactory.getBean(Dependency3.class);
+        bean.dependency4 = this.beanFactory.getBean(Dependency4.class);
+        bean.dependency5 = this.beanFactory.getBean(Dependency5.class);
+        bean.dependency6 = this.beanFactory.getBean(Dependency6.class);
+        bean.dependency7 = this.beanFactory.getBean(Dependency7.class);
+        bean.dependency8 = this.beanFactory.getBean(Dependency8.class);
+        bean.dependency9 = this.beanFactory.getBean(Dependency9.class);
+        return bean;
+    }
+
+    @TearDown
+    public void verify() {
+        InjectedPrototype bean = (InjectedPrototype) this.beanFactory.getBean("injected");
+        if (bean.dependency0 == null || bean.dependency9 == null) {
+            throw new IllegalStateException("@Autowired字段没有注入");
+        }
+    }
+
+    public static class InjectedPrototype {
+        @Autowired
+        Dependency0 dependency0;
+        @Autowired
+        Dependency1 dependency1;
+        @Autowired
+        Dependency2 dependency2;
+        @Autowired
+        Dependency3 dependency3;
+        @Autowired
+        Dependency4 dependency4;
+        @Autowired
+        Dependency5 dependency5;
+        @Autowired
+        Dependency6 dependency6;
+        @Autowired
+        Dependency7 dependency7;
+        @Autowired
+        Dependency8 dependency8;
+        @Autowired
+        Dependency9 dependency9;
+    }
+
+    public static class Dependency0 {
+    }
+
+    public static class Dependency1 {
+    }
+
+    public static class Dependency2 {
+    }
+
+    public static class Dependency3 {
+    }
+
+    public static class Dependency4 {
+    }
+
+    public static class Dependency5 {
+    }
+
+    public static class Dependency6 {
+    }
+
+    public static class Dependency7 {
+    }
+
+    public static class Dependency8 {
+    }
+
+    public static class Dependency9 {
+    }
+}
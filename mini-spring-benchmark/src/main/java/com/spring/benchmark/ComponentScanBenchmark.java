@@ -0,0 +1,199 @@
+package com.spring.benchmark;
+
+import com.spring.beans.factory.config.BeanDefinition;
+import com.spring.context.annotation.ClassPathScanningCandidateComponentProvider;
+import com.spring.core.io.DefaultResourceLoader;
+import com.spring.core.io.support.PathMatchingResourcePatternResolver;
+import com.spring.core.type.classreading.ClassFileMetadataReaderFactory;
+import com.spring.core.type.classreading.SimpleMetadataReaderFactory;
+import com.spring.stereotype.Component;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * ClassName: ComponentScanBenchmark
+ * Description: 扫描5000个类的包的耗时、加载的类数量和Metaspace增长
+ *
+ *  classFile：ClassFileMetadataReaderFactory，直接解析字节码（默认）
+ *  reflection：SimpleMetadataReaderFactory，Class.forName加载每个类后反射读取
+ *
+ * 被扫描的类在启动时用ASM生成到临时目录，其中每10个有1个标注@Component；
+ * 每次扫描使用新的类加载器，两种方式都从"所有类都没有加载过"开始
+ *
+ * 运行：java -jar mini-spring-benchmark/target/benchmarks.jar ComponentScanBenchmark
+ *
+ * @Author: csx
+ * @Create: 2025/12/14 - 21:30
+ * @version: v1.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class ComponentScanBenchmark {
+
+    private static final String BASE_PACKAGE = "com.spring.benchmark.scanned";
+
+    private static final int CLASS_COUNT = 5000;
+
+    private static final int COMPONENT_EVERY = 10;
+
+    @Param({"classFile", "reflection"})
+    private String metadataReader;
+
+    private Path classesDirectory;
+
+    private URLClassLoader classLoader;
+
+    private ClassPathScanningCandidateComponentProvider provider;
+
+    private ClassLoader previousContextClassLoader;
+
+    @Setup(Level.Trial)
+    public void generateClasses() throws IOException {
+        // SimpleMetadataReader按路径中的"classes."推断类名，目录结构和编译输出保持一致
+        this.classesDirectory = Files.createTempDirectory("mini-spring-scan").resolve("classes");
+        Path packageDirectory = this.classesDirectory.resolve(BASE_PACKAGE.replace('.', '/'));
+        Files.createDirectories(packageDirectory);
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            String simpleName = "Generated" + i;
+            byte[] bytes = generateClass(BASE_PACKAGE.replace('.', '/') + "/" + simpleName, i % COMPONENT_EVERY == 0);
+            Files.write(packageDirectory.resolve(simpleName + ".class"), bytes);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createProvider() throws IOException {
+        // 先卸载上一次迭代加载的类，避免扫描期间的类卸载抵消Metaspace增长
+        System.gc();
+        this.classLoader = new URLClassLoader(new URL[]{this.classesDirectory.toUri().toURL()},
+                ComponentScanBenchmark.class.getClassLoader());
+        // SimpleMetadataReader通过线程上下文类加载器加载被扫描的类
+        this.previousContextClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(this.classLoader);
+
+        this.provider = new ClassPathScanningCandidateComponentProvider();
+        this.provider.registerDefaultFilters();
+        this.provider.setResourcePatternResolver(
+                new PathMatchingResourcePatternResolver(new DefaultResourceLoader(this.classLoader)));
+        this.provider.setMetadataReaderFactory("reflection".equals(this.metadataReader) ?
+                new SimpleMetadataReaderFactory() : new ClassFileMetadataReaderFactory(this.classLoader));
+    }
+
+    @Benchmark
+    public Set<BeanDefinition> scan(ScanFootprint footprint) {
+        footprint.begin();
+        Set<BeanDefinition> candidates = this.provider.findCandidateComponents(BASE_PACKAGE);
+        footprint.end();
+        if (candidates.size() != CLASS_COUNT / COMPONENT_EVERY) {
+            throw new IllegalStateException("扫描到的组件数量不对: " + candidates.size());
+        }
+        return candidates;
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeClassLoader() throws IOException {
+        Thread.currentThread().setContextClassLoader(this.previousContextClassLoader);
+        this.classLoader.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteClasses() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.classesDirectory.getParent())) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    /**
+     * 生成一个带字段、构造方法和getter的简单类
+     */
+    private static byte[] generateClass(String internalName, boolean component) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null,
+                "java/lang/Object", null);
+        if (component) {
+            writer.visitAnnotation(Type.getDescriptor(Component.class), true).visitEnd();
+        }
+        writer.visitField(Opcodes.ACC_PRIVATE, "name", "Ljava/lang/String;", null, null).visitEnd();
+
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        MethodVisitor getter = writer.visitMethod(Opcodes.ACC_PUBLIC, "getName", "()Ljava/lang/String;", null, null);
+        getter.visitCode();
+        getter.visitVarInsn(Opcodes.ALOAD, 0);
+        getter.visitFieldInsn(Opcodes.GETFIELD, internalName, "name", "Ljava/lang/String;");
+        getter.visitInsn(Opcodes.ARETURN);
+        getter.visitMaxs(0, 0);
+        getter.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * 扫描加载的类数量和Metaspace增长（KB），作为辅助指标和耗时一起输出
+     * 注意：EVENTS类型的计数是所有测量迭代的总和，每次扫描的值要除以迭代次数
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ScanFootprint {
+
+        public long loadedClasses;
+
+        public long metaspaceKb;
+
+        private long loadedClassesBefore;
+
+        private long metaspaceBefore;
+
+        void begin() {
+            this.loadedClassesBefore = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+            this.metaspaceBefore = metaspaceUsed();
+        }
+
+        void end() {
+            this.loadedClasses = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount() -
+                    this.loadedClassesBefore;
+            this.metaspaceKb = (metaspaceUsed() - this.metaspaceBefore) / 1024;
+        }
+
+        private static long metaspaceUsed() {
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if ("Metaspace".equals(pool.getName())) {
+                    return pool.getUsage().getUsed();
+                }
+            }
+            return 0;
+        }
+    }
+}
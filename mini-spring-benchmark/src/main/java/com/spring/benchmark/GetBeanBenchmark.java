@@ -0,0 +1,82 @@
+package com.spring.benchmark;
+
+import com.spring.beans.factory.FactoryBean;
+import com.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.spring.beans.factory.support.RootBeanDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClassName: GetBeanBenchmark
+ * Description: 已创建的单例重复getBean的耗时（AbstractBeanFactory.doGetBean的快速路径）
+ *
+ *  1. getBean(String)：普通单例
+ *  2. getBean(String, Class)：带类型检查
+ *  3. FactoryBean的产品和FactoryBean本身（&前缀）
+ *
+ * 运行：java -jar mini-spring-benchmark/target/benchmarks.jar GetBeanBenchmark
+ *
+ * @Author: csx
+ * @Create: 2025/12/14 - 20:00
+ * @version: v1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class GetBeanBenchmark {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @Setup
+    public void setUp() {
+        this.beanFactory = new DefaultListableBeanFactory();
+        this.beanFactory.registerBeanDefinition("service", new RootBeanDefinition(Service.class));
+        this.beanFactory.registerBeanDefinition("connection", new RootBeanDefinition(ConnectionFactoryBean.class));
+        // 先创建一次，测量的都是已创建单例的获取
+        this.beanFactory.getBean("service");
+        this.beanFactory.getBean("connection");
+    }
+
+    @Benchmark
+    public Object getBeanByName() {
+        return this.beanFactory.getBean("service");
+    }
+
+    @Benchmark
+    public Service getBeanByNameAndType() {
+        return this.beanFactory.getBean("service", Service.class);
+    }
+
+    @Benchmark
+    public Object getFactoryBeanObject() {
+        return this.beanFactory.getBean("connection");
+    }
+
+    @Benchmark
+    public Object getFactoryBean() {
+        return this.beanFactory.getBean("&connection");
+    }
+
+    public static class Service {
+    }
+
+    public static class Connection {
+    }
+
+    public static class ConnectionFactoryBean implements FactoryBean<Connection> {
+
+        @Override
+        public Connection getObject() {
+            return new Connection();
+        }
+
+        @Override
+        public Class<?> getObjectType() {
+            return Connection.class;
+        }
+    }
+}
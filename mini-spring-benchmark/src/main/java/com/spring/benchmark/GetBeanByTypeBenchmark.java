@@ -0,0 +1,81 @@
+package com.spring.benchmark;
+
+import com.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.spring.beans.factory.support.RootBeanDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClassName: GetBeanByTypeBenchmark
+ * Description: 按类型getBean的耗时，容器中注册100、1000、10000个其它Bean
+ *
+ *  1. getBean(Class)：唯一候选者
+ *  2. getBean(Class)：两个候选者，其中一个是@Primary
+ *  3. getBeanNamesForType：按类型解析Bean名称缓存未命中时的候选者查找
+ *
+ * 运行：java -jar mini-spring-benchmark/target/benchmarks.jar GetBeanByTypeBenchmark
+ *
+ * @Author: csx
+ * @Create: 2025/12/14 - 20:30
+ * @version: v1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class GetBeanByTypeBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int beanCount;
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @Setup
+    public void setUp() {
+        this.beanFactory = new DefaultListableBeanFactory();
+        for (int i = 0; i < this.beanCount; i++) {
+            this.beanFactory.registerBeanDefinition("other" + i, new RootBeanDefinition(Other.class));
+        }
+        this.beanFactory.registerBeanDefinition("service", new RootBeanDefinition(Service.class));
+        RootBeanDefinition primaryRepository = new RootBeanDefinition(JdbcRepository.class);
+        primaryRepository.setPrimary(true);
+        this.beanFactory.registerBeanDefinition("jdbcRepository", primaryRepository);
+        this.beanFactory.registerBeanDefinition("memoryRepository", new RootBeanDefinition(MemoryRepository.class));
+        // 先获取一次，测量的都是已创建单例的获取
+        this.beanFactory.getBean(Service.class);
+        this.beanFactory.getBean(Repository.class);
+    }
+
+    @Benchmark
+    public Service getBeanByType() {
+        return this.beanFactory.getBean(Service.class);
+    }
+
+    @Benchmark
+    public Repository getPrimaryBeanByType() {
+        return this.beanFactory.getBean(Repository.class);
+    }
+
+    @Benchmark
+    public String[] getBeanNamesForType() {
+        return this.beanFactory.getBeanNamesForType(Repository.class, true, true);
+    }
+
+    public static class Other {
+    }
+
+    public static class Service {
+    }
+
+    public interface Repository {
+    }
+
+    public static class JdbcRepository implements Repository {
+    }
+
+    public static class MemoryRepository implements Repository {
+    }
+}
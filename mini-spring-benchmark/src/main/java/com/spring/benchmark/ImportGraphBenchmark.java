@@ -0,0 +1,136 @@
+package com.spring.benchmark;
+
+import com.spring.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import com.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.spring.context.annotation.Bean;
+import com.spring.context.annotation.Configuration;
+import com.spring.context.annotation.ConfigurationClassPostProcessor;
+import com.spring.context.annotation.Import;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClassName: ImportGraphBenchmark
+ * Description: 解析500个配置类组成的@Import图的耗时（ConfigurationClassPostProcessor：parse + loadBeanDefinitions）
+ *
+ * 第i个配置类导入第2i+1、2i+2和i+1个（超出范围的跳过），每个配置类有一个@Bean方法：
+ * 从根配置类出发有大量重复路径（菱形导入），每个配置类只应解析一次，最终注册500个配置类和500个@Bean
+ *
+ * 配置类在启动时用ASM生成到内存中的类加载器；每次操作使用新的BeanFactory
+ *
+ * 运行：java -jar mini-spring-benchmark/target/benchmarks.jar ImportGraphBenchmark
+ *
+ * @Author: csx
+ * @Create: 2025/12/15 - 20:30
+ * @version: v1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class ImportGraphBenchmark {
+
+    private static final String BASE_NAME = "com/spring/benchmark/imports/ImportedConfig";
+
+    private static final int CLASS_COUNT = 500;
+
+    private Class<?> rootConfigClass;
+
+    @Setup
+    public void generateClasses() throws ClassNotFoundException {
+        GeneratingClassLoader classLoader = new GeneratingClassLoader(ImportGraphBenchmark.class.getClassLoader());
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            classLoader.add(BASE_NAME + i, generateConfigClass(i));
+        }
+        this.rootConfigClass = classLoader.loadClass(BASE_NAME.replace('/', '.') + 0);
+    }
+
+    @Benchmark
+    public DefaultListableBeanFactory parseImportGraph() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("importedConfig0", new AnnotatedGenericBeanDefinition(this.rootConfigClass));
+        new ConfigurationClassPostProcessor().postProcessBeanDefinitionRegistry(beanFactory);
+        if (beanFactory.getBeanDefinitionCount() != CLASS_COUNT * 2) {
+            throw new IllegalStateException("注册的BeanDefinition数量不对: " + beanFactory.getBeanDefinitionCount());
+        }
+        return beanFactory;
+    }
+
+    /**
+     * 生成第index个配置类：@Configuration、@Import(导入的配置类)、一个返回Object的@Bean方法
+     */
+    private static byte[] generateConfigClass(int index) {
+        String internalName = BASE_NAME + index;
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null,
+                "java/lang/Object", null);
+        writer.visitAnnotation(Type.getDescriptor(Configuration.class), true).visitEnd();
+
+        AnnotationVisitor importAnnotation = writer.visitAnnotation(Type.getDescriptor(Import.class), true);
+        AnnotationVisitor importedClasses = importAnnotation.visitArray("value");
+        for (int imported : new int[]{2 * index + 1, 2 * index + 2, index + 1}) {
+            if (imported < CLASS_COUNT) {
+                importedClasses.visit(null, Type.getObjectType(BASE_NAME + imported));
+            }
+        }
+        importedClasses.visitEnd();
+        importAnnotation.visitEnd();
+
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        MethodVisitor beanMethod = writer.visitMethod(Opcodes.ACC_PUBLIC, "bean" + index,
+                "()Ljava/lang/Object;", null, null);
+        beanMethod.visitAnnotation(Type.getDescriptor(Bean.class), true).visitEnd();
+        beanMethod.visitCode();
+        beanMethod.visitTypeInsn(Opcodes.NEW, "java/lang/Object");
+        beanMethod.visitInsn(Opcodes.DUP);
+        beanMethod.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        beanMethod.visitInsn(Opcodes.ARETURN);
+        beanMethod.visitMaxs(0, 0);
+        beanMethod.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * 从内存中的字节码定义生成的配置类（@Import引用的类在解析注解时按需加载）
+     */
+    private static final class GeneratingClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classes = new HashMap<>();
+
+        GeneratingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        void add(String internalName, byte[] bytes) {
+            this.classes.put(internalName.replace('/', '.'), bytes);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = this.classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
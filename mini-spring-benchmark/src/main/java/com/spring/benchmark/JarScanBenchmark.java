@@ -0,0 +1,104 @@
+package com.spring.benchmark;
+
+import com.spring.core.io.DefaultResourceLoader;
+import com.spring.core.io.Resource;
+import com.spring.core.io.support.PathMatchingResourcePatternResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * ClassName: JarScanBenchmark
+ * Description: classpath*:通配符在一个约2万个条目的jar包中匹配class文件的耗时
+ *
+ * jar包在启动时生成：50个包，每个包100个.class和299个.properties，加上各级目录条目，共20004个条目；
+ * 匹配只看条目名称，不读取内容，所以class文件只写入占位内容
+ *
+ * 运行：java -jar mini-spring-benchmark/target/benchmarks.jar JarScanBenchmark
+ *
+ * @Author: csx
+ * @Create: 2025/12/15 - 20:00
+ * @version: v1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class JarScanBenchmark {
+
+    private static final String BASE_PATH = "com/spring/benchmark/jarscan/";
+
+    private static final String LOCATION_PATTERN = "classpath*:" + BASE_PATH + "**/*.class";
+
+    private static final int PACKAGE_COUNT = 50;
+
+    private static final int CLASSES_PER_PACKAGE = 100;
+
+    private static final int RESOURCES_PER_PACKAGE = 299;
+
+    private static final byte[] PLACEHOLDER = {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE};
+
+    private Path jarFile;
+
+    private URLClassLoader classLoader;
+
+    private PathMatchingResourcePatternResolver resolver;
+
+    @Setup
+    public void generateJar() throws IOException {
+        this.jarFile = Files.createTempFile("mini-spring-jarscan", ".jar");
+        try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(this.jarFile))) {
+            // ClassLoader.getResources需要目录条目才能找到包根目录（jar/zip工具默认会写入）
+            String parent = "";
+            for (String segment : BASE_PATH.split("/")) {
+                parent += segment + "/";
+                jar.putNextEntry(new JarEntry(parent));
+                jar.closeEntry();
+            }
+            for (int p = 0; p < PACKAGE_COUNT; p++) {
+                String packagePath = BASE_PATH + "pkg" + p + "/";
+                jar.putNextEntry(new JarEntry(packagePath));
+                jar.closeEntry();
+                for (int i = 0; i < CLASSES_PER_PACKAGE; i++) {
+                    writeEntry(jar, packagePath + "Generated" + i + ".class", PLACEHOLDER);
+                }
+                for (int i = 0; i < RESOURCES_PER_PACKAGE; i++) {
+                    writeEntry(jar, packagePath + "resource" + i + ".properties", PLACEHOLDER);
+                }
+            }
+        }
+        this.classLoader = new URLClassLoader(new URL[]{this.jarFile.toUri().toURL()},
+                JarScanBenchmark.class.getClassLoader());
+        this.resolver = new PathMatchingResourcePatternResolver(new DefaultResourceLoader(this.classLoader));
+    }
+
+    @Benchmark
+    public Resource[] getResources() throws IOException {
+        Resource[] resources = this.resolver.getResources(LOCATION_PATTERN);
+        if (resources.length != PACKAGE_COUNT * CLASSES_PER_PACKAGE) {
+            throw new IllegalStateException("匹配到的class文件数量不对: " + resources.length);
+        }
+        return resources;
+    }
+
+    @TearDown
+    public void deleteJar() throws IOException {
+        this.classLoader.close();
+        Files.delete(this.jarFile);
+    }
+
+    private static void writeEntry(JarOutputStream jar, String name, byte[] content) throws IOException {
+        jar.putNextEntry(new JarEntry(name));
+        jar.write(content);
+        jar.closeEntry();
+    }
+}
@@ -0,0 +1,85 @@
+package com.spring.benchmark;
+
+import com.spring.beans.factory.config.BeanDefinition;
+import com.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.spring.beans.factory.support.RootBeanDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClassName: PrototypeCreationBenchmark
+ * Description: 原型Bean的创建吞吐量（构造方法、实例工厂方法、静态工厂方法）
+ *
+ * 测量的是完整的getBean：合并Bean定义、实例化、属性填充和初始化，
+ * newInstance作为参照，表示直接new对象的开销
+ *
+ * 运行：java -jar mini-spring-benchmark/target/benchmarks.jar PrototypeCreationBenchmark
+ *
+ * @Author: csx
+ * @Create: 2025/12/14 - 22:00
+ * @version: v1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class PrototypeCreationBenchmark {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @Setup
+    public void setUp() {
+        this.beanFactory = new DefaultListableBeanFactory();
+        this.beanFactory.registerBeanDefinition("widget",
+                new RootBeanDefinition(Widget.class, BeanDefinition.SCOPE_PROTOTYPE, false));
+
+        this.beanFactory.registerBeanDefinition("widgetFactory", new RootBeanDefinition(WidgetFactory.class));
+        RootBeanDefinition factoryMethodWidget = new RootBeanDefinition();
+        factoryMethodWidget.setFactoryBeanName("widgetFactory");
+        factoryMethodWidget.setFactoryMethodName("createWidget");
+        factoryMethodWidget.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        this.beanFactory.registerBeanDefinition("factoryMethodWidget", factoryMethodWidget);
+
+        RootBeanDefinition staticFactoryMethodWidget = new RootBeanDefinition(WidgetFactory.class);
+        staticFactoryMethodWidget.setFactoryMethodName("createStaticWidget");
+        staticFactoryMethodWidget.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        this.beanFactory.registerBeanDefinition("staticFactoryMethodWidget", staticFactoryMethodWidget);
+    }
+
+    @Benchmark
+    public Object constructor() {
+        return this.beanFactory.getBean("widget");
+    }
+
+    @Benchmark
+    public Object factoryMethod() {
+        return this.beanFactory.getBean("factoryMethodWidget");
+    }
+
+    @Benchmark
+    public Object staticFactoryMethod() {
+        return this.beanFactory.getBean("staticFactoryMethodWidget");
+    }
+
+    @Benchmark
+    public Object newInstance() {
+        return new Widget();
+    }
+
+    public static class Widget {
+    }
+
+    public static class WidgetFactory {
+
+        public Widget createWidget() {
+            return new Widget();
+        }
+
+        public static Widget createStaticWidget() {
+            return new Widget();
+        }
+    }
+}
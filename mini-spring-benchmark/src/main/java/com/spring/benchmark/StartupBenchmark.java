@@ -0,0 +1,107 @@
+package com.spring.benchmark;
+
+import com.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.spring.beans.factory.support.RootBeanDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClassName: StartupBenchmark
+ * Description: 单例预实例化耗时，串行和并行（setParallelPreInstantiation）对比
+ *
+ * 模拟配置类中做慢速I/O初始化的@Bean（连接池、缓存预热等）：
+ *  CONFIGURATIONS个配置类，每个构造时睡眠SLOW_MILLIS，各有BEANS_PER_CONFIGURATION个实例工厂方法，
+ *  每个工厂方法也睡眠SLOW_MILLIS。工厂方法Bean依赖所在的配置类，配置类之间互不依赖
+ *
+ * 每次测量都新建BeanFactory，只测量preInstantiateSingletons本身
+ *
+ * 运行：java -jar mini-spring-benchmark/target/benchmarks.jar StartupBenchmark
+ *
+ * @Author: csx
+ * @Create: 2025/12/14 - 21:00
+ * @version: v1.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    static final int SLOW_MILLIS = 5;
+
+    private static final int CONFIGURATIONS = 10;
+
+    private static final int BEANS_PER_CONFIGURATION = 10;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    /** 慢速Bean在等待I/O，并行度可以大于CPU核数 */
+    @Param({"8"})
+    private int parallelism;
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.beanFactory = new DefaultListableBeanFactory();
+        this.beanFactory.setParallelPreInstantiation(this.parallel);
+        this.beanFactory.setPreInstantiationParallelism(this.parallelism);
+        for (int i = 0; i < CONFIGURATIONS; i++) {
+            String configurationName = "configuration" + i;
+            this.beanFactory.registerBeanDefinition(configurationName, new RootBeanDefinition(SlowConfiguration.class));
+            for (int j = 0; j < BEANS_PER_CONFIGURATION; j++) {
+                RootBeanDefinition beanDefinition = new RootBeanDefinition();
+                beanDefinition.setFactoryBeanName(configurationName);
+                beanDefinition.setFactoryMethodName("slowResource");
+                this.beanFactory.registerBeanDefinition(configurationName + "Resource" + j, beanDefinition);
+            }
+        }
+    }
+
+    @Benchmark
+    public DefaultListableBeanFactory preInstantiateSingletons() {
+        this.beanFactory.preInstantiateSingletons();
+        return this.beanFactory;
+    }
+
+    @TearDown(Level.Iteration)
+    public void verify() {
+        int created = 0;
+        for (String beanName : this.beanFactory.getBeanDefinitionNames()) {
+            if (this.beanFactory.containsSingleton(beanName)) {
+                created++;
+            }
+        }
+        if (created != CONFIGURATIONS * (BEANS_PER_CONFIGURATION + 1)) {
+            throw new IllegalStateException("预实例化的单例数量不对: " + created);
+        }
+    }
+
+    private static void simulateIo() {
+        try {
+            Thread.sleep(SLOW_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public static class SlowConfiguration {
+
+        public SlowConfiguration() {
+            simulateIo();
+        }
+
+        public SlowResource slowResource() {
+            simulateIo();
+            return new SlowResource();
+        }
+    }
+
+    public static class SlowResource {
+    }
+}
@@ -0,0 +1,188 @@
+package com.spring.context.index.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * ClassName: CandidateComponentsIndexer
+ * Description:
+ *
+ * 候选组件索引生成器（注解处理器） - 对应Spring的CandidateComponentsIndexer
+ *
+ * 编译时收集带有stereotype注解的类，写入META-INF/spring.components：
+ *  com.example.UserService=com.spring.stereotype.Component
+ *
+ * stereotype：直接或通过元注解标注了@Indexed的注解（@Component带有@Indexed，
+ * 所以@Service、@Repository、@Controller、@Configuration标注的类都会以Component为stereotype记录）
+ *
+ * 增量编译：已有索引中没有参与本次编译、并且类型仍然存在的条目会保留
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 0:30
+ * @version: v1.0
+ */
+@SupportedAnnotationTypes("*")
+public class CandidateComponentsIndexer extends AbstractProcessor {
+
+    /** 与CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION一致 */
+    static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
+
+    private static final String INDEXED_ANNOTATION = "com.spring.stereotype.Indexed";
+
+    /** 本次编译收集到的条目：类名 -> stereotype */
+    private final Map<String, Set<String>> entries = new TreeMap<>();
+
+    /** 本次编译处理过的类（无论是否有stereotype），用于合并旧索引 */
+    private final Set<String> processedTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            processElement(element);
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        // 不声明占用任何注解，其它处理器（如Lombok）照常执行
+        return false;
+    }
+
+    private void processElement(Element element) {
+        if (element instanceof TypeElement typeElement && isIndexableType(typeElement)) {
+            String typeName = this.processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+            this.processedTypes.add(typeName);
+
+            Set<String> stereotypes = new LinkedHashSet<>();
+            collectStereotypes(typeElement, stereotypes, new HashSet<>());
+            if (!stereotypes.isEmpty()) {
+                this.entries.put(typeName, stereotypes);
+            }
+        }
+        // 静态内部类也可以是组件
+        for (Element enclosed : element.getEnclosedElements()) {
+            if (enclosed instanceof TypeElement) {
+                processElement(enclosed);
+            }
+        }
+    }
+
+    /**
+     * 只索引顶层类和静态内部类（非静态内部类无法被容器实例化）
+     */
+    private boolean isIndexableType(TypeElement typeElement) {
+        if (!typeElement.getKind().isClass()) {
+            return false;
+        }
+        return (typeElement.getNestingKind() == NestingKind.TOP_LEVEL ||
+                (typeElement.getNestingKind() == NestingKind.MEMBER &&
+                        typeElement.getModifiers().contains(Modifier.STATIC)));
+    }
+
+    /**
+     * 收集元素上（包括元注解上）所有带@Indexed的注解
+     */
+    private void collectStereotypes(Element element, Set<String> stereotypes, Set<String> visited) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            Element annotationElement = annotation.getAnnotationType().asElement();
+            if (!(annotationElement instanceof TypeElement annotationType)) {
+                continue;
+            }
+            String annotationName = annotationType.getQualifiedName().toString();
+            if (annotationName.startsWith("java.lang.") || !visited.add(annotationName)) {
+                continue;
+            }
+            if (isIndexed(annotationType)) {
+                stereotypes.add(annotationName);
+            }
+            collectStereotypes(annotationType, stereotypes, visited);
+        }
+    }
+
+    private boolean isIndexed(TypeElement annotationType) {
+        for (AnnotationMirror metaAnnotation : annotationType.getAnnotationMirrors()) {
+            Element metaAnnotationType = metaAnnotation.getAnnotationType().asElement();
+            if (metaAnnotationType instanceof TypeElement typeElement &&
+                    INDEXED_ANNOTATION.contentEquals(typeElement.getQualifiedName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ============ 索引文件读写 ============
+
+    private void writeIndex() {
+        Map<String, Set<String>> merged = new TreeMap<>(readPreviousIndex());
+        merged.putAll(this.entries);
+        if (merged.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject file = this.processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", COMPONENTS_RESOURCE_LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# 由mini-spring-context-indexer在编译期生成，请勿手动修改\n");
+                for (Map.Entry<String, Set<String>> entry : merged.entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write('=');
+                    writer.write(String.join(",", entry.getValue()));
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException ex) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "无法写入组件索引 " + COMPONENTS_RESOURCE_LOCATION + ": " + ex);
+        }
+    }
+
+    /**
+     * 读取上次编译生成的索引（增量编译时只有部分类参与编译）
+     * 保留没有参与本次编译、并且仍然存在的类型
+     */
+    private Map<String, Set<String>> readPreviousIndex() {
+        Map<String, Set<String>> previous = new TreeMap<>();
+        Properties properties = new Properties();
+        try {
+            FileObject file = this.processingEnv.getFiler().getResource(
+                    StandardLocation.CLASS_OUTPUT, "", COMPONENTS_RESOURCE_LOCATION);
+            try (InputStream inputStream = file.openInputStream()) {
+                properties.load(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            }
+        } catch (IOException ex) {
+            // 没有旧索引
+            return previous;
+        }
+
+        for (String type : properties.stringPropertyNames()) {
+            if (this.processedTypes.contains(type) ||
+                    this.processingEnv.getElementUtils().getTypeElement(type.replace('$', '.')) == null) {
+                continue;
+            }
+            previous.put(type, new LinkedHashSet<>(Arrays.asList(properties.getProperty(type).split(","))));
+        }
+        return previous;
+    }
+}
@@ -19,10 +19,12 @@ import lombok.extern.slf4j.Slf4j;
 public class AnnotatedBeanDefinitionReader {
     private final BeanDefinitionRegistry registry;
 
+    private final ConditionEvaluator conditionEvaluator;
 
     public AnnotatedBeanDefinitionReader(BeanDefinitionRegistry registry) {
         // 1.保存BeanDefinitionRegistry引用
         this.registry = registry;
+        this.conditionEvaluator = new ConditionEvaluator(registry);
 
         // 2.只注册最核心的处理器
         registerAnnotationConfigProcessors();
@@ -42,6 +44,13 @@ public class AnnotatedBeanDefinitionReader {
     }
 
 
+    /**
+     * 清除条件判断缓存（上下文refresh完成时调用）
+     */
+    public void clearCache() {
+        this.conditionEvaluator.clearCache();
+    }
+
     /**
      * 注册BeanDefinition
      * @param componentClasses
@@ -58,6 +67,10 @@ public class AnnotatedBeanDefinitionReader {
     private void doRegisterBean(Class<?> beanClass) {
         // 1. 创建BeanDefinition（简化版）
         AnnotatedGenericBeanDefinition abd = new AnnotatedGenericBeanDefinition(beanClass);
+        if (this.conditionEvaluator.shouldSkip(abd.getMetadata())) {
+            log.debug("条件不匹配，不注册: {}", beanClass.getName());
+            return;
+        }
 
         // 2. 生成Bean名称（简化版）
         String beanName = generateBeanName(beanClass);
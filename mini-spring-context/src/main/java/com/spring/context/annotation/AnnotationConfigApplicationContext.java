@@ -22,6 +22,7 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
         this.reader = new AnnotatedBeanDefinitionReader(this);
 
         this.scanner = new ClassPathBeanDefinitionScanner(this);
+        this.scanner.setMetadataReaderFactory(getMetadataReaderFactory());
     }
 
     public AnnotationConfigApplicationContext(Class<?>... componentClasses) {
@@ -44,5 +45,15 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
         this.scanner.scan(basePackages);
     }
 
+    /**
+     * 除了公共缓存，还要清除读取器和扫描器的条件判断缓存，它们和上下文一样长寿
+     */
+    @Override
+    protected void resetCommonCaches() {
+        super.resetCommonCaches();
+        this.reader.clearCache();
+        this.scanner.clearCache();
+    }
+
 
 }
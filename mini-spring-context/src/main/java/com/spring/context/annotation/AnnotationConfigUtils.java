@@ -65,10 +65,11 @@ public class AnnotationConfigUtils {
 
         if (metadata instanceof AnnotationMetadata am) {
             hasAnnotation = am.isAnnotated(Lazy.class.getName());
-            if (hasAnnotation && abd.getBeanClass() != null) {
-                Lazy lazy = abd.getBeanClass().getAnnotation(Lazy.class);
-                if (lazy != null) {
-                    lazyValue = lazy.value();
+            if (hasAnnotation) {
+                // 从元数据读取属性，扫描到的BeanDefinition不需要为此加载类
+                Map<String, Object> attributes = am.getAnnotationAttributes(Lazy.class.getName());
+                if (attributes != null && attributes.containsKey("value")) {
+                    lazyValue = (Boolean) attributes.get("value");
                 }
             }
         } else if (metadata instanceof MethodMetadata mm) {
@@ -116,10 +117,10 @@ public class AnnotationConfigUtils {
         String scopeValue = null;
 
         if (metadata instanceof AnnotationMetadata am) {
-            if (am.isAnnotated(Scope.class.getName()) && abd.getBeanClass() != null) {
-                Scope scope = abd.getBeanClass().getAnnotation(Scope.class);
-                if (scope != null && !scope.value().isEmpty()) {
-                    scopeValue = scope.value();
+            if (am.isAnnotated(Scope.class.getName())) {
+                Map<String, Object> attributes = am.getAnnotationAttributes(Scope.class.getName());
+                if (attributes != null && attributes.containsKey("value")) {
+                    scopeValue = (String) attributes.get("value");
                 }
             }
         } else if (metadata instanceof MethodMetadata mm) {
@@ -8,12 +8,8 @@ import com.spring.beans.factory.support.AbstractBeanDefinition;
 import com.spring.beans.factory.support.BeanDefinitionDefaults;
 import com.spring.beans.factory.support.BeanDefinitionRegistry;
 import com.spring.beans.factory.support.RootBeanDefinition;
-import com.spring.core.type.AnnotationMetadata;
 import com.spring.core.type.StandardAnnotationMetadata;
 import com.spring.stereotype.Component;
-import com.spring.stereotype.Controller;
-import com.spring.stereotype.Repository;
-import com.spring.stereotype.Service;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
@@ -46,6 +42,7 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
 
     public ClassPathBeanDefinitionScanner(BeanDefinitionRegistry registry, boolean useDefaultFilters) {
         this.registry = registry;
+        setConditionEvaluator(new ConditionEvaluator(registry));
 
         if (useDefaultFilters) {
             registerDefaultFilters();
@@ -200,36 +197,16 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
 
     /**
      * 从注解中提取自定义的Bean名称
-     * 支持@Component、@Service、@Repository、@Controller等注解的value属性
+     * @Service、@Repository、@Controller、@Configuration的value通过@AliasFor覆盖@Component的value，
+     * 查询一次@Component（元注解闭包有缓存）就能拿到所有派生注解上声明的名称
      */
     private String extractCustomBeanNameFromAnnotation(BeanDefinition beanDef) {
         // 只处理带有注解元数据的BeanDefinition
         if (beanDef instanceof AnnotatedBeanDefinition abd) {
-            AnnotationMetadata metadata = abd.getMetadata();
-
-            // 定义支持的注解列表（按优先级排序）
-            String[] annotationTypes = {
-                    Component.class.getName(),
-                    Service.class.getName(),
-                    Repository.class.getName(),
-                    Controller.class.getName(),
-                    Configuration.class.getName()
-                    // 可以继续添加其他派生注解
-            };
-
-            // 检查每个注解是否包含value属性
-            for (String annotationType : annotationTypes) {
-                Map<String, Object> attributes = metadata.getAnnotationAttributes(annotationType);
-                if (attributes != null) {
-                    Object value = attributes.get("value");
-                    if (value instanceof String beanName) {
-                        if (!beanName.isEmpty()) {
-                            log.debug("从注解 {} 提取Bean名称: {}",
-                                    annotationType, beanName);
-                            return beanName;
-                        }
-                    }
-                }
+            Map<String, Object> attributes = abd.getMetadata().getAnnotationAttributes(Component.class.getName());
+            if (attributes != null && attributes.get("value") instanceof String beanName && !beanName.isEmpty()) {
+                log.debug("从注解提取Bean名称: {}", beanName);
+                return beanName;
             }
         }
 
@@ -3,13 +3,16 @@ package com.spring.context.annotation;
 import com.spring.beans.factory.annotation.AnnotatedBeanDefinition;
 import com.spring.beans.factory.annotation.AnnotatedGenericBeanDefinition;
 import com.spring.beans.factory.config.BeanDefinition;
+import com.spring.context.index.CandidateComponentsIndex;
+import com.spring.context.index.CandidateComponentsIndexLoader;
 import com.spring.core.io.Resource;
 import com.spring.core.io.support.PathMatchingResourcePatternResolver;
 import com.spring.core.io.support.ResourcePatternResolver;
 import com.spring.core.type.classreading.MetadataReader;
 import com.spring.core.type.classreading.MetadataReaderFactory;
-import com.spring.core.type.classreading.SimpleMetadataReaderFactory;
+import com.spring.core.type.classreading.ClassFileMetadataReaderFactory;
 import com.spring.stereotype.Component;
+import com.spring.stereotype.Indexed;
 import com.spring.util.ClassUtils;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,6 +24,10 @@ import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * ClassName: ClassPathScanningCandidateComponentProvider
@@ -29,6 +36,10 @@ import java.util.Set;
  * 类路径扫描候选组件提供者 - 对应Spring的ClassPathScanningCandidateComponentProvider
  * 负责扫描类路径下的候选组件
  *
+ * 并行扫描（setParallelScanning或系统属性spring.scan.parallel=true）：
+ * 目录遍历和class文件元数据读取都分散到ForkJoinPool上执行，候选组件仍按资源顺序返回，
+ * 所以Bean的注册顺序与串行扫描一致
+ *
  * @Author: csx
  * @Create: 2025/12/2 - 22:32
  * @version: v1.0
@@ -36,18 +47,35 @@ import java.util.Set;
 @Slf4j
 public class ClassPathScanningCandidateComponentProvider {
 
+    /** 默认开启并行扫描的系统属性 */
+    public static final String PARALLEL_SCANNING_PROPERTY_NAME = "spring.scan.parallel";
+
     private String resourcePattern = "**/*.class";
 
     private ResourcePatternResolver resourcePatternResolver;
 
     private MetadataReaderFactory metadataReaderFactory;
 
+    /** 构建期生成的组件索引，没有索引时为null */
+    private CandidateComponentsIndex componentsIndex;
+
+    private boolean componentsIndexResolved = false;
+
+    /** 是否并行遍历目录、读取元数据 */
+    private boolean parallelScanning = Boolean.getBoolean(PARALLEL_SCANNING_PROPERTY_NAME);
+
+    /** 并行扫描时的最大并行度 */
+    private int scanParallelism = Runtime.getRuntime().availableProcessors();
+
     /** 包含过滤器列表 */
     private final List<Class<? extends Annotation>> includeFilters = new ArrayList<>();
 
     /** 排除过滤器列表 */
     private final List<Class<? extends Annotation>> excludeFilters = new ArrayList<>();
 
+    /** 条件评估器，为null时不判断@Conditional */
+    private ConditionEvaluator conditionEvaluator;
+
     /**
      * 添加包含过滤器
      */
@@ -75,11 +103,81 @@ public class ClassPathScanningCandidateComponentProvider {
      * 扫描基础包下的所有候选组件 - 对应Spring的findCandidateComponents->scanCandidateComponents方法
      *
      * Spring原版逻辑：
+     * 0. 类路径上有构建期索引（META-INF/spring.components）时直接读索引
      * 1. 将包名转换为搜索路径
      * 2. 获取所有匹配的资源
      * 3. 遍历资源，将符合条件的类转换为BeanDefinition
      */
     public Set<BeanDefinition> findCandidateComponents(String basePackage) {
+        // 存在构建期索引并且所有包含过滤器都能用索引回答时，直接读索引，跳过类路径遍历
+        CandidateComponentsIndex componentsIndex = getComponentsIndex();
+        if (componentsIndex != null && indexSupportsIncludeFilters()) {
+            return addCandidateComponentsFromIndex(componentsIndex, basePackage);
+        }
+        return scanCandidateComponents(basePackage);
+    }
+
+    /**
+     * 从构建期索引中获取候选组件 - 对应Spring的addCandidateComponentsFromIndex方法
+     * 只读取索引中列出的类的元数据，仍然应用排除过滤器和二次验证
+     */
+    private Set<BeanDefinition> addCandidateComponentsFromIndex(CandidateComponentsIndex index, String basePackage) {
+        log.debug("从组件索引中获取候选组件: {}", basePackage);
+
+        Set<BeanDefinition> candidates = new LinkedHashSet<>();
+        try {
+            // 收集所有包含过滤器对应的类名（去重，保持索引顺序）
+            Set<String> types = new LinkedHashSet<>();
+            for (Class<? extends Annotation> includeFilter : this.includeFilters) {
+                types.addAll(index.getCandidateTypes(basePackage, includeFilter.getName()));
+            }
+
+            for (String type : types) {
+                MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(type);
+                if (isCandidateComponent(metadataReader)) {
+                    AnnotatedGenericBeanDefinition abd = new AnnotatedGenericBeanDefinition(metadataReader);
+                    abd.setSource(metadataReader.getResource());
+                    if (isCandidateComponent(abd)) {
+                        candidates.add(abd);
+                        log.debug("从索引添加候选BeanDefinition: {}", type);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read candidate component class from index, base package: " + basePackage, e);
+        }
+
+        log.debug("索引查找完成，找到 {} 个候选组件", candidates.size());
+        return candidates;
+    }
+
+    /**
+     * 索引能否回答所有包含过滤器：过滤器注解本身带有@Indexed（索引中只记录@Indexed的stereotype）
+     */
+    private boolean indexSupportsIncludeFilters() {
+        for (Class<? extends Annotation> includeFilter : this.includeFilters) {
+            if (!includeFilter.isAnnotationPresent(Indexed.class)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取构建期组件索引（懒加载），类路径上没有索引时返回null
+     */
+    private CandidateComponentsIndex getComponentsIndex() {
+        if (!this.componentsIndexResolved) {
+            this.componentsIndex = CandidateComponentsIndexLoader.loadIndex(getResourcePatternResolver().getClassLoader());
+            this.componentsIndexResolved = true;
+        }
+        return this.componentsIndex;
+    }
+
+    /**
+     * 扫描类路径获取候选组件 - 对应Spring的scanCandidateComponents方法
+     */
+    private Set<BeanDefinition> scanCandidateComponents(String basePackage) {
         log.debug("开始扫描基础包下的候选组件: {}", basePackage);
 
         Set<BeanDefinition> candidates = new LinkedHashSet<>();
@@ -96,47 +194,12 @@ public class ClassPathScanningCandidateComponentProvider {
             Resource[] resources = getResourcePatternResolver().getResources(packageSearchPath);
             log.debug("找到 {} 个资源文件", resources.length);
 
-            // 第三步：遍历所有资源文件（这一步我们暂时只记录日志，后续实现转换逻辑）
-            for (Resource resource : resources) {
-                String filename = resource.getFilename();
-                log.debug("处理资源文件: {}", filename);
-
-                // 过滤1：忽略CGLIB生成的代理类
-                if (filename != null && filename.contains(ClassUtils.CGLIB_CLASS_SEPARATOR)) {
-                    log.debug("跳过CGLIB代理类: {}", filename);
-                    continue;
-                }
-
-                try {
-                    // 第四步：使用ASM技术解析类元数据
-                    MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
-
-                    // 第五步：应用过滤器判断是否为候选组件
-                    if (isCandidateComponent(metadataReader)) {
-                        log.debug("类 {} 通过过滤器，创建BeanDefinition", metadataReader.getClassMetadata().getClassName());
-
-                        // 第六步：创建BeanDefinition
-                        // 注意：我们没有定义ScannedGenericBeanDefinition，使用AnnotatedGenericBeanDefinition
-                        // 但需要传递元数据，所以我们需要扩展AnnotatedGenericBeanDefinition
-                        // 直接使用MetadataReader构造BeanDefinition
-                        AnnotatedGenericBeanDefinition abd = new AnnotatedGenericBeanDefinition(metadataReader);
-                        abd.setSource(resource);
-
-                        // 第七步：二次验证：检查类是否可实例化
-                        // 不能是接口或抽象类，如果是抽象类，但是有@Lookup注解的方法则通过（@Lookup占时不实现）
-                        if (isCandidateComponent(abd)) {
-                            candidates.add(abd);
-                            log.debug("添加候选BeanDefinition: {}", abd.getBeanClassName());
-                        } else {
-                            log.debug("类 {} 未通过二次验证", metadataReader.getClassMetadata().getClassName());
-                        }
-                    } else {
-                        log.debug("类 {} 未通过过滤器", metadataReader.getClassMetadata().getClassName());
-                    }
-                } catch (IOException e) {
-                    log.warn("无法读取资源元数据: {}", resource.getDescription(), e);
-                } catch (Exception e) {
-                    log.warn("处理资源时发生异常: {}", resource.getDescription(), e);
+            // 第三步：逐个资源判断是否为候选组件（并行模式下分散到ForkJoinPool，结果按资源顺序收集）
+            AnnotatedGenericBeanDefinition[] results = (this.parallelScanning && resources.length > 1 ?
+                    resolveCandidateComponentsInParallel(resources) : resolveCandidateComponents(resources));
+            for (AnnotatedGenericBeanDefinition abd : results) {
+                if (abd != null) {
+                    candidates.add(abd);
                 }
             }
         } catch (Exception e) {
@@ -148,6 +211,91 @@ public class ClassPathScanningCandidateComponentProvider {
         return candidates;
     }
 
+    private AnnotatedGenericBeanDefinition[] resolveCandidateComponents(Resource[] resources) {
+        AnnotatedGenericBeanDefinition[] results = new AnnotatedGenericBeanDefinition[resources.length];
+        for (int i = 0; i < resources.length; i++) {
+            results[i] = resolveCandidateComponent(resources[i]);
+        }
+        return results;
+    }
+
+    /**
+     * 在有界的ForkJoinPool上并发读取元数据，第i个结果对应第i个资源
+     */
+    private AnnotatedGenericBeanDefinition[] resolveCandidateComponentsInParallel(Resource[] resources) {
+        log.debug("并行读取 {} 个资源的元数据，并行度: {}", resources.length, this.scanParallelism);
+
+        List<Callable<AnnotatedGenericBeanDefinition>> tasks = new ArrayList<>(resources.length);
+        for (Resource resource : resources) {
+            tasks.add(() -> resolveCandidateComponent(resource));
+        }
+
+        AnnotatedGenericBeanDefinition[] results = new AnnotatedGenericBeanDefinition[resources.length];
+        ForkJoinPool pool = new ForkJoinPool(this.scanParallelism);
+        try {
+            List<Future<AnnotatedGenericBeanDefinition>> futures = pool.invokeAll(tasks);
+            for (int i = 0; i < results.length; i++) {
+                results[i] = futures.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("并行扫描被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("并行读取资源元数据失败", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    /**
+     * 把单个资源解析为候选BeanDefinition，不是候选组件或读取失败时返回null
+     * 并行扫描时会被多个线程同时调用
+     */
+    private AnnotatedGenericBeanDefinition resolveCandidateComponent(Resource resource) {
+        String filename = resource.getFilename();
+        log.debug("处理资源文件: {}", filename);
+
+        // 过滤1：忽略CGLIB生成的代理类
+        if (filename != null && filename.contains(ClassUtils.CGLIB_CLASS_SEPARATOR)) {
+            log.debug("跳过CGLIB代理类: {}", filename);
+            return null;
+        }
+
+        try {
+            // 第四步：直接解析class文件获取类元数据（不加载类）
+            MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+
+            // 第五步：应用过滤器判断是否为候选组件
+            if (isCandidateComponent(metadataReader)) {
+                log.debug("类 {} 通过过滤器，创建BeanDefinition", metadataReader.getClassMetadata().getClassName());
+
+                // 第六步：创建BeanDefinition
+                // 注意：我们没有定义ScannedGenericBeanDefinition，使用AnnotatedGenericBeanDefinition
+                // 但需要传递元数据，所以我们需要扩展AnnotatedGenericBeanDefinition
+                // 直接使用MetadataReader构造BeanDefinition
+                AnnotatedGenericBeanDefinition abd = new AnnotatedGenericBeanDefinition(metadataReader);
+                abd.setSource(resource);
+
+                // 第七步：二次验证：检查类是否可实例化
+                // 不能是接口或抽象类，如果是抽象类，但是有@Lookup注解的方法则通过（@Lookup占时不实现）
+                if (isCandidateComponent(abd)) {
+                    log.debug("添加候选BeanDefinition: {}", abd.getBeanClassName());
+                    return abd;
+                } else {
+                    log.debug("类 {} 未通过二次验证", metadataReader.getClassMetadata().getClassName());
+                }
+            } else {
+                log.debug("类 {} 未通过过滤器", metadataReader.getClassMetadata().getClassName());
+            }
+        } catch (IOException e) {
+            log.warn("无法读取资源元数据: {}", resource.getDescription(), e);
+        } catch (Exception e) {
+            log.warn("处理资源时发生异常: {}", resource.getDescription(), e);
+        }
+        return null;
+    }
+
     /**
      * 基于元数据判断是否为候选组件 - 对应Spring的isCandidateComponent(MetadataReader)
      * 这里应用includeFilters和excludeFilters
@@ -167,7 +315,7 @@ public class ClassPathScanningCandidateComponentProvider {
             if (metadataReader.getAnnotationMetadata().isAnnotated(includeFilter.getName())) {
                 log.debug("类 {} 有包含注解 {}，通过",
                         metadataReader.getClassMetadata().getClassName(), includeFilter.getName());
-                return true;
+                return isConditionMatch(metadataReader);
             }
         }
 
@@ -175,6 +323,14 @@ public class ClassPathScanningCandidateComponentProvider {
         return false;
     }
 
+    /**
+     * 判断类上的@Conditional是否满足，不满足的类不会生成BeanDefinition - 对应Spring的isConditionMatch
+     */
+    private boolean isConditionMatch(MetadataReader metadataReader) {
+        return (this.conditionEvaluator == null ||
+                !this.conditionEvaluator.shouldSkip(metadataReader.getAnnotationMetadata()));
+    }
+
     /**
      * 二次验证：检查BeanDefinition是否为候选组件 - 对应Spring的isCandidateComponent(BeanDefinition)
      * 主要检查类是否可实例化（不是接口，不是抽象类等）
@@ -217,15 +373,59 @@ public class ClassPathScanningCandidateComponentProvider {
     private ResourcePatternResolver getResourcePatternResolver() {
         if (this.resourcePatternResolver == null) {
             this.resourcePatternResolver = new PathMatchingResourcePatternResolver();
+            applyParallelScanning(this.resourcePatternResolver);
         }
         return this.resourcePatternResolver;
     }
 
+    /**
+     * 把并行扫描设置同步到路径匹配解析器（目录遍历）
+     */
+    private void applyParallelScanning(ResourcePatternResolver resolver) {
+        if (resolver instanceof PathMatchingResourcePatternResolver pathMatchingResolver) {
+            pathMatchingResolver.setParallelScanning(this.parallelScanning);
+            pathMatchingResolver.setScanParallelism(this.scanParallelism);
+        }
+    }
+
     /**
      * 设置资源模式解析器
      */
     public void setResourcePatternResolver(ResourcePatternResolver resourcePatternResolver) {
         this.resourcePatternResolver = resourcePatternResolver;
+        this.componentsIndexResolved = false;
+    }
+
+    /**
+     * 开启/关闭并行扫描（目录遍历和元数据读取）
+     * 注意：开启后isCandidateComponent和MetadataReaderFactory会被多个线程同时调用
+     */
+    public void setParallelScanning(boolean parallelScanning) {
+        this.parallelScanning = parallelScanning;
+        if (this.resourcePatternResolver != null) {
+            applyParallelScanning(this.resourcePatternResolver);
+        }
+    }
+
+    public boolean isParallelScanning() {
+        return this.parallelScanning;
+    }
+
+    /**
+     * 设置并行扫描的最大并行度
+     */
+    public void setScanParallelism(int scanParallelism) {
+        if (scanParallelism < 1) {
+            throw new IllegalArgumentException("并行度必须大于0: " + scanParallelism);
+        }
+        this.scanParallelism = scanParallelism;
+        if (this.resourcePatternResolver != null) {
+            applyParallelScanning(this.resourcePatternResolver);
+        }
+    }
+
+    public int getScanParallelism() {
+        return this.scanParallelism;
     }
 
     /**
@@ -235,13 +435,41 @@ public class ClassPathScanningCandidateComponentProvider {
         this.resourcePattern = resourcePattern;
     }
 
+    /**
+     * 设置元数据读取器工厂（例如需要基于反射的SimpleMetadataReaderFactory时）
+     */
+    public void setMetadataReaderFactory(MetadataReaderFactory metadataReaderFactory) {
+        this.metadataReaderFactory = metadataReaderFactory;
+    }
+
     /**
      * 获取元数据读取器工厂
+     * 默认使用ClassFileMetadataReaderFactory：直接解析字节码，扫描时不加载类
      */
     public final MetadataReaderFactory getMetadataReaderFactory() {
         if (this.metadataReaderFactory == null) {
-            this.metadataReaderFactory = new SimpleMetadataReaderFactory();
+            this.metadataReaderFactory = new ClassFileMetadataReaderFactory();
         }
         return this.metadataReaderFactory;
     }
+
+    /**
+     * 设置条件评估器（ConfigurationClassParser传入本次refresh共享的评估器）
+     */
+    public void setConditionEvaluator(ConditionEvaluator conditionEvaluator) {
+        this.conditionEvaluator = conditionEvaluator;
+    }
+
+    public ConditionEvaluator getConditionEvaluator() {
+        return this.conditionEvaluator;
+    }
+
+    /**
+     * 清除条件判断缓存（上下文refresh完成时调用）
+     */
+    public void clearCache() {
+        if (this.conditionEvaluator != null) {
+            this.conditionEvaluator.clearCache();
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package com.spring.context.annotation;
+
+import com.spring.core.type.AnnotatedTypeMetadata;
+
+/**
+ * ClassName: Condition
+ * Description: 条件 - 对应Spring的Condition
+ *
+ * 在BeanDefinition注册之前判断，不匹配时整个组件（配置类则包括它扫描、导入和@Bean定义的Bean）都不会注册
+ * 条件实例在一次refresh中只创建一次，同一个类/方法的判断结果也只计算一次
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 20:12
+ * @version: v1.0
+ */
+@FunctionalInterface
+public interface Condition {
+
+    /**
+     * 判断条件是否匹配
+     * @param context  条件上下文（BeanFactory、Environment、ClassLoader）
+     * @param metadata 被判断的类或@Bean方法的注解元数据
+     */
+    boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata);
+
+    /**
+     * 带原因的判断结果，用于条件评估报告；默认只有是否匹配，内置条件会给出不匹配的原因
+     */
+    default ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return (matches(context, metadata) ? ConditionOutcome.match() : ConditionOutcome.noMatch(null));
+    }
+}
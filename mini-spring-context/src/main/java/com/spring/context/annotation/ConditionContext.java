@@ -0,0 +1,36 @@
+package com.spring.context.annotation;
+
+import com.spring.beans.factory.config.ConfigurableListableBeanFactory;
+import com.spring.beans.factory.support.BeanDefinitionRegistry;
+import com.spring.core.env.Environment;
+
+/**
+ * ClassName: ConditionContext
+ * Description: 条件判断时可以使用的上下文 - 对应Spring的ConditionContext
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 20:18
+ * @version: v1.0
+ */
+public interface ConditionContext {
+
+    /**
+     * BeanDefinition注册表
+     */
+    BeanDefinitionRegistry getRegistry();
+
+    /**
+     * BeanFactory，注册表不是BeanFactory时返回null
+     */
+    ConfigurableListableBeanFactory getBeanFactory();
+
+    /**
+     * 当前环境（读取配置属性）
+     */
+    Environment getEnvironment();
+
+    /**
+     * 加载类使用的类加载器
+     */
+    ClassLoader getClassLoader();
+}
@@ -0,0 +1,78 @@
+package com.spring.context.annotation;
+
+import com.spring.beans.factory.config.SingletonBeanRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ClassName: ConditionEvaluationReport
+ * Description: 条件评估报告 - 对应Spring Boot的ConditionEvaluationReport
+ *
+ * 记录哪个条件跳过了哪个类/@Bean方法，以单例形式注册在BeanFactory中（一次refresh一份），
+ * 可以通过getBean(ConditionEvaluationReport.BEAN_NAME)在启动后查看
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 20:25
+ * @version: v1.0
+ */
+@Slf4j
+public class ConditionEvaluationReport {
+
+    public static final String BEAN_NAME = "conditionEvaluationReport";
+
+    /** 被跳过的类或方法 -> 跳过原因（保持跳过的先后顺序） */
+    private final Map<String, Skipped> skipped = new LinkedHashMap<>();
+
+    /**
+     * 获取BeanFactory中的条件评估报告，不存在时创建并注册
+     */
+    public static ConditionEvaluationReport get(SingletonBeanRegistry registry) {
+        synchronized (registry) {
+            Object existing = registry.getSingleton(BEAN_NAME);
+            if (existing instanceof ConditionEvaluationReport report) {
+                return report;
+            }
+            ConditionEvaluationReport report = new ConditionEvaluationReport();
+            registry.registerSingleton(BEAN_NAME, report);
+            return report;
+        }
+    }
+
+    /**
+     * 记录被条件跳过的类或方法
+     */
+    public synchronized void recordSkipped(String source, Class<?> conditionClass, String message) {
+        Skipped entry = new Skipped(source, conditionClass.getName(), message);
+        if (this.skipped.putIfAbsent(source, entry) == null) {
+            log.info("条件不匹配，跳过 {}: {}{}", source, conditionClass.getSimpleName(),
+                    (message != null ? " - " + message : ""));
+        }
+    }
+
+    /**
+     * 所有被跳过的类或方法
+     */
+    public synchronized List<Skipped> getSkipped() {
+        return List.copyOf(this.skipped.values());
+    }
+
+    /**
+     * 是否被跳过
+     */
+    public synchronized boolean isSkipped(String source) {
+        return this.skipped.containsKey(source);
+    }
+
+    /**
+     * 一条跳过记录
+     *
+     * @param source    被跳过的类名，或者 类名#方法名(参数类型) 表示@Bean方法
+     * @param condition 不匹配的条件类名
+     * @param message   不匹配的原因，可以为null
+     */
+    public record Skipped(String source, String condition, String message) {
+    }
+}
@@ -0,0 +1,334 @@
+package com.spring.context.annotation;
+
+import com.spring.beans.factory.config.ConfigurableListableBeanFactory;
+import com.spring.beans.factory.config.SingletonBeanRegistry;
+import com.spring.beans.factory.support.BeanDefinitionRegistry;
+import com.spring.context.annotation.ConfigurationCondition.ConfigurationPhase;
+import com.spring.context.weaving.ConfigurableApplicationContext;
+import com.spring.context.support.GenericApplicationContext;
+import com.spring.core.annotation.AnnotationTypeMappings;
+import com.spring.core.env.Environment;
+import com.spring.core.env.EnvironmentCapable;
+import com.spring.core.env.StandardEnvironment;
+import com.spring.core.type.AnnotatedTypeMetadata;
+import com.spring.core.type.AnnotationMetadata;
+import com.spring.core.type.MethodMetadata;
+import com.spring.core.type.StandardMethodMetadata;
+import com.spring.util.ClassUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ClassName: ConditionEvaluator
+ * Description: 条件评估器 - 对应Spring的ConditionEvaluator
+ *
+ * 解析类或@Bean方法上的@Conditional（直接标注或者通过@ConditionalOnXxx元注解），判断是否应该跳过
+ *
+ * 一次refresh使用同一个评估器（ConfigurationClassParser创建，扫描器和ConfigurationClassBeanDefinitionReader共享）：
+ *  1. 同一个类/方法在同一阶段的判断结果只计算一次（配置类会在扫描、解析、注册三个环节被判断）
+ *  2. 条件实例只创建一次
+ *  3. 注解类型 -> 条件类 的映射只解析一次
+ * 跳过的类和原因记录在ConditionEvaluationReport中
+ *
+ * AnnotatedBeanDefinitionReader和ClassPathBeanDefinitionScanner各自持有的评估器和上下文一样长寿，
+ * 上下文在refresh完成时调用clearCache()释放这些缓存，之后再注册/扫描时重新判断
+ *
+ * 组件扫描开启并行时会被多个线程同时调用，缓存都是ConcurrentHashMap
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 20:35
+ * @version: v1.0
+ */
+@Slf4j
+public class ConditionEvaluator {
+
+    private static final String CONDITIONAL_ANNOTATION_NAME = Conditional.class.getName();
+
+    private static final Class<?>[] NO_CONDITIONS = new Class<?>[0];
+
+    private final ConditionContextImpl context;
+
+    /** 判断结果缓存：(类名或 类名#方法名(参数类型), 阶段) -> 是否跳过 */
+    private final Map<ConditionKey, Boolean> skipCache = new ConcurrentHashMap<>(64);
+
+    /** 注解类型全限定名 -> 该注解（作为元注解）声明的条件类 */
+    private final Map<String, Class<?>[]> conditionClassesCache = new ConcurrentHashMap<>(32);
+
+    /** 条件类 -> 条件实例 */
+    private final Map<Class<?>, Condition> conditionInstances = new ConcurrentHashMap<>(16);
+
+    public ConditionEvaluator(BeanDefinitionRegistry registry) {
+        this.context = new ConditionContextImpl(registry);
+    }
+
+    /**
+     * 判断是否应该跳过，阶段根据元数据推断：配置类按PARSE_CONFIGURATION，其它组件按REGISTER_BEAN
+     */
+    public boolean shouldSkip(AnnotatedTypeMetadata metadata) {
+        return shouldSkip(metadata, null);
+    }
+
+    /**
+     * 判断是否应该跳过
+     * @param phase 当前阶段；ConfigurationCondition只在它声明的阶段判断，普通条件在任何阶段都判断
+     */
+    public boolean shouldSkip(AnnotatedTypeMetadata metadata, ConfigurationPhase phase) {
+        if (metadata == null || !hasConditions(metadata)) {
+            return false;
+        }
+        if (phase == null) {
+            if (metadata instanceof AnnotationMetadata annotationMetadata &&
+                    ConfigurationClassUtils.isConfigurationCandidate(annotationMetadata)) {
+                return shouldSkip(metadata, ConfigurationPhase.PARSE_CONFIGURATION);
+            }
+            return shouldSkip(metadata, ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        ConditionKey key = new ConditionKey(describe(metadata), phase);
+        Boolean skip = this.skipCache.get(key);
+        if (skip == null) {
+            skip = evaluate(metadata, key);
+            Boolean existing = this.skipCache.putIfAbsent(key, skip);
+            if (existing != null) {
+                skip = existing;
+            }
+        } else {
+            log.debug("使用缓存的条件判断结果: {} ({}) -> {}", key.source(), phase, (skip ? "跳过" : "匹配"));
+        }
+        return skip;
+    }
+
+    /**
+     * 清除判断结果、条件类和条件实例缓存
+     */
+    public void clearCache() {
+        this.skipCache.clear();
+        this.conditionClassesCache.clear();
+        this.conditionInstances.clear();
+    }
+
+    /**
+     * 条件评估报告（第一次记录跳过时才从BeanFactory中获取）
+     */
+    public ConditionEvaluationReport getReport() {
+        return this.context.getReport();
+    }
+
+    // ============ 内部实现 ============
+
+    private boolean evaluate(AnnotatedTypeMetadata metadata, ConditionKey key) {
+        for (Class<?> conditionClass : getConditionClasses(metadata)) {
+            Condition condition = getCondition(conditionClass);
+            if (condition instanceof ConfigurationCondition configurationCondition &&
+                    configurationCondition.getConfigurationPhase() != key.phase()) {
+                continue;
+            }
+            ConditionOutcome outcome = condition.getMatchOutcome(this.context, metadata);
+            if (!outcome.isMatch()) {
+                this.context.getReport().recordSkipped(key.source(), conditionClass, outcome.message());
+                return true;
+            }
+        }
+        log.debug("条件全部匹配: {} ({})", key.source(), key.phase());
+        return false;
+    }
+
+    private boolean hasConditions(AnnotatedTypeMetadata metadata) {
+        // 类元数据可以直接判断元注解；方法元数据只有直接注解，需要逐个看注解类型
+        if (metadata instanceof AnnotationMetadata) {
+            return metadata.isAnnotated(CONDITIONAL_ANNOTATION_NAME);
+        }
+        for (String annotationType : metadata.getAnnotationTypes()) {
+            if (getConditionClasses(annotationType, metadata).length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 收集所有直接标注的@Conditional和@ConditionalOnXxx上的条件类（按注解声明顺序）
+     */
+    private List<Class<?>> getConditionClasses(AnnotatedTypeMetadata metadata) {
+        List<Class<?>> conditionClasses = new ArrayList<>(2);
+        for (String annotationType : metadata.getAnnotationTypes()) {
+            for (Class<?> conditionClass : getConditionClasses(annotationType, metadata)) {
+                if (!conditionClasses.contains(conditionClass)) {
+                    conditionClasses.add(conditionClass);
+                }
+            }
+        }
+        return conditionClasses;
+    }
+
+    private Class<?>[] getConditionClasses(String annotationType, AnnotatedTypeMetadata metadata) {
+        if (CONDITIONAL_ANNOTATION_NAME.equals(annotationType)) {
+            // 直接标注的@Conditional，条件类因元素而异，不缓存
+            Map<String, Object> attributes = metadata.getAnnotationAttributes(CONDITIONAL_ANNOTATION_NAME);
+            return (attributes != null && attributes.get("value") instanceof Class<?>[] classes ? classes : NO_CONDITIONS);
+        }
+        Class<?>[] conditionClasses = this.conditionClassesCache.get(annotationType);
+        if (conditionClasses == null) {
+            conditionClasses = resolveMetaConditionClasses(annotationType);
+            this.conditionClassesCache.putIfAbsent(annotationType, conditionClasses);
+        }
+        return conditionClasses;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<?>[] resolveMetaConditionClasses(String annotationType) {
+        Class<?> type;
+        try {
+            type = Class.forName(annotationType, false, this.context.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return NO_CONDITIONS;
+        }
+        if (!type.isAnnotation() || AnnotationTypeMappings.isJavaLangAnnotation((Class<? extends Annotation>) type)) {
+            return NO_CONDITIONS;
+        }
+        AnnotationTypeMappings.MetaAnnotation conditional = AnnotationTypeMappings
+                .forAnnotationType((Class<? extends Annotation>) type).getMetaAnnotation(CONDITIONAL_ANNOTATION_NAME);
+        if (conditional != null && conditional.attributes().get("value") instanceof Class<?>[] classes) {
+            return classes;
+        }
+        return NO_CONDITIONS;
+    }
+
+    private Condition getCondition(Class<?> conditionClass) {
+        Condition condition = this.conditionInstances.get(conditionClass);
+        if (condition == null) {
+            condition = instantiateCondition(conditionClass);
+            Condition existing = this.conditionInstances.putIfAbsent(conditionClass, condition);
+            if (existing != null) {
+                condition = existing;
+            }
+        }
+        return condition;
+    }
+
+    private Condition instantiateCondition(Class<?> conditionClass) {
+        try {
+            Constructor<?> constructor = conditionClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return (Condition) constructor.newInstance();
+        } catch (ReflectiveOperationException | ClassCastException ex) {
+            throw new IllegalStateException("无法实例化条件: " + conditionClass.getName(), ex);
+        }
+    }
+
+    /**
+     * 报告和缓存中使用的名称：类名，或者 类名#方法名(参数类型)
+     * 重载的@Bean方法条件可能不同，方法必须带上参数类型区分
+     */
+    private static String describe(AnnotatedTypeMetadata metadata) {
+        if (metadata instanceof AnnotationMetadata annotationMetadata) {
+            return annotationMetadata.getClassName();
+        }
+        if (metadata instanceof StandardMethodMetadata methodMetadata) {
+            StringJoiner parameterTypes = new StringJoiner(",", "(", ")");
+            for (Class<?> parameterType : methodMetadata.getParameterTypes()) {
+                parameterTypes.add(parameterType.getTypeName());
+            }
+            return methodMetadata.getDeclaringClassName() + "#" + methodMetadata.getMethodName() + parameterTypes;
+        }
+        if (metadata instanceof MethodMetadata methodMetadata) {
+            return methodMetadata.getDeclaringClassName() + "#" + methodMetadata.getMethodName();
+        }
+        return metadata.toString();
+    }
+
+    private record ConditionKey(String source, ConfigurationPhase phase) {
+    }
+
+    /**
+     * 条件上下文实现，BeanFactory、Environment、报告都在第一次使用时才获取
+     */
+    private static final class ConditionContextImpl implements ConditionContext {
+
+        private final BeanDefinitionRegistry registry;
+
+        private final ConfigurableListableBeanFactory beanFactory;
+
+        private final ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+        private volatile Environment environment;
+
+        private volatile ConditionEvaluationReport report;
+
+        ConditionContextImpl(BeanDefinitionRegistry registry) {
+            this.registry = registry;
+            this.beanFactory = deduceBeanFactory(registry);
+        }
+
+        private static ConfigurableListableBeanFactory deduceBeanFactory(BeanDefinitionRegistry registry) {
+            if (registry instanceof ConfigurableListableBeanFactory beanFactory) {
+                return beanFactory;
+            }
+            // GenericApplicationContext在refresh之前就要评估条件，不能走带刷新检查的getBeanFactory()
+            if (registry instanceof GenericApplicationContext genericApplicationContext) {
+                return genericApplicationContext.getDefaultListableBeanFactory();
+            }
+            if (registry instanceof ConfigurableApplicationContext applicationContext) {
+                return applicationContext.getBeanFactory();
+            }
+            return null;
+        }
+
+        @Override
+        public BeanDefinitionRegistry getRegistry() {
+            return this.registry;
+        }
+
+        @Override
+        public ConfigurableListableBeanFactory getBeanFactory() {
+            return this.beanFactory;
+        }
+
+        /**
+         * 优先使用上下文的Environment，其次是BeanFactory中注册的environment单例
+         */
+        @Override
+        public Environment getEnvironment() {
+            Environment environment = this.environment;
+            if (environment == null) {
+                if (this.registry instanceof EnvironmentCapable environmentCapable) {
+                    environment = environmentCapable.getEnvironment();
+                } else if (this.beanFactory != null && this.beanFactory.getSingleton(
+                        ConfigurableApplicationContext.ENVIRONMENT_BEAN_NAME) instanceof Environment registered) {
+                    environment = registered;
+                } else {
+                    environment = new StandardEnvironment();
+                }
+                this.environment = environment;
+            }
+            return environment;
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return this.classLoader;
+        }
+
+        ConditionEvaluationReport getReport() {
+            ConditionEvaluationReport report = this.report;
+            if (report == null) {
+                if (this.beanFactory != null) {
+                    report = ConditionEvaluationReport.get(this.beanFactory);
+                } else if (this.registry instanceof SingletonBeanRegistry singletonBeanRegistry) {
+                    report = ConditionEvaluationReport.get(singletonBeanRegistry);
+                } else {
+                    report = new ConditionEvaluationReport();
+                }
+                this.report = report;
+            }
+            return report;
+        }
+    }
+}
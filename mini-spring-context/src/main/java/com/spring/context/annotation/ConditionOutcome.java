@@ -0,0 +1,25 @@
+package com.spring.context.annotation;
+
+/**
+ * ClassName: ConditionOutcome
+ * Description: 条件判断结果 - 对应Spring Boot的ConditionOutcome
+ *
+ * @param isMatch 是否匹配
+ * @param message 原因，可以为null
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 20:14
+ * @version: v1.0
+ */
+public record ConditionOutcome(boolean isMatch, String message) {
+
+    private static final ConditionOutcome MATCH = new ConditionOutcome(true, null);
+
+    public static ConditionOutcome match() {
+        return MATCH;
+    }
+
+    public static ConditionOutcome noMatch(String message) {
+        return new ConditionOutcome(false, message);
+    }
+}
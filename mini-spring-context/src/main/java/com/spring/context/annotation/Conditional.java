@@ -0,0 +1,25 @@
+package com.spring.context.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * ClassName: Conditional
+ * Description: 条件注解 - 对应Spring的@Conditional
+ *
+ * 只有所有条件都匹配时，被标注的组件/配置类/@Bean方法才会注册到容器中
+ * 可以直接使用，也可以作为元注解组合出@ConditionalOnProperty这样的专用注解
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 20:10
+ * @version: v1.0
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Conditional {
+
+    /**
+     * 需要全部匹配的条件，实现类需要有无参构造方法
+     */
+    Class<? extends Condition>[] value();
+}
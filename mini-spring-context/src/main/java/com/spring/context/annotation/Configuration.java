@@ -1,5 +1,6 @@
 package com.spring.context.annotation;
 
+import com.spring.core.annotation.AliasFor;
 import com.spring.stereotype.Component;
 
 import java.lang.annotation.*;
@@ -20,5 +21,12 @@ public @interface Configuration {
     /**
      * 设置beanName：默认是类名小写
      */
+    @AliasFor(annotation = Component.class)
     String value() default "";
+
+    /**
+     * 是否代理@Bean方法：true（默认）时配置类会被增强，@Bean方法之间的调用返回容器中的Bean（full模式）；
+     * false时不增强，@Bean方法之间的调用就是普通方法调用（lite模式）
+     */
+    boolean proxyBeanMethods() default true;
 }
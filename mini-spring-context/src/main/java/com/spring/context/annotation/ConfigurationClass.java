@@ -5,6 +5,7 @@ import com.spring.beans.factory.annotation.AnnotatedGenericBeanDefinition;
 import com.spring.core.type.AnnotationMetadata;
 import com.spring.core.type.StandardAnnotationMetadata;
 import lombok.Data;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
@@ -24,8 +25,10 @@ import java.util.Set;
 @Data
 public class ConfigurationClass {
     private final AnnotatedBeanDefinition annotatedBeanDefinition;
-    private final String beanName;
+    private String beanName;    // 被导入的配置类在注册BeanDefinition之后才有名称
     private final Set<BeanMethod> beanMethods = new LinkedHashSet<>();
+    @ToString.Exclude
+    private final Set<ConfigurationClass> importedBy = new LinkedHashSet<>(1);
 
     public ConfigurationClass(AnnotatedBeanDefinition beanDefinition, String beanName) {
         this.annotatedBeanDefinition = beanDefinition;
@@ -37,6 +40,14 @@ public class ConfigurationClass {
         this.beanName = beanName;
     }
 
+    /**
+     * 被@Import导入的配置类，Bean名称在ConfigurationClassBeanDefinitionReader注册时确定
+     */
+    public ConfigurationClass(Class<?> sourceClass, ConfigurationClass importedBy) {
+        this.annotatedBeanDefinition = new AnnotatedGenericBeanDefinition(sourceClass);
+        this.importedBy.add(importedBy);
+    }
+
     // Getter/Setter 方法
 
     /**
@@ -63,6 +74,27 @@ public class ConfigurationClass {
         this.beanMethods.clear();
     }
 
+    /**
+     * 是否是被@Import导入的（而不是直接注册或扫描到的）
+     */
+    public boolean isImported() {
+        return !this.importedBy.isEmpty();
+    }
+
+    /**
+     * 导入该配置类的配置类
+     */
+    public Set<ConfigurationClass> getImportedBy() {
+        return this.importedBy;
+    }
+
+    /**
+     * 同一个配置类被多个配置类导入时（菱形导入），合并导入来源
+     */
+    public void mergeImportedBy(ConfigurationClass otherConfigClass) {
+        this.importedBy.addAll(otherConfigClass.importedBy);
+    }
+
     public AnnotatedBeanDefinition getAnnotatedBeanDefinition() {
         return annotatedBeanDefinition;
     }
@@ -75,6 +107,10 @@ public class ConfigurationClass {
         return beanName;
     }
 
+    public void setBeanName(String beanName) {
+        this.beanName = beanName;
+    }
+
     public AnnotationMetadata getMetadata() {
         return annotatedBeanDefinition.getMetadata();
     }
@@ -1,11 +1,11 @@
 package com.spring.context.annotation;
 
 import com.spring.beans.factory.annotation.AnnotatedBeanDefinition;
-import com.spring.beans.factory.annotation.AnnotatedGenericBeanDefinition;
 import com.spring.beans.factory.config.BeanDefinition;
 import com.spring.beans.factory.support.AbstractBeanDefinition;
 import com.spring.beans.factory.support.BeanDefinitionRegistry;
 import com.spring.beans.factory.support.RootBeanDefinition;
+import com.spring.context.annotation.ConfigurationCondition.ConfigurationPhase;
 import com.spring.core.type.AnnotationMetadata;
 import com.spring.core.type.MethodMetadata;
 import com.spring.core.type.StandardAnnotationMetadata;
@@ -14,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -35,8 +36,18 @@ import java.util.Set;
 public class ConfigurationClassBeanDefinitionReader {
     private final BeanDefinitionRegistry registry;
 
+    private final ConditionEvaluator conditionEvaluator;
+
+    /** 配置类 -> 是否因为条件不满足而跳过（REGISTER_BEAN阶段，一次refresh中每个配置类只判断一次） */
+    private final Map<ConfigurationClass, Boolean> skippedConfigurationClasses = new HashMap<>();
+
     public ConfigurationClassBeanDefinitionReader(BeanDefinitionRegistry registry) {
+        this(registry, new ConditionEvaluator(registry));
+    }
+
+    public ConfigurationClassBeanDefinitionReader(BeanDefinitionRegistry registry, ConditionEvaluator conditionEvaluator) {
         this.registry = registry;
+        this.conditionEvaluator = conditionEvaluator;
     }
 
     /**
@@ -48,8 +59,19 @@ public class ConfigurationClassBeanDefinitionReader {
         for (ConfigurationClass configClass : configClasses) {
             log.debug("从ConfigurationClass加载BeanDefinitions: {}", configClass.getMetadata().getClassName());
 
-            // 处理@Import引入的类 -> 注册为BeanDefinition
-            registerBeanDefinitionForImportedConfigurationClass(configClass);
+            // 条件不满足（REGISTER_BEAN阶段）：配置类自身和它的@Bean都不注册
+            if (shouldSkip(configClass)) {
+                String beanName = configClass.getBeanName();
+                if (beanName != null && this.registry.containsBeanDefinition(beanName)) {
+                    this.registry.removeBeanDefinition(beanName);
+                }
+                continue;
+            }
+
+            // 被@Import导入的配置类 -> 注册自身的BeanDefinition（必须在它的@Bean方法之前，@Bean方法要用它的Bean名称）
+            if (configClass.isImported()) {
+                registerBeanDefinitionForImportedConfigurationClass(configClass);
+            }
 
             // TODO: 处理@Bean方法 - 将@Bean方法转换为BeanDefinition并注册
             // loadBeanDefinitionsForBeanMethods(configClass);
@@ -66,51 +88,57 @@ public class ConfigurationClassBeanDefinitionReader {
         log.debug("ConfigurationClassBeanDefinitionReader.loadBeanDefinitions()完成");
     }
 
+    /**
+     * 配置类是否应该跳过 - 对应Spring的TrackedConditionEvaluator
+     * 被导入的配置类在导入它的配置类全部被跳过时也跳过
+     */
+    private boolean shouldSkip(ConfigurationClass configClass) {
+        Boolean skip = this.skippedConfigurationClasses.get(configClass);
+        if (skip == null) {
+            if (configClass.isImported()) {
+                boolean allSkipped = true;
+                for (ConfigurationClass importedBy : configClass.getImportedBy()) {
+                    if (!shouldSkip(importedBy)) {
+                        allSkipped = false;
+                        break;
+                    }
+                }
+                if (allSkipped) {
+                    skip = true;
+                }
+            }
+            if (skip == null) {
+                skip = this.conditionEvaluator.shouldSkip(configClass.getMetadata(), ConfigurationPhase.REGISTER_BEAN);
+            }
+            this.skippedConfigurationClasses.put(configClass, skip);
+        }
+        return skip;
+    }
+
     /**
      * 注册被导入的配置类本身的BeanDefinition
      * @Import(OrderService.class) ---> 将OrderService注册为BeanDefinition
+     * 每个被导入的配置类在解析阶段已经去重，这里只注册一次（菱形导入也一样）
      */
     private void registerBeanDefinitionForImportedConfigurationClass(ConfigurationClass configClass) {
-        AnnotationMetadata metadata = configClass.getMetadata();
-        String className = metadata.getClassName();
-
-        log.debug("处理导入的配置类: {}", className);
-
-        // 检查是否有@Import注解（包括元注解）
-        if (metadata.isAnnotated("com.spring.context.annotation.Import")) {
-            log.debug("类 {} 有@Import注解（直接或通过元注解）", className);
-
-            // 获取@Import注解的属性值
-            Map<String, Object> importAttributes = metadata.getAnnotationAttributes(
-                    "com.spring.context.annotation.Import");
+        AnnotatedBeanDefinition configBeanDef = configClass.getAnnotatedBeanDefinition();
+        // Spring这里是用Bean名称生成器生成的，其实就是类的全限名 importClassName
+        String importClassName = configClass.getMetadata().getClassName();
+        configClass.setBeanName(importClassName);
 
-            if (importAttributes != null && importAttributes.containsKey("value")) {
-                Object value = importAttributes.get("value");
-                if (value instanceof Class[]) {
-                    Class<?>[] importClasses = (Class<?>[]) value;
-                    log.debug("@Import导入 {} 个类", importClasses.length);
-
-                    for (Class<?> importClass : importClasses) {
-                        String importClassName = importClass.getName();
-                        log.debug("注册导入的类: {}", importClassName);
-
-                        // 创建BeanDefinition
-                        AnnotatedGenericBeanDefinition configBeanDef = new AnnotatedGenericBeanDefinition(importClass);
+        if (this.registry.containsBeanDefinition(importClassName)) {
+            log.debug("导入的类 {} 已经注册，跳过", importClassName);
+            return;
+        }
 
-                        // 处理通用注解（@Lazy, @Scope等）
-                        AnnotationConfigUtils.processCommonDefinitionAnnotations(configBeanDef);
+        // 处理通用注解（@Lazy, @Scope等）
+        AnnotationConfigUtils.processCommonDefinitionAnnotations(configBeanDef);
 
-                        // Spring这里是用Bean名称生成器生成的，其实就是类的全限名 importClassName
+        // 标记full/lite模式，full模式的配置类之后会被增强
+        ConfigurationClassUtils.checkConfigurationClassCandidate(configBeanDef);
 
-                        // 检查是否可注册
-                        registry.registerBeanDefinition(importClassName, configBeanDef);
-                        log.debug("成功注册导入的BeanDefinition: {} -> {}", importClassName, importClassName);
-                    }
-                } else {
-                    log.warn("@Import注解的value属性类型不支持: {}", value.getClass());
-                }
-            }
-        }
+        this.registry.registerBeanDefinition(importClassName, configBeanDef);
+        log.debug("成功注册导入的BeanDefinition: {} -> {}", importClassName, importClassName);
     }
 
     /**
@@ -125,11 +153,12 @@ public class ConfigurationClassBeanDefinitionReader {
         MethodMetadata metadata = beanMethod.getMetadata();
         String methodName = metadata.getMethodName();
 
-        // 第一步：条件注解检查 - 占时不实现，写注释留扩展
-        // Spring支持@Conditional注解，用于条件化注册Bean
-        // 例如：@ConditionalOnClass, @ConditionalOnProperty等
-        // 我们这里先跳过条件检查，后续可以实现ConditionEvaluator
-        log.debug("条件注解检查暂未实现，跳过");
+        // 第一步：条件注解检查
+        // 例如：@ConditionalOnClass, @ConditionalOnProperty, @ConditionalOnMissingBean等
+        if (this.conditionEvaluator.shouldSkip(metadata, ConfigurationPhase.REGISTER_BEAN)) {
+            log.debug("@Bean方法 {} 的条件不满足，跳过", methodName);
+            return;
+        }
 
         // 第二步：获取 @Bean 注解属性
         Map<String, Object> beanAttributes = beanMethod.getBeanAttributes();
@@ -230,8 +259,14 @@ public class ConfigurationClassBeanDefinitionReader {
             // 处理代理逻辑...
         }
 
-        // 第十一步：注册BeanDefinition
+        // 第十一步：注册BeanDefinition，@Bean({"a", "b"})第一个名称之后的都注册为别名
         this.registry.registerBeanDefinition(beanName, beanDef);
+        if (explicitNames != null) {
+            for (int i = 1; i < explicitNames.length; i++) {
+                this.registry.registerAlias(beanName, explicitNames[i]);
+                log.debug("@Bean方法 {} 注册别名: {} -> {}", methodName, explicitNames[i], beanName);
+            }
+        }
 
         log.debug("@Bean方法 {} 处理完成", beanMethod.getMethodName());
     }
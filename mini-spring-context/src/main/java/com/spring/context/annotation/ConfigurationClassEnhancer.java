@@ -0,0 +1,312 @@
+package com.spring.context.annotation;
+
+import com.spring.beans.factory.AbstractAutowireCapableBeanFactory;
+import com.spring.beans.factory.BeanFactory;
+import com.spring.beans.factory.BeanFactoryAware;
+import lombok.extern.slf4j.Slf4j;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ClassName: ConfigurationClassEnhancer
+ * Description: 配置类增强器 - 对应Spring的ConfigurationClassEnhancer
+ *
+ * 为full模式的配置类生成子类，重写其中的@Bean方法：
+ *  1. 容器调用@Bean方法创建Bean时，直接执行父类（用户写的）方法体
+ *  2. @Bean方法之间互相调用时，改为beanFactory.getBean(beanName)，保证单例语义
+ *
+ * 实现说明：
+ *  Spring用CGLIB的Enhancer生成子类，但cglib 3.3.0在JDK 17上需要--add-opens java.base/java.lang才能定义类，
+ *  这里直接用cglib自带的ASM写字节码，通过MethodHandles.Lookup.defineClass定义在配置类所在的包中
+ *
+ * 生成的子类和@Bean方法分派表（方法下标 -> Bean名称，存放在子类的静态字段中）按配置类缓存在ClassValue中，
+ * 多个容器使用同一个配置类时只生成一次；缓存挂在配置类上，类加载器被丢弃时一起被回收
+ *
+ * @Author: csx
+ * @Create: 2025/12/10 - 21:30
+ * @version: v1.0
+ */
+@Slf4j
+public class ConfigurationClassEnhancer {
+
+    /** 生成类名的后缀，带有ClassUtils.CGLIB_CLASS_SEPARATOR，ClassUtils.getUserClass可以识别 */
+    public static final String ENHANCED_CLASS_SUFFIX = "$$EnhancedConfiguration";
+
+    /** BeanMethodInterceptor返回该对象表示执行父类方法 */
+    public static final Object PROCEED = new Object();
+
+    private static final String BEAN_FACTORY_FIELD = "$$beanFactory";
+
+    private static final String CALLBACK_FIELD = "$$CALLBACK";
+
+    private static final String INTERCEPT_DESCRIPTOR = Type.getMethodDescriptor(Type.getType(Object.class),
+            Type.getType(Object.class), Type.getType(BeanFactory.class), Type.INT_TYPE);
+
+    /** 配置类 -> 增强后的子类（无法增强时是配置类本身） */
+    private static final ClassValue<Class<?>> enhancedClassCache = new ClassValue<>() {
+        @Override
+        protected Class<?> computeValue(Class<?> configClass) {
+            // 子类名称是固定的，同一个类加载器只能定义一次：串行生成，并发时后到的线程复用已定义的子类
+            synchronized (ConfigurationClassEnhancer.class) {
+                Class<?> enhancedClass = findEnhancedClass(configClass);
+                return (enhancedClass != null ? enhancedClass : createClass(configClass));
+            }
+        }
+    };
+
+    /**
+     * 获取配置类增强后的子类，第一次调用时生成并缓存
+     * @return 增强后的子类；配置类无法增强（final类、没有可访问的构造方法等）时返回配置类本身
+     */
+    public Class<?> enhance(Class<?> configClass) {
+        if (EnhancedConfiguration.class.isAssignableFrom(configClass)) {
+            log.debug("配置类 {} 已经被增强，跳过", configClass.getName());
+            return configClass;
+        }
+        return enhancedClassCache.get(configClass);
+    }
+
+    // ============ 生成子类 ============
+
+    /**
+     * 查找已经定义在配置类的类加载器中的子类（分派表在定义后、释放锁之前写入）
+     */
+    private static Class<?> findEnhancedClass(Class<?> configClass) {
+        try {
+            Class<?> enhancedClass = Class.forName(configClass.getName() + ENHANCED_CLASS_SUFFIX, false,
+                    configClass.getClassLoader());
+            return (enhancedClass.getSuperclass() == configClass ? enhancedClass : null);
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return null;
+        }
+    }
+
+    private static Class<?> createClass(Class<?> configClass) {
+        if (Modifier.isFinal(configClass.getModifiers())) {
+            log.warn("配置类 {} 是final类，无法增强，@Bean方法之间的调用不会返回容器中的Bean", configClass.getName());
+            return configClass;
+        }
+        List<Constructor<?>> constructors = new ArrayList<>();
+        for (Constructor<?> constructor : configClass.getDeclaredConstructors()) {
+            if (!Modifier.isPrivate(constructor.getModifiers())) {
+                constructors.add(constructor);
+            }
+        }
+        if (constructors.isEmpty()) {
+            log.warn("配置类 {} 没有非private的构造方法，无法增强", configClass.getName());
+            return configClass;
+        }
+        Method superSetBeanFactory = findSetBeanFactory(configClass);
+        if (superSetBeanFactory != null && Modifier.isFinal(superSetBeanFactory.getModifiers())) {
+            log.warn("配置类 {} 的setBeanFactory是final方法，无法增强", configClass.getName());
+            return configClass;
+        }
+
+        // 分派表：只重写声明在配置类上、能被容器调用（无参）且可以重写的@Bean方法
+        List<Method> beanMethods = new ArrayList<>();
+        for (Method method : configClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Bean.class) && isInterceptable(method)) {
+                beanMethods.add(method);
+            }
+        }
+        beanMethods.sort((m1, m2) -> m1.getName().compareTo(m2.getName()));
+        String[] beanNames = new String[beanMethods.size()];
+        for (int i = 0; i < beanNames.length; i++) {
+            beanNames[i] = BeanAnnotationHelper.determineBeanNameFor(beanMethods.get(i));
+        }
+
+        try {
+            byte[] bytes = generateBytecode(configClass, constructors, beanMethods, superSetBeanFactory);
+            Class<?> enhancedClass = MethodHandles.privateLookupIn(configClass, MethodHandles.lookup())
+                    .defineClass(bytes);
+            // 分派表在类发布之前写入静态字段，之后不再修改
+            Field callbackField = enhancedClass.getField(CALLBACK_FIELD);
+            callbackField.set(null, new BeanMethodInterceptor(beanMethods.toArray(new Method[0]), beanNames));
+            log.debug("生成增强配置类: {}，拦截的@Bean方法: {}", enhancedClass.getName(), Arrays.toString(beanNames));
+            return enhancedClass;
+        } catch (Throwable ex) {
+            log.warn("增强配置类 {} 失败，使用原始类: {}", configClass.getName(), ex.toString());
+            return configClass;
+        }
+    }
+
+    private static boolean isInterceptable(Method method) {
+        int modifiers = method.getModifiers();
+        return !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !Modifier.isPrivate(modifiers) &&
+                !method.isBridge() && !method.isSynthetic() &&
+                method.getParameterCount() == 0 && !method.getReturnType().isPrimitive();
+    }
+
+    private static Method findSetBeanFactory(Class<?> configClass) {
+        if (!BeanFactoryAware.class.isAssignableFrom(configClass)) {
+            return null;
+        }
+        try {
+            return configClass.getMethod("setBeanFactory", BeanFactory.class);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
+
+    private static byte[] generateBytecode(Class<?> configClass, List<Constructor<?>> constructors,
+                                    List<Method> beanMethods, Method superSetBeanFactory) {
+        String superName = Type.getInternalName(configClass);
+        String className = superName + ENHANCED_CLASS_SUFFIX;
+        String beanFactoryDescriptor = Type.getDescriptor(BeanFactory.class);
+        String callbackInternalName = Type.getInternalName(BeanMethodInterceptor.class);
+        String callbackDescriptor = Type.getDescriptor(BeanMethodInterceptor.class);
+
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, className, null,
+                superName, new String[]{Type.getInternalName(EnhancedConfiguration.class)});
+
+        cw.visitField(Opcodes.ACC_PUBLIC, BEAN_FACTORY_FIELD, beanFactoryDescriptor, null, null).visitEnd();
+        cw.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, CALLBACK_FIELD, callbackDescriptor, null, null).visitEnd();
+
+        // 构造方法：原样委托给父类
+        for (Constructor<?> constructor : constructors) {
+            String descriptor = Type.getConstructorDescriptor(constructor);
+            MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", descriptor, null,
+                    exceptionNames(constructor.getExceptionTypes()));
+            mv.visitCode();
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            loadArguments(mv, Type.getArgumentTypes(descriptor));
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "<init>", descriptor, false);
+            mv.visitInsn(Opcodes.RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        // setBeanFactory：记录BeanFactory，配置类自己实现了BeanFactoryAware时继续调用父类方法
+        String setBeanFactoryDescriptor = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(BeanFactory.class));
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "setBeanFactory", setBeanFactoryDescriptor, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitFieldInsn(Opcodes.PUTFIELD, className, BEAN_FACTORY_FIELD, beanFactoryDescriptor);
+        if (superSetBeanFactory != null && !Modifier.isAbstract(superSetBeanFactory.getModifiers())) {
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "setBeanFactory", setBeanFactoryDescriptor, false);
+        }
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        // @Bean方法：result = $$CALLBACK.intercept(this, $$beanFactory, index)
+        //           result == PROCEED ? super.method() : (ReturnType) result
+        for (int index = 0; index < beanMethods.size(); index++) {
+            Method beanMethod = beanMethods.get(index);
+            String descriptor = Type.getMethodDescriptor(beanMethod);
+            int access = (Modifier.isPublic(beanMethod.getModifiers()) ? Opcodes.ACC_PUBLIC :
+                    Modifier.isProtected(beanMethod.getModifiers()) ? Opcodes.ACC_PROTECTED : 0);
+            mv = cw.visitMethod(access, beanMethod.getName(), descriptor, null,
+                    exceptionNames(beanMethod.getExceptionTypes()));
+            mv.visitCode();
+            mv.visitFieldInsn(Opcodes.GETSTATIC, className, CALLBACK_FIELD, callbackDescriptor);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitFieldInsn(Opcodes.GETFIELD, className, BEAN_FACTORY_FIELD, beanFactoryDescriptor);
+            mv.visitLdcInsn(index);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, callbackInternalName, "intercept", INTERCEPT_DESCRIPTOR, false);
+            mv.visitInsn(Opcodes.DUP);
+            mv.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(ConfigurationClassEnhancer.class), "PROCEED",
+                    Type.getDescriptor(Object.class));
+            Label proceed = new Label();
+            mv.visitJumpInsn(Opcodes.IF_ACMPEQ, proceed);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(beanMethod.getReturnType()));
+            mv.visitInsn(Opcodes.ARETURN);
+            mv.visitLabel(proceed);
+            mv.visitInsn(Opcodes.POP);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, beanMethod.getName(), descriptor, false);
+            mv.visitInsn(Opcodes.ARETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void loadArguments(MethodVisitor mv, Type[] argumentTypes) {
+        int slot = 1;
+        for (Type argumentType : argumentTypes) {
+            mv.visitVarInsn(argumentType.getOpcode(Opcodes.ILOAD), slot);
+            slot += argumentType.getSize();
+        }
+    }
+
+    private static String[] exceptionNames(Class<?>[] exceptionTypes) {
+        if (exceptionTypes.length == 0) {
+            return null;
+        }
+        String[] names = new String[exceptionTypes.length];
+        for (int i = 0; i < exceptionTypes.length; i++) {
+            names[i] = Type.getInternalName(exceptionTypes[i]);
+        }
+        return names;
+    }
+
+    // ============ 运行时回调 ============
+
+    /**
+     * 增强后的配置类实现的标记接口，容器通过BeanFactoryAware回调注入BeanFactory
+     */
+    public interface EnhancedConfiguration extends BeanFactoryAware {
+    }
+
+    /**
+     * @Bean方法拦截器 - 对应Spring的ConfigurationClassEnhancer.BeanMethodInterceptor
+     * 每个增强类一个实例，持有该类的@Bean方法分派表
+     */
+    public static final class BeanMethodInterceptor {
+
+        private final Method[] beanMethods;
+
+        private final String[] beanNames;
+
+        BeanMethodInterceptor(Method[] beanMethods, String[] beanNames) {
+            this.beanMethods = beanMethods;
+            this.beanNames = beanNames;
+        }
+
+        /**
+         * 由生成的@Bean方法调用
+         * @return PROCEED表示执行父类方法体，否则是容器中的Bean
+         */
+        public Object intercept(Object enhancedConfig, BeanFactory beanFactory, int index) {
+            // BeanFactory还没注入（例如在构造方法里调用了@Bean方法）：按普通方法执行
+            if (beanFactory == null) {
+                return PROCEED;
+            }
+            // 容器正在通过这个@Bean方法创建Bean：执行方法体
+            Method beanMethod = this.beanMethods[index];
+            if (isCurrentlyInvokedFactoryMethod(beanMethod)) {
+                return PROCEED;
+            }
+            // @Bean方法之间的互相调用：返回容器中的Bean
+            return beanFactory.getBean(this.beanNames[index]);
+        }
+
+        private static boolean isCurrentlyInvokedFactoryMethod(Method beanMethod) {
+            Method currentlyInvoked = AbstractAutowireCapableBeanFactory.getCurrentlyInvokedFactoryMethod();
+            // 容器可能调用的是配置类上的原始方法，也可能是增强类上重写的方法
+            return (currentlyInvoked != null && currentlyInvoked.getName().equals(beanMethod.getName()) &&
+                    currentlyInvoked.getParameterCount() == beanMethod.getParameterCount() &&
+                    beanMethod.getDeclaringClass().isAssignableFrom(currentlyInvoked.getDeclaringClass()));
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.spring.context.annotation;
 
+import com.spring.beans.factory.BeanFactory;
+import com.spring.beans.factory.BeanFactoryAware;
 import com.spring.beans.factory.annotation.AnnotatedBeanDefinition;
 import com.spring.beans.factory.config.BeanDefinition;
 import com.spring.beans.factory.config.BeanDefinitionHolder;
 import com.spring.beans.factory.support.AbstractBeanDefinition;
 import com.spring.beans.factory.support.BeanDefinitionRegistry;
+import com.spring.context.annotation.ConfigurationCondition.ConfigurationPhase;
 import com.spring.core.type.AnnotationMetadata;
 import com.spring.core.type.MethodMetadata;
 import com.spring.core.type.StandardMethodMetadata;
+import com.spring.core.type.classreading.MetadataReaderFactory;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.*;
 
@@ -32,14 +37,36 @@ import java.util.*;
 public class ConfigurationClassParser {
     private final BeanDefinitionRegistry registry;
 
-    public ConfigurationClassParser(BeanDefinitionRegistry registry) {
+    private final MetadataReaderFactory metadataReaderFactory;
+
+    private static final Class<?>[] EMPTY_CLASSES = new Class<?>[0];
+
+    /** 本次refresh已解析的配置类（LinkedHashMap保证被导入的配置类排在导入它的配置类之前） */
+    private final Map<ConfigurationClass, ConfigurationClass> configurationClasses = new LinkedHashMap<>();
+
+    /** 当前导入链，用于检测循环导入 */
+    private final Deque<ConfigurationClass> importStack = new ArrayDeque<>();
+
+    /** 等待所有配置类解析完成后再执行的导入选择器 */
+    private final List<DeferredImportSelectorHolder> deferredImportSelectors = new ArrayList<>();
+
+    /** 本次refresh共享的条件评估器（扫描器和ConfigurationClassBeanDefinitionReader也使用它） */
+    private final ConditionEvaluator conditionEvaluator;
+
+    public ConfigurationClassParser(BeanDefinitionRegistry registry, MetadataReaderFactory metadataReaderFactory) {
         this.registry = registry;
+        this.metadataReaderFactory = metadataReaderFactory;
+        this.conditionEvaluator = new ConditionEvaluator(registry);
+    }
+
+    public ConditionEvaluator getConditionEvaluator() {
+        return this.conditionEvaluator;
     }
 
     /**
      * 解析配置类
      * @param configCandidates 配置类候选者列表
-     * @param configurationClasses 用于存储解析结果的ConfigurationClass集合
+     * @param configurationClasses 用于存储解析结果的ConfigurationClass集合（被导入的配置类排在导入它的配置类之前）
      */
     public void parse(List<BeanDefinitionHolder> configCandidates, Set<ConfigurationClass> configurationClasses) {
         log.debug("ConfigurationClassParser.parse()开始，处理 {} 个候选者", configCandidates.size());
@@ -51,28 +78,58 @@ public class ConfigurationClassParser {
             if (bd instanceof AnnotatedBeanDefinition abd) {
                 log.debug("解析配置类: {}", abd.getMetadata().getClassName());
 
-                // 创建ConfigurationClass对象，直接传递AnnotatedBeanDefinition
-                ConfigurationClass configClassObj = new ConfigurationClass(abd, candidate.getBeanName());
-
-                // 处理配置类中的各种注解
-                processConfigurationClass(configClassObj);
-
-                // 添加到结果集
-                configurationClasses.add(configClassObj);
+                // 创建ConfigurationClass对象，直接传递AnnotatedBeanDefinition，处理配置类中的各种注解
+                processConfigurationClass(new ConfigurationClass(abd, candidate.getBeanName()));
 
             } else {
                 log.warn("跳过非注解BeanDefinition: {}", candidate.getBeanName());
             }
         }
 
+        // 所有候选者解析完之后，再统一执行延迟导入选择器
+        processDeferredImportSelectors();
+
+        // 添加到结果集
+        configurationClasses.addAll(this.configurationClasses.keySet());
+
         log.debug("ConfigurationClassParser.parse()完成");
     }
 
     /**
      * 处理单个配置类 - 对应Spring原版的processConfigurationClass方法
-     * 这个方法会递归处理配置类层次结构
+     * 条件不满足（PARSE_CONFIGURATION阶段）的配置类直接跳过
+     * 同一个配置类在一次refresh中只解析一次：
+     *  1. 被多次导入（菱形导入）时只合并导入来源
+     *  2. 先被导入、后又作为候选者出现时，以候选者为准重新解析
      */
     private void processConfigurationClass(ConfigurationClass configClass) {
+        // 条件不满足：整个配置类（包括它的@ComponentScan、@Import、@Bean）都不处理
+        if (this.conditionEvaluator.shouldSkip(configClass.getMetadata(), ConfigurationPhase.PARSE_CONFIGURATION)) {
+            return;
+        }
+
+        ConfigurationClass existingClass = this.configurationClasses.get(configClass);
+        if (existingClass != null) {
+            if (configClass.isImported()) {
+                if (existingClass.isImported()) {
+                    existingClass.mergeImportedBy(configClass);
+                }
+                log.debug("配置类 {} 已经解析过，跳过", configClass.getMetadata().getClassName());
+                return;
+            }
+            // 显式注册的配置类替换之前被导入的
+            this.configurationClasses.remove(configClass);
+        }
+
+        doProcessConfigurationClass(configClass);
+        this.configurationClasses.put(configClass, configClass);
+    }
+
+    /**
+     * 解析配置类上的各种注解 - 对应Spring原版的doProcessConfigurationClass方法
+     * 被导入的配置类在这里递归解析
+     */
+    private void doProcessConfigurationClass(ConfigurationClass configClass) {
         AnnotatedBeanDefinition abd = configClass.getAnnotatedBeanDefinition();
         log.debug("处理配置类: {}", abd.getMetadata().getClassName());
 
@@ -81,10 +138,10 @@ public class ConfigurationClassParser {
             processComponentScan(configClass);
         }
 
-        // TODO: 处理@Import注解
+        // 处理@Import注解
         processImports(configClass);
 
-        // TODO: 处理@Bean方法 - 注意：这里只收集@Bean方法信息，不注册BeanDefinition
+        // 处理@Bean方法 - 注意：这里只收集@Bean方法信息，不注册BeanDefinition
         Set<MethodMetadata> beanMethods = retrieveBeanMethodMetadata(abd);
         for (MethodMetadata methodMetadata : beanMethods) {
             configClass.addBeanMethod(new BeanMethod(methodMetadata, configClass));
@@ -141,6 +198,8 @@ public class ConfigurationClassParser {
 
         // Step 1: 创建扫描器实例（不使用默认过滤器，因为我们要根据@ComponentScan配置）
         ClassPathBeanDefinitionScanner scanner = new ClassPathBeanDefinitionScanner(this.registry, false);
+        scanner.setConditionEvaluator(this.conditionEvaluator);
+        scanner.setMetadataReaderFactory(this.metadataReaderFactory);
 
         // Step 2: Bean名称生成器 - 在扫描器内部简单实现，不创建复杂生成器
         // 我们的generateBeanName方法已经满足基本需求
@@ -257,12 +316,127 @@ public class ConfigurationClassParser {
 
     /**
      * 这个方法处理三种类型的导入：
-     *  1. 普通类（包括@Configuration类）
-     *  2. ImportSelector接口实现
-     *  3. ImportBeanDefinitionRegistrar接口实现
+     *  1. 普通类（包括@Configuration类）：作为被导入的配置类递归解析
+     *  2. ImportSelector接口实现：立即执行，返回的类再按这三种类型处理；DeferredImportSelector推迟到最后统一执行
+     *  3. ImportBeanDefinitionRegistrar接口实现 - 占时不实现
+     *
+     * 导入链上的配置类记录在importStack中，导入链上已有的配置类再次被导入时说明出现了循环导入
      */
     private void processImports(ConfigurationClass configClass) {
+        Class<?>[] importCandidates = getImports(configClass);
+        if (importCandidates.length == 0) {
+            return;
+        }
+        this.importStack.push(configClass);
+        try {
+            processImportCandidates(configClass, importCandidates);
+        } finally {
+            this.importStack.pop();
+        }
+    }
+
+    private void processImportCandidates(ConfigurationClass configClass, Class<?>[] importCandidates) {
+        for (Class<?> candidate : importCandidates) {
+            if (ImportSelector.class.isAssignableFrom(candidate)) {
+                ImportSelector selector = instantiateImportSelector(candidate);
+                if (selector instanceof DeferredImportSelector deferredImportSelector) {
+                    log.debug("延迟执行导入选择器: {}", candidate.getName());
+                    this.deferredImportSelectors.add(new DeferredImportSelectorHolder(configClass, deferredImportSelector));
+                } else {
+                    String[] importClassNames = selector.selectImports(configClass.getMetadata());
+                    log.debug("导入选择器 {} 选择了: {}", candidate.getName(), Arrays.toString(importClassNames));
+                    processImportCandidates(configClass, loadImportClasses(importClassNames, candidate));
+                }
+            } else {
+                ConfigurationClass importedClass = new ConfigurationClass(candidate, configClass);
+                if (this.importStack.contains(importedClass)) {
+                    throw new IllegalStateException("检测到循环@Import: " + describeImportChain(importedClass));
+                }
+                log.debug("导入配置类: {} -> {}", configClass.getMetadata().getClassName(), candidate.getName());
+                processConfigurationClass(importedClass);
+            }
+        }
+    }
 
+    /**
+     * 执行所有延迟导入选择器，选择器导入的配置类中又有延迟导入选择器时继续执行，直到没有新的选择器
+     */
+    private void processDeferredImportSelectors() {
+        while (!this.deferredImportSelectors.isEmpty()) {
+            List<DeferredImportSelectorHolder> holders = new ArrayList<>(this.deferredImportSelectors);
+            this.deferredImportSelectors.clear();
+            for (DeferredImportSelectorHolder holder : holders) {
+                ConfigurationClass configClass = holder.configurationClass();
+                String[] importClassNames = holder.importSelector().selectImports(configClass.getMetadata());
+                log.debug("延迟导入选择器 {} 选择了: {}",
+                        holder.importSelector().getClass().getName(), Arrays.toString(importClassNames));
+                this.importStack.push(configClass);
+                try {
+                    processImportCandidates(configClass,
+                            loadImportClasses(importClassNames, holder.importSelector().getClass()));
+                } finally {
+                    this.importStack.pop();
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取@Import注解（直接标注或者通过@EnableXxx这样的组合注解）导入的类
+     */
+    private Class<?>[] getImports(ConfigurationClass configClass) {
+        Map<String, Object> importAttributes = configClass.getMetadata().getAnnotationAttributes(Import.class.getName());
+        if (importAttributes == null) {
+            return EMPTY_CLASSES;
+        }
+        Object value = importAttributes.get("value");
+        if (value instanceof Class<?>[] importClasses) {
+            return importClasses;
+        }
+        log.warn("@Import注解的value属性类型不支持: {}", (value != null ? value.getClass() : null));
+        return EMPTY_CLASSES;
+    }
+
+    private ImportSelector instantiateImportSelector(Class<?> selectorClass) {
+        try {
+            Constructor<?> constructor = selectorClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            ImportSelector selector = (ImportSelector) constructor.newInstance();
+            if (selector instanceof BeanFactoryAware beanFactoryAware && this.registry instanceof BeanFactory beanFactory) {
+                beanFactoryAware.setBeanFactory(beanFactory);
+            }
+            return selector;
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("无法实例化导入选择器: " + selectorClass.getName(), ex);
+        }
+    }
+
+    private Class<?>[] loadImportClasses(String[] classNames, Class<?> selectorClass) {
+        if (classNames == null || classNames.length == 0) {
+            return EMPTY_CLASSES;
+        }
+        Class<?>[] classes = new Class<?>[classNames.length];
+        for (int i = 0; i < classNames.length; i++) {
+            try {
+                classes[i] = Class.forName(classNames[i], false, selectorClass.getClassLoader());
+            } catch (ClassNotFoundException ex) {
+                throw new IllegalStateException("导入选择器 " + selectorClass.getName() + " 选择的类不存在: " +
+                        classNames[i], ex);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 循环导入链的描述，例如 A -> B -> A
+     */
+    private String describeImportChain(ConfigurationClass importedClass) {
+        StringBuilder chain = new StringBuilder();
+        Iterator<ConfigurationClass> iterator = this.importStack.descendingIterator();
+        while (iterator.hasNext()) {
+            chain.append(iterator.next().getMetadata().getClassName()).append(" -> ");
+        }
+        return chain.append(importedClass.getMetadata().getClassName()).toString();
     }
 
     /**
@@ -361,4 +535,11 @@ public class ConfigurationClassParser {
             smm.setAnnotationAttributes(Bean.class.getName(), attributes);
         }
     }
+
+    /**
+     * 延迟导入选择器和导入它的配置类
+     */
+    private record DeferredImportSelectorHolder(ConfigurationClass configurationClass,
+                                                DeferredImportSelector importSelector) {
+    }
 }
@@ -3,18 +3,20 @@ package com.spring.context.annotation;
 import com.spring.beans.factory.annotation.AnnotatedBeanDefinition;
 import com.spring.beans.factory.config.BeanDefinition;
 import com.spring.beans.factory.config.BeanDefinitionHolder;
+import com.spring.beans.factory.config.ConfigurableListableBeanFactory;
+import com.spring.beans.factory.config.SingletonBeanRegistry;
 import com.spring.beans.factory.support.BeanDefinitionRegistry;
 import com.spring.beans.factory.support.BeanDefinitionRegistryPostProcessor;
 import com.spring.beans.factory.support.RootBeanDefinition;
+import com.spring.context.weaving.ConfigurableApplicationContext;
 import com.spring.core.type.AnnotationMetadata;
+import com.spring.core.type.classreading.CachingMetadataReaderFactory;
+import com.spring.core.type.classreading.MetadataReaderFactory;
 import com.spring.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 /**
  * ClassName: ConfigurationClassPostProcessor
@@ -34,15 +36,16 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 //    private BeanDefinitionRegistry registry;
     private ConfigurationClassParser parser;
     private ConfigurationClassBeanDefinitionReader reader;
+    private MetadataReaderFactory metadataReaderFactory;
 
     @Override
     public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
         log.debug("=== 开始ConfigurationClassPostProcessor处理 ===");
 //        this.registry = registry;
 
-        // 初始化解析器和读取器
-        this.parser = new ConfigurationClassParser(registry);
-        this.reader = new ConfigurationClassBeanDefinitionReader(registry);
+        // 初始化解析器和读取器（优先使用上下文共享的元数据读取器工厂）
+        this.parser = new ConfigurationClassParser(registry, resolveMetadataReaderFactory(registry));
+        this.reader = new ConfigurationClassBeanDefinitionReader(registry, this.parser.getConditionEvaluator());
 
         // Spring核心三步骤：
         // 1. 检查配置类候选者
@@ -50,59 +53,153 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
         // 3. 加载BeanDefinition
         processConfigBeanDefinitions(registry);
 
+        // 自己创建的缓存只在本次处理中使用，处理完立即释放（共享缓存由上下文负责清除）
+        if (this.metadataReaderFactory instanceof CachingMetadataReaderFactory cachingFactory) {
+            cachingFactory.clearCache();
+        }
+        // 解析器持有本次处理的条件评估器，处理完释放，不跟着后置处理器一直存活
+        this.parser = null;
+        this.reader = null;
+
         log.debug("=== ConfigurationClassPostProcessor处理完成 ===");
     }
 
+    /**
+     * 在所有BeanDefinition注册完成之后，把full模式配置类的Bean类型替换成增强后的子类
+     * 对应Spring的ConfigurationClassPostProcessor.postProcessBeanFactory
+     */
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        enhanceConfigurationClasses(beanFactory);
+    }
+
+    /**
+     * 增强full模式的配置类：@Bean方法之间的调用返回容器中的Bean
+     * 增强后的子类按配置类全局缓存，多个容器只生成一次
+     */
+    private void enhanceConfigurationClasses(ConfigurableListableBeanFactory beanFactory) {
+        ConfigurationClassEnhancer enhancer = null;
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDef = beanFactory.getBeanDefinition(beanName);
+            if (!ConfigurationClassUtils.isFullConfigurationClass(beanDef)) {
+                continue;
+            }
+            if (beanFactory.containsSingleton(beanName)) {
+                log.warn("配置类 {} 的实例已经创建，无法增强，@Bean方法之间的调用不会返回容器中的Bean", beanName);
+                continue;
+            }
+            Class<?> configClass = beanDef.getBeanClass();
+            if (configClass == null) {
+                continue;
+            }
+            if (enhancer == null) {
+                enhancer = new ConfigurationClassEnhancer();
+            }
+            Class<?> enhancedClass = enhancer.enhance(configClass);
+            if (enhancedClass != configClass) {
+                log.debug("替换配置类 {} 的Bean类型: {} -> {}", beanName, configClass.getName(), enhancedClass.getName());
+                beanDef.setBeanClass(enhancedClass);
+            }
+        }
+    }
+
+    /**
+     * 获取元数据读取器工厂：上下文注册了共享工厂时直接复用（缓存由上下文在refresh结束时清除），
+     * 否则使用自己的CachingMetadataReaderFactory
+     */
+    private MetadataReaderFactory resolveMetadataReaderFactory(BeanDefinitionRegistry registry) {
+        if (registry instanceof SingletonBeanRegistry singletonBeanRegistry &&
+                singletonBeanRegistry.getSingleton(ConfigurableApplicationContext.METADATA_READER_FACTORY_BEAN_NAME)
+                        instanceof MetadataReaderFactory sharedFactory) {
+            return sharedFactory;
+        }
+        if (this.metadataReaderFactory == null) {
+            this.metadataReaderFactory = new CachingMetadataReaderFactory();
+        }
+        return this.metadataReaderFactory;
+    }
+
     /**
      * 将配置类的处理分为两个阶段：
      *      阶段1：解析配置类，收集信息（parse）
      *      阶段2：注册配置类中定义的Bean（loadBeanDefinitions）
+     * 两个阶段结束后，新注册的BeanDefinition中可能还有配置类（例如@ComponentScan扫描到的@Configuration），
+     * 继续处理直到没有新的配置类；每个配置类在一次refresh中只解析一次
      */
     private void processConfigBeanDefinitions(BeanDefinitionRegistry registry) {
         log.debug("开始处理配置类BeanDefinitions");
 
         // Step 1: 识别所有配置类候选者
-        List<BeanDefinitionHolder> configCandidates = findConfigurationCandidates(registry);
+        String[] candidateNames = registry.getBeanDefinitionNames();
+        List<BeanDefinitionHolder> configCandidates = findConfigurationCandidates(registry, candidateNames);
         log.debug("找到 {} 个配置类候选者", configCandidates.size());
 
         if (configCandidates.isEmpty()) {
             return;
         }
 
-        // Step 2: 解析配置类
-        // 这个阶段收集配置类信息，但不注册BeanDefinition
         Set<ConfigurationClass> configClasses = new LinkedHashSet<>();
-        try {
-            log.debug("开始调用parser.parse()解析配置类");
-            parser.parse(configCandidates, configClasses);
-            log.debug("parser.parse()解析完成，得到 {} 个ConfigurationClass", configClasses.size());
-        } catch (Exception ex) {
-            log.error("配置类解析失败", ex);
-            throw new RuntimeException("配置类解析失败", ex);
-        }
-
-        // Step 3: 注册BeanDefinitions
-        // 这个阶段真正将@Bean方法、@Import等转换为BeanDefinition并注册
-        if (!configClasses.isEmpty()) {
+        Set<ConfigurationClass> alreadyParsed = new HashSet<>();
+        Set<String> alreadyParsedClassNames = new HashSet<>();
+        do {
+            // Step 2: 解析配置类
+            // 这个阶段收集配置类信息，但不注册BeanDefinition
             try {
-                log.debug("开始调用reader.loadBeanDefinitions()注册BeanDefinitions");
-                reader.loadBeanDefinitions(configClasses);
-                log.debug("reader.loadBeanDefinitions()注册完成");
+                log.debug("开始调用parser.parse()解析配置类");
+                parser.parse(configCandidates, configClasses);
+                configClasses.removeAll(alreadyParsed);
+                log.debug("parser.parse()解析完成，得到 {} 个ConfigurationClass", configClasses.size());
             } catch (Exception ex) {
-                log.error("BeanDefinition注册失败", ex);
-                throw new RuntimeException("BeanDefinition注册失败", ex);
+                log.error("配置类解析失败", ex);
+                throw new RuntimeException("配置类解析失败", ex);
             }
-        }
 
-        log.debug("配置类BeanDefinitions处理完成");
+            // Step 3: 注册BeanDefinitions
+            // 这个阶段真正将@Bean方法、@Import等转换为BeanDefinition并注册
+            if (!configClasses.isEmpty()) {
+                try {
+                    log.debug("开始调用reader.loadBeanDefinitions()注册BeanDefinitions");
+                    reader.loadBeanDefinitions(configClasses);
+                    log.debug("reader.loadBeanDefinitions()注册完成");
+                } catch (Exception ex) {
+                    log.error("BeanDefinition注册失败", ex);
+                    throw new RuntimeException("BeanDefinition注册失败", ex);
+                }
+            }
+            alreadyParsed.addAll(configClasses);
+            for (ConfigurationClass configClass : configClasses) {
+                alreadyParsedClassNames.add(configClass.getMetadata().getClassName());
+            }
+            configClasses.clear();
+
+            // Step 4: 在新注册的BeanDefinition中查找还没解析过的配置类
+            configCandidates = new ArrayList<>();
+            if (registry.getBeanDefinitionCount() > candidateNames.length) {
+                Set<String> oldCandidateNames = new HashSet<>(Arrays.asList(candidateNames));
+                String[] newCandidateNames = registry.getBeanDefinitionNames();
+                for (String candidateName : newCandidateNames) {
+                    if (oldCandidateNames.contains(candidateName)) {
+                        continue;
+                    }
+                    BeanDefinition beanDef = registry.getBeanDefinition(candidateName);
+                    if (ConfigurationClassUtils.checkConfigurationClassCandidate(beanDef) &&
+                            !alreadyParsedClassNames.contains(((AnnotatedBeanDefinition) beanDef).getMetadata().getClassName())) {
+                        configCandidates.add(new BeanDefinitionHolder(beanDef, candidateName));
+                    }
+                }
+                candidateNames = newCandidateNames;
+                log.debug("新注册的BeanDefinition中找到 {} 个配置类候选者", configCandidates.size());
+            }
+        } while (!configCandidates.isEmpty());
+
+        log.debug("配置类BeanDefinitions处理完成，共解析 {} 个配置类", alreadyParsed.size());
     }
 
     /**
      * 查找配置类候选者
      */
-    private List<BeanDefinitionHolder> findConfigurationCandidates(BeanDefinitionRegistry registry) {
+    private List<BeanDefinitionHolder> findConfigurationCandidates(BeanDefinitionRegistry registry, String[] candidateNames) {
         List<BeanDefinitionHolder> configCandidates = new ArrayList<>();
-        String[] candidateNames = registry.getBeanDefinitionNames();
 
         log.debug("扫描 {} 个BeanDefinition，寻找配置类候选者", candidateNames.length);
 
@@ -3,9 +3,13 @@ package com.spring.context.annotation;
 import com.spring.beans.factory.annotation.AnnotatedBeanDefinition;
 import com.spring.beans.factory.config.BeanDefinition;
 import com.spring.core.type.AnnotationMetadata;
+import com.spring.core.type.StandardAnnotationMetadata;
 import com.spring.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+
 /**
  * ClassName: ConfigurationClassUtils
  * Description: 配置类工具类
@@ -18,6 +22,17 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class ConfigurationClassUtils {
+
+    /** 配置类模式在BeanDefinition上的属性名 - 对应Spring的ConfigurationClassUtils.CONFIGURATION_CLASS_ATTRIBUTE */
+    public static final String CONFIGURATION_CLASS_ATTRIBUTE =
+            ConfigurationClassPostProcessor.class.getName() + ".configurationClass";
+
+    /** full模式：@Configuration(proxyBeanMethods = true)，配置类会被增强，@Bean方法之间的调用返回容器中的Bean */
+    public static final String CONFIGURATION_CLASS_FULL = "full";
+
+    /** lite模式：@Component、@ComponentScan、@Import或者只有@Bean方法的类，@Bean方法之间的调用就是普通方法调用 */
+    public static final String CONFIGURATION_CLASS_LITE = "lite";
+
     /**
      * 检查Bean定义是否为配置类候选者
      * 这个方法在Spring原版中会：
@@ -34,6 +49,11 @@ public class ConfigurationClassUtils {
             return false;
         }
 
+        // @Bean方法定义的Bean（工厂方法）不是配置类，虽然它的元数据是所在配置类的元数据
+        if (beanDef.getFactoryMethodName() != null) {
+            return false;
+        }
+
         AnnotatedBeanDefinition abd = (AnnotatedBeanDefinition) beanDef;
         AnnotationMetadata metadata = abd.getMetadata();
 
@@ -50,32 +70,66 @@ public class ConfigurationClassUtils {
         return isConfigClass;
     }
 
+    /**
+     * 元数据是否满足配置类候选者的条件（不修改BeanDefinition），条件评估据此推断判断阶段
+     */
+    public static boolean isConfigurationCandidate(AnnotationMetadata metadata) {
+        return isConfigurationAnnotationPresent(metadata);
+    }
+
     /**
      * 检查是否存在配置类相关的注解
-     * Spring原版逻辑：@Configuration, @Component, @ComponentScan, @Import, @ImportResource（xml）
+     * Spring原版逻辑：@Configuration, @Component, @ComponentScan, @Import, @ImportResource（xml），或者有@Bean方法
      */
     private static boolean isConfigurationAnnotationPresent(AnnotationMetadata metadata) {
         return metadata.isAnnotated(Configuration.class.getName()) ||
                 // @Component检查主要是为了识别@Configuration(它被@Component标注)
                 metadata.isAnnotated(Component.class.getName()) ||
                 metadata.isAnnotated(ComponentScan.class.getName()) ||
-                metadata.isAnnotated(Import.class.getName());
+                metadata.isAnnotated(Import.class.getName()) ||
+                hasBeanMethods(metadata);
+    }
+
+    /**
+     * 没有任何配置注解、但声明了@Bean方法的类也是（lite）配置类
+     * 只检查已加载的类（StandardAnnotationMetadata）；基于字节码的元数据来自组件扫描，一定带有@Component
+     */
+    private static boolean hasBeanMethods(AnnotationMetadata metadata) {
+        if (!(metadata instanceof StandardAnnotationMetadata sam)) {
+            return false;
+        }
+        try {
+            for (Method method : sam.getIntrospectedClass().getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Bean.class)) {
+                    return true;
+                }
+            }
+        } catch (Throwable ex) {
+            log.debug("无法检查类 {} 的@Bean方法: {}", metadata.getClassName(), ex.toString());
+        }
+        return false;
     }
 
     /**
      * 设置配置类属性 - 对应Spring设置CONFIGURATION_CLASS_ATTRIBUTE的逻辑
-     * Spring原版会区分full模式和lite模式，我们这里简化实现
+     * @Configuration且proxyBeanMethods不为false：full模式，之后由ConfigurationClassPostProcessor增强；
+     * 其它配置相关注解或者只有@Bean方法：lite模式
      */
     private static void setConfigurationClassAttribute(BeanDefinition beanDef, AnnotationMetadata metadata) {
-        // Spring原版逻辑：
-        // 如果是@Configuration注解，设置为"full"
-        // 如果是其他配置相关注解，设置为"lite"
-        if (metadata.isAnnotated(Configuration.class.getName())) {
+        Map<String, Object> configAttributes = metadata.getAnnotationAttributes(Configuration.class.getName());
+        if (configAttributes != null && !Boolean.FALSE.equals(configAttributes.get("proxyBeanMethods"))) {
             log.debug("设置配置类为full模式: {}", metadata.getClassName());
-            // beanDef.setAttribute(CONFIGURATION_CLASS_ATTRIBUTE, CONFIGURATION_CLASS_FULL);
+            beanDef.setAttribute(CONFIGURATION_CLASS_ATTRIBUTE, CONFIGURATION_CLASS_FULL);
         } else {
             log.debug("设置配置类为lite模式: {}", metadata.getClassName());
-            // beanDef.setAttribute(CONFIGURATION_CLASS_ATTRIBUTE, CONFIGURATION_CLASS_LITE);
+            beanDef.setAttribute(CONFIGURATION_CLASS_ATTRIBUTE, CONFIGURATION_CLASS_LITE);
         }
     }
+
+    /**
+     * 是否是full模式的配置类（需要增强）
+     */
+    public static boolean isFullConfigurationClass(BeanDefinition beanDef) {
+        return CONFIGURATION_CLASS_FULL.equals(beanDef.getAttribute(CONFIGURATION_CLASS_ATTRIBUTE));
+    }
 }
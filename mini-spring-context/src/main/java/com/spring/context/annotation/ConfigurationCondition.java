@@ -0,0 +1,29 @@
+package com.spring.context.annotation;
+
+/**
+ * ClassName: ConfigurationCondition
+ * Description: 指定判断阶段的条件 - 对应Spring的ConfigurationCondition
+ *
+ * 普通条件在解析配置类和注册Bean两个阶段都会判断；依赖已注册Bean的条件（例如@ConditionalOnMissingBean）
+ * 需要等前面的配置类都注册完BeanDefinition，只能在REGISTER_BEAN阶段判断
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 20:16
+ * @version: v1.0
+ */
+public interface ConfigurationCondition extends Condition {
+
+    /**
+     * 该条件在哪个阶段判断
+     */
+    ConfigurationPhase getConfigurationPhase();
+
+    enum ConfigurationPhase {
+
+        /** 解析配置类时判断，不匹配时配置类不会被解析（它的@ComponentScan、@Import都不会处理） */
+        PARSE_CONFIGURATION,
+
+        /** 注册BeanDefinition时判断，此时前面的配置类已经注册完它们的Bean */
+        REGISTER_BEAN
+    }
+}
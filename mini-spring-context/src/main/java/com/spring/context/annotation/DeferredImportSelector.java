@@ -0,0 +1,15 @@
+package com.spring.context.annotation;
+
+/**
+ * ClassName: DeferredImportSelector
+ * Description: 延迟导入选择器 - 对应Spring的DeferredImportSelector
+ *
+ * 与ImportSelector不同，它不会在遇到@Import时立即执行，而是等本轮所有配置类都解析完成后，
+ * 按注册顺序一批统一执行。适用于需要根据其它配置是否存在来决定导入内容的场景（例如自动配置）
+ *
+ * @Author: csx
+ * @Create: 2025/12/11 - 20:20
+ * @version: v1.0
+ */
+public interface DeferredImportSelector extends ImportSelector {
+}
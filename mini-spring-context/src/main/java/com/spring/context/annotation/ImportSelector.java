@@ -0,0 +1,26 @@
+package com.spring.context.annotation;
+
+import com.spring.core.type.AnnotationMetadata;
+
+/**
+ * ClassName: ImportSelector
+ * Description: 导入选择器 - 对应Spring的ImportSelector
+ *
+ * 通过@Import导入该接口的实现类时，不会注册实现类本身，而是根据导入它的配置类的注解信息
+ * 返回一组需要导入的类名（可以是普通类、配置类，或者另一个ImportSelector）
+ *
+ * 实现类需要有无参构造方法；实现BeanFactoryAware时会在selectImports之前注入BeanFactory
+ *
+ * @Author: csx
+ * @Create: 2025/12/11 - 20:15
+ * @version: v1.0
+ */
+public interface ImportSelector {
+
+    /**
+     * 选择需要导入的类
+     * @param importingClassMetadata 导入该选择器的配置类的注解元数据
+     * @return 需要导入的类的全限定名，没有时返回空数组
+     */
+    String[] selectImports(AnnotationMetadata importingClassMetadata);
+}
@@ -0,0 +1,32 @@
+package com.spring.context.condition;
+
+import com.spring.context.annotation.Conditional;
+
+import java.lang.annotation.*;
+
+/**
+ * ClassName: ConditionalOnClass
+ * Description: 类路径上存在指定类时才注册 - 对应Spring Boot的@ConditionalOnClass
+ *
+ * 可选依赖建议用name指定类名：被标注的类通过反射读取value时，缺失的类会导致该属性读取失败
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 21:15
+ * @version: v1.0
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(OnClassCondition.class)
+public @interface ConditionalOnClass {
+
+    /**
+     * 必须存在的类
+     */
+    Class<?>[] value() default {};
+
+    /**
+     * 必须存在的类的全限定名
+     */
+    String[] name() default {};
+}
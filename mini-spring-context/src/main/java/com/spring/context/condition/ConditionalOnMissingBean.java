@@ -0,0 +1,33 @@
+package com.spring.context.condition;
+
+import com.spring.context.annotation.Conditional;
+
+import java.lang.annotation.*;
+
+/**
+ * ClassName: ConditionalOnMissingBean
+ * Description: 容器中还没有指定Bean时才注册 - 对应Spring Boot的@ConditionalOnMissingBean
+ *
+ * 在注册BeanDefinition阶段判断，只能看到在它之前注册的Bean，通常用于提供可被用户覆盖的默认Bean
+ * 标注在@Bean方法上且没有指定value和name时，按方法的返回类型判断
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 21:25
+ * @version: v1.0
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(OnMissingBeanCondition.class)
+public @interface ConditionalOnMissingBean {
+
+    /**
+     * 不能存在的Bean类型
+     */
+    Class<?>[] value() default {};
+
+    /**
+     * 不能存在的Bean名称
+     */
+    String[] name() default {};
+}
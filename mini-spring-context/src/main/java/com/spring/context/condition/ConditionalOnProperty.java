@@ -0,0 +1,52 @@
+package com.spring.context.condition;
+
+import com.spring.context.annotation.Conditional;
+
+import java.lang.annotation.*;
+
+/**
+ * ClassName: ConditionalOnProperty
+ * Description: 配置属性满足要求时才注册 - 对应Spring Boot的@ConditionalOnProperty
+ *
+ * 例如按环境开关整个功能模块：
+ * <pre>
+ * &#64;Configuration
+ * &#64;ConditionalOnProperty(prefix = "feature.report", name = "enabled", havingValue = "true")
+ * public class ReportConfiguration { ... }
+ * </pre>
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 21:05
+ * @version: v1.0
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(OnPropertyCondition.class)
+public @interface ConditionalOnProperty {
+
+    /**
+     * name的别名
+     */
+    String[] value() default {};
+
+    /**
+     * 属性名前缀，和name之间自动补"."
+     */
+    String prefix() default "";
+
+    /**
+     * 属性名，多个时需要全部满足
+     */
+    String[] name() default {};
+
+    /**
+     * 期望的属性值（忽略大小写）；为空时只要求属性存在且不等于"false"
+     */
+    String havingValue() default "";
+
+    /**
+     * 属性不存在时是否匹配
+     */
+    boolean matchIfMissing() default false;
+}
@@ -0,0 +1,62 @@
+package com.spring.context.condition;
+
+import com.spring.context.annotation.Condition;
+import com.spring.context.annotation.ConditionContext;
+import com.spring.context.annotation.ConditionOutcome;
+import com.spring.core.type.AnnotatedTypeMetadata;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ClassName: OnClassCondition
+ * Description: @ConditionalOnClass的条件实现 - 对应Spring Boot的OnClassCondition
+ *
+ * 只判断类是否存在，不初始化类；同一个类名的结果在条件实例（一次refresh）内缓存
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 21:20
+ * @version: v1.0
+ */
+class OnClassCondition implements Condition {
+
+    /** 类名 -> 是否存在 */
+    private final Map<String, Boolean> presenceCache = new ConcurrentHashMap<>(16);
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return getMatchOutcome(context, metadata).isMatch();
+    }
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnClass.class.getName(), true);
+        if (attributes == null) {
+            return ConditionOutcome.match();
+        }
+        for (String attributeName : new String[]{"value", "name"}) {
+            if (attributes.get(attributeName) instanceof String[] classNames) {
+                for (String className : classNames) {
+                    if (!isPresent(className, context.getClassLoader())) {
+                        return ConditionOutcome.noMatch("类 " + className + " 不存在");
+                    }
+                }
+            }
+        }
+        return ConditionOutcome.match();
+    }
+
+    private boolean isPresent(String className, ClassLoader classLoader) {
+        Boolean present = this.presenceCache.get(className);
+        if (present == null) {
+            try {
+                Class.forName(className, false, classLoader);
+                present = true;
+            } catch (ClassNotFoundException | LinkageError ex) {
+                present = false;
+            }
+            this.presenceCache.put(className, present);
+        }
+        return present;
+    }
+}
@@ -0,0 +1,75 @@
+package com.spring.context.condition;
+
+import com.spring.beans.factory.config.ConfigurableListableBeanFactory;
+import com.spring.context.annotation.ConditionContext;
+import com.spring.context.annotation.ConditionOutcome;
+import com.spring.context.annotation.ConfigurationCondition;
+import com.spring.core.type.AnnotatedTypeMetadata;
+import com.spring.core.type.MethodMetadata;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * ClassName: OnMissingBeanCondition
+ * Description: @ConditionalOnMissingBean的条件实现 - 对应Spring Boot的OnBeanCondition
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 21:30
+ * @version: v1.0
+ */
+class OnMissingBeanCondition implements ConfigurationCondition {
+
+    @Override
+    public ConfigurationPhase getConfigurationPhase() {
+        return ConfigurationPhase.REGISTER_BEAN;
+    }
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return getMatchOutcome(context, metadata).isMatch();
+    }
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnMissingBean.class.getName(), true);
+        if (attributes == null) {
+            return ConditionOutcome.match();
+        }
+        String[] types = (String[]) attributes.get("value");
+        String[] names = (String[]) attributes.get("name");
+        if ((types == null || types.length == 0) && (names == null || names.length == 0) &&
+                metadata instanceof MethodMetadata methodMetadata) {
+            types = new String[]{methodMetadata.getReturnTypeName()};
+        }
+
+        if (names != null) {
+            for (String name : names) {
+                if (context.getRegistry().containsBeanDefinition(name)) {
+                    return ConditionOutcome.noMatch("已存在名为 " + name + " 的Bean");
+                }
+            }
+        }
+        if (types != null && types.length > 0) {
+            ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+            if (beanFactory == null) {
+                throw new IllegalStateException("@ConditionalOnMissingBean按类型判断需要ConfigurableListableBeanFactory");
+            }
+            for (String typeName : types) {
+                Class<?> type;
+                try {
+                    type = Class.forName(typeName, false, context.getClassLoader());
+                } catch (ClassNotFoundException | LinkageError ex) {
+                    // 类型都不存在，自然也没有这个类型的Bean
+                    continue;
+                }
+                String[] beanNames = beanFactory.getBeanNamesForType(type, true, false);
+                if (beanNames.length > 0) {
+                    return ConditionOutcome.noMatch("已存在 " + type.getSimpleName() + " 类型的Bean: " +
+                            Arrays.toString(beanNames));
+                }
+            }
+        }
+        return ConditionOutcome.match();
+    }
+}
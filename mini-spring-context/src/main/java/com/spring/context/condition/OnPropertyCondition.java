@@ -0,0 +1,68 @@
+package com.spring.context.condition;
+
+import com.spring.context.annotation.Condition;
+import com.spring.context.annotation.ConditionContext;
+import com.spring.context.annotation.ConditionOutcome;
+import com.spring.core.env.Environment;
+import com.spring.core.type.AnnotatedTypeMetadata;
+
+import java.util.Map;
+
+/**
+ * ClassName: OnPropertyCondition
+ * Description: @ConditionalOnProperty的条件实现 - 对应Spring Boot的OnPropertyCondition
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 21:10
+ * @version: v1.0
+ */
+class OnPropertyCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return getMatchOutcome(context, metadata).isMatch();
+    }
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnProperty.class.getName());
+        if (attributes == null) {
+            return ConditionOutcome.match();
+        }
+        String[] names = (String[]) attributes.get("name");
+        if (names == null || names.length == 0) {
+            names = (String[]) attributes.get("value");
+        }
+        if (names == null || names.length == 0) {
+            throw new IllegalStateException("@ConditionalOnProperty必须指定name或value");
+        }
+        String prefix = (String) attributes.get("prefix");
+        if (prefix != null && !prefix.isEmpty() && !prefix.endsWith(".")) {
+            prefix = prefix + ".";
+        }
+        String havingValue = (String) attributes.get("havingValue");
+        boolean matchIfMissing = Boolean.TRUE.equals(attributes.get("matchIfMissing"));
+
+        Environment environment = context.getEnvironment();
+        for (String name : names) {
+            String key = (prefix != null ? prefix + name : name);
+            String value = environment.getProperty(key);
+            if (value == null) {
+                if (!matchIfMissing) {
+                    return ConditionOutcome.noMatch("属性 " + key + " 不存在");
+                }
+            } else if (!isMatch(value, havingValue)) {
+                return ConditionOutcome.noMatch("属性 " + key + "=" + value +
+                        (havingValue == null || havingValue.isEmpty() ? "" : "，期望值为 " + havingValue));
+            }
+        }
+        return ConditionOutcome.match();
+    }
+
+    private boolean isMatch(String value, String havingValue) {
+        if (havingValue == null || havingValue.isEmpty()) {
+            return !"false".equalsIgnoreCase(value);
+        }
+        return havingValue.equalsIgnoreCase(value);
+    }
+}
@@ -0,0 +1,88 @@
+package com.spring.context.index;
+
+import java.util.*;
+
+/**
+ * ClassName: CandidateComponentsIndex
+ * Description:
+ *
+ * 候选组件索引 - 对应Spring的CandidateComponentsIndex
+ * 由构建期生成的META-INF/spring.components合并而来：stereotype -> 带有该stereotype的类名列表
+ *
+ * 文件格式（Properties）：
+ *  com.example.UserService=com.spring.stereotype.Component
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 0:30
+ * @version: v1.0
+ */
+public class CandidateComponentsIndex {
+
+    /**
+     * 与类路径扫描相同的顺序：扫描时每层目录的条目按文件名排序后深度优先遍历，
+     * 这里把类名还原为路径（包名 -> 目录名，类名 -> 类名.class）后逐段比较，
+     * 使用索引注册BeanDefinition的顺序与扫描一致
+     */
+    private static final Comparator<String> SCAN_ORDER = CandidateComponentsIndex::compareInScanOrder;
+
+    /** stereotype注解全限定名 -> 类名列表（每个索引文件内按扫描顺序，多个索引文件按类路径顺序） */
+    private final Map<String, List<String>> index;
+
+    CandidateComponentsIndex(List<Properties> content) {
+        this.index = parseIndex(content);
+    }
+
+    private static Map<String, List<String>> parseIndex(List<Properties> content) {
+        Map<String, List<String>> index = new HashMap<>();
+        for (Properties entry : content) {
+            // Properties本身无序，按类路径扫描的顺序排列
+            List<String> typeNames = new ArrayList<>(entry.stringPropertyNames());
+            typeNames.sort(SCAN_ORDER);
+            for (String type : typeNames) {
+                for (String stereotype : entry.getProperty(type).split(",")) {
+                    String trimmed = stereotype.trim();
+                    if (!trimmed.isEmpty()) {
+                        index.computeIfAbsent(trimmed, key -> new ArrayList<>()).add(type);
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    private static int compareInScanOrder(String typeName1, String typeName2) {
+        String[] segments1 = typeName1.split("\\.");
+        String[] segments2 = typeName2.split("\\.");
+        int length = Math.min(segments1.length, segments2.length);
+        for (int i = 0; i < length; i++) {
+            String entryName1 = (i == segments1.length - 1 ? segments1[i] + ".class" : segments1[i]);
+            String entryName2 = (i == segments2.length - 1 ? segments2[i] + ".class" : segments2[i]);
+            int result = entryName1.compareTo(entryName2);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(segments1.length, segments2.length);
+    }
+
+    /**
+     * 获取基础包（含子包）下带有指定stereotype的候选类名
+     *
+     * @param basePackage 基础包，如com.example
+     * @param stereotype  stereotype注解全限定名，如com.spring.stereotype.Component
+     */
+    public Set<String> getCandidateTypes(String basePackage, String stereotype) {
+        List<String> candidates = this.index.get(stereotype);
+        if (candidates == null) {
+            return Collections.emptySet();
+        }
+        String packagePrefix = basePackage + '.';
+        Set<String> result = new LinkedHashSet<>();
+        for (String type : candidates) {
+            if (type.startsWith(packagePrefix)) {
+                result.add(type);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package com.spring.context.index;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * ClassName: CandidateComponentsIndexLoader
+ * Description:
+ *
+ * 候选组件索引加载器 - 对应Spring的CandidateComponentsIndexLoader
+ * 读取类路径上所有的META-INF/spring.components并合并为一个CandidateComponentsIndex
+ *
+ * 注意：和Spring一样，只要类路径上存在索引文件，组件扫描就完全依赖索引。
+ * 如果部分模块没有生成索引，可以设置系统属性 spring.index.ignore=true 退回到类路径扫描
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 0:30
+ * @version: v1.0
+ */
+@Slf4j
+public final class CandidateComponentsIndexLoader {
+
+    /** 索引文件位置，由mini-spring-context-indexer在编译期生成 */
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
+
+    /** 忽略索引的系统属性 */
+    public static final String IGNORE_INDEX = "spring.index.ignore";
+
+    /** 类加载器 -> 索引（没有索引时缓存Optional.empty()，避免重复查找） */
+    private static final Map<ClassLoader, Optional<CandidateComponentsIndex>> cache =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private CandidateComponentsIndexLoader() {
+    }
+
+    /**
+     * 加载索引，类路径上没有索引文件（或设置了忽略）时返回null
+     */
+    public static CandidateComponentsIndex loadIndex(ClassLoader classLoader) {
+        if (Boolean.getBoolean(IGNORE_INDEX)) {
+            return null;
+        }
+        ClassLoader classLoaderToUse = (classLoader != null ?
+                classLoader : CandidateComponentsIndexLoader.class.getClassLoader());
+        return cache.computeIfAbsent(classLoaderToUse,
+                CandidateComponentsIndexLoader::doLoadIndex).orElse(null);
+    }
+
+    private static Optional<CandidateComponentsIndex> doLoadIndex(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+            if (!urls.hasMoreElements()) {
+                return Optional.empty();
+            }
+            List<Properties> result = new ArrayList<>();
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                Properties properties = new Properties();
+                // 索引文件由mini-spring-context-indexer以UTF-8写入
+                try (InputStream inputStream = url.openStream()) {
+                    properties.load(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+                }
+                result.add(properties);
+                log.debug("加载候选组件索引: {}，{} 个条目", url, properties.size());
+            }
+            int totalCount = result.stream().mapToInt(Properties::size).sum();
+            log.info("使用构建期组件索引，共 {} 个文件，{} 个候选组件", result.size(), totalCount);
+            return (totalCount > 0 ? Optional.of(new CandidateComponentsIndex(result)) : Optional.empty());
+        } catch (IOException ex) {
+            throw new IllegalStateException("无法加载候选组件索引: " + COMPONENTS_RESOURCE_LOCATION, ex);
+        }
+    }
+}
@@ -9,12 +9,14 @@ import com.spring.context.ApplicationEventPublisherAware;
 import com.spring.context.EnvironmentAware;
 import com.spring.context.weaving.ApplicationContext;
 import com.spring.context.weaving.ConfigurableApplicationContext;
+import com.spring.core.convert.ConversionService;
 import com.spring.core.env.ConfigurableEnvironment;
 import com.spring.core.env.StandardEnvironment;
 import com.spring.core.io.DefaultResourceLoader;
 import com.spring.core.io.Resource;
 import com.spring.core.io.support.PathMatchingResourcePatternResolver;
 import com.spring.core.io.support.ResourcePatternResolver;
+import com.spring.core.type.classreading.CachingMetadataReaderFactory;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
@@ -47,6 +49,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 
     private final ResourcePatternResolver resourcePatternResolver;
 
+    /** 上下文共享的元数据读取器工厂，启动期间缓存解析过的类元数据 */
+    private CachingMetadataReaderFactory metadataReaderFactory;
+
     public AbstractApplicationContext() {
         this.resourcePatternResolver = new PathMatchingResourcePatternResolver(this);
     }
@@ -73,8 +78,8 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         // 配置类解析: ConfigurationClassPostProcessor
         invokeBeanFactoryPostProcessors(beanFactory);
 
-        // 6. ⭐注册Bean后置处理器（核心：准备Bean增强）
-//        registerBeanPostProcessors(beanFactory);
+        // 6. ⭐注册Bean后置处理器（核心：准备Bean增强，@Autowired注入在这里生效）
+        registerBeanPostProcessors(beanFactory);
 
         // 7. 初始化消息源
 //        initMessageSource();
@@ -94,6 +99,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         // 12. 完成刷新，发布上下文刷新事件（简化：只发布事件）
 //        finishRefresh();
 
+        // 13. 清除启动期间使用的缓存（元数据只在解析阶段需要，启动完成后释放内存）
+        resetCommonCaches();
+
         log.info("====================Spring应用上下文刷新完成====================");
     }
 
@@ -222,6 +230,12 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
             log.debug("注册环境单例Bean: {}", ENVIRONMENT_BEAN_NAME);
         }
 
+        // 注册共享的元数据读取器工厂（ConfigurationClassPostProcessor从这里获取）
+        if (!beanFactory.containsLocalBean(METADATA_READER_FACTORY_BEAN_NAME)) {
+            beanFactory.registerSingleton(METADATA_READER_FACTORY_BEAN_NAME, getMetadataReaderFactory());
+            log.debug("注册元数据读取器工厂单例Bean: {}", METADATA_READER_FACTORY_BEAN_NAME);
+        }
+
         // 注册系统属性Bean
 //        if (!beanFactory.containsLocalBean(SYSTEM_PROPERTIES_BEAN_NAME)) {
 //            beanFactory.registerSingleton(SYSTEM_PROPERTIES_BEAN_NAME,
@@ -239,6 +253,25 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         log.info("BeanFactory准备完成");
     }
 
+    /**
+     * 获取上下文共享的元数据读取器工厂（懒加载）
+     */
+    public CachingMetadataReaderFactory getMetadataReaderFactory() {
+        if (this.metadataReaderFactory == null) {
+            this.metadataReaderFactory = new CachingMetadataReaderFactory(getClassLoader());
+        }
+        return this.metadataReaderFactory;
+    }
+
+    /**
+     * 清除启动期间使用的公共缓存 - 对应Spring的resetCommonCaches方法
+     */
+    protected void resetCommonCaches() {
+        if (this.metadataReaderFactory != null) {
+            this.metadataReaderFactory.clearCache();
+        }
+    }
+
     /**
      * 后置处理BeanFactory - 模板方法
      * @param beanFactory
@@ -255,6 +288,13 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         PostProcessorRegistrationDelegate.invokeBeanFactoryPostProcessors(beanFactory, getBeanFactoryPostProcessors());
     }
 
+    /**
+     * ⭐注册Bean后置处理器：实例化容器中所有BeanPostProcessor类型的Bean，并添加到BeanFactory
+     */
+    protected void registerBeanPostProcessors(ConfigurableListableBeanFactory beanFactory) {
+        PostProcessorRegistrationDelegate.registerBeanPostProcessors(beanFactory);
+    }
+
     @Override
     public void addBeanFactoryPostProcessor(BeanFactoryPostProcessor postProcessor) {
         this.beanFactoryPostProcessors.add(postProcessor);
@@ -273,8 +313,12 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
      * 核心：实例化所有单例Bean
      */
     protected void finishBeanFactoryInitialization(ConfigurableListableBeanFactory beanFactory) {
-        // 1. 设置必要的服务
-//        setupEssentialServices(beanFactory);
+        // 1. 设置类型转换服务（用户定义了名为conversionService的Bean时）
+        if (beanFactory.containsBeanDefinition(CONVERSION_SERVICE_BEAN_NAME)) {
+            beanFactory.setConversionService(
+                    beanFactory.getBean(CONVERSION_SERVICE_BEAN_NAME, ConversionService.class));
+            log.debug("设置类型转换服务: {}", CONVERSION_SERVICE_BEAN_NAME);
+        }
 
         // 2. 冻结配置
         beanFactory.freezeConfiguration();
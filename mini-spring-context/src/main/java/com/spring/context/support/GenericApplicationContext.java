@@ -57,6 +57,26 @@ public class GenericApplicationContext extends AbstractApplicationContext implem
         beanFactory.removeBeanDefinition(beanName);
     }
 
+    @Override
+    public void registerAlias(String name, String alias) {
+        beanFactory.registerAlias(name, alias);
+    }
+
+    @Override
+    public void removeAlias(String alias) {
+        beanFactory.removeAlias(alias);
+    }
+
+    @Override
+    public boolean isAlias(String name) {
+        return beanFactory.isAlias(name);
+    }
+
+    @Override
+    public String[] getAliases(String name) {
+        return beanFactory.getAliases(name);
+    }
+
     @Override	//AnnotationConfigApplicationContext会调它
     protected final void refreshBeanFactory() throws IllegalStateException {
         // 防止重复刷新：确保容器只被刷新一次
@@ -83,6 +103,13 @@ public class GenericApplicationContext extends AbstractApplicationContext implem
         return this.beanFactory;
     }
 
+    /**
+     * 获取底层的DefaultListableBeanFactory（不检查刷新状态，可在refresh之前对BeanFactory做配置）
+     */
+    public final DefaultListableBeanFactory getDefaultListableBeanFactory() {
+        return this.beanFactory;
+    }
+
     /**
      * 获取上下文ID - 用于序列化标识
      */
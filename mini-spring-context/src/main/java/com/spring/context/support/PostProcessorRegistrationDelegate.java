@@ -4,6 +4,7 @@ import com.spring.beans.factory.config.BeanFactoryPostProcessor;
 import com.spring.beans.factory.config.ConfigurableListableBeanFactory;
 import com.spring.beans.factory.support.BeanDefinitionRegistry;
 import com.spring.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import com.spring.beans.factory.support.BeanPostProcessor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
@@ -75,6 +76,11 @@ public class PostProcessorRegistrationDelegate {
                     registryProcessors.add(pp);
                 }
             }
+
+            // 1.3 所有BeanDefinition都注册完之后，再调用它们的postProcessBeanFactory（例如增强配置类）
+            for (BeanDefinitionRegistryPostProcessor registryProcessor : registryProcessors) {
+                registryProcessor.postProcessBeanFactory(beanFactory);
+            }
         }
 
         // 2. 调用BeanFactoryPostProcessor
@@ -104,4 +110,19 @@ public class PostProcessorRegistrationDelegate {
 
         log.info("BeanFactoryPostProcessor调用完成");
     }
+
+    /**
+     * 注册BeanPostProcessor：按Bean定义的注册顺序实例化，之后创建的Bean都会经过这些处理器
+     * 简化：暂不支持PriorityOrdered、Ordered排序
+     */
+    public static void registerBeanPostProcessors(ConfigurableListableBeanFactory beanFactory) {
+        String[] postProcessorNames = beanFactory.getBeanNamesForType(BeanPostProcessor.class, true, false);
+
+        for (String ppName : postProcessorNames) {
+            BeanPostProcessor pp = beanFactory.getBean(ppName, BeanPostProcessor.class);
+            beanFactory.addBeanPostProcessor(pp);
+        }
+
+        log.info("注册BeanPostProcessor完成，共 {} 个", postProcessorNames.length);
+    }
 }
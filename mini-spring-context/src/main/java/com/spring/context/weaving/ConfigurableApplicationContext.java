@@ -20,6 +20,12 @@ public interface ConfigurableApplicationContext extends ApplicationContext, Life
     String SYSTEM_PROPERTIES_BEAN_NAME = "systemProperties";
     String SYSTEM_ENVIRONMENT_BEAN_NAME = "systemEnvironment";
 
+    /** 类型转换服务Bean的名称：存在时refresh会把它设置到BeanFactory上 */
+    String CONVERSION_SERVICE_BEAN_NAME = "conversionService";
+
+    /** 上下文共享的CachingMetadataReaderFactory（组件扫描、配置类解析共用，refresh结束时清除缓存） */
+    String METADATA_READER_FACTORY_BEAN_NAME = "internalCachingMetadataReaderFactory";
+
 
     void refresh();
 
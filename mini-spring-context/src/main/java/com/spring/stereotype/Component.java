@@ -13,6 +13,7 @@ import java.lang.annotation.*;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
+@Indexed
 public @interface Component {
     /**
      * 设置beanName：默认是类名小写
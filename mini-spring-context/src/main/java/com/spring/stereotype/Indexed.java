@@ -0,0 +1,21 @@
+package com.spring.stereotype;
+
+import java.lang.annotation.*;
+
+/**
+ * ClassName: Indexed
+ * Description:
+ *
+ * 标记一个注解为"构建期索引"的候选类型（stereotype） - 对应Spring的@Indexed
+ * 编译时mini-spring-context-indexer会把带有此类注解（包括通过元注解）的类写入META-INF/spring.components，
+ * 启动时组件扫描直接读取索引，不再遍历类路径
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 0:30
+ * @version: v1.0
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Indexed {
+}
@@ -1,5 +1,7 @@
 package com.spring.stereotype;
 
+import com.spring.core.annotation.AliasFor;
+
 import java.lang.annotation.*;
 
 /**
@@ -18,5 +20,6 @@ public @interface Service {
     /**
      * 设置beanName：默认是类名小写
      */
+    @AliasFor(annotation = Component.class)
     String value() default "";
 }
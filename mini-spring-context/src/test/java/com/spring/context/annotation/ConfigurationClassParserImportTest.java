@@ -0,0 +1,206 @@
+package com.spring.context.annotation;
+
+import com.spring.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import com.spring.beans.factory.config.BeanDefinitionHolder;
+import com.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.spring.core.type.AnnotationMetadata;
+import com.spring.core.type.classreading.CachingMetadataReaderFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ClassName: ConfigurationClassParserImportTest
+ * Description: ConfigurationClassParser处理@Import的测试
+ *
+ *  1. 循环导入 A -> B -> A：抛出IllegalStateException，消息中带有导入链
+ *  2. 菱形导入：被两条路径导入的配置类只解析一次，合并两个导入来源
+ *  3. 先被导入、后又作为候选者出现的配置类：以候选者为准，不再标记为被导入
+ *  4. DeferredImportSelector在所有候选者解析完之后统一执行
+ *
+ * @Author: csx
+ * @Create: 2025/12/15 - 21:00
+ * @version: v1.0
+ */
+public class ConfigurationClassParserImportTest {
+
+    private static final AtomicInteger bottomSelectorCount = new AtomicInteger();
+
+    private static final List<String> selectorEvents = new ArrayList<>();
+
+    @BeforeEach
+    void resetRecorders() {
+        bottomSelectorCount.set(0);
+        selectorEvents.clear();
+    }
+
+    @Test
+    void rejectsImportCycleWithChain() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> parse(CycleA.class));
+        String chain = CycleA.class.getName() + " -> " + CycleB.class.getName() + " -> " + CycleA.class.getName();
+        assertTrue(ex.getMessage().contains(chain), "异常消息中应该有导入链，实际: " + ex.getMessage());
+    }
+
+    @Test
+    void parsesDiamondImportOnce() {
+        List<ConfigurationClass> configClasses = parse(DiamondTop.class);
+
+        assertEquals(1, bottomSelectorCount.get(), "菱形导入的配置类应该只解析一次");
+        assertEquals(List.of(DiamondBottom.class, DiamondLeft.class, DiamondRight.class, DiamondTop.class),
+                sourceClasses(configClasses));
+        ConfigurationClass bottom = configClasses.get(0);
+        assertEquals(Set.of(DiamondLeft.class, DiamondRight.class), sourceClasses(bottom.getImportedBy()));
+        assertEquals(1, bottom.getBeanMethods().size());
+    }
+
+    @Test
+    void candidateReplacesImportedClass() {
+        List<ConfigurationClass> configClasses = parse(SharedImporter.class, SharedConfig.class);
+
+        assertEquals(List.of(SharedImporter.class, SharedConfig.class), sourceClasses(configClasses));
+        ConfigurationClass shared = configClasses.get(1);
+        assertFalse(shared.isImported(), "显式注册的配置类不应该再标记为被导入");
+        assertEquals("sharedConfig", shared.getBeanName());
+    }
+
+    @Test
+    void runsDeferredImportSelectorsAfterAllCandidates() {
+        List<ConfigurationClass> configClasses = parse(DeferringConfig.class, ImmediateConfig.class);
+
+        assertEquals(List.of("immediate", "deferred"), selectorEvents);
+        assertEquals(List.of(DeferringConfig.class, ImmediateTarget.class, ImmediateConfig.class, DeferredTarget.class),
+                sourceClasses(configClasses));
+        assertEquals(Set.of(DeferringConfig.class), sourceClasses(configClasses.get(3).getImportedBy()));
+    }
+
+    // ============ 工具方法 ============
+
+    private static List<ConfigurationClass> parse(Class<?>... candidateClasses) {
+        DefaultListableBeanFactory registry = new DefaultListableBeanFactory();
+        List<BeanDefinitionHolder> candidates = new ArrayList<>();
+        for (Class<?> candidateClass : candidateClasses) {
+            String beanName = Character.toLowerCase(candidateClass.getSimpleName().charAt(0)) +
+                    candidateClass.getSimpleName().substring(1);
+            AnnotatedGenericBeanDefinition beanDefinition = new AnnotatedGenericBeanDefinition(candidateClass);
+            registry.registerBeanDefinition(beanName, beanDefinition);
+            candidates.add(new BeanDefinitionHolder(beanDefinition, beanName));
+        }
+        Set<ConfigurationClass> configClasses = new LinkedHashSet<>();
+        new ConfigurationClassParser(registry, new CachingMetadataReaderFactory()).parse(candidates, configClasses);
+        return new ArrayList<>(configClasses);
+    }
+
+    private static List<Class<?>> sourceClasses(List<ConfigurationClass> configClasses) {
+        return configClasses.stream().<Class<?>>map(ConfigurationClass::getSourceClass).toList();
+    }
+
+    private static Set<Class<?>> sourceClasses(Set<ConfigurationClass> configClasses) {
+        Set<Class<?>> classes = new HashSet<>();
+        for (ConfigurationClass configClass : configClasses) {
+            classes.add(configClass.getSourceClass());
+        }
+        return classes;
+    }
+
+    // ============ 循环导入 ============
+
+    @Configuration
+    @Import(CycleB.class)
+    public static class CycleA {
+    }
+
+    @Configuration
+    @Import(CycleA.class)
+    public static class CycleB {
+    }
+
+    // ============ 菱形导入 ============
+
+    @Configuration
+    @Import({DiamondLeft.class, DiamondRight.class})
+    public static class DiamondTop {
+    }
+
+    @Configuration
+    @Import(DiamondBottom.class)
+    public static class DiamondLeft {
+    }
+
+    @Configuration
+    @Import(DiamondBottom.class)
+    public static class DiamondRight {
+    }
+
+    /** 每解析一次，CountingSelector就执行一次 */
+    @Configuration
+    @Import(CountingSelector.class)
+    public static class DiamondBottom {
+
+        @Bean
+        public String bottomBean() {
+            return "bottom";
+        }
+    }
+
+    public static class CountingSelector implements ImportSelector {
+
+        @Override
+        public String[] selectImports(AnnotationMetadata importingClassMetadata) {
+            bottomSelectorCount.incrementAndGet();
+            return new String[0];
+        }
+    }
+
+    // ============ 候选者替换被导入的配置类 ============
+
+    @Configuration
+    @Import(SharedConfig.class)
+    public static class SharedImporter {
+    }
+
+    @Configuration
+    public static class SharedConfig {
+    }
+
+    // ============ 延迟导入选择器 ============
+
+    @Configuration
+    @Import(RecordingDeferredSelector.class)
+    public static class DeferringConfig {
+    }
+
+    @Configuration
+    @Import(RecordingSelector.class)
+    public static class ImmediateConfig {
+    }
+
+    @Configuration
+    public static class DeferredTarget {
+    }
+
+    @Configuration
+    public static class ImmediateTarget {
+    }
+
+    public static class RecordingDeferredSelector implements DeferredImportSelector {
+
+        @Override
+        public String[] selectImports(AnnotationMetadata importingClassMetadata) {
+            selectorEvents.add("deferred");
+            return new String[]{DeferredTarget.class.getName()};
+        }
+    }
+
+    public static class RecordingSelector implements ImportSelector {
+
+        @Override
+        public String[] selectImports(AnnotationMetadata importingClassMetadata) {
+            selectorEvents.add("immediate");
+            return new String[]{ImmediateTarget.class.getName()};
+        }
+    }
+}
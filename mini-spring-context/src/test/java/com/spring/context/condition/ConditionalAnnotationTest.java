@@ -0,0 +1,279 @@
+package com.spring.context.condition;
+
+import com.spring.beans.factory.support.DefaultListableBeanFactory;
+import com.spring.beans.factory.support.RootBeanDefinition;
+import com.spring.context.annotation.*;
+import com.spring.context.annotation.ConfigurationCondition.ConfigurationPhase;
+import com.spring.core.type.AnnotatedTypeMetadata;
+import com.spring.core.type.StandardMethodMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ClassName: ConditionalAnnotationTest
+ * Description: 条件注解和ConditionEvaluator的测试
+ *
+ *  1. @ConditionalOnProperty：属性为期望值、为false、不存在（包括matchIfMissing）
+ *  2. @ConditionalOnMissingBean：按类型、按名称判断已经存在的BeanDefinition
+ *  3. 重载的@Bean方法各自缓存判断结果，不会共用一个缓存键
+ *  4. 被跳过的配置类，它导入的配置类也不处理
+ *  5. 条件评估报告记录每个被跳过的类/方法和原因
+ *
+ * 属性通过系统属性提供（StandardEnvironment中优先级最高），每个测试结束后清除
+ *
+ * @Author: csx
+ * @Create: 2025/12/15 - 21:30
+ * @version: v1.0
+ */
+public class ConditionalAnnotationTest {
+
+    private static final String PREFIX = "mini.spring.condition.test.";
+
+    @AfterEach
+    void clearProperties() {
+        System.clearProperty(PREFIX + "enabled");
+        System.clearProperty(PREFIX + "mode");
+    }
+
+    // ============ @ConditionalOnProperty ============
+
+    @Test
+    void onPropertyMatchesExpectedValueIgnoringCase() {
+        System.setProperty(PREFIX + "mode", "FAST");
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(PropertyConfig.class);
+
+        assertTrue(context.containsBean("fastMode"));
+        assertTrue(context.containsBean("missingAllowed"));
+        assertFalse(context.containsBean("enabledFlag"), "属性不存在时不应该注册");
+    }
+
+    @Test
+    void onPropertySkipsFalseValue() {
+        System.setProperty(PREFIX + "enabled", "false");
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(PropertyConfig.class);
+
+        assertFalse(context.containsBean("enabledFlag"));
+        ConditionEvaluationReport.Skipped skipped = findSkipped(context, PropertyConfig.class, "enabledFlag");
+        assertEquals(OnPropertyCondition.class.getName(), skipped.condition());
+        assertEquals("属性 " + PREFIX + "enabled=false", skipped.message());
+    }
+
+    @Test
+    void onPropertySkipsMissingPropertyUnlessMatchIfMissing() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(PropertyConfig.class);
+
+        assertFalse(context.containsBean("enabledFlag"));
+        assertFalse(context.containsBean("fastMode"));
+        assertTrue(context.containsBean("missingAllowed"), "matchIfMissing=true时属性不存在也应该注册");
+        assertEquals("属性 " + PREFIX + "mode 不存在",
+                findSkipped(context, PropertyConfig.class, "fastMode").message());
+    }
+
+    // ============ @ConditionalOnMissingBean ============
+
+    @Test
+    void onMissingBeanBacksOffForExistingDefinition() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBeanDefinition("userCache", new RootBeanDefinition(Cache.class));
+        context.register(DefaultsConfig.class);
+        context.refresh();
+
+        assertFalse(context.containsBean("defaultCache"), "已经有Cache类型的Bean时不应该注册默认的");
+        assertFalse(context.containsBean("namedFallback"), "已经有名为userCache的Bean时不应该注册");
+        assertTrue(context.containsBean("unrelatedFallback"));
+        assertSame(context.getBean("userCache"), context.getBean(Cache.class));
+        assertTrue(findSkipped(context, DefaultsConfig.class, "defaultCache").message().contains("[userCache]"));
+    }
+
+    @Test
+    void onMissingBeanRegistersWhenNothingExists() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(DefaultsConfig.class);
+
+        assertTrue(context.containsBean("defaultCache"));
+        assertTrue(context.containsBean("namedFallback"));
+        assertSame(context.getBean("defaultCache"), context.getBean(Cache.class));
+    }
+
+    // ============ ConditionEvaluator ============
+
+    @Test
+    void overloadedBeanMethodsAreEvaluatedSeparately() throws NoSuchMethodException {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        ConditionEvaluator evaluator = new ConditionEvaluator(beanFactory);
+        StandardMethodMetadata noArgs = new StandardMethodMetadata(OverloadedConfig.class.getMethod("service"));
+        StandardMethodMetadata withArg = new StandardMethodMetadata(
+                OverloadedConfig.class.getMethod("service", String.class));
+
+        assertFalse(evaluator.shouldSkip(noArgs, ConfigurationPhase.REGISTER_BEAN));
+        assertTrue(evaluator.shouldSkip(withArg, ConfigurationPhase.REGISTER_BEAN));
+        // 第二次命中缓存，结果仍然各自独立
+        assertFalse(evaluator.shouldSkip(noArgs, ConfigurationPhase.REGISTER_BEAN));
+        assertTrue(evaluator.shouldSkip(withArg, ConfigurationPhase.REGISTER_BEAN));
+
+        List<ConditionEvaluationReport.Skipped> skipped = evaluator.getReport().getSkipped();
+        assertEquals(1, skipped.size());
+        assertEquals(OverloadedConfig.class.getName() + "#service(java.lang.String)", skipped.get(0).source());
+        assertEquals(Never.class.getName(), skipped.get(0).condition());
+    }
+
+    @Test
+    void skippedConfigurationClassDropsItsImports() {
+        System.setProperty(PREFIX + "enabled", "true");
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(FeatureRoot.class);
+
+        assertTrue(context.containsBean("featureOnBean"));
+        assertEquals(1, context.getBeanNamesForType(ImportedByOn.class, true, false).length);
+        assertFalse(context.containsBean("featureOffBean"));
+        assertEquals(0, context.getBeanNamesForType(ImportedByOff.class, true, false).length, "被跳过的配置类导入的类不应该注册");
+
+        ConditionEvaluationReport report = context.getBean(ConditionEvaluationReport.BEAN_NAME,
+                ConditionEvaluationReport.class);
+        assertTrue(report.isSkipped(FeatureOff.class.getName()));
+        assertFalse(report.isSkipped(FeatureOn.class.getName()));
+        assertFalse(report.isSkipped(ImportedByOff.class.getName()), "没有解析到的类不应该出现在报告中");
+    }
+
+    @Test
+    void reportListsEverySkippedSourceInOrder() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(FeatureRoot.class);
+
+        List<String> sources = context.getBean(ConditionEvaluationReport.BEAN_NAME, ConditionEvaluationReport.class)
+                .getSkipped().stream().map(ConditionEvaluationReport.Skipped::source).toList();
+        assertEquals(List.of(FeatureOn.class.getName(), FeatureOff.class.getName(),
+                FeatureRoot.class.getName() + "#needsMissingClass()"), sources);
+    }
+
+    private static ConditionEvaluationReport.Skipped findSkipped(AnnotationConfigApplicationContext context,
+                                                                Class<?> configClass, String methodName) {
+        String source = configClass.getName() + "#" + methodName + "()";
+        ConditionEvaluationReport report = context.getBean(ConditionEvaluationReport.BEAN_NAME,
+                ConditionEvaluationReport.class);
+        for (ConditionEvaluationReport.Skipped skipped : report.getSkipped()) {
+            if (skipped.source().equals(source)) {
+                return skipped;
+            }
+        }
+        throw new AssertionError("报告中没有 " + source + "，实际: " + report.getSkipped());
+    }
+
+    // ============ 测试配置类 ============
+
+    public static class Cache {
+    }
+
+    @Configuration
+    public static class PropertyConfig {
+
+        @Bean
+        @ConditionalOnProperty(prefix = PREFIX, name = "enabled")
+        public String enabledFlag() {
+            return "enabled";
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = PREFIX, name = "mode", havingValue = "fast")
+        public String fastMode() {
+            return "fast";
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = PREFIX, name = "mode", havingValue = "fast", matchIfMissing = true)
+        public String missingAllowed() {
+            return "missingAllowed";
+        }
+    }
+
+    @Configuration
+    public static class DefaultsConfig {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public Cache defaultCache() {
+            return new Cache();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = "userCache")
+        public String namedFallback() {
+            return "named";
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(name = "noSuchBean")
+        public String unrelatedFallback() {
+            return "unrelated";
+        }
+    }
+
+    public static class Always implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return true;
+        }
+    }
+
+    public static class Never implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return false;
+        }
+    }
+
+    public static class OverloadedConfig {
+
+        @Conditional(Always.class)
+        public Object service() {
+            return "service";
+        }
+
+        @Conditional(Never.class)
+        public Object service(String name) {
+            return name;
+        }
+    }
+
+    @Configuration
+    @Import({FeatureOn.class, FeatureOff.class})
+    public static class FeatureRoot {
+
+        @Bean
+        @ConditionalOnClass(name = "com.example.NoSuchClass")
+        public String needsMissingClass() {
+            return "missing";
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true")
+    @Import(ImportedByOn.class)
+    public static class FeatureOn {
+
+        @Bean
+        public String featureOnBean() {
+            return "on";
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = PREFIX, name = "mode")
+    @Import(ImportedByOff.class)
+    public static class FeatureOff {
+
+        @Bean
+        public String featureOffBean() {
+            return "off";
+        }
+    }
+
+    public static class ImportedByOn {
+    }
+
+    public static class ImportedByOff {
+    }
+}
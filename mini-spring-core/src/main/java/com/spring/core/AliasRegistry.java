@@ -0,0 +1,34 @@
+package com.spring.core;
+
+/**
+ * ClassName: AliasRegistry
+ * Description: 别名注册表 - 对应Spring的AliasRegistry
+ *
+ * @Author: csx
+ * @Create: 2025/12/6 - 15:40
+ * @version: v1.0
+ */
+public interface AliasRegistry {
+
+    /**
+     * 为名称注册别名
+     * @param name 规范名称（也可以是已注册的别名，会解析到最终的规范名称）
+     * @param alias 要注册的别名
+     */
+    void registerAlias(String name, String alias);
+
+    /**
+     * 移除别名
+     */
+    void removeAlias(String alias);
+
+    /**
+     * 名称是否是已注册的别名
+     */
+    boolean isAlias(String name);
+
+    /**
+     * 获取名称的所有别名
+     */
+    String[] getAliases(String name);
+}
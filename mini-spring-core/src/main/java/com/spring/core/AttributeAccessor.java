@@ -0,0 +1,35 @@
+package com.spring.core;
+
+/**
+ * ClassName: AttributeAccessor
+ * Description: 附加元数据的读写接口 - 对应Spring的AttributeAccessor
+ *
+ * 框架内部用来在对象上记录额外信息（例如配置类是full模式还是lite模式），不影响对象本身的语义
+ *
+ * @Author: csx
+ * @Create: 2025/12/10 - 20:10
+ * @version: v1.0
+ */
+public interface AttributeAccessor {
+
+    /**
+     * 设置属性，value为null时移除该属性
+     */
+    void setAttribute(String name, Object value);
+
+    /**
+     * 获取属性，不存在时返回null
+     */
+    Object getAttribute(String name);
+
+    /**
+     * 移除属性
+     * @return 被移除的值，不存在时返回null
+     */
+    Object removeAttribute(String name);
+
+    /**
+     * 是否存在该属性
+     */
+    boolean hasAttribute(String name);
+}
@@ -0,0 +1,130 @@
+package com.spring.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ClassName: SimpleAliasRegistry
+ * Description:
+ *
+ * 别名注册表的简单实现 - 对应Spring的SimpleAliasRegistry
+ *
+ * 别名在注册时就解析到最终的规范名称（别名的别名也直接指向规范名称），
+ * 所以canonicalName()只需一次哈希查找，不需要沿着别名链循环，也不分配对象
+ *
+ * 注册只发生在启动阶段，冻结后发布不可变快照，之后的查找只读快照，不能再注册或移除别名
+ *
+ * @Author: csx
+ * @Create: 2025/12/6 - 15:40
+ * @version: v1.0
+ */
+@Slf4j
+public class SimpleAliasRegistry implements AliasRegistry {
+
+    /** 别名 -> 规范名称（规范名称本身不会再是别名，所以不会形成别名循环） */
+    private final Map<String, String> aliasMap = new ConcurrentHashMap<>(16);
+
+    /** 冻结后的不可变快照，冻结前为null */
+    private volatile Map<String, String> frozenAliasMap;
+
+    @Override
+    public void registerAlias(String name, String alias) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("名称不得为空");
+        }
+        if (alias == null || alias.isEmpty()) {
+            throw new IllegalArgumentException("别名不得为空");
+        }
+        synchronized (this.aliasMap) {
+            checkNotFrozen(alias);
+            String canonicalName = canonicalName(name);
+            if (alias.equals(canonicalName)) {
+                // 别名就是规范名称本身：移除可能存在的旧别名
+                if (this.aliasMap.remove(alias) != null) {
+                    log.debug("别名与规范名称相同，移除别名: {}", alias);
+                }
+                return;
+            }
+            String registeredName = this.aliasMap.get(alias);
+            if (canonicalName.equals(registeredName)) {
+                return;
+            }
+            if (registeredName != null) {
+                log.info("覆盖别名: {} ({} -> {})", alias, registeredName, canonicalName);
+            }
+            this.aliasMap.put(alias, canonicalName);
+            // alias原来是其它别名的规范名称：这些别名改为直接指向新的规范名称
+            this.aliasMap.replaceAll((existingAlias, target) -> (target.equals(alias) ? canonicalName : target));
+            log.debug("注册别名: {} -> {}", alias, canonicalName);
+        }
+    }
+
+    @Override
+    public void removeAlias(String alias) {
+        synchronized (this.aliasMap) {
+            checkNotFrozen(alias);
+            if (this.aliasMap.remove(alias) == null) {
+                throw new IllegalStateException("没有注册别名: " + alias);
+            }
+            log.debug("移除别名: {}", alias);
+        }
+    }
+
+    @Override
+    public boolean isAlias(String name) {
+        return currentAliasMap().containsKey(name);
+    }
+
+    @Override
+    public String[] getAliases(String name) {
+        String canonicalName = canonicalName(name);
+        List<String> aliases = new ArrayList<>();
+        currentAliasMap().forEach((alias, target) -> {
+            if (target.equals(canonicalName) && !alias.equals(name)) {
+                aliases.add(alias);
+            }
+        });
+        // 传入的是别名时，规范名称也算它的"别名"
+        if (!canonicalName.equals(name)) {
+            aliases.add(canonicalName);
+        }
+        return aliases.toArray(new String[0]);
+    }
+
+    /**
+     * 解析名称对应的规范名称，不是别名时返回名称本身
+     */
+    public String canonicalName(String name) {
+        String canonicalName = currentAliasMap().get(name);
+        return (canonicalName != null ? canonicalName : name);
+    }
+
+    /**
+     * 冻结别名注册表：发布不可变快照，之后不能再注册或移除别名
+     */
+    public void freezeAliases() {
+        synchronized (this.aliasMap) {
+            this.frozenAliasMap = Map.copyOf(this.aliasMap);
+        }
+        log.debug("别名注册表已冻结，共 {} 个别名", this.frozenAliasMap.size());
+    }
+
+    public boolean isAliasRegistryFrozen() {
+        return (this.frozenAliasMap != null);
+    }
+
+    private Map<String, String> currentAliasMap() {
+        Map<String, String> frozen = this.frozenAliasMap;
+        return (frozen != null ? frozen : this.aliasMap);
+    }
+
+    private void checkNotFrozen(String alias) {
+        if (this.frozenAliasMap != null) {
+            throw new IllegalStateException("别名注册表已冻结，无法修改别名: " + alias);
+        }
+    }
+}
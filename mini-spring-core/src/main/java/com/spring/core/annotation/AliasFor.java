@@ -0,0 +1,32 @@
+package com.spring.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * ClassName: AliasFor
+ * Description: 声明注解属性是元注解属性的别名 - 对应Spring的@AliasFor
+ *
+ * 例如@Service的value属性标注@AliasFor(annotation = Component.class)后，
+ * 查询@Service类上的@Component属性时，value会取@Service上声明的值
+ *
+ * 注意：只支持覆盖元注解的属性（annotation必须指定），不支持同一注解内属性互为别名
+ *
+ * @Author: csx
+ * @Create: 2025/12/8 - 21:40
+ * @version: v1.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AliasFor {
+
+    /**
+     * 被覆盖的元注解属性名，默认与当前属性同名
+     */
+    String attribute() default "";
+
+    /**
+     * 被覆盖属性所在的元注解类型
+     */
+    Class<? extends Annotation> annotation() default Annotation.class;
+}
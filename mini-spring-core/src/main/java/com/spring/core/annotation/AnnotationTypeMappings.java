@@ -0,0 +1,232 @@
+package com.spring.core.annotation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * ClassName: AnnotationTypeMappings
+ * Description: 注解类型的元注解闭包 - 对应Spring的AnnotationTypeMappings
+ *
+ * 每个注解类型只解析一次（多个容器共享）：
+ *  1. 传递闭包内所有元注解的全限定名，判断是否(元)标注某个注解只需一次Set查找
+ *  2. 每个元注解的属性值（从元注解实例读取，按广度优先取距离最近的实例）
+ *  3. @AliasFor声明的属性覆盖关系：元注解属性 -> 根注解属性，支持跨多层元注解传递
+ *
+ * 缓存的内容都是不可变的，可以在多线程、多个容器之间安全共享
+ *
+ * 缓存放在ClassValue中：结果挂在注解类的Class对象上，类加载器被回收时缓存一起被回收，
+ * 不会因为全局静态Map持有注解类而导致重新部署后的类加载器泄漏
+ *
+ * @Author: csx
+ * @Create: 2025/12/8 - 21:45
+ * @version: v1.0
+ */
+@Slf4j
+public final class AnnotationTypeMappings {
+
+    private static final ClassValue<AnnotationTypeMappings> cache = new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected AnnotationTypeMappings computeValue(Class<?> annotationType) {
+            return introspect((Class<? extends Annotation>) annotationType);
+        }
+    };
+
+    private final Class<? extends Annotation> annotationType;
+
+    /** 注解本身和所有元注解的全限定名 */
+    private final Set<String> annotationTypes;
+
+    /** 元注解全限定名 -> 元注解映射（按广度优先顺序） */
+    private final Map<String, MetaAnnotation> metaAnnotations;
+
+    private AnnotationTypeMappings(Class<? extends Annotation> annotationType,
+                                   Map<String, MetaAnnotation> metaAnnotations) {
+        this.annotationType = annotationType;
+        this.metaAnnotations = Collections.unmodifiableMap(metaAnnotations);
+        Set<String> annotationTypes = new LinkedHashSet<>();
+        annotationTypes.add(annotationType.getName());
+        annotationTypes.addAll(metaAnnotations.keySet());
+        this.annotationTypes = Collections.unmodifiableSet(annotationTypes);
+    }
+
+    /**
+     * 获取注解类型的元注解闭包，第一次调用时解析并缓存
+     */
+    public static AnnotationTypeMappings forAnnotationType(Class<? extends Annotation> annotationType) {
+        return cache.get(annotationType);
+    }
+
+    /**
+     * 判断是否为Java语言内置的注解（@Retention、@Target、@Documented等），不参与元注解解析
+     */
+    public static boolean isJavaLangAnnotation(Class<? extends Annotation> annotationType) {
+        return annotationType.getName().startsWith("java.lang.");
+    }
+
+    // ============ 查询 ============
+
+    public Class<? extends Annotation> getAnnotationType() {
+        return this.annotationType;
+    }
+
+    /**
+     * 注解本身和所有元注解的全限定名
+     */
+    public Set<String> getAnnotationTypes() {
+        return this.annotationTypes;
+    }
+
+    /**
+     * 是否是该注解本身或者它的(传递)元注解
+     */
+    public boolean isPresent(String annotationName) {
+        return this.annotationTypes.contains(annotationName);
+    }
+
+    /**
+     * 获取元注解映射，不存在时返回null
+     */
+    public MetaAnnotation getMetaAnnotation(String annotationName) {
+        return this.metaAnnotations.get(annotationName);
+    }
+
+    /**
+     * 获取元注解的属性，并用根注解上的属性值覆盖@AliasFor声明的属性
+     *
+     * @param rootAttributes 根注解（被直接标注的注解）的属性
+     * @return 元注解属性，没有该元注解时返回null
+     */
+    public Map<String, Object> getMetaAnnotationAttributes(String annotationName, Map<String, Object> rootAttributes) {
+        MetaAnnotation metaAnnotation = this.metaAnnotations.get(annotationName);
+        return (metaAnnotation != null ? metaAnnotation.mergeAttributes(rootAttributes) : null);
+    }
+
+    // ============ 解析 ============
+
+    /**
+     * 广度优先遍历元注解图，同一个元注解只取距离最近的一次
+     */
+    private static AnnotationTypeMappings introspect(Class<? extends Annotation> annotationType) {
+        log.debug("解析注解 {} 的元注解", annotationType.getName());
+
+        Map<String, MetaAnnotation> metaAnnotations = new LinkedHashMap<>();
+        Set<Class<?>> visited = new HashSet<>();
+        visited.add(annotationType);
+
+        // 根注解的属性都来自根注解自身
+        Map<String, String> rootAliases = new HashMap<>();
+        for (Method method : annotationType.getDeclaredMethods()) {
+            if (isAttributeMethod(method)) {
+                rootAliases.put(method.getName(), method.getName());
+            }
+        }
+
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(new Node(annotationType, rootAliases));
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Annotation metaAnnotation : node.annotationType().getDeclaredAnnotations()) {
+                Class<? extends Annotation> metaAnnotationType = metaAnnotation.annotationType();
+                if (isJavaLangAnnotation(metaAnnotationType) || !visited.add(metaAnnotationType)) {
+                    continue;
+                }
+                Map<String, String> aliases = resolveAliases(node, metaAnnotationType);
+                String metaAnnotationName = metaAnnotationType.getName();
+                metaAnnotations.put(metaAnnotationName, new MetaAnnotation(metaAnnotationName,
+                        extractAttributes(metaAnnotation), aliases));
+                queue.add(new Node(metaAnnotationType, aliases));
+            }
+        }
+
+        log.debug("注解 {} 的元注解: {}", annotationType.getName(), metaAnnotations.keySet());
+        return new AnnotationTypeMappings(annotationType, metaAnnotations);
+    }
+
+    /**
+     * 解析node上指向metaAnnotationType的@AliasFor，得到 元注解属性 -> 根注解属性
+     * node的属性本身不是根注解属性的别名时，不会继续向上传递
+     */
+    private static Map<String, String> resolveAliases(Node node, Class<? extends Annotation> metaAnnotationType) {
+        Map<String, String> aliases = null;
+        for (Method method : node.annotationType().getDeclaredMethods()) {
+            String rootAttribute = node.aliases().get(method.getName());
+            if (rootAttribute == null) {
+                continue;
+            }
+            AliasFor aliasFor = method.getAnnotation(AliasFor.class);
+            if (aliasFor == null || aliasFor.annotation() != metaAnnotationType) {
+                continue;
+            }
+            String targetAttribute = (aliasFor.attribute().isEmpty() ? method.getName() : aliasFor.attribute());
+            try {
+                metaAnnotationType.getDeclaredMethod(targetAttribute);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("@AliasFor声明的属性不存在: " + node.annotationType().getName() +
+                        "." + method.getName() + " -> " + metaAnnotationType.getName() + "." + targetAttribute);
+            }
+            if (aliases == null) {
+                aliases = new HashMap<>();
+            }
+            aliases.put(targetAttribute, rootAttribute);
+        }
+        return (aliases != null ? Map.copyOf(aliases) : Map.of());
+    }
+
+    private static boolean isAttributeMethod(Method method) {
+        return method.getParameterCount() == 0 && method.getReturnType() != void.class;
+    }
+
+    /**
+     * 通过反射提取元注解实例的属性
+     */
+    private static Map<String, Object> extractAttributes(Annotation annotation) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (Method method : annotation.annotationType().getDeclaredMethods()) {
+            if (isAttributeMethod(method)) {
+                try {
+                    method.setAccessible(true);
+                    attributes.put(method.getName(), method.invoke(annotation));
+                } catch (Exception e) {
+                    log.debug("获取注解属性失败: {}.{}", annotation.annotationType().getSimpleName(), method.getName());
+                }
+            }
+        }
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    /**
+     * 遍历中的一个注解类型，aliases：该注解属性 -> 根注解属性
+     */
+    private record Node(Class<? extends Annotation> annotationType, Map<String, String> aliases) {
+    }
+
+    /**
+     * 元注解映射
+     *
+     * @param annotationName 元注解全限定名
+     * @param attributes     元注解实例上的属性（不可变）
+     * @param aliases        @AliasFor覆盖关系：元注解属性 -> 根注解属性
+     */
+    public record MetaAnnotation(String annotationName, Map<String, Object> attributes, Map<String, String> aliases) {
+
+        /**
+         * 合并根注解的属性值；没有@AliasFor覆盖时直接返回共享的不可变属性
+         */
+        public Map<String, Object> mergeAttributes(Map<String, Object> rootAttributes) {
+            if (this.aliases.isEmpty() || rootAttributes == null) {
+                return this.attributes;
+            }
+            Map<String, Object> merged = new LinkedHashMap<>(this.attributes);
+            for (Map.Entry<String, String> entry : this.aliases.entrySet()) {
+                if (rootAttributes.containsKey(entry.getValue())) {
+                    merged.put(entry.getKey(), rootAttributes.get(entry.getValue()));
+                }
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.spring.core.annotation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ClassName: DeclaredAnnotationAttributes
+ * Description: 类或方法上声明的注解及其属性（同一个类/方法的元数据对象共享）
+ *
+ * 缓存放在ClassValue中：类的结果挂在类本身上，方法等成员的结果挂在声明它的类上，
+ * 类加载器被回收时缓存一起被回收，不会因为全局静态Map持有Class/Method而导致类加载器泄漏
+ *
+ * 所有内容都在第一次访问时才计算：
+ *  1. 创建时只读取声明的注解实例，不调用任何注解属性方法
+ *  2. 直接注解和元注解闭包的全限定名集合在第一次isAnnotated时合并
+ *  3. 注解属性在第一次查询该注解时通过反射读取，结果是不可变Map，之后直接复用
+ *
+ * @Author: csx
+ * @Create: 2025/12/9 - 20:30
+ * @version: v1.0
+ */
+@Slf4j
+public final class DeclaredAnnotationAttributes {
+
+    /** 类 -> 类上声明的注解 */
+    private static final ClassValue<DeclaredAnnotationAttributes> classCache = new ClassValue<>() {
+        @Override
+        protected DeclaredAnnotationAttributes computeValue(Class<?> clazz) {
+            return new DeclaredAnnotationAttributes(clazz);
+        }
+    };
+
+    /** 声明类 -> {方法/字段/构造方法 -> 声明的注解} */
+    private static final ClassValue<Map<Member, DeclaredAnnotationAttributes>> memberCache = new ClassValue<>() {
+        @Override
+        protected Map<Member, DeclaredAnnotationAttributes> computeValue(Class<?> declaringClass) {
+            return new ConcurrentHashMap<>(16);
+        }
+    };
+
+    private final AnnotatedElement element;
+
+    /** 直接注解：注解全限定名 -> 注解实例（保持声明顺序） */
+    private final Map<String, Annotation> annotations;
+
+    /** 直接注解和所有元注解的全限定名，第一次isAnnotated时计算 */
+    private volatile Set<String> allAnnotationTypes;
+
+    /** 注解全限定名 -> 不可变属性（直接注解和元注解都缓存） */
+    private final Map<String, Map<String, Object>> attributesCache = new ConcurrentHashMap<>(8);
+
+    private DeclaredAnnotationAttributes(AnnotatedElement element) {
+        this.element = element;
+        Annotation[] declaredAnnotations = element.getDeclaredAnnotations();
+        if (declaredAnnotations.length == 0) {
+            this.annotations = Map.of();
+        } else {
+            Map<String, Annotation> annotations = new LinkedHashMap<>(declaredAnnotations.length * 2);
+            for (Annotation annotation : declaredAnnotations) {
+                annotations.put(annotation.annotationType().getName(), annotation);
+            }
+            this.annotations = Collections.unmodifiableMap(annotations);
+        }
+    }
+
+    /**
+     * 获取类或方法上声明的注解，第一次调用时创建并缓存
+     */
+    public static DeclaredAnnotationAttributes forElement(AnnotatedElement element) {
+        if (element instanceof Class<?> clazz) {
+            return classCache.get(clazz);
+        }
+        if (!(element instanceof Member member)) {
+            // 参数、包等其它元素不缓存
+            return new DeclaredAnnotationAttributes(element);
+        }
+        Map<Member, DeclaredAnnotationAttributes> cache = memberCache.get(member.getDeclaringClass());
+        DeclaredAnnotationAttributes attributes = cache.get(member);
+        if (attributes == null) {
+            attributes = new DeclaredAnnotationAttributes(element);
+            DeclaredAnnotationAttributes existing = cache.putIfAbsent(member, attributes);
+            if (existing != null) {
+                attributes = existing;
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * 清除某个类及其成员的缓存（类被重新定义等场景）
+     */
+    public static void clearClassCache(Class<?> clazz) {
+        classCache.remove(clazz);
+        memberCache.remove(clazz);
+    }
+
+    // ============ 查询 ============
+
+    /**
+     * 直接声明的注解全限定名（不可变）
+     */
+    public Set<String> getAnnotationTypes() {
+        return this.annotations.keySet();
+    }
+
+    /**
+     * 是否直接声明了该注解
+     */
+    public boolean isDirectlyAnnotated(String annotationName) {
+        return this.annotations.containsKey(annotationName);
+    }
+
+    /**
+     * 是否直接或通过元注解标注了该注解
+     */
+    public boolean isAnnotated(String annotationName) {
+        return this.annotations.containsKey(annotationName) || getAllAnnotationTypes().contains(annotationName);
+    }
+
+    /**
+     * 获取直接注解的属性
+     * @return 不可变属性，没有直接声明该注解时返回null
+     */
+    public Map<String, Object> getAttributes(String annotationName) {
+        Annotation annotation = this.annotations.get(annotationName);
+        if (annotation == null) {
+            return null;
+        }
+        Map<String, Object> attributes = this.attributesCache.get(annotationName);
+        if (attributes == null) {
+            attributes = extractAttributes(annotation);
+            Map<String, Object> existing = this.attributesCache.putIfAbsent(annotationName, attributes);
+            if (existing != null) {
+                attributes = existing;
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * 获取注解属性：直接注解优先，否则按直接注解的声明顺序查找元注解，
+     * 元注解上@AliasFor声明的属性用直接注解上的值覆盖
+     * @return 不可变属性，直接或间接都没有该注解时返回null
+     */
+    public Map<String, Object> getMergedAttributes(String annotationName) {
+        if (this.annotations.containsKey(annotationName)) {
+            return getAttributes(annotationName);
+        }
+        if (!getAllAnnotationTypes().contains(annotationName)) {
+            return null;
+        }
+        Map<String, Object> attributes = this.attributesCache.get(annotationName);
+        if (attributes == null) {
+            attributes = findMetaAnnotationAttributes(annotationName);
+            if (attributes == null) {
+                return null;
+            }
+            Map<String, Object> existing = this.attributesCache.putIfAbsent(annotationName, attributes);
+            if (existing != null) {
+                attributes = existing;
+            }
+        }
+        return attributes;
+    }
+
+    // ============ 内部实现 ============
+
+    private Set<String> getAllAnnotationTypes() {
+        Set<String> allAnnotationTypes = this.allAnnotationTypes;
+        if (allAnnotationTypes == null) {
+            Set<String> annotationTypes = new HashSet<>();
+            for (Annotation annotation : this.annotations.values()) {
+                annotationTypes.addAll(AnnotationTypeMappings.forAnnotationType(annotation.annotationType())
+                        .getAnnotationTypes());
+            }
+            allAnnotationTypes = Set.copyOf(annotationTypes);
+            this.allAnnotationTypes = allAnnotationTypes;
+        }
+        return allAnnotationTypes;
+    }
+
+    private Map<String, Object> findMetaAnnotationAttributes(String annotationName) {
+        for (Map.Entry<String, Annotation> entry : this.annotations.entrySet()) {
+            AnnotationTypeMappings.MetaAnnotation metaAnnotation = AnnotationTypeMappings
+                    .forAnnotationType(entry.getValue().annotationType()).getMetaAnnotation(annotationName);
+            if (metaAnnotation != null) {
+                if (metaAnnotation.aliases().isEmpty()) {
+                    return metaAnnotation.attributes();
+                }
+                return Collections.unmodifiableMap(metaAnnotation.mergeAttributes(getAttributes(entry.getKey())));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 通过反射读取注解实例的属性
+     */
+    private Map<String, Object> extractAttributes(Annotation annotation) {
+        log.debug("读取 {} 上的注解属性: {}", this.element, annotation.annotationType().getName());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (Method method : annotation.annotationType().getDeclaredMethods()) {
+            if (method.getParameterCount() == 0 && method.getReturnType() != void.class) {
+                try {
+                    method.setAccessible(true);
+                    attributes.put(method.getName(), method.invoke(annotation));
+                } catch (Exception e) {
+                    log.debug("获取注解属性失败: {}.{}", annotation.annotationType().getSimpleName(), method.getName());
+                    // 忽略单个属性获取失败，继续处理其他属性
+                }
+            }
+        }
+        return Collections.unmodifiableMap(attributes);
+    }
+}
@@ -0,0 +1,37 @@
+package com.spring.core.convert;
+
+import java.lang.reflect.Type;
+
+/**
+ * ClassName: ConversionService
+ * Description:
+ *
+ * 类型转换服务 - 对应Spring的ConversionService
+ * 主要用于属性绑定：把配置中的字符串转换为属性需要的类型（基本类型、枚举、Duration、集合等）
+ *
+ * 目标类型使用java.lang.reflect.Type，可以是带泛型的集合类型（如List&lt;Integer&gt;），
+ * 此时集合元素也会被转换
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 1:20
+ * @version: v1.0
+ */
+public interface ConversionService {
+
+    /**
+     * 能否把sourceType转换为targetType（只判断，不会抛出异常）
+     */
+    boolean canConvert(Class<?> sourceType, Type targetType);
+
+    /**
+     * 转换为指定类型
+     * @throws IllegalArgumentException 不支持的转换或者源值格式错误
+     */
+    <T> T convert(Object source, Class<T> targetType);
+
+    /**
+     * 转换为指定类型（支持带泛型的集合类型）
+     * @throws IllegalArgumentException 不支持的转换或者源值格式错误
+     */
+    Object convert(Object source, Type targetType);
+}
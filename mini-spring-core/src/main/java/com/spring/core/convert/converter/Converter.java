@@ -0,0 +1,18 @@
+package com.spring.core.convert.converter;
+
+/**
+ * ClassName: Converter
+ * Description:
+ *
+ * 类型转换器 - 对应Spring的Converter
+ * 把S类型的源对象转换为T类型，源对象不会为null
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 1:20
+ * @version: v1.0
+ */
+@FunctionalInterface
+public interface Converter<S, T> {
+
+    T convert(S source);
+}
@@ -0,0 +1,409 @@
+package com.spring.core.convert.support;
+
+import com.spring.core.convert.ConversionService;
+import com.spring.core.convert.converter.Converter;
+import com.spring.util.ClassUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ClassName: DefaultConversionService
+ * Description:
+ *
+ * 默认的类型转换服务 - 对应Spring的DefaultConversionService
+ *
+ * 内置转换：
+ *  String -> 基本类型/包装类型、BigDecimal、BigInteger、Character、Boolean（true/false/yes/no/on/off/1/0）
+ *  String -> 枚举（按名称）
+ *  String -> Duration（ISO-8601格式如PT10S，或简单格式如500ms、10s、5m、2h、1d，纯数字按毫秒）
+ *  String -> 数组/Collection/List/Set（逗号分隔，元素按泛型类型转换）
+ *  Collection/数组 -> Collection/数组（元素按泛型类型转换）
+ *  Number -> 其它数字类型
+ *  任意类型 -> String
+ *
+ * 转换器解析结果按(源类型, 目标类型)缓存，包括"无法转换"的结果：
+ * 同一个属性类型只解析一次，canConvert判断不会创建异常对象
+ *
+ * 可以通过addConverter注册自定义转换器（优先于内置的枚举/集合/String转换）
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 1:20
+ * @version: v1.0
+ */
+@Slf4j
+public class DefaultConversionService implements ConversionService {
+
+    private static volatile DefaultConversionService sharedInstance;
+
+    /** 无需转换 */
+    private static final Converter<Object, Object> NO_OP = source -> source;
+
+    /** 无法转换（缓存负结果） */
+    private static final Converter<Object, Object> NO_MATCH = source -> {
+        throw new IllegalStateException("NO_MATCH不应被调用");
+    };
+
+    /** 注册的转换器：源类型 -> (目标类型 -> 转换器) */
+    private final Map<Class<?>, Map<Class<?>, Converter<Object, Object>>> converters = new ConcurrentHashMap<>(32);
+
+    /** 解析结果缓存：(源类型, 目标类型) -> 转换器 */
+    private final Map<ConverterCacheKey, Converter<Object, Object>> converterCache = new ConcurrentHashMap<>(64);
+
+    public DefaultConversionService() {
+        addDefaultConverters();
+    }
+
+    /**
+     * 获取共享的默认实例（懒加载）
+     */
+    public static ConversionService getSharedInstance() {
+        DefaultConversionService cs = sharedInstance;
+        if (cs == null) {
+            synchronized (DefaultConversionService.class) {
+                cs = sharedInstance;
+                if (cs == null) {
+                    cs = new DefaultConversionService();
+                    sharedInstance = cs;
+                }
+            }
+        }
+        return cs;
+    }
+
+    /**
+     * 注册转换器（基本类型会自动对应到包装类型）
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> void addConverter(Class<S> sourceType, Class<T> targetType, Converter<? super S, ? extends T> converter) {
+        this.converters.computeIfAbsent(ClassUtils.resolvePrimitiveIfNecessary(sourceType), key -> new ConcurrentHashMap<>(8))
+                .put(ClassUtils.resolvePrimitiveIfNecessary(targetType), (Converter<Object, Object>) converter);
+        this.converterCache.clear();
+    }
+
+    // ============ ConversionService 接口实现 ============
+
+    @Override
+    public boolean canConvert(Class<?> sourceType, Type targetType) {
+        if (sourceType == null) {
+            return true;
+        }
+        return getConverter(sourceType, targetType) != NO_MATCH;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T convert(Object source, Class<T> targetType) {
+        return (T) convert(source, (Type) targetType);
+    }
+
+    @Override
+    public Object convert(Object source, Type targetType) {
+        if (source == null) {
+            if (targetType instanceof Class<?> clazz && clazz.isPrimitive()) {
+                throw new IllegalArgumentException("null不能转换为基本类型: " + clazz.getName());
+            }
+            return null;
+        }
+        Converter<Object, Object> converter = getConverter(source.getClass(), targetType);
+        if (converter == NO_MATCH) {
+            throw new IllegalArgumentException("不支持的类型转换: " + source.getClass().getName() +
+                    " -> " + targetType.getTypeName());
+        }
+        try {
+            return converter.convert(source);
+        } catch (IllegalArgumentException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("类型转换失败: [" + source + "] -> " + targetType.getTypeName(), ex);
+        }
+    }
+
+    // ============ 转换器解析 ============
+
+    /**
+     * 获取转换器（带缓存），无法转换时返回NO_MATCH
+     */
+    private Converter<Object, Object> getConverter(Class<?> sourceType, Type targetType) {
+        ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
+        Converter<Object, Object> converter = this.converterCache.get(key);
+        if (converter == null) {
+            converter = resolveConverter(sourceType, targetType);
+            this.converterCache.put(key, converter);
+            if (log.isDebugEnabled()) {
+                log.debug("解析类型转换: {} -> {}，{}", sourceType.getName(), targetType.getTypeName(),
+                        (converter == NO_MATCH ? "不支持" : "已缓存"));
+            }
+        }
+        return converter;
+    }
+
+    private Converter<Object, Object> resolveConverter(Class<?> sourceType, Type targetType) {
+        Class<?> targetClass = resolveClass(targetType);
+        if (targetClass == null) {
+            return NO_MATCH;
+        }
+        targetClass = ClassUtils.resolvePrimitiveIfNecessary(targetClass);
+
+        // 1. 集合/数组目标类型：元素需要逐个转换
+        if (targetClass.isArray()) {
+            return resolveArrayConverter(sourceType, targetClass);
+        }
+        if (Collection.class.isAssignableFrom(targetClass) &&
+                (sourceType == String.class || sourceType.isArray() || Collection.class.isAssignableFrom(sourceType))) {
+            return resolveCollectionConverter(targetType, targetClass);
+        }
+
+        // 2. 类型已经兼容
+        if (targetClass.isAssignableFrom(sourceType)) {
+            return NO_OP;
+        }
+
+        // 3. 注册的转换器（按源类型的继承层次查找）
+        Converter<Object, Object> registered = findRegisteredConverter(sourceType, targetClass);
+        if (registered != null) {
+            return registered;
+        }
+
+        // 4. 枚举
+        if (sourceType == String.class && targetClass.isEnum()) {
+            return stringToEnum(targetClass);
+        }
+
+        // 5. 任意类型 -> String
+        if (targetClass == String.class) {
+            return String::valueOf;
+        }
+        return NO_MATCH;
+    }
+
+    private Converter<Object, Object> findRegisteredConverter(Class<?> sourceType, Class<?> targetClass) {
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        queue.add(sourceType);
+        while (!queue.isEmpty()) {
+            Class<?> candidate = queue.poll();
+            if (!visited.add(candidate)) {
+                continue;
+            }
+            Map<Class<?>, Converter<Object, Object>> targets = this.converters.get(candidate);
+            if (targets != null) {
+                Converter<Object, Object> converter = targets.get(targetClass);
+                if (converter != null) {
+                    return converter;
+                }
+            }
+            if (candidate.getSuperclass() != null) {
+                queue.add(candidate.getSuperclass());
+            }
+            queue.addAll(Arrays.asList(candidate.getInterfaces()));
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Converter<Object, Object> stringToEnum(Class<?> enumType) {
+        return source -> {
+            String value = ((String) source).trim();
+            if (value.isEmpty()) {
+                return null;
+            }
+            return Enum.valueOf((Class<? extends Enum>) enumType, value);
+        };
+    }
+
+    private Converter<Object, Object> resolveArrayConverter(Class<?> sourceType, Class<?> targetClass) {
+        Class<?> componentType = targetClass.getComponentType();
+        if (targetClass.isAssignableFrom(sourceType)) {
+            return NO_OP;
+        }
+        if (sourceType != String.class && !sourceType.isArray() && !Collection.class.isAssignableFrom(sourceType)) {
+            return NO_MATCH;
+        }
+        return source -> {
+            List<Object> elements = toElementList(source);
+            Object array = Array.newInstance(componentType, elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                Array.set(array, i, convert(elements.get(i), componentType));
+            }
+            return array;
+        };
+    }
+
+    private Converter<Object, Object> resolveCollectionConverter(Type targetType, Class<?> targetClass) {
+        Type elementType = resolveElementType(targetType);
+        boolean set = Set.class.isAssignableFrom(targetClass);
+        if (!targetClass.isInterface() && !targetClass.isAssignableFrom(set ? LinkedHashSet.class : ArrayList.class)) {
+            return NO_MATCH;
+        }
+        return source -> {
+            List<Object> elements = toElementList(source);
+            Collection<Object> result = (set ? new LinkedHashSet<>(elements.size() * 2) : new ArrayList<>(elements.size()));
+            for (Object element : elements) {
+                result.add(convert(element, elementType));
+            }
+            return result;
+        };
+    }
+
+    /**
+     * 把String（逗号分隔）、数组、Collection统一为元素列表
+     */
+    private static List<Object> toElementList(Object source) {
+        if (source instanceof String str) {
+            List<Object> elements = new ArrayList<>();
+            if (str.isBlank()) {
+                return elements;
+            }
+            for (String token : str.split(",")) {
+                elements.add(token.trim());
+            }
+            return elements;
+        }
+        if (source instanceof Collection<?> collection) {
+            return new ArrayList<>(collection);
+        }
+        int length = Array.getLength(source);
+        List<Object> elements = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            elements.add(Array.get(source, i));
+        }
+        return elements;
+    }
+
+    private static Class<?> resolveClass(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterizedType && parameterizedType.getRawType() instanceof Class<?> raw) {
+            return raw;
+        }
+        return null;
+    }
+
+    /**
+     * 集合的元素类型：List&lt;Integer&gt; -> Integer，无法确定时为String（保持原样）
+     */
+    private static Type resolveElementType(Type collectionType) {
+        if (collectionType instanceof ParameterizedType parameterizedType) {
+            Type elementType = parameterizedType.getActualTypeArguments()[0];
+            if (elementType instanceof WildcardType wildcardType) {
+                elementType = wildcardType.getUpperBounds()[0];
+            }
+            if (resolveClass(elementType) != null) {
+                return elementType;
+            }
+        }
+        return Object.class;
+    }
+
+    // ============ 内置转换器 ============
+
+    private void addDefaultConverters() {
+        addConverter(String.class, Integer.class, source -> parseNumber(source, Integer::valueOf));
+        addConverter(String.class, Long.class, source -> parseNumber(source, Long::valueOf));
+        addConverter(String.class, Short.class, source -> parseNumber(source, Short::valueOf));
+        addConverter(String.class, Byte.class, source -> parseNumber(source, Byte::valueOf));
+        addConverter(String.class, Double.class, source -> parseNumber(source, Double::valueOf));
+        addConverter(String.class, Float.class, source -> parseNumber(source, Float::valueOf));
+        addConverter(String.class, BigDecimal.class, source -> parseNumber(source, BigDecimal::new));
+        addConverter(String.class, BigInteger.class, source -> parseNumber(source, BigInteger::new));
+        addConverter(String.class, Boolean.class, DefaultConversionService::parseBoolean);
+        addConverter(String.class, Character.class, DefaultConversionService::parseCharacter);
+        addConverter(String.class, Duration.class, DefaultConversionService::parseDuration);
+
+        addConverter(Number.class, Integer.class, Number::intValue);
+        addConverter(Number.class, Long.class, Number::longValue);
+        addConverter(Number.class, Short.class, Number::shortValue);
+        addConverter(Number.class, Byte.class, Number::byteValue);
+        addConverter(Number.class, Double.class, Number::doubleValue);
+        addConverter(Number.class, Float.class, Number::floatValue);
+        addConverter(Number.class, BigDecimal.class, source -> new BigDecimal(source.toString()));
+        addConverter(Number.class, BigInteger.class, source -> BigInteger.valueOf(source.longValue()));
+    }
+
+    private static <T> T parseNumber(String source, Converter<String, T> parser) {
+        String value = source.trim();
+        return (value.isEmpty() ? null : parser.convert(value));
+    }
+
+    private static Boolean parseBoolean(String source) {
+        String value = source.trim().toLowerCase(Locale.ROOT);
+        switch (value) {
+            case "":
+                return null;
+            case "true": case "yes": case "on": case "1":
+                return Boolean.TRUE;
+            case "false": case "no": case "off": case "0":
+                return Boolean.FALSE;
+            default:
+                throw new IllegalArgumentException("无效的布尔值: [" + source + "]");
+        }
+    }
+
+    private static Character parseCharacter(String source) {
+        if (source.isEmpty()) {
+            return null;
+        }
+        if (source.length() > 1) {
+            throw new IllegalArgumentException("只能把长度为1的字符串转换为字符: [" + source + "]");
+        }
+        return source.charAt(0);
+    }
+
+    /**
+     * 解析Duration：ISO-8601（PT10S）或简单格式（500ms、10s、5m、2h、1d），纯数字按毫秒
+     */
+    private static Duration parseDuration(String source) {
+        String value = source.trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+        if (value.startsWith("P") || value.startsWith("-P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+
+        int unitStart = 0;
+        while (unitStart < value.length() &&
+                (Character.isDigit(value.charAt(unitStart)) || (unitStart == 0 && value.charAt(0) == '-'))) {
+            unitStart++;
+        }
+        if (unitStart == 0 || (unitStart == 1 && value.charAt(0) == '-')) {
+            throw new IllegalArgumentException("无效的Duration: [" + source + "]");
+        }
+        long amount = Long.parseLong(value.substring(0, unitStart));
+        String unit = value.substring(unitStart).trim().toLowerCase(Locale.ROOT);
+        switch (unit) {
+            case "": case "ms":
+                return Duration.ofMillis(amount);
+            case "ns":
+                return Duration.ofNanos(amount);
+            case "us":
+                return Duration.ofNanos(amount * 1000);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                throw new IllegalArgumentException("无效的Duration单位: [" + source + "]");
+        }
+    }
+
+    /**
+     * 转换器缓存的key
+     */
+    private record ConverterCacheKey(Class<?> sourceType, Type targetType) {
+    }
+}
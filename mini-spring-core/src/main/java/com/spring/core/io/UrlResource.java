@@ -0,0 +1,133 @@
+package com.spring.core.io;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+
+/**
+ * ClassName: UrlResource
+ * Description:
+ *
+ * URL资源实现 - 对应Spring的UrlResource
+ * 主要用于表示jar包内的条目（jar:file:/app.jar!/com/example/Foo.class）以及ClassLoader.getResources返回的根路径
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 0:20
+ * @version: v1.0
+ */
+@Slf4j
+public class UrlResource implements Resource {
+
+    private final URL url;
+
+    public UrlResource(URL url) {
+        if (url == null) {
+            throw new IllegalArgumentException("URL不能为null");
+        }
+        this.url = url;
+    }
+
+    @Override
+    public boolean exists() {
+        if (isFile()) {
+            try {
+                return getFile().exists();
+            } catch (IOException ex) {
+                return false;
+            }
+        }
+        try {
+            URLConnection con = this.url.openConnection();
+            if (con instanceof HttpURLConnection httpCon) {
+                httpCon.setRequestMethod("HEAD");
+                return httpCon.getResponseCode() == HttpURLConnection.HTTP_OK;
+            }
+            con.getInputStream().close();
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return this.url.openStream();
+    }
+
+    @Override
+    public String getDescription() {
+        return "URL [" + this.url + "]";
+    }
+
+    @Override
+    public URL getURL() {
+        return this.url;
+    }
+
+    @Override
+    public URI getURI() throws IOException {
+        try {
+            return this.url.toURI();
+        } catch (URISyntaxException ex) {
+            throw new IOException("无效的URI: " + this.url, ex);
+        }
+    }
+
+    @Override
+    public File getFile() throws IOException {
+        if (!isFile()) {
+            throw new IOException("URL资源不是文件系统资源: " + this.url);
+        }
+        return new File(getURI().getSchemeSpecificPart());
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        if (isFile()) {
+            return getFile().length();
+        }
+        return this.url.openConnection().getContentLengthLong();
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        if (isFile()) {
+            return getFile().lastModified();
+        }
+        return this.url.openConnection().getLastModified();
+    }
+
+    @Override
+    public String getFilename() {
+        String path = this.url.getPath();
+        int separatorIndex = path.lastIndexOf('/');
+        return (separatorIndex != -1 ? path.substring(separatorIndex + 1) : path);
+    }
+
+    @Override
+    public boolean isFile() {
+        return "file".equals(this.url.getProtocol());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return (this == other || (other instanceof UrlResource that && this.url.toString().equals(that.url.toString())));
+    }
+
+    @Override
+    public int hashCode() {
+        return this.url.toString().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+}
@@ -4,19 +4,52 @@ import com.spring.core.io.DefaultResourceLoader;
 import com.spring.core.io.FileSystemResource;
 import com.spring.core.io.Resource;
 import com.spring.core.io.ResourceLoader;
+import com.spring.core.io.UrlResource;
+import com.spring.util.AntPathMatcher;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 /**
  * ClassName: PathMatchingResourcePatternResolver
  * Description:
  *
- * 路径匹配资源模式解析器 - 简化版本
- * Spring原版支持Ant风格路径匹配，这里先实现基础功能
+ * 路径匹配资源模式解析器 - 对应Spring的PathMatchingResourcePatternResolver
+ *
+ * 支持的位置格式：
+ *  1. classpath*:com/example/**&#47;*.class  所有类路径根（目录和jar包）下匹配Ant模式的资源
+ *  2. classpath*:META-INF/xxx               所有类路径根下的同名资源（ClassLoader.getResources）
+ *  3. classpath:com/example/*.xml           第一个类路径根下匹配的资源
+ *  4. classpath:xxx / 普通路径               单个资源，交给ResourceLoader处理
+ *
+ * 解析流程：先确定不含通配符的根目录（如classpath*:com/example/），用ClassLoader.getResources
+ * 找到所有根目录URL，再按协议分别在文件系统目录或jar包中匹配剩余的模式（如**&#47;*.class）
+ *
+ * 注意：和Spring一样，jar包中需要有目录条目才能通过ClassLoader.getResources找到根目录
+ * （Maven等构建工具打出的jar默认都包含目录条目）
+ *
+ * 并行遍历（setParallelScanning）：文件系统目录的每个子目录作为一个ForkJoin任务并发列举，
+ * 适用于网络挂载等单次目录操作延迟较高的文件系统；结果按目录顺序合并，与串行遍历的顺序完全一致
  *
  * @Author: csx
  * @Create: 2025/11/4 - 22:10
@@ -25,8 +58,20 @@ import java.util.List;
 @Slf4j
 public class PathMatchingResourcePatternResolver implements ResourcePatternResolver {
 
+    private static final String JAR_URL_PREFIX = "jar:";
+
+    private static final String JAR_URL_SEPARATOR = "!/";
+
     private final ResourceLoader resourceLoader;
 
+    private AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /** 是否并行遍历文件系统目录（默认关闭） */
+    private boolean parallelScanning = false;
+
+    /** 并行遍历时的最大并行度 */
+    private int scanParallelism = Runtime.getRuntime().availableProcessors();
+
     public PathMatchingResourcePatternResolver() {
         this.resourceLoader = new DefaultResourceLoader();
     }
@@ -49,108 +94,319 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
         return getResourceLoader().getClassLoader();
     }
 
+    /**
+     * 设置路径匹配器（默认AntPathMatcher）
+     */
+    public void setPathMatcher(AntPathMatcher pathMatcher) {
+        this.pathMatcher = pathMatcher;
+    }
+
+    public AntPathMatcher getPathMatcher() {
+        return this.pathMatcher;
+    }
+
+    /**
+     * 开启/关闭文件系统目录的并行遍历
+     */
+    public void setParallelScanning(boolean parallelScanning) {
+        this.parallelScanning = parallelScanning;
+    }
+
+    public boolean isParallelScanning() {
+        return this.parallelScanning;
+    }
+
+    /**
+     * 设置并行遍历的最大并行度
+     */
+    public void setScanParallelism(int scanParallelism) {
+        if (scanParallelism < 1) {
+            throw new IllegalArgumentException("并行度必须大于0: " + scanParallelism);
+        }
+        this.scanParallelism = scanParallelism;
+    }
+
+    public int getScanParallelism() {
+        return this.scanParallelism;
+    }
 
     @Override
     public Resource[] getResources(String locationPattern) {
         log.debug("获取匹配的资源: {}", locationPattern);
 
         if (locationPattern.startsWith(CLASSPATH_ALL_URL_PREFIX)) {
-            // classpath*:模式 - 需要扫描所有匹配的资源
-            // 简化实现：先获取当前类路径下的资源
+            String locationPath = locationPattern.substring(CLASSPATH_ALL_URL_PREFIX.length());
+            if (getPathMatcher().isPattern(locationPath)) {
+                // classpath*:带通配符 - 在所有类路径根下匹配
+                return findPathMatchingResources(locationPattern);
+            }
+            // classpath*:不带通配符 - 所有类路径根下的同名资源
+            return findAllClassPathResources(locationPath);
+        }
+
+        String locationPath = (locationPattern.startsWith(CLASSPATH_URL_PREFIX) ?
+                locationPattern.substring(CLASSPATH_URL_PREFIX.length()) : locationPattern);
+        if (getPathMatcher().isPattern(locationPath)) {
             return findPathMatchingResources(locationPattern);
-        } else {
-            // 单个资源
-            return new Resource[]{getResource(locationPattern)};
         }
+        // 单个资源
+        return new Resource[]{getResource(locationPattern)};
     }
 
     /**
-     * 查找路径匹配的资源 - 对应Spring的findPathMatchingResources方法
-     * 简化实现：支持基础的classpath*:扫描
+     * 查找所有类路径根下的同名资源 - 对应Spring的findAllClassPathResources方法
      */
-    private Resource[] findPathMatchingResources(String locationPattern) {
-        log.debug("查找路径匹配资源: {}", locationPattern);
+    protected Resource[] findAllClassPathResources(String location) {
+        String path = (location.startsWith("/") ? location.substring(1) : location);
+        Set<Resource> result = new LinkedHashSet<>(16);
 
-        // 移除classpath*:前缀
-        String rootDirPath = locationPattern.substring(CLASSPATH_ALL_URL_PREFIX.length());
-        int starIndex = rootDirPath.indexOf('*');
-        if (starIndex != -1) {
-            // 如果包含*，截取到*之前的部分作为根目录
-            rootDirPath = rootDirPath.substring(0, starIndex);
+        ClassLoader classLoader = getClassLoader();
+        try {
+            Enumeration<URL> resourceUrls = (classLoader != null ?
+                    classLoader.getResources(path) : ClassLoader.getSystemResources(path));
+            while (resourceUrls.hasMoreElements()) {
+                result.add(new UrlResource(resourceUrls.nextElement()));
+            }
+        } catch (IOException ex) {
+            log.warn("无法解析类路径资源: {}", path, ex);
         }
 
-        // 获取根目录资源
-        Resource rootDirResource = getResource(CLASSPATH_URL_PREFIX + rootDirPath);
+        // 空路径时ClassLoader.getResources("")只会返回目录根，需要补上类路径中的jar包
+        if (path.isEmpty()) {
+            addClassPathJarRoots(result);
+        }
+
+        log.debug("类路径资源 [{}] 找到 {} 个根", path, result.size());
+        return result.toArray(new Resource[0]);
+    }
+
+    /**
+     * 把java.class.path中的jar包作为根资源加入结果
+     */
+    private void addClassPathJarRoots(Set<Resource> result) {
+        String classPath = System.getProperty("java.class.path", "");
+        for (String entry : classPath.split(File.pathSeparator)) {
+            if (entry.endsWith(".jar")) {
+                try {
+                    URL jarRoot = new URL(JAR_URL_PREFIX + new File(entry).toURI().toURL() + JAR_URL_SEPARATOR);
+                    result.add(new UrlResource(jarRoot));
+                } catch (IOException ex) {
+                    log.debug("无法解析类路径中的jar包: {}", entry);
+                }
+            }
+        }
+    }
 
-        if (rootDirResource.exists() && rootDirResource.isFile()) {
+    /**
+     * 查找路径匹配的资源 - 对应Spring的findPathMatchingResources方法
+     *
+     * 例如 classpath*:com/example/**&#47;*.class：
+     *  根目录：classpath*:com/example/（可能对应多个目录或jar包）
+     *  子模式：**&#47;*.class
+     */
+    protected Resource[] findPathMatchingResources(String locationPattern) {
+        String rootDirPath = determineRootDir(locationPattern);
+        String subPattern = locationPattern.substring(rootDirPath.length());
+        log.debug("查找路径匹配资源: 根目录 [{}]，子模式 [{}]", rootDirPath, subPattern);
+
+        Resource[] rootDirResources = getResources(rootDirPath);
+        Set<Resource> result = new LinkedHashSet<>(64);
+        for (Resource rootDirResource : rootDirResources) {
             try {
-                // 文件系统资源：遍历目录
-                File rootDir = rootDirResource.getFile();
-                if (rootDir.isDirectory()) {
-                    return findFileSystemResources(rootDir, locationPattern);
+                URL rootDirUrl = rootDirResource.getURL();
+                if (isJarURL(rootDirUrl)) {
+                    doFindPathMatchingJarResources(rootDirUrl, subPattern, result);
+                } else if (rootDirResource.isFile()) {
+                    doFindPathMatchingFileResources(rootDirResource.getFile(), subPattern, result);
+                } else {
+                    log.debug("不支持的根目录协议，跳过: {}", rootDirUrl);
                 }
             } catch (IOException ex) {
-                log.warn("无法访问文件系统资源: {}", rootDirResource.getDescription(), ex);
+                log.warn("无法解析根目录资源: {}", rootDirResource.getDescription(), ex);
             }
         }
 
-        // 简化：返回空数组，后续可以增强支持jar包等
-        log.debug("未找到匹配的资源，返回空数组");
-        return new Resource[0];
+        log.debug("路径匹配 [{}] 找到 {} 个资源", locationPattern, result.size());
+        return result.toArray(new Resource[0]);
     }
 
     /**
-     * 在文件系统中查找匹配的资源
+     * 确定不含通配符的根目录
+     * 例如：classpath*:com/example/**&#47;*.class -> classpath*:com/example/
      */
-    private Resource[] findFileSystemResources(File rootDir, String pattern) throws IOException {
-        List<Resource> resources = new ArrayList<>();
-
-        // 提取通配符后面的部分
-        String subPattern = pattern.substring(pattern.indexOf('*') + 1);
+    protected String determineRootDir(String location) {
+        int prefixEnd = location.indexOf(':') + 1;
+        int rootDirEnd = location.length();
+        while (rootDirEnd > prefixEnd && getPathMatcher().isPattern(location.substring(prefixEnd, rootDirEnd))) {
+            rootDirEnd = location.lastIndexOf('/', rootDirEnd - 2) + 1;
+        }
+        if (rootDirEnd == 0) {
+            rootDirEnd = prefixEnd;
+        }
+        return location.substring(0, rootDirEnd);
+    }
 
-        // 递归遍历目录
-        collectResources(rootDir, subPattern, resources);
+    // ============ jar包 ============
 
-        log.debug("在目录 {} 中找到 {} 个匹配的资源", rootDir, resources.size());
-        return resources.toArray(new Resource[0]);
+    private boolean isJarURL(URL url) {
+        String protocol = url.getProtocol();
+        return ("jar".equals(protocol) || "zip".equals(protocol) || "war".equals(protocol) ||
+                url.getPath().contains(JAR_URL_SEPARATOR));
     }
 
     /**
-     * 递归收集资源
+     * 在jar包中查找匹配的资源
+     * 只遍历一次jar包的条目列表，用条目名称做匹配，匹配成功才创建资源（不会逐个打开条目）
      */
-    private void collectResources(File dir, String pattern, List<Resource> resources) {
-        File[] files = dir.listFiles();
-        if (files == null) {
-            return;
+    protected void doFindPathMatchingJarResources(URL rootDirUrl, String subPattern, Set<Resource> result)
+            throws IOException {
+        JarFile jarFile;
+        String jarFileUrl;
+        String rootEntryPath;
+        boolean closeJarFile;
+
+        URLConnection con = rootDirUrl.openConnection();
+        if (con instanceof JarURLConnection jarCon) {
+            // 使用JDK缓存的JarFile，后续读取条目内容时复用同一个JarFile
+            jarFile = jarCon.getJarFile();
+            jarFileUrl = jarCon.getJarFileURL().toExternalForm();
+            JarEntry jarEntry = jarCon.getJarEntry();
+            rootEntryPath = (jarEntry != null ? jarEntry.getName() : "");
+            closeJarFile = !jarCon.getUseCaches();
+        } else {
+            // 非JarURLConnection：手动解析 file:/app.jar!/com/example/
+            String urlFile = rootDirUrl.getFile();
+            int separatorIndex = urlFile.indexOf(JAR_URL_SEPARATOR);
+            jarFileUrl = (separatorIndex != -1 ? urlFile.substring(0, separatorIndex) : urlFile);
+            rootEntryPath = (separatorIndex != -1 ? urlFile.substring(separatorIndex + JAR_URL_SEPARATOR.length()) : "");
+            jarFile = new JarFile(toFile(jarFileUrl));
+            closeJarFile = true;
         }
 
-        for (File file : files) {
-            if (file.isDirectory()) {
-                // 递归处理子目录
-                collectResources(file, pattern, resources);
-            } else if (file.getName().endsWith(".class")) {
-                // 只处理.class文件
-                String relativePath = getRelativePath(file);
-                if (matchesPattern(relativePath, pattern)) {
-                    resources.add(new FileSystemResource(file));
+        if (!rootEntryPath.isEmpty() && !rootEntryPath.endsWith("/")) {
+            rootEntryPath = rootEntryPath + "/";
+        }
+
+        try {
+            String entryUrlPrefix = JAR_URL_PREFIX + jarFileUrl + JAR_URL_SEPARATOR;
+            int matched = 0;
+            for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements(); ) {
+                String entryPath = entries.nextElement().getName();
+                if (entryPath.startsWith(rootEntryPath)) {
+                    String relativePath = entryPath.substring(rootEntryPath.length());
+                    if (getPathMatcher().match(subPattern, relativePath)) {
+                        result.add(new UrlResource(new URL(entryUrlPrefix + entryPath)));
+                        matched++;
+                    }
                 }
             }
+            log.debug("在jar包 [{}] 的 [{}] 下找到 {} 个匹配的资源", jarFileUrl, rootEntryPath, matched);
+        } finally {
+            if (closeJarFile) {
+                jarFile.close();
+            }
+        }
+    }
+
+    private File toFile(String fileUrl) throws IOException {
+        try {
+            return new File(new URI(fileUrl).getSchemeSpecificPart());
+        } catch (URISyntaxException ex) {
+            // URL没有经过编码（包含空格等字符）
+            return new File(fileUrl.startsWith("file:") ? fileUrl.substring("file:".length()) : fileUrl);
         }
     }
 
+    // ============ 文件系统 ============
+
     /**
-     * 获取相对路径
+     * 在文件系统目录中查找匹配的资源
      */
-    private String getRelativePath(File file) {
-        // 简化实现：返回文件名
-        return file.getName();
+    protected void doFindPathMatchingFileResources(File rootDir, String subPattern, Set<Resource> result) {
+        if (!rootDir.isDirectory()) {
+            log.debug("根目录不存在或不是目录，跳过: {}", rootDir);
+            return;
+        }
+
+        FileMatchingTask task = new FileMatchingTask(rootDir.toPath(), "", subPattern, this.parallelScanning);
+        List<Resource> matched;
+        if (this.parallelScanning) {
+            ForkJoinPool pool = new ForkJoinPool(this.scanParallelism);
+            try {
+                matched = pool.invoke(task);
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            matched = task.compute();
+        }
+        result.addAll(matched);
+        log.debug("在目录 {} 中找到 {} 个匹配的资源", rootDir, matched.size());
     }
 
     /**
-     * 检查是否匹配模式
+     * 列举一个目录并匹配其中的文件，relativePath是相对根目录的路径（'/'分隔）
+     *
+     * 目录项按文件名排序；并行模式下每个子目录fork为一个子任务，
+     * 合并时按目录项顺序拼接子任务的结果，所以并行与串行的结果顺序相同
      */
-    private boolean matchesPattern(String path, String pattern) {
-        // 简化：只要以.class结尾就匹配
-        return path.endsWith(".class");
+    private class FileMatchingTask extends RecursiveTask<List<Resource>> {
+
+        private final Path dir;
+
+        private final String relativePath;
+
+        private final String subPattern;
+
+        private final boolean parallel;
+
+        FileMatchingTask(Path dir, String relativePath, String subPattern, boolean parallel) {
+            this.dir = dir;
+            this.relativePath = relativePath;
+            this.subPattern = subPattern;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected List<Resource> compute() {
+            List<Path> entries = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.dir)) {
+                for (Path entry : stream) {
+                    entries.add(entry);
+                }
+            } catch (IOException ex) {
+                log.debug("无法列举目录，跳过: {}", this.dir);
+                return Collections.emptyList();
+            }
+            entries.sort(Comparator.comparing(entry -> entry.getFileName().toString()));
+
+            // 按目录项顺序记录匹配到的文件和子目录任务，并行模式下子任务立即fork
+            List<Object> parts = new ArrayList<>(entries.size());
+            for (Path entry : entries) {
+                String entryPath = this.relativePath + entry.getFileName();
+                if (Files.isDirectory(entry)) {
+                    // 目录不可能匹配时直接剪枝
+                    if (getPathMatcher().matchStart(this.subPattern, entryPath + "/")) {
+                        FileMatchingTask subTask = new FileMatchingTask(entry, entryPath + "/", this.subPattern, this.parallel);
+                        if (this.parallel) {
+                            subTask.fork();
+                        }
+                        parts.add(subTask);
+                    }
+                } else if (getPathMatcher().match(this.subPattern, entryPath)) {
+                    parts.add(new FileSystemResource(entry.toFile()));
+                }
+            }
+
+            List<Resource> matched = new ArrayList<>(parts.size());
+            for (Object part : parts) {
+                if (part instanceof FileMatchingTask subTask) {
+                    matched.addAll(this.parallel ? subTask.join() : subTask.compute());
+                } else {
+                    matched.add((Resource) part);
+                }
+            }
+            return matched;
+        }
     }
 }
@@ -0,0 +1,38 @@
+package com.spring.core.type;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ClassName: AnnotatedTypeMetadata
+ * Description: 类和方法注解元数据的公共接口 - 对应Spring的AnnotatedTypeMetadata
+ *
+ * 条件注解（@Conditional）既可以标注在类上，也可以标注在@Bean方法上，条件判断只依赖这个接口
+ *
+ * @Author: csx
+ * @Create: 2025/12/12 - 20:05
+ * @version: v1.0
+ */
+public interface AnnotatedTypeMetadata {
+
+    /**
+     * 是否标注了指定注解
+     */
+    boolean isAnnotated(String annotationName);
+
+    /**
+     * 获取指定注解的属性值，没有该注解时返回null
+     */
+    Map<String, Object> getAnnotationAttributes(String annotationName);
+
+    /**
+     * 获取指定注解的属性值
+     * @param classValuesAsString 是否将Class类型的属性值转换为类名字符串
+     */
+    Map<String, Object> getAnnotationAttributes(String annotationName, boolean classValuesAsString);
+
+    /**
+     * 直接声明的注解全限定名
+     */
+    Set<String> getAnnotationTypes();
+}
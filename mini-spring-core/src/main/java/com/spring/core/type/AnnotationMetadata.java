@@ -11,7 +11,7 @@ import java.util.Set;
  * @Create: 2025/11/12 - 22:04
  * @version: v1.0
  */
-public interface AnnotationMetadata {
+public interface AnnotationMetadata extends AnnotatedTypeMetadata {
     /**
      * 获取类名
      */
@@ -11,7 +11,7 @@ import java.util.Map;
  * @Create: 2025/11/12 - 22:05
  * @version: v1.0
  */
-public interface MethodMetadata {
+public interface MethodMetadata extends AnnotatedTypeMetadata {
     /**
      * 获取方法名
      */
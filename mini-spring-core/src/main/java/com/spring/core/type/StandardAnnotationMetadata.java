@@ -1,10 +1,9 @@
 package com.spring.core.type;
 
+import com.spring.core.annotation.DeclaredAnnotationAttributes;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
 
@@ -29,67 +28,12 @@ public class StandardAnnotationMetadata implements AnnotationMetadata{
     /** 被扫描的类对象 */
     private final Class<?> introspectedClass;
 
-    /** 注解属性缓存：注解类型 -> {属性名 -> 属性值} */
-    private final Map<String, Map<String, Object>> annotationAttributes;
+    /** 类上声明的注解（缓存在类上，同一个类的元数据对象共享；属性在第一次查询时才读取） */
+    private final DeclaredAnnotationAttributes declaredAnnotations;
 
     public StandardAnnotationMetadata(Class<?> introspectedClass) {
         this.introspectedClass = introspectedClass;
-        this.annotationAttributes = new HashMap<>();
-        scanAnnotations(); // 立即扫描，避免懒加载的复杂性
-    }
-
-    /**
-     * 扫描类上的所有注解（包括继承的注解）
-     * 不包含任何Spring特定的业务逻辑
-     */
-    private void scanAnnotations() {
-        log.debug("开始扫描类 {} 上的注解", introspectedClass.getName());
-
-        // getDeclaredAnnotations()：获取直接声明的所有注解（不包括继承的）
-        // getAnnotations()：获取所有可继承的注解（需要注解有@Inherited元注解）
-        Annotation[] annotations = introspectedClass.getDeclaredAnnotations();
-
-        log.debug("类 {} 上找到 {} 个注解", introspectedClass.getName(), annotations.length);
-
-        for (Annotation annotation : annotations) {
-            String annotationType = annotation.annotationType().getName();
-            Map<String, Object> attributes = extractAnnotationAttributes(annotation);
-
-            annotationAttributes.put(annotationType, attributes);
-
-            log.debug("扫描到注解: {}，属性: {}", annotationType, attributes);
-        }
-
-        log.debug("类 {} 注解扫描完成，共扫描到 {} 个注解",
-                introspectedClass.getName(), annotationAttributes.size());
-    }
-
-    /**
-     * 提取注解属性 - 通用实现，不依赖具体注解
-     */
-    private Map<String, Object> extractAnnotationAttributes(Annotation annotation) {
-        Map<String, Object> attributes = new HashMap<>();
-
-        try {
-            Method[] methods = annotation.annotationType().getDeclaredMethods();
-            for (Method method : methods) {
-                if (method.getParameterCount() == 0 &&
-                        method.getReturnType() != void.class) {
-                    try {
-                        Object value = method.invoke(annotation);
-                        attributes.put(method.getName(), value);
-                    } catch (Exception e) {
-                        log.debug("获取注解属性失败: {}.{}",
-                                annotation.annotationType().getSimpleName(), method.getName());
-                        // 忽略单个属性获取失败，继续处理其他属性
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.error("提取注解属性时发生异常: {}", annotation.annotationType().getName(), e);
-        }
-
-        return attributes;
+        this.declaredAnnotations = DeclaredAnnotationAttributes.forElement(introspectedClass);
     }
 
 
@@ -102,59 +46,8 @@ public class StandardAnnotationMetadata implements AnnotationMetadata{
 
     @Override
     public boolean isAnnotated(String annotationName) {
-        // 首先检查直接注解，直接从缓存中查找，O(1)时间复杂度
-        if (annotationAttributes.containsKey(annotationName)) {
-            return true;
-        }
-
-        // 使用栈来模拟递归，避免栈溢出
-        Stack<Class<? extends Annotation>> stack = new Stack<>();
-        Set<Class<? extends Annotation>> visited = new HashSet<>();
-
-        // 将当前类的所有直接注解加入栈中
-        for (Map.Entry<String, Map<String, Object>> entry : annotationAttributes.entrySet()) {
-            try {
-                Class<?> annotationClass = Class.forName(entry.getKey());
-                if (annotationClass.isAnnotation()) {
-                    @SuppressWarnings("unchecked")
-                    Class<? extends Annotation> annotationType =
-                            (Class<? extends Annotation>) annotationClass;
-
-                    if (!isJavaLangAnnotation(annotationType)) {
-                        stack.push(annotationType);
-                        visited.add(annotationType);
-                    }
-                }
-            } catch (ClassNotFoundException e) {
-                log.debug("无法加载注解类: {}", entry.getKey());
-            }
-        }
-
-        // 迭代处理注解关系
-        while (!stack.isEmpty()) {
-            Class<? extends Annotation> currentAnnotation = stack.pop();
-
-            // 检查当前注解是否为目标注解
-            if (currentAnnotation.getName().equals(annotationName)) {
-                return true;
-            }
-
-            // 将当前注解的元注解加入栈中
-            Annotation[] metaAnnotations = currentAnnotation.getDeclaredAnnotations();
-            for (Annotation metaAnnotation : metaAnnotations) {
-                Class<? extends Annotation> metaAnnotationType = metaAnnotation.annotationType();
-
-                // 跳过Java内置注解和已访问的注解
-                if (isJavaLangAnnotation(metaAnnotationType) || visited.contains(metaAnnotationType)) {
-                    continue;
-                }
-
-                stack.push(metaAnnotationType);
-                visited.add(metaAnnotationType);
-            }
-        }
-
-        return false;
+        // 直接注解和元注解闭包合并后的集合，O(1)查找
+        return declaredAnnotations.isAnnotated(annotationName);
     }
 
     @Override
@@ -162,91 +55,17 @@ public class StandardAnnotationMetadata implements AnnotationMetadata{
         return getAnnotationAttributes(annotationName, false);
     }
 
-    @Override
-    public Map<String, Object> getAnnotationAttributes(String annotationName, boolean classValuesAsString) {
-        log.debug("获取注解属性: {}，类: {}", annotationName, introspectedClass.getName());
-
-        // 检查直接注解
-        if (annotationAttributes.containsKey(annotationName)) {
-            Map<String, Object> attributes = annotationAttributes.get(annotationName);
-            log.debug("找到直接注解属性: {}", attributes);
-            return processAttributes(attributes, classValuesAsString);
-        }
-
-        // 检查元注解（递归）
-        Map<String, Object> metaAttributes = getMetaAnnotationAttributes(annotationName, classValuesAsString);
-        if (metaAttributes != null) {
-            log.debug("找到元注解属性: {}", metaAttributes);
-            return metaAttributes;
-        }
-
-        log.debug("未找到注解: {}", annotationName);
-        return null;
-    }
-
     /**
-     * 获取元注解的属性值
+     * 获取注解属性（包括元注解），返回的Map不可变
      */
-    private Map<String, Object> getMetaAnnotationAttributes(String targetAnnotationName, boolean classValuesAsString) {
-        Set<Class<? extends Annotation>> visited = new HashSet<>();
-
-        for (String directAnnotationName : annotationAttributes.keySet()) {
-            try {
-                Class<?> annotationClass = Class.forName(directAnnotationName);
-                if (annotationClass.isAnnotation()) {
-                    @SuppressWarnings("unchecked")
-                    Class<? extends Annotation> annotationType = (Class<? extends Annotation>) annotationClass;
-
-                    Map<String, Object> metaAttrs = findMetaAnnotationAttributes(
-                            annotationType, targetAnnotationName, visited, classValuesAsString);
-                    if (metaAttrs != null) {
-                        return metaAttrs;
-                    }
-                }
-            } catch (ClassNotFoundException e) {
-                log.debug("无法加载注解类: {}", directAnnotationName);
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * 递归查找元注解属性
-     */
-    private Map<String, Object> findMetaAnnotationAttributes(
-            Class<? extends Annotation> annotationType,
-            String targetAnnotationName,
-            Set<Class<? extends Annotation>> visited,
-            boolean classValuesAsString) {
-
-        // 避免循环依赖
-        if (visited.contains(annotationType)) {
+    @Override
+    public Map<String, Object> getAnnotationAttributes(String annotationName, boolean classValuesAsString) {
+        Map<String, Object> attributes = declaredAnnotations.getMergedAttributes(annotationName);
+        if (attributes == null) {
+            log.debug("未找到注解: {}，类: {}", annotationName, introspectedClass.getName());
             return null;
         }
-        visited.add(annotationType);
-
-        // 获取当前注解的元注解
-        Annotation[] metaAnnotations = annotationType.getDeclaredAnnotations();
-        for (Annotation metaAnnotation : metaAnnotations) {
-            Class<? extends Annotation> metaAnnotationType = metaAnnotation.annotationType();
-            String metaAnnotationName = metaAnnotationType.getName();
-
-            // 如果是目标注解
-            if (metaAnnotationName.equals(targetAnnotationName)) {
-                Map<String, Object> attributes = extractAnnotationAttributes(metaAnnotation);
-                return processAttributes(attributes, classValuesAsString);
-            }
-
-            // 递归查找
-            Map<String, Object> nestedAttrs = findMetaAnnotationAttributes(
-                    metaAnnotationType, targetAnnotationName, visited, classValuesAsString);
-            if (nestedAttrs != null) {
-                return nestedAttrs;
-            }
-        }
-
-        return null;
+        return processAttributes(attributes, classValuesAsString);
     }
 
     /**
@@ -277,19 +96,9 @@ public class StandardAnnotationMetadata implements AnnotationMetadata{
         return processed;
     }
 
-    /**
-     * 判断是否为Java语言内置的注解
-     * 这些注解不会包含业务逻辑的元注解关系，可以跳过以避免不必要的递归
-     */
-    private boolean isJavaLangAnnotation(Class<? extends Annotation> annotationType) {
-        String packageName = annotationType.getPackage().getName();
-        return packageName.startsWith("java.lang.annotation") ||
-                packageName.startsWith("java.lang");
-    }
-
     @Override
     public Set<String> getAnnotationTypes() {
-        return Collections.unmodifiableSet(annotationAttributes.keySet());
+        return declaredAnnotations.getAnnotationTypes();
     }
 
     @Override
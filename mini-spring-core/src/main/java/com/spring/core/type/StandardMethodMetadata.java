@@ -1,11 +1,12 @@
 package com.spring.core.type;
 
-import java.lang.annotation.Annotation;
+import com.spring.core.annotation.DeclaredAnnotationAttributes;
+
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * ClassName: StandardMethodMetadata
@@ -26,52 +27,25 @@ public class StandardMethodMetadata implements MethodMetadata {
     /** 被扫描的方法对象 */
     private final Method method;
 
-    /** 方法注解缓存 */
-    private final Map<String, Map<String, Object>> annotationAttributes;
+    /** 方法上声明的注解（缓存在声明类上，同一个方法的元数据对象共享；属性在第一次查询时才读取） */
+    private final DeclaredAnnotationAttributes declaredAnnotations;
+
+    /** 通过setAnnotationAttributes设置的注解属性，只属于当前元数据对象，没有设置时为null */
+    private Map<String, Map<String, Object>> overriddenAttributes;
 
     public StandardMethodMetadata(Method method) {
         this.method = method;
-        this.annotationAttributes = new HashMap<>();
-        scanMethodAnnotations();
-    }
-
-    /**
-     * 扫描方法上的注解
-     */
-    private void scanMethodAnnotations() {
-        for (Annotation annotation : method.getDeclaredAnnotations()) {
-            String annotationType = annotation.annotationType().getName();
-            Map<String, Object> attributes = extractAnnotationAttributes(annotation);
-            annotationAttributes.put(annotationType, attributes);
-        }
-    }
-
-    /**
-     * 提取注解属性
-     */
-    private Map<String, Object> extractAnnotationAttributes(Annotation annotation) {
-        Map<String, Object> attributes = new HashMap<>();
-        Method[] methods = annotation.annotationType().getDeclaredMethods();
-
-        try {
-            for (Method method : methods) {
-                if (method.getParameterCount() == 0) {
-                    Object value = method.invoke(annotation);
-                    attributes.put(method.getName(), value);
-                }
-            }
-        } catch (Exception e) {
-            // 静默处理
-        }
-
-        return attributes;
+        this.declaredAnnotations = DeclaredAnnotationAttributes.forElement(method);
     }
 
     /**
-     * 设置注解属性
+     * 设置注解属性（覆盖方法上声明的属性，不影响共享的缓存）
      */
     public void setAnnotationAttributes(String annotationName, Map<String, Object> attributes) {
-        annotationAttributes.put(annotationName, attributes);
+        if (overriddenAttributes == null) {
+            overriddenAttributes = new HashMap<>(4);
+        }
+        overriddenAttributes.put(annotationName, attributes);
     }
 
     @Override
@@ -106,18 +80,32 @@ public class StandardMethodMetadata implements MethodMetadata {
 
     @Override
     public boolean isAnnotated(String annotationName) {
-        return annotationAttributes.containsKey(annotationName) ||
-                method.isAnnotationPresent(getAnnotationClass(annotationName));
+        return (overriddenAttributes != null && overriddenAttributes.containsKey(annotationName)) ||
+                declaredAnnotations.isDirectlyAnnotated(annotationName);
     }
 
+    @Override
+    public Set<String> getAnnotationTypes() {
+        return declaredAnnotations.getAnnotationTypes();
+    }
+
+    /**
+     * 获取方法上的注解属性，返回的Map不可变
+     */
     @Override
     public Map<String, Object> getAnnotationAttributes(String annotationName) {
-        return annotationAttributes.get(annotationName);
+        if (overriddenAttributes != null) {
+            Map<String, Object> attributes = overriddenAttributes.get(annotationName);
+            if (attributes != null) {
+                return attributes;
+            }
+        }
+        return declaredAnnotations.getAttributes(annotationName);
     }
 
     @Override
     public Map<String, Object> getAnnotationAttributes(String annotationName, boolean classValuesAsString) {
-        Map<String, Object> attributes = annotationAttributes.get(annotationName);
+        Map<String, Object> attributes = getAnnotationAttributes(annotationName);
         if (attributes == null || !classValuesAsString) {
             return attributes;
         }
@@ -162,18 +150,4 @@ public class StandardMethodMetadata implements MethodMetadata {
     public Class<?>[] getParameterTypes() {
         return method.getParameterTypes();
     }
-
-    /**
-     * 获取注解类
-     */
-    private Class<? extends Annotation> getAnnotationClass(String annotationName) {
-        try {
-            @SuppressWarnings("unchecked")
-            Class<? extends Annotation> annotationClass =
-                    (Class<? extends Annotation>) Class.forName(annotationName);
-            return annotationClass;
-        } catch (ClassNotFoundException e) {
-            return null;
-        }
-    }
 }
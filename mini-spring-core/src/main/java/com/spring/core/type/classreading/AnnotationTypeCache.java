@@ -0,0 +1,119 @@
+package com.spring.core.type.classreading;
+
+import com.spring.core.annotation.AnnotationTypeMappings;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ClassName: AnnotationTypeCache
+ * Description: 注解类型信息缓存 - 由ClassFileMetadataReaderFactory持有，同一个工厂读取的所有类共享
+ *
+ * 缓存跟着工厂（即跟着类加载器）走，而不是全局静态的：
+ *  1. 不同类加载器下的同名注解各自解析，默认值和元注解不会串用
+ *  2. 工厂被丢弃后缓存一起被回收，不会一直持有注解类和它的类加载器
+ *  3. 加载失败的注解类不缓存，类加载器之后能加载到时（例如依赖后加入）可以重新解析
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 0:10
+ * @version: v1.0
+ */
+@Slf4j
+final class AnnotationTypeCache {
+
+    /** 注解类无法加载时使用的空信息（不缓存） */
+    private static final AnnotationTypeInfo UNRESOLVABLE = new AnnotationTypeInfo(Map.of(), Map.of(), null);
+
+    private final ClassLoader classLoader;
+
+    /** 注解全限定名 -> 默认值、属性类型、元注解 */
+    private final Map<String, AnnotationTypeInfo> cache = new ConcurrentHashMap<>(64);
+
+    AnnotationTypeCache(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    ClassLoader getClassLoader() {
+        return this.classLoader;
+    }
+
+    /**
+     * 获取注解类型信息，第一次调用时加载注解类并缓存
+     */
+    AnnotationTypeInfo get(String annotationName) {
+        AnnotationTypeInfo typeInfo = this.cache.get(annotationName);
+        if (typeInfo == null) {
+            Class<?> annotationType;
+            try {
+                annotationType = Class.forName(annotationName, false, this.classLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.debug("无法加载注解类: {}", annotationName);
+                return UNRESOLVABLE;
+            }
+            typeInfo = AnnotationTypeInfo.introspect(annotationType);
+            AnnotationTypeInfo existing = this.cache.putIfAbsent(annotationName, typeInfo);
+            if (existing != null) {
+                typeInfo = existing;
+            }
+        }
+        return typeInfo;
+    }
+
+    void clear() {
+        this.cache.clear();
+    }
+
+    /**
+     * 注解类型信息：默认值、属性类型和元注解闭包（只加载注解类，不加载被扫描的类）
+     */
+    static final class AnnotationTypeInfo {
+
+        /** 属性名 -> 默认值 */
+        final Map<String, Object> defaultValues;
+
+        /** 属性名 -> 属性类型 */
+        final Map<String, Class<?>> attributeTypes;
+
+        /** 元注解闭包（与StandardAnnotationMetadata共用AnnotationTypeMappings），不是注解类型时为null */
+        final AnnotationTypeMappings mappings;
+
+        private AnnotationTypeInfo(Map<String, Object> defaultValues, Map<String, Class<?>> attributeTypes,
+                                   AnnotationTypeMappings mappings) {
+            this.defaultValues = defaultValues;
+            this.attributeTypes = attributeTypes;
+            this.mappings = mappings;
+        }
+
+        boolean hasMetaAnnotation(String annotationName) {
+            return this.mappings != null && this.mappings.getMetaAnnotation(annotationName) != null;
+        }
+
+        static AnnotationTypeInfo introspect(Class<?> annotationType) {
+            if (!annotationType.isAnnotation()) {
+                return UNRESOLVABLE;
+            }
+
+            Map<String, Object> defaultValues = new LinkedHashMap<>();
+            Map<String, Class<?>> attributeTypes = new HashMap<>();
+            for (Method method : annotationType.getDeclaredMethods()) {
+                if (method.getParameterCount() == 0 && method.getReturnType() != void.class) {
+                    attributeTypes.put(method.getName(), method.getReturnType());
+                    Object defaultValue = method.getDefaultValue();
+                    if (defaultValue != null) {
+                        defaultValues.put(method.getName(), defaultValue);
+                    }
+                }
+            }
+
+            @SuppressWarnings("unchecked")
+            AnnotationTypeMappings mappings = AnnotationTypeMappings.forAnnotationType(
+                    (Class<? extends Annotation>) annotationType);
+
+            return new AnnotationTypeInfo(Collections.unmodifiableMap(defaultValues),
+                    Collections.unmodifiableMap(attributeTypes), mappings);
+        }
+    }
+}
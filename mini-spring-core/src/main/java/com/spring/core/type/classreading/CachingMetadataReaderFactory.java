@@ -0,0 +1,110 @@
+package com.spring.core.type.classreading;
+
+import com.spring.core.io.Resource;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ClassName: CachingMetadataReaderFactory
+ * Description:
+ *
+ * 带缓存的元数据读取器工厂 - 对应Spring的CachingMetadataReaderFactory
+ *
+ * 为什么需要：同一个类在启动过程中会被多次读取（组件扫描、配置类解析、按类名查找），
+ * 每次都重新解析class文件是浪费。这里按资源URL缓存MetadataReader，
+ * 按类名查找时也会先解析成资源，所以两种方式共享同一份缓存
+ *
+ * 缓存是有界的LRU：超过cacheLimit后淘汰最久未使用的条目；
+ * 启动完成后应调用clearCache()释放内存（AbstractApplicationContext.refresh()最后会调用）
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 0:15
+ * @version: v1.0
+ */
+@Slf4j
+public class CachingMetadataReaderFactory extends ClassFileMetadataReaderFactory {
+
+    /** 默认的最大缓存条目数 */
+    public static final int DEFAULT_CACHE_LIMIT = 256;
+
+    private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
+
+    /** 资源URL -> MetadataReader（按访问顺序排列，用于LRU淘汰） */
+    private final Map<String, MetadataReader> metadataReaderCache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MetadataReader> eldest) {
+            return size() > getCacheLimit();
+        }
+    };
+
+    public CachingMetadataReaderFactory() {
+        super();
+    }
+
+    public CachingMetadataReaderFactory(ClassLoader classLoader) {
+        super(classLoader);
+    }
+
+    /**
+     * 设置最大缓存条目数，小于等于0表示不缓存
+     */
+    public void setCacheLimit(int cacheLimit) {
+        this.cacheLimit = cacheLimit;
+        synchronized (this.metadataReaderCache) {
+            if (cacheLimit <= 0) {
+                this.metadataReaderCache.clear();
+            } else {
+                // 缩小上限时立即淘汰多余的条目
+                Iterator<Map.Entry<String, MetadataReader>> iterator = this.metadataReaderCache.entrySet().iterator();
+                while (this.metadataReaderCache.size() > cacheLimit && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    public int getCacheLimit() {
+        return this.cacheLimit;
+    }
+
+    @Override
+    public MetadataReader getMetadataReader(Resource resource) throws IOException {
+        if (getCacheLimit() <= 0) {
+            return super.getMetadataReader(resource);
+        }
+
+        String cacheKey = resource.getURL().toString();
+        MetadataReader metadataReader;
+        synchronized (this.metadataReaderCache) {
+            metadataReader = this.metadataReaderCache.get(cacheKey);
+        }
+        if (metadataReader != null) {
+            return metadataReader;
+        }
+
+        // 在锁外解析class文件，并发读取不同的类时不会互相阻塞
+        metadataReader = super.getMetadataReader(resource);
+        synchronized (this.metadataReaderCache) {
+            MetadataReader existing = this.metadataReaderCache.putIfAbsent(cacheKey, metadataReader);
+            return (existing != null ? existing : metadataReader);
+        }
+    }
+
+    /**
+     * 清除缓存（启动完成后调用，释放元数据占用的内存）
+     */
+    public void clearCache() {
+        synchronized (this.metadataReaderCache) {
+            if (!this.metadataReaderCache.isEmpty()) {
+                log.debug("清除MetadataReader缓存，共 {} 个条目", this.metadataReaderCache.size());
+                this.metadataReaderCache.clear();
+            }
+        }
+        clearAnnotationTypeCache();
+    }
+}
@@ -0,0 +1,357 @@
+package com.spring.core.type.classreading;
+
+import com.spring.core.io.Resource;
+import com.spring.core.type.AnnotationMetadata;
+import com.spring.core.type.ClassMetadata;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ClassName: ClassFileMetadataReader
+ * Description:
+ *
+ * 基于字节码的元数据读取器 - 对应Spring基于ASM的SimpleMetadataReader
+ * 直接从Resource的输入流解析class文件（常量池 + RuntimeVisibleAnnotations属性），不加载被扫描的类
+ *
+ * 为什么不用ASM：
+ *  cglib带进来的ASM版本（7.1）不认识Java 17的class文件版本，
+ *  而组件扫描只需要类名、访问标志、父类/接口和类上的注解，自己解析这几部分就足够了
+ *
+ * 与SimpleMetadataReader的区别：
+ *  SimpleMetadataReader对每个.class文件执行Class.forName，扫描包下所有类都会被加载和定义（占用元空间）；
+ *  这里只有真正成为BeanDefinition的类才会在实例化时被加载
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 0:10
+ * @version: v1.0
+ */
+@Slf4j
+public class ClassFileMetadataReader implements MetadataReader {
+
+    private final Resource resource;
+    private final SimpleAnnotationMetadata annotationMetadata;
+
+    public ClassFileMetadataReader(Resource resource, ClassLoader classLoader) throws IOException {
+        this(resource, new AnnotationTypeCache(classLoader));
+    }
+
+    ClassFileMetadataReader(Resource resource, AnnotationTypeCache annotationTypeCache) throws IOException {
+        this.resource = resource;
+
+        byte[] classFile;
+        try (InputStream inputStream = resource.getInputStream()) {
+            classFile = inputStream.readAllBytes();
+        }
+
+        try {
+            this.annotationMetadata = new ClassFileParser(classFile, annotationTypeCache).parse();
+        } catch (RuntimeException e) {
+            throw new IOException("无法解析class文件: " + resource.getDescription(), e);
+        }
+    }
+
+    @Override
+    public Resource getResource() {
+        return this.resource;
+    }
+
+    @Override
+    public ClassMetadata getClassMetadata() {
+        return this.annotationMetadata;
+    }
+
+    @Override
+    public AnnotationMetadata getAnnotationMetadata() {
+        return this.annotationMetadata;
+    }
+
+    /**
+     * class文件解析器 - 只解析组件扫描需要的部分
+     *
+     * class文件结构（JVMS 4.1）：
+     *  magic, minor_version, major_version, constant_pool, access_flags, this_class, super_class,
+     *  interfaces, fields, methods, attributes
+     */
+    private static final class ClassFileParser {
+
+        private static final int MAGIC = 0xCAFEBABE;
+
+        // 常量池标签
+        private static final int CONSTANT_UTF8 = 1;
+        private static final int CONSTANT_INTEGER = 3;
+        private static final int CONSTANT_FLOAT = 4;
+        private static final int CONSTANT_LONG = 5;
+        private static final int CONSTANT_DOUBLE = 6;
+        private static final int CONSTANT_CLASS = 7;
+        private static final int CONSTANT_STRING = 8;
+        private static final int CONSTANT_FIELDREF = 9;
+        private static final int CONSTANT_METHODREF = 10;
+        private static final int CONSTANT_INTERFACE_METHODREF = 11;
+        private static final int CONSTANT_NAME_AND_TYPE = 12;
+        private static final int CONSTANT_METHOD_HANDLE = 15;
+        private static final int CONSTANT_METHOD_TYPE = 16;
+        private static final int CONSTANT_DYNAMIC = 17;
+        private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+        private static final int CONSTANT_MODULE = 19;
+        private static final int CONSTANT_PACKAGE = 20;
+
+        private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+        private final byte[] bytes;
+        private final AnnotationTypeCache annotationTypeCache;
+
+        /** 常量池项的内容偏移（跳过tag），下标即常量池索引 */
+        private final int[] constantOffsets;
+
+        /** 已解码的UTF8常量 */
+        private final String[] utf8Cache;
+
+        /** 当前读取位置 */
+        private int cursor;
+
+        ClassFileParser(byte[] bytes, AnnotationTypeCache annotationTypeCache) {
+            this.bytes = bytes;
+            this.annotationTypeCache = annotationTypeCache;
+            if (readInt(0) != MAGIC) {
+                throw new IllegalArgumentException("不是合法的class文件");
+            }
+
+            // 常量池只记录偏移，用到时再解码
+            int constantCount = readU2(8);
+            this.constantOffsets = new int[constantCount];
+            this.utf8Cache = new String[constantCount];
+            int offset = 10;
+            for (int i = 1; i < constantCount; i++) {
+                int tag = bytes[offset] & 0xFF;
+                this.constantOffsets[i] = offset + 1;
+                switch (tag) {
+                    case CONSTANT_UTF8 -> offset += 3 + readU2(offset + 1);
+                    case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELDREF, CONSTANT_METHODREF,
+                            CONSTANT_INTERFACE_METHODREF, CONSTANT_NAME_AND_TYPE,
+                            CONSTANT_DYNAMIC, CONSTANT_INVOKE_DYNAMIC -> offset += 5;
+                    case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                        // long和double占两个常量池位置
+                        offset += 9;
+                        i++;
+                    }
+                    case CONSTANT_CLASS, CONSTANT_STRING, CONSTANT_METHOD_TYPE,
+                            CONSTANT_MODULE, CONSTANT_PACKAGE -> offset += 3;
+                    case CONSTANT_METHOD_HANDLE -> offset += 4;
+                    default -> throw new IllegalArgumentException("未知的常量池标签: " + tag);
+                }
+            }
+            this.cursor = offset;
+        }
+
+        SimpleAnnotationMetadata parse() {
+            // 类的基本信息
+            int access = readU2(this.cursor);
+            String className = readClassName(readU2(this.cursor + 2));
+            int superClassIndex = readU2(this.cursor + 4);
+            String superClassName = (superClassIndex != 0 ? readClassName(superClassIndex) : null);
+            int interfaceCount = readU2(this.cursor + 6);
+            this.cursor += 8;
+            String[] interfaceNames = new String[interfaceCount];
+            for (int i = 0; i < interfaceCount; i++) {
+                interfaceNames[i] = readClassName(nextU2());
+            }
+
+            // 跳过字段和方法
+            skipMembers();
+            skipMembers();
+
+            // 类属性：只关心RuntimeVisibleAnnotations
+            Map<String, Map<String, Object>> annotations = new LinkedHashMap<>();
+            int attributeCount = nextU2();
+            for (int i = 0; i < attributeCount; i++) {
+                String attributeName = readUtf8(nextU2());
+                int length = readInt(this.cursor);
+                int attributeEnd = this.cursor + 4 + length;
+                if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    this.cursor += 4;
+                    int annotationCount = nextU2();
+                    for (int j = 0; j < annotationCount; j++) {
+                        String annotationType = descriptorToClassName(readUtf8(nextU2()));
+                        annotations.put(annotationType, readAnnotationAttributes());
+                    }
+                }
+                this.cursor = attributeEnd;
+            }
+
+            log.debug("解析class文件: {}，注解: {}", className, annotations.keySet());
+            return new SimpleAnnotationMetadata(className, access, superClassName, interfaceNames,
+                    annotations, this.annotationTypeCache);
+        }
+
+        private void skipMembers() {
+            int memberCount = nextU2();
+            for (int i = 0; i < memberCount; i++) {
+                // access_flags, name_index, descriptor_index
+                this.cursor += 6;
+                int attributeCount = nextU2();
+                for (int j = 0; j < attributeCount; j++) {
+                    this.cursor += 6 + readInt(this.cursor + 2);
+                }
+            }
+        }
+
+        /**
+         * 读取注解的element_value_pairs
+         */
+        private Map<String, Object> readAnnotationAttributes() {
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            int pairCount = nextU2();
+            for (int i = 0; i < pairCount; i++) {
+                String name = readUtf8(nextU2());
+                attributes.put(name, readElementValue());
+            }
+            return attributes;
+        }
+
+        /**
+         * 读取element_value（JVMS 4.7.16.1）
+         */
+        private Object readElementValue() {
+            int tag = this.bytes[this.cursor++] & 0xFF;
+            switch (tag) {
+                case 'B':
+                    return (byte) readInt(this.constantOffsets[nextU2()]);
+                case 'C':
+                    return (char) readInt(this.constantOffsets[nextU2()]);
+                case 'S':
+                    return (short) readInt(this.constantOffsets[nextU2()]);
+                case 'Z':
+                    return readInt(this.constantOffsets[nextU2()]) != 0;
+                case 'I':
+                    return readInt(this.constantOffsets[nextU2()]);
+                case 'J':
+                    return readLong(this.constantOffsets[nextU2()]);
+                case 'F':
+                    return Float.intBitsToFloat(readInt(this.constantOffsets[nextU2()]));
+                case 'D':
+                    return Double.longBitsToDouble(readLong(this.constantOffsets[nextU2()]));
+                case 's':
+                    return readUtf8(nextU2());
+                case 'e': {
+                    String typeName = descriptorToClassName(readUtf8(nextU2()));
+                    String constantName = readUtf8(nextU2());
+                    return new SimpleAnnotationMetadata.EnumReference(typeName, constantName);
+                }
+                case 'c':
+                    return new SimpleAnnotationMetadata.ClassReference(descriptorToClassName(readUtf8(nextU2())));
+                case '@':
+                    // 嵌套注解：跳过类型，以Map形式保存属性
+                    nextU2();
+                    return readAnnotationAttributes();
+                case '[': {
+                    int length = nextU2();
+                    Object[] values = new Object[length];
+                    for (int i = 0; i < length; i++) {
+                        values[i] = readElementValue();
+                    }
+                    return values;
+                }
+                default:
+                    throw new IllegalArgumentException("未知的注解属性标签: " + (char) tag);
+            }
+        }
+
+        // ============ 常量池读取 ============
+
+        private String readClassName(int classIndex) {
+            return readUtf8(readU2(this.constantOffsets[classIndex])).replace('/', '.');
+        }
+
+        /**
+         * 解码CONSTANT_Utf8（modified UTF-8）
+         */
+        private String readUtf8(int index) {
+            String value = this.utf8Cache[index];
+            if (value != null) {
+                return value;
+            }
+            int offset = this.constantOffsets[index];
+            int length = readU2(offset);
+            int start = offset + 2;
+            int end = start + length;
+
+            // 绝大多数常量是ASCII，直接按Latin1构造
+            boolean ascii = true;
+            for (int i = start; i < end; i++) {
+                if (this.bytes[i] <= 0) {
+                    ascii = false;
+                    break;
+                }
+            }
+            if (ascii) {
+                value = new String(this.bytes, start, length, StandardCharsets.ISO_8859_1);
+            } else {
+                char[] chars = new char[length];
+                int count = 0;
+                int i = start;
+                while (i < end) {
+                    int b = this.bytes[i++] & 0xFF;
+                    if (b < 0x80) {
+                        chars[count++] = (char) b;
+                    } else if (b < 0xE0) {
+                        chars[count++] = (char) (((b & 0x1F) << 6) | (this.bytes[i++] & 0x3F));
+                    } else {
+                        chars[count++] = (char) (((b & 0x0F) << 12) | ((this.bytes[i++] & 0x3F) << 6) |
+                                (this.bytes[i++] & 0x3F));
+                    }
+                }
+                value = new String(chars, 0, count);
+            }
+            this.utf8Cache[index] = value;
+            return value;
+        }
+
+        /**
+         * 字段描述符转类名（与Class.getName()格式一致）：Lcom/example/Foo; -> com.example.Foo，I -> int，
+         * 数组保持二进制名称：[Ljava/lang/String; -> [Ljava.lang.String;
+         */
+        private static String descriptorToClassName(String descriptor) {
+            if (descriptor.charAt(0) == '[') {
+                return descriptor.replace('/', '.');
+            }
+            return switch (descriptor.charAt(0)) {
+                case 'Z' -> "boolean";
+                case 'B' -> "byte";
+                case 'C' -> "char";
+                case 'S' -> "short";
+                case 'I' -> "int";
+                case 'J' -> "long";
+                case 'F' -> "float";
+                case 'D' -> "double";
+                case 'V' -> "void";
+                default -> descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+            };
+        }
+
+        // ============ 字节读取 ============
+
+        private int nextU2() {
+            int value = readU2(this.cursor);
+            this.cursor += 2;
+            return value;
+        }
+
+        private int readU2(int offset) {
+            return ((this.bytes[offset] & 0xFF) << 8) | (this.bytes[offset + 1] & 0xFF);
+        }
+
+        private int readInt(int offset) {
+            return ((this.bytes[offset] & 0xFF) << 24) | ((this.bytes[offset + 1] & 0xFF) << 16) |
+                    ((this.bytes[offset + 2] & 0xFF) << 8) | (this.bytes[offset + 3] & 0xFF);
+        }
+
+        private long readLong(int offset) {
+            return ((long) readInt(offset) << 32) | (readInt(offset + 4) & 0xFFFFFFFFL);
+        }
+    }
+}
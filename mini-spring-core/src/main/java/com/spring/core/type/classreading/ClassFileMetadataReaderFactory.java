@@ -0,0 +1,63 @@
+package com.spring.core.type.classreading;
+
+import com.spring.core.io.ClassPathResource;
+import com.spring.core.io.Resource;
+import com.spring.util.ClassUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+/**
+ * ClassName: ClassFileMetadataReaderFactory
+ * Description:
+ *
+ * 基于字节码的元数据读取器工厂 - 组件扫描默认使用
+ * 创建ClassFileMetadataReader，读取元数据时不会加载被扫描的类
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 0:10
+ * @version: v1.0
+ */
+@Slf4j
+public class ClassFileMetadataReaderFactory implements MetadataReaderFactory {
+
+    private final ClassLoader classLoader;
+
+    /** 注解类型信息缓存：读取的所有类共享，随工厂一起回收 */
+    private final AnnotationTypeCache annotationTypeCache;
+
+    public ClassFileMetadataReaderFactory() {
+        this(ClassUtils.getDefaultClassLoader());
+    }
+
+    public ClassFileMetadataReaderFactory(ClassLoader classLoader) {
+        this.classLoader = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
+        this.annotationTypeCache = new AnnotationTypeCache(this.classLoader);
+    }
+
+    @Override
+    public MetadataReader getMetadataReader(Resource resource) throws IOException {
+        return new ClassFileMetadataReader(resource, this.annotationTypeCache);
+    }
+
+    @Override
+    public MetadataReader getMetadataReader(String className) throws IOException {
+        log.debug("为类名创建MetadataReader: {}", className);
+        Resource resource = new ClassPathResource(className.replace('.', '/') + ".class");
+        return getMetadataReader(resource);
+    }
+
+    /**
+     * 获取加载注解类型使用的类加载器
+     */
+    public final ClassLoader getClassLoader() {
+        return this.classLoader;
+    }
+
+    /**
+     * 清除注解类型信息缓存
+     */
+    protected void clearAnnotationTypeCache() {
+        this.annotationTypeCache.clear();
+    }
+}
@@ -0,0 +1,272 @@
+package com.spring.core.type.classreading;
+
+import com.spring.core.annotation.AnnotationTypeMappings;
+import com.spring.core.type.AnnotationMetadata;
+import com.spring.core.type.ClassMetadata;
+import com.spring.core.type.classreading.AnnotationTypeCache.AnnotationTypeInfo;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * ClassName: SimpleAnnotationMetadata
+ * Description:
+ *
+ * 基于class文件内容的注解元数据 - 对应Spring的SimpleAnnotationMetadata
+ * 由ClassFileMetadataReader解析字节码后创建，被扫描的类本身不会被加载
+ *
+ * 注意：
+ *  1. 只有注解类型会被加载（用于补全默认值、解析元注解），被扫描类和它引用的其它类都不会加载；
+ *     注解类型信息由读取器工厂的AnnotationTypeCache缓存，元注解闭包使用AnnotationTypeMappings
+ *  2. Class类型的属性值在classValuesAsString=false时才会加载对应的类
+ *  3. 嵌套注解属性以Map的形式返回
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 0:10
+ * @version: v1.0
+ */
+@Slf4j
+final class SimpleAnnotationMetadata implements AnnotationMetadata, ClassMetadata {
+
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    /** 基本类型名称 -> Class，Class属性值可能是基本类型（如int.class） */
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = Map.of(
+            "boolean", boolean.class, "byte", byte.class, "char", char.class, "short", short.class,
+            "int", int.class, "long", long.class, "float", float.class, "double", double.class,
+            "void", void.class);
+
+    private final String className;
+    private final int access;
+    private final String superClassName;
+    private final String[] interfaceNames;
+
+    /** 类上直接声明的注解：注解类型 -> {属性名 -> class文件中的原始值} */
+    private final Map<String, Map<String, Object>> annotations;
+
+    /** 注解类型信息缓存（读取器工厂持有，同一个工厂读取的类共享） */
+    private final AnnotationTypeCache annotationTypeCache;
+
+    SimpleAnnotationMetadata(String className, int access, String superClassName, String[] interfaceNames,
+                             Map<String, Map<String, Object>> annotations, AnnotationTypeCache annotationTypeCache) {
+        this.className = className;
+        this.access = access;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+        this.annotations = annotations;
+        this.annotationTypeCache = annotationTypeCache;
+    }
+
+    // ============ ClassMetadata 接口实现 ============
+
+    @Override
+    public String getClassName() {
+        return this.className;
+    }
+
+    @Override
+    public boolean isInterface() {
+        return (this.access & ACC_INTERFACE) != 0;
+    }
+
+    @Override
+    public boolean isAbstract() {
+        return (this.access & ACC_ABSTRACT) != 0;
+    }
+
+    @Override
+    public boolean isConcrete() {
+        return !isInterface() && !isAbstract();
+    }
+
+    @Override
+    public boolean isFinal() {
+        return (this.access & ACC_FINAL) != 0;
+    }
+
+    @Override
+    public boolean hasSuperClass() {
+        return this.superClassName != null && !Object.class.getName().equals(this.superClassName);
+    }
+
+    @Override
+    public String getSuperClassName() {
+        return this.superClassName;
+    }
+
+    @Override
+    public String[] getInterfaceNames() {
+        return this.interfaceNames.clone();
+    }
+
+    // ============ AnnotationMetadata 接口实现 ============
+
+    @Override
+    public boolean isAnnotated(String annotationName) {
+        if (this.annotations.containsKey(annotationName)) {
+            return true;
+        }
+        for (String annotationType : this.annotations.keySet()) {
+            if (getAnnotationTypeInfo(annotationType).hasMetaAnnotation(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Map<String, Object> getAnnotationAttributes(String annotationName) {
+        return getAnnotationAttributes(annotationName, false);
+    }
+
+    @Override
+    public Map<String, Object> getAnnotationAttributes(String annotationName, boolean classValuesAsString) {
+        // 直接注解：合并注解默认值和class文件中的显式值
+        Map<String, Object> rawAttributes = this.annotations.get(annotationName);
+        if (rawAttributes != null) {
+            AnnotationTypeInfo typeInfo = getAnnotationTypeInfo(annotationName);
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : typeInfo.defaultValues.entrySet()) {
+                attributes.put(entry.getKey(), adaptValue(entry.getValue(), classValuesAsString));
+            }
+            for (Map.Entry<String, Object> entry : rawAttributes.entrySet()) {
+                Class<?> attributeType = typeInfo.attributeTypes.get(entry.getKey());
+                attributes.put(entry.getKey(), convertValue(entry.getValue(), attributeType, classValuesAsString));
+            }
+            return attributes;
+        }
+
+        // 元注解：属性来自缓存的元注解闭包，@AliasFor声明的属性用直接注解上的值覆盖
+        for (String annotationType : this.annotations.keySet()) {
+            AnnotationTypeMappings mappings = getAnnotationTypeInfo(annotationType).mappings;
+            AnnotationTypeMappings.MetaAnnotation metaAnnotation =
+                    (mappings != null ? mappings.getMetaAnnotation(annotationName) : null);
+            if (metaAnnotation != null) {
+                Map<String, Object> rootAttributes = (metaAnnotation.aliases().isEmpty() ? null :
+                        getAnnotationAttributes(annotationType, false));
+                Map<String, Object> attributes = new LinkedHashMap<>();
+                for (Map.Entry<String, Object> entry : metaAnnotation.mergeAttributes(rootAttributes).entrySet()) {
+                    attributes.put(entry.getKey(), adaptValue(entry.getValue(), classValuesAsString));
+                }
+                return attributes;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Set<String> getAnnotationTypes() {
+        return Collections.unmodifiableSet(this.annotations.keySet());
+    }
+
+    // ============ 属性值转换 ============
+
+    /**
+     * 将class文件中的原始值转换为与反射结果一致的类型（String[]、枚举常量、Class等）
+     *
+     * @param targetType 注解方法的返回类型，注解类无法加载时为null
+     */
+    private Object convertValue(Object value, Class<?> targetType, boolean classValuesAsString) {
+        if (value instanceof Object[] elements) {
+            Class<?> componentType = (targetType != null && targetType.isArray() ?
+                    targetType.getComponentType() : null);
+            Class<?> arrayType;
+            if (componentType == null) {
+                arrayType = Object.class;
+            } else if (componentType == Class.class && classValuesAsString) {
+                arrayType = String.class;
+            } else if (componentType.isAnnotation()) {
+                arrayType = Map.class;
+            } else {
+                arrayType = componentType;
+            }
+            Object array = Array.newInstance(arrayType, elements.length);
+            for (int i = 0; i < elements.length; i++) {
+                Array.set(array, i, convertValue(elements[i], componentType, classValuesAsString));
+            }
+            return array;
+        }
+        if (value instanceof ClassReference classReference) {
+            return (classValuesAsString ? classReference.className() : resolveClass(classReference.className()));
+        }
+        if (value instanceof EnumReference enumReference) {
+            return resolveEnum(enumReference, targetType);
+        }
+        if (value instanceof Map<?, ?> nestedAnnotation) {
+            Map<String, Object> converted = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : nestedAnnotation.entrySet()) {
+                converted.put((String) entry.getKey(), convertValue(entry.getValue(), null, classValuesAsString));
+            }
+            return converted;
+        }
+        return value;
+    }
+
+    /**
+     * 处理从注解实例读取到的值（与StandardAnnotationMetadata的classValuesAsString处理一致）
+     */
+    private static Object adaptValue(Object value, boolean classValuesAsString) {
+        if (!classValuesAsString) {
+            return value;
+        }
+        if (value instanceof Class<?> clazz) {
+            return clazz.getName();
+        }
+        if (value instanceof Class<?>[] classes) {
+            String[] classNames = new String[classes.length];
+            for (int i = 0; i < classes.length; i++) {
+                classNames[i] = classes[i].getName();
+            }
+            return classNames;
+        }
+        return value;
+    }
+
+    private Class<?> resolveClass(String className) {
+        Class<?> primitiveType = PRIMITIVE_TYPES.get(className);
+        if (primitiveType != null) {
+            return primitiveType;
+        }
+        try {
+            return Class.forName(className, false, this.annotationTypeCache.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("无法加载注解属性引用的类: " + className + "，所在类: " + this.className, e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object resolveEnum(EnumReference enumReference, Class<?> targetType) {
+        Class<?> enumType = (targetType != null && targetType.isEnum() ?
+                targetType : resolveClass(enumReference.typeName()));
+        if (!enumType.isEnum()) {
+            throw new IllegalStateException("注解属性类型不是枚举: " + enumReference.typeName());
+        }
+        return Enum.valueOf((Class<? extends Enum>) enumType, enumReference.constantName());
+    }
+
+    // ============ 注解类型信息 ============
+
+    private AnnotationTypeInfo getAnnotationTypeInfo(String annotationName) {
+        return this.annotationTypeCache.get(annotationName);
+    }
+
+    /**
+     * class文件中的Class类型属性值（未加载）
+     */
+    record ClassReference(String className) {
+    }
+
+    /**
+     * class文件中的枚举类型属性值（未加载）
+     */
+    record EnumReference(String typeName, String constantName) {
+    }
+
+    @Override
+    public String toString() {
+        return "SimpleAnnotationMetadata[" + this.className + "]";
+    }
+}
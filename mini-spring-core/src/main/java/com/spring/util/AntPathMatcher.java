@@ -0,0 +1,219 @@
+package com.spring.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ClassName: AntPathMatcher
+ * Description:
+ *
+ * Ant风格路径匹配器 - 对应Spring的AntPathMatcher（只保留资源扫描需要的部分）
+ *
+ * 匹配规则：
+ *  ?  匹配一个字符（不包括'/'）
+ *  *  匹配路径段内的零个或多个字符
+ *  ** 匹配零个或多个路径段
+ *
+ * 例如：com/example/**&#47;*.class 匹配 com/example/Foo.class 和 com/example/a/b/Bar.class
+ *
+ * @Author: csx
+ * @Create: 2025/12/3 - 0:20
+ * @version: v1.0
+ */
+public class AntPathMatcher {
+
+    public static final String DEFAULT_PATH_SEPARATOR = "/";
+
+    private static final String DOUBLE_WILDCARD = "**";
+
+    /** 已拆分的模式缓存：模式在一次扫描中会对成千上万个路径重复使用 */
+    private final Map<String, String[]> tokenizedPatternCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 路径是否包含通配符
+     */
+    public boolean isPattern(String path) {
+        return (path != null && (path.indexOf('*') != -1 || path.indexOf('?') != -1));
+    }
+
+    /**
+     * 完整匹配
+     */
+    public boolean match(String pattern, String path) {
+        return doMatch(pattern, path, true);
+    }
+
+    /**
+     * 前缀匹配：path是否可能是某个匹配路径的前缀（用于遍历目录时提前剪枝）
+     */
+    public boolean matchStart(String pattern, String path) {
+        return doMatch(pattern, path, false);
+    }
+
+    /**
+     * 匹配算法与Spring的AntPathMatcher.doMatch一致：
+     *  1. 从头匹配到第一个**
+     *  2. 从尾匹配到最后一个**
+     *  3. 中间部分在相邻的**之间查找最早能匹配的位置
+     */
+    protected boolean doMatch(String pattern, String path, boolean fullMatch) {
+        if (path.startsWith(DEFAULT_PATH_SEPARATOR) != pattern.startsWith(DEFAULT_PATH_SEPARATOR)) {
+            return false;
+        }
+
+        String[] pattDirs = this.tokenizedPatternCache.computeIfAbsent(pattern, AntPathMatcher::tokenizePath);
+        String[] pathDirs = tokenizePath(path);
+
+        int pattIdxStart = 0;
+        int pattIdxEnd = pattDirs.length - 1;
+        int pathIdxStart = 0;
+        int pathIdxEnd = pathDirs.length - 1;
+
+        // 1. 匹配第一个**之前的所有路径段
+        while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+            String pattDir = pattDirs[pattIdxStart];
+            if (DOUBLE_WILDCARD.equals(pattDir)) {
+                break;
+            }
+            if (!matchStrings(pattDir, pathDirs[pathIdxStart])) {
+                return false;
+            }
+            pattIdxStart++;
+            pathIdxStart++;
+        }
+
+        if (pathIdxStart > pathIdxEnd) {
+            // 路径已经用完：模式剩余部分只能是**
+            if (pattIdxStart > pattIdxEnd) {
+                return (pattern.endsWith(DEFAULT_PATH_SEPARATOR) == path.endsWith(DEFAULT_PATH_SEPARATOR));
+            }
+            if (!fullMatch) {
+                return true;
+            }
+            if (pattIdxStart == pattIdxEnd && pattDirs[pattIdxStart].equals("*") &&
+                    path.endsWith(DEFAULT_PATH_SEPARATOR)) {
+                return true;
+            }
+            return onlyDoubleWildcards(pattDirs, pattIdxStart, pattIdxEnd);
+        } else if (pattIdxStart > pattIdxEnd) {
+            // 模式已经用完，路径还有剩余
+            return false;
+        } else if (!fullMatch && DOUBLE_WILDCARD.equals(pattDirs[pattIdxStart])) {
+            // 前缀匹配遇到**：后面任意路径都可能匹配
+            return true;
+        }
+
+        // 2. 匹配最后一个**之后的所有路径段
+        while (pattIdxStart <= pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+            String pattDir = pattDirs[pattIdxEnd];
+            if (DOUBLE_WILDCARD.equals(pattDir)) {
+                break;
+            }
+            if (!matchStrings(pattDir, pathDirs[pathIdxEnd])) {
+                return false;
+            }
+            pattIdxEnd--;
+            pathIdxEnd--;
+        }
+        if (pathIdxStart > pathIdxEnd) {
+            return onlyDoubleWildcards(pattDirs, pattIdxStart, pattIdxEnd);
+        }
+
+        // 3. 处理两个**之间的路径段
+        while (pattIdxStart != pattIdxEnd && pathIdxStart <= pathIdxEnd) {
+            int patIdxTmp = -1;
+            for (int i = pattIdxStart + 1; i <= pattIdxEnd; i++) {
+                if (DOUBLE_WILDCARD.equals(pattDirs[i])) {
+                    patIdxTmp = i;
+                    break;
+                }
+            }
+            if (patIdxTmp == pattIdxStart + 1) {
+                // '**/**'的情况，跳过一个
+                pattIdxStart++;
+                continue;
+            }
+
+            int patLength = (patIdxTmp - pattIdxStart - 1);
+            int strLength = (pathIdxEnd - pathIdxStart + 1);
+            int foundIdx = -1;
+
+            strLoop:
+            for (int i = 0; i <= strLength - patLength; i++) {
+                for (int j = 0; j < patLength; j++) {
+                    if (!matchStrings(pattDirs[pattIdxStart + j + 1], pathDirs[pathIdxStart + i + j])) {
+                        continue strLoop;
+                    }
+                }
+                foundIdx = pathIdxStart + i;
+                break;
+            }
+
+            if (foundIdx == -1) {
+                return false;
+            }
+            pattIdxStart = patIdxTmp;
+            pathIdxStart = foundIdx + patLength;
+        }
+
+        return onlyDoubleWildcards(pattDirs, pattIdxStart, pattIdxEnd);
+    }
+
+    private static boolean onlyDoubleWildcards(String[] pattDirs, int start, int end) {
+        for (int i = start; i <= end; i++) {
+            if (!DOUBLE_WILDCARD.equals(pattDirs[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 单个路径段的匹配（支持*和?），使用回溯而不是正则，不产生额外对象
+     */
+    private static boolean matchStrings(String pattern, String str) {
+        int p = 0;
+        int s = 0;
+        int starIdx = -1;
+        int matchIdx = 0;
+        while (s < str.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == str.charAt(s))) {
+                p++;
+                s++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                starIdx = p++;
+                matchIdx = s;
+            } else if (starIdx != -1) {
+                // 回溯：让上一个*多匹配一个字符
+                p = starIdx + 1;
+                s = ++matchIdx;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    /**
+     * 按'/'拆分路径，忽略空的路径段
+     */
+    private static String[] tokenizePath(String path) {
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        int length = path.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || path.charAt(i) == '/') {
+                if (i > start) {
+                    tokens.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+}
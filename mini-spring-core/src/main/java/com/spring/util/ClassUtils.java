@@ -1,5 +1,7 @@
 package com.spring.util;
 
+import java.util.Map;
+
 /**
  * ClassName: ClassUtils
  * Description:
@@ -19,6 +21,19 @@ public class ClassUtils {
      */
     public static final String CGLIB_CLASS_SEPARATOR = "$$";
 
+    /** 基本类型 -> 包装类型 */
+    private static final Map<Class<?>, Class<?>> primitiveTypeToWrapperMap = Map.of(
+            boolean.class, Boolean.class, byte.class, Byte.class, char.class, Character.class,
+            short.class, Short.class, int.class, Integer.class, long.class, Long.class,
+            float.class, Float.class, double.class, Double.class, void.class, Void.class);
+
+    /**
+     * 基本类型转换为对应的包装类型，其它类型原样返回 - 对应Spring的ClassUtils.resolvePrimitiveIfNecessary
+     */
+    public static Class<?> resolvePrimitiveIfNecessary(Class<?> clazz) {
+        return (clazz.isPrimitive() ? primitiveTypeToWrapperMap.get(clazz) : clazz);
+    }
+
     /**
      * 默认的类加载器
      */
@@ -48,4 +63,18 @@ public class ClassUtils {
     public static boolean isCglibProxyClassName(String className) {
         return className != null && className.contains(CGLIB_CLASS_SEPARATOR);
     }
+
+    /**
+     * 获取用户定义的原始类：名称中带有CGLIB_CLASS_SEPARATOR的生成子类（例如增强后的配置类）返回其父类
+     * 对应Spring的ClassUtils.getUserClass
+     */
+    public static Class<?> getUserClass(Class<?> clazz) {
+        if (clazz.getName().contains(CGLIB_CLASS_SEPARATOR)) {
+            Class<?> superclass = clazz.getSuperclass();
+            if (superclass != null && superclass != Object.class) {
+                return superclass;
+            }
+        }
+        return clazz;
+    }
 }